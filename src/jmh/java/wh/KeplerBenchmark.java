@@ -0,0 +1,72 @@
+package wh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kepler's equation solved for a spread of mean anomalies at each eccentricity, scalar against the vector and the
+ * original Newton solvers. Scores are per solve.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class KeplerBenchmark {
+    private static final int SOLVES = 1024;
+
+    @Param({"0.0", "0.0167", "0.2", "0.6", "0.9", "0.99"})
+    double eccentricity;
+
+    private final double[] meanAnomalies = new double[SOLVES];
+    private final double[] eccentricities = new double[SOLVES];
+    private final double[] eccentricAnomalies = new double[SOLVES];
+
+    @Setup
+    public void setUp() {
+        final SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < SOLVES; i++) {
+            // Several turns either way, as the simulation's mean anomalies are not reduced before solving
+            meanAnomalies[i] = random.nextDouble(-4 * Math.PI, 4 * Math.PI);
+        }
+        Arrays.fill(eccentricities, eccentricity);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SOLVES)
+    public void solveKepler(final Blackhole blackhole) {
+        for (int i = 0; i < SOLVES; i++) {
+            blackhole.consume(MathsUtil.solveKepler(meanAnomalies[i], eccentricity));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SOLVES)
+    public double[] solveKeplerVector() {
+        VectorMathsUtil.solveKepler(meanAnomalies, eccentricities, eccentricAnomalies);
+        return eccentricAnomalies;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SOLVES)
+    public void solveKeplerNewton(final Blackhole blackhole) {
+        for (int i = 0; i < SOLVES; i++) {
+            blackhole.consume(MathsUtil.solveKeplerNewton(meanAnomalies[i], eccentricity));
+        }
+    }
+}
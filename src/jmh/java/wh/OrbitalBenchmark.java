@@ -0,0 +1,89 @@
+package wh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Positions and transfers for one destination over a stretch of the asteroid's orbit, through the allocating calls
+ * and the allocation free ones the simulation uses. Scores are per day.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class OrbitalBenchmark {
+    private static final int DAYS = 256;
+
+    @Param({"MARS", "EARTH_LEO"})
+    DestinationType destination;
+
+    @Param({"true", "false"})
+    boolean enableAerobraking;
+
+    private final double[] meanAnomalies = new double[DAYS];
+    private final double[][] asteroidPositions = new double[DAYS][];
+    private final double[][] destinationPositions = new double[DAYS][];
+    private final double[] position = new double[3];
+    private final TransferResult transfers = new TransferResult();
+    private boolean isEarthRelative;
+
+    @Setup
+    public void setUp() {
+        final AsteroidState asteroid = AsteroidState.wilsonHarrington();
+        final int totalDaysInOrbit = SimulationState.TOTAL_DAYS_IN_ORBIT;
+        for (int i = 0; i < DAYS; i++) {
+            final int dayInOrbit = 1 + i * totalDaysInOrbit / DAYS;
+            asteroid.updateDistanceFromSun(dayInOrbit, totalDaysInOrbit);
+            asteroidPositions[i] = new double[] {asteroid.getX(), asteroid.getY(), asteroid.getZ()};
+            meanAnomalies[i] = asteroid.meanAnomaly(dayInOrbit, totalDaysInOrbit);
+            destinationPositions[i] = new double[3];
+            destination.orbitalElements.positionAt(meanAnomalies[i], destinationPositions[i]);
+        }
+        isEarthRelative = destination == DestinationType.EARTH_LEO || destination == DestinationType.EML1;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DAYS)
+    public void calculateOrbitalState(final Blackhole blackhole) {
+        for (int i = 0; i < DAYS; i++) {
+            blackhole.consume(MathsUtil.calculateOrbitalState(destination.orbitalRadius, destination.eccentricity,
+                    destination.inclination, destination.argumentOfPerihelion, destination.ascendingNode,
+                    meanAnomalies[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DAYS)
+    public void positionAt(final Blackhole blackhole) {
+        for (int i = 0; i < DAYS; i++) {
+            destination.orbitalElements.positionAt(meanAnomalies[i], position);
+            blackhole.consume(position[0]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DAYS)
+    public void calculateTransfers(final Blackhole blackhole) {
+        for (int i = 0; i < DAYS; i++) {
+            final double[] a = asteroidPositions[i];
+            final double[] d = destinationPositions[i];
+            MathsUtil.calculateTransfers(a[0], a[1], a[2], d[0], d[1], d[2], isEarthRelative, enableAerobraking,
+                    1.0f, transfers);
+            blackhole.consume(transfers.deltaVFast);
+        }
+    }
+}
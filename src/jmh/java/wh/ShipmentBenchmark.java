@@ -0,0 +1,95 @@
+package wh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fuel and shipment option calculations for the default small hauler, fed the delta-vs the destinations actually
+ * need over an orbit
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ShipmentBenchmark {
+    private static final int DELTA_VS = 1024;
+    private static final ShipmentCalculator.OptionType[] OPTION_TYPES = ShipmentCalculator.OptionType.values();
+
+    private final double[] deltaVs = new double[DELTA_VS];
+    private final List<Destination> destinations = new ArrayList<>();
+    private final ShipmentCalculator shipmentCalculator = new ShipmentCalculator();
+    private Hauler hauler;
+    private HaulerPerformance performance;
+    private int shippableKgsWater;
+
+    @Setup
+    public void setUp() {
+        hauler = new Hauler(HaulerClass.SMALL,
+                new EnumMap<>(Map.of(WaterPropulsionSystem.THERMAL, 1)),
+                new EnumMap<>(Map.of(PowerSource.SOLAR, 5)));
+        performance = new HaulerPerformance(hauler);
+        shippableKgsWater = hauler.type().maxCargoKgs;
+        final SimulationContext context = new SimulationContext(SimulationParameters.DEFAULT,
+                new SplittableRandom(1));
+        destinations.addAll(context.getDestinations());
+        final int totalDaysInOrbit = SimulationState.TOTAL_DAYS_IN_ORBIT;
+        int next = 0;
+        for (int dayInOrbit = 1; next < DELTA_VS; dayInOrbit += 7) {
+            context.getAsteroid().updateDistanceFromSun(dayInOrbit, totalDaysInOrbit);
+            for (Destination destination : destinations) {
+                destination.updateDaily(context.getParameters(), context.getAsteroid(), dayInOrbit,
+                        totalDaysInOrbit);
+                for (ShipmentCalculator.OptionType optionType : OPTION_TYPES) {
+                    if (next < DELTA_VS) {
+                        deltaVs[next++] = ShipmentCalculator.deltaV(destination, optionType);
+                    }
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DELTA_VS)
+    public void kgsFuelToAccelerateTo(final Blackhole blackhole) {
+        for (int i = 0; i < DELTA_VS; i++) {
+            blackhole.consume(hauler.kgsFuelToAccelerateTo(deltaVs[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DELTA_VS)
+    public void kgsFuelToAccelerateToCached(final Blackhole blackhole) {
+        for (int i = 0; i < DELTA_VS; i++) {
+            blackhole.consume(performance.kgsFuelToAccelerateTo(deltaVs[i]));
+        }
+    }
+
+    /**
+     * Every option type to every destination, as one day of the simulation evaluates
+     */
+    @Benchmark
+    public void getShipmentOptions(final Blackhole blackhole) {
+        for (ShipmentCalculator.OptionType optionType : OPTION_TYPES) {
+            blackhole.consume(shipmentCalculator.getShipmentOptions(destinations, shippableKgsWater, optionType,
+                    hauler));
+        }
+    }
+}
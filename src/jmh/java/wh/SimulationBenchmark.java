@@ -0,0 +1,73 @@
+package wh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One whole simulated day at a time, walking through the orbit so every part of it is covered. simulateDay prints
+ * the day, so standard out is swapped for a stream that throws it away and the score includes the formatting but
+ * not the terminal. runDay and advanceDay do the same work without output and without options respectively.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class SimulationBenchmark {
+    private final SimulationRunner simulationRunner = new SimulationRunner(new ShipmentCalculator());
+    private SimulationContext context;
+    private Hauler hauler;
+    private PrintStream out;
+    private int dayInOrbit;
+
+    @Setup
+    public void setUp() {
+        hauler = new Hauler(HaulerClass.SMALL,
+                new EnumMap<>(Map.of(WaterPropulsionSystem.THERMAL, 1)),
+                new EnumMap<>(Map.of(PowerSource.SOLAR, 5)));
+        context = new SimulationContext(SimulationParameters.DEFAULT, new SplittableRandom(1));
+        out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(out);
+    }
+
+    private int nextDay() {
+        dayInOrbit = dayInOrbit % SimulationState.TOTAL_DAYS_IN_ORBIT + 1;
+        return dayInOrbit;
+    }
+
+    @Benchmark
+    public void simulateDay() {
+        simulationRunner.simulateDay(context, hauler, nextDay(), SimulationState.TOTAL_DAYS_IN_ORBIT);
+    }
+
+    @Benchmark
+    public DayResult runDay() {
+        return simulationRunner.runDay(context, hauler, nextDay(), SimulationState.TOTAL_DAYS_IN_ORBIT);
+    }
+
+    @Benchmark
+    public boolean advanceDay() {
+        return simulationRunner.advanceDay(context, hauler, nextDay(), SimulationState.TOTAL_DAYS_IN_ORBIT);
+    }
+}
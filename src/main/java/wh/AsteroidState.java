@@ -2,28 +2,28 @@ package wh;
 
 import jaid.collection.DoublesVector;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 public class AsteroidState {
-    private final double semiMajorAxis;      // in AU
-    private final double eccentricity;        // dimensionless
-    private final double inclination;         // in degrees
-    private final double argumentPerihelion;  // in degrees
-    private final double ascendingNode;       // in degrees
-    private final double meanAnomalyEpoch;    // in degrees, position at epoch
-    private DoublesVector position;    // [x, y, z] in AU
+    private final OrbitalElements orbitalElements;
+    private final double meanAnomalyEpoch;    // in radians, position at epoch
+    private final KeplerPropagator propagator;
+    private final double[] position = new double[3];    // [x, y, z] in AU
+    private final double[] velocity = new double[3];    // [vx, vy, vz] in AU/year
     int storedWaterKgs;
 
     public AsteroidState(double semiMajorAxis, double eccentricity, double inclination,
                          double argumentPerihelion, double ascendingNode, double meanAnomalyEpoch) {
-        this.semiMajorAxis = semiMajorAxis;
-        this.eccentricity = eccentricity;
-        this.inclination = inclination;
-        this.argumentPerihelion = argumentPerihelion;
-        this.ascendingNode = ascendingNode;
-        this.meanAnomalyEpoch = meanAnomalyEpoch;
+        this.orbitalElements = new OrbitalElements(semiMajorAxis, eccentricity, inclination,
+                argumentPerihelion, ascendingNode);
+        this.meanAnomalyEpoch = Math.toRadians(meanAnomalyEpoch);
+        this.propagator = new KeplerPropagator(eccentricity);
         this.storedWaterKgs = 0;
 
         // Initialize with day 1 position
-        updateOrbitalState(1, 1537);
+        updateOrbitalState(1, SimulationState.TOTAL_DAYS_IN_ORBIT);
     }
 
     public void updateDistanceFromSun(int dayInOrbit, int totalDaysInOrbit) {
@@ -31,19 +31,75 @@ public class AsteroidState {
     }
 
     private void updateOrbitalState(int dayInOrbit, int totalDaysInOrbit) {
+        propagator.propagateTo(meanAnomaly(dayInOrbit, totalDaysInOrbit));
+        updatePositionAndVelocity();
+    }
+
+    private void updatePositionAndVelocity() {
+        orbitalElements.positionAtEccentricAnomaly(propagator.getCosE(), propagator.getSinE(), position);
+        orbitalElements.velocityAtEccentricAnomaly(propagator.getCosE(), propagator.getSinE(), MathsUtil.SUN_MU,
+                velocity);
+    }
+
+    /**
+     * Mean anomaly in radians on the given day of the orbit
+     */
+    double meanAnomaly(int dayInOrbit, int totalDaysInOrbit) {
         double meanMotion = 2 * Math.PI / totalDaysInOrbit;  // radians per day
-        double meanAnomaly = Math.toRadians(meanAnomalyEpoch) + (meanMotion * dayInOrbit);
+        return meanAnomalyEpoch + (meanMotion * dayInOrbit);
+    }
 
-        this.position = MathsUtil.calculateOrbitalState(
-                semiMajorAxis, eccentricity, inclination, argumentPerihelion, ascendingNode, meanAnomaly);
+    /**
+     * Writes the stored water and orbital position, which is all that changes as the simulation runs
+     */
+    void writeState(DataOutput out) throws IOException {
+        out.writeInt(storedWaterKgs);
+        propagator.writeState(out);
+    }
+
+    void readState(DataInput in) throws IOException {
+        storedWaterKgs = in.readInt();
+        propagator.readState(in);
+        updatePositionAndVelocity();
     }
 
     public double getDistanceFromSun() {
-        return position.magnitude();
+        return Math.sqrt(position[0] * position[0] + position[1] * position[1] + position[2] * position[2]);
     }
 
     public DoublesVector getPosition() {
-        return position;
+        return new DoublesVector(position.clone());
+    }
+
+    public double getX() {
+        return position[0];
+    }
+
+    public double getY() {
+        return position[1];
+    }
+
+    public double getZ() {
+        return position[2];
+    }
+
+    /**
+     * Velocity in AU/year along x of the asteroid's orbit at its current position, and likewise for y and z below
+     */
+    double getVelocityX() {
+        return velocity[0];
+    }
+
+    double getVelocityY() {
+        return velocity[1];
+    }
+
+    double getVelocityZ() {
+        return velocity[2];
+    }
+
+    public OrbitalElements getOrbitalElements() {
+        return orbitalElements;
     }
 
     public static AsteroidState wilsonHarrington() {
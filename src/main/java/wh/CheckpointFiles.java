@@ -0,0 +1,201 @@
+package wh;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What the checkpoint files have in common: replacing a file without ever leaving a partly written one, and the
+ * parameters, haulers and scenario state several of them save. Reading checks every value that indexes or sizes
+ * something, so a corrupt file gives an {@link IOException} rather than whatever the value would otherwise cause.
+ */
+final class CheckpointFiles {
+
+    interface Writer {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    interface Reader<T> {
+        T read(DataInputStream in) throws IOException;
+    }
+
+    private CheckpointFiles() {
+    }
+
+    /**
+     * Writes the file in full to a temporary file next to it, forces it to the disk and then moves it over the
+     * path, so a run killed or a machine losing power mid-write leaves the previous file intact
+     */
+    static void replace(final Path path, final Writer writer) throws IOException {
+        final Path directory = path.toAbsolutePath().getParent();
+        final Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                        Channels.newOutputStream(channel)));
+                writer.write(out);
+                out.flush();
+                channel.force(true);
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    static <T> T read(final Path path, final Reader<T> reader) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            return reader.read(in);
+        }
+    }
+
+    static void writeHeader(final DataOutputStream out, final int magic, final short version) throws IOException {
+        out.writeInt(magic);
+        out.writeShort(version);
+    }
+
+    /**
+     * @param what Kind of checkpoint, for the error message
+     */
+    static void readHeader(final DataInputStream in, final int magic, final short version, final String what)
+            throws IOException {
+        if (in.readInt() != magic) {
+            throw new IOException("Not a " + what);
+        }
+        final short found = in.readShort();
+        if (found != version) {
+            throw new IOException("Unsupported " + what + " version " + found);
+        }
+    }
+
+    static void writeParameters(final DataOutputStream out, final SimulationParameters parameters)
+            throws IOException {
+        out.writeInt(parameters.kgsWaterMinedPerDay());
+        out.writeFloat(parameters.difficultyScale());
+        out.writeBoolean(parameters.enableOrbitalMechanics());
+        out.writeBoolean(parameters.enableAerobraking());
+    }
+
+    static SimulationParameters readParameters(final DataInputStream in) throws IOException {
+        final int kgsWaterMinedPerDay = in.readInt();
+        final float difficultyScale = in.readFloat();
+        final boolean enableOrbitalMechanics = in.readBoolean();
+        final boolean enableAerobraking = in.readBoolean();
+        try {
+            return new SimulationParameters(kgsWaterMinedPerDay, difficultyScale, enableOrbitalMechanics,
+                    enableAerobraking);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Checkpoint has impossible parameters", e);
+        }
+    }
+
+    static void writeHauler(final DataOutputStream out, final Hauler hauler) throws IOException {
+        out.writeByte(hauler.type().ordinal());
+        writeCounts(out, hauler.engines());
+        writeCounts(out, hauler.power());
+    }
+
+    static Hauler readHauler(final DataInputStream in) throws IOException {
+        final HaulerClass type = readOrdinal(in, HaulerClass.values());
+        final EnumMap<WaterPropulsionSystem, Integer> engines = readCounts(in, WaterPropulsionSystem.class);
+        final EnumMap<PowerSource, Integer> power = readCounts(in, PowerSource.class);
+        try {
+            return new Hauler(type, engines, power);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Checkpoint has an impossible hauler", e);
+        }
+    }
+
+    /**
+     * Writes the asteroid's stored water and position, every destination's position, and the state of the random
+     * the prices are drawn from
+     */
+    static void writeContext(final DataOutputStream out, final SimulationContext context,
+                             final ReplayableRandom random) throws IOException {
+        out.writeLong(random.getSeed());
+        out.writeLong(random.getDraws());
+        context.getAsteroid().writeState(out);
+        final List<Destination> destinations = context.getDestinations();
+        out.writeByte(destinations.size());
+        for (Destination destination : destinations) {
+            destination.writeState(out);
+        }
+    }
+
+    /**
+     * @return Random carrying on from where the written one was
+     */
+    static ReplayableRandom readRandom(final DataInputStream in) throws IOException {
+        return ReplayableRandom.resume(in.readLong(), in.readLong());
+    }
+
+    /**
+     * Reads what {@link #writeContext} wrote after the random into a new context made with the random read
+     */
+    static void readContext(final DataInputStream in, final SimulationContext context) throws IOException {
+        context.getAsteroid().readState(in);
+        final List<Destination> destinations = context.getDestinations();
+        final int destinationCount = in.readUnsignedByte();
+        if (destinationCount != destinations.size()) {
+            throw new IOException("Checkpoint has " + destinationCount + " destinations but there are " +
+                    destinations.size() + " destination types");
+        }
+        for (Destination destination : destinations) {
+            destination.readState(in);
+        }
+    }
+
+    static <E extends Enum<E>> E readOrdinal(final DataInputStream in, final E[] values) throws IOException {
+        final int ordinal = in.readUnsignedByte();
+        if (ordinal >= values.length) {
+            throw new IOException("Checkpoint has " + values[0].getDeclaringClass().getSimpleName() + " " + ordinal +
+                    " but there are only " + values.length);
+        }
+        return values[ordinal];
+    }
+
+    /**
+     * @param min Smallest value allowed
+     * @param max Largest value allowed
+     * @param what Name of the value, for the error message
+     */
+    static int readInt(final DataInputStream in, final int min, final int max, final String what)
+            throws IOException {
+        final int value = in.readInt();
+        if (value < min || value > max) {
+            throw new IOException("Checkpoint has " + what + " " + value + ", outside " + min + " to " + max);
+        }
+        return value;
+    }
+
+    private static <E extends Enum<E>> void writeCounts(final DataOutputStream out, final Map<E, Integer> counts)
+            throws IOException {
+        out.writeByte(counts.size());
+        for (Map.Entry<E, Integer> entry : counts.entrySet()) {
+            out.writeByte(entry.getKey().ordinal());
+            out.writeInt(entry.getValue());
+        }
+    }
+
+    private static <E extends Enum<E>> EnumMap<E, Integer> readCounts(final DataInputStream in,
+                                                                      final Class<E> type) throws IOException {
+        final E[] values = type.getEnumConstants();
+        final EnumMap<E, Integer> counts = new EnumMap<>(type);
+        final int size = in.readUnsignedByte();
+        for (int i = 0; i < size; i++) {
+            counts.put(readOrdinal(in, values), readInt(in, 0, Integer.MAX_VALUE, type.getSimpleName() + " count"));
+        }
+        return counts;
+    }
+}
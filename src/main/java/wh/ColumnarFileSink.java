@@ -0,0 +1,143 @@
+package wh;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes one row per option per day into a directory of column files, one primitive column per field, through
+ * memory-mapped buffers. Read them back with {@link ColumnarResults}.
+ * <p>
+ * Each column file is mapped a chunk of rows at a time and grows as chunks are mapped, and is cut back to the rows
+ * written on {@link #close}. The row count is written to a separate file then too, and until then the results cannot
+ * be read. Values are little endian.
+ */
+public class ColumnarFileSink implements SimulationSink {
+    static final String ROWS_FILE = "rows";
+    static final int FILE_MAGIC = 0x57484353;  // "WHCS"
+    static final int FILE_VERSION = 1;
+    static final int DEFAULT_CHUNK_ROWS = 1 << 16;
+
+    /**
+     * The columns, each with the file it lives in and its width in bytes
+     */
+    enum Column {
+        DAY("day.i32", Integer.BYTES),
+        DESTINATION("destination.u8", Byte.BYTES),
+        OPTION_TYPE("optionType.u8", Byte.BYTES),
+        DELTA_V("deltaV.f64", Double.BYTES),
+        FUEL_KGS("fuelKgs.f64", Double.BYTES),
+        PROFIT("profit.f64", Double.BYTES),
+        TIME("time.f64", Double.BYTES);
+
+        final String fileName;
+        final int width;
+
+        Column(String fileName, int width) {
+            this.fileName = fileName;
+            this.width = width;
+        }
+    }
+
+    private static final Column[] COLUMNS = Column.values();
+
+    private final Path directory;
+    private final int chunkRows;
+    private final FileChannel[] channels = new FileChannel[COLUMNS.length];
+    private final MappedByteBuffer[] buffers = new MappedByteBuffer[COLUMNS.length];
+    private long rows;
+    // Rows mapped so far, the current chunks ending there
+    private long mappedRows;
+
+    public ColumnarFileSink(final Path directory) throws IOException {
+        this(directory, DEFAULT_CHUNK_ROWS);
+    }
+
+    ColumnarFileSink(final Path directory, final int chunkRows) throws IOException {
+        this.directory = directory;
+        this.chunkRows = chunkRows;
+        Files.createDirectories(directory);
+        Files.deleteIfExists(directory.resolve(ROWS_FILE));
+        for (Column column : COLUMNS) {
+            channels[column.ordinal()] = FileChannel.open(directory.resolve(column.fileName),
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+        }
+    }
+
+    @Override
+    public void accept(final DayResult result) {
+        try {
+            for (DayResult.Option option : result.options()) {
+                if (rows == mappedRows) {
+                    mapNextChunk();
+                }
+                buffers[Column.DAY.ordinal()].putInt(result.dayInOrbit());
+                buffers[Column.DESTINATION.ordinal()].put((byte) option.destination().ordinal());
+                buffers[Column.OPTION_TYPE.ordinal()].put((byte) option.optionType().ordinal());
+                buffers[Column.DELTA_V.ordinal()].putDouble(option.deltaV());
+                buffers[Column.FUEL_KGS.ordinal()].putDouble(option.kgsWaterUsedForDeltaV());
+                buffers[Column.PROFIT.ordinal()].putDouble(option.profit());
+                buffers[Column.TIME.ordinal()].putDouble(option.time());
+                rows++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void mapNextChunk() throws IOException {
+        for (Column column : COLUMNS) {
+            final MappedByteBuffer buffer = channels[column.ordinal()].map(FileChannel.MapMode.READ_WRITE,
+                    mappedRows * column.width, (long) chunkRows * column.width);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffers[column.ordinal()] = buffer;
+        }
+        mappedRows += chunkRows;
+    }
+
+    /**
+     * @return Rows written so far
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Cuts every column file back to the rows written and closes it, closing the rest even if one fails, then writes
+     * the row count
+     */
+    @Override
+    public void close() {
+        IOException failure = null;
+        for (Column column : COLUMNS) {
+            buffers[column.ordinal()] = null;
+            try (FileChannel channel = channels[column.ordinal()]) {
+                // The last chunk was mapped whole, leaving zeros after the final row
+                channel.truncate(rows * column.width);
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw new UncheckedIOException(failure);
+        }
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(directory.resolve(ROWS_FILE)))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(FILE_VERSION);
+            out.writeLong(rows);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package wh;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only view of the columns a {@link ColumnarFileSink} wrote, each mapped into memory whole. Values are read in
+ * place by row index, so scanning any number of rows allocates nothing.
+ */
+public final class ColumnarResults {
+    private static final DestinationType[] DESTINATION_TYPES = DestinationType.values();
+    private static final ShipmentCalculator.OptionType[] OPTION_TYPES = ShipmentCalculator.OptionType.values();
+
+    private final int rows;
+    private final MappedByteBuffer day;
+    private final MappedByteBuffer destination;
+    private final MappedByteBuffer optionType;
+    private final MappedByteBuffer deltaV;
+    private final MappedByteBuffer fuelKgs;
+    private final MappedByteBuffer profit;
+    private final MappedByteBuffer time;
+
+    private ColumnarResults(final Path directory, final int rows) throws IOException {
+        this.rows = rows;
+        this.day = map(directory, ColumnarFileSink.Column.DAY, rows);
+        this.destination = map(directory, ColumnarFileSink.Column.DESTINATION, rows);
+        this.optionType = map(directory, ColumnarFileSink.Column.OPTION_TYPE, rows);
+        this.deltaV = map(directory, ColumnarFileSink.Column.DELTA_V, rows);
+        this.fuelKgs = map(directory, ColumnarFileSink.Column.FUEL_KGS, rows);
+        this.profit = map(directory, ColumnarFileSink.Column.PROFIT, rows);
+        this.time = map(directory, ColumnarFileSink.Column.TIME, rows);
+    }
+
+    /**
+     * @param directory Directory a {@link ColumnarFileSink} was closed on
+     */
+    public static ColumnarResults open(final Path directory) throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(
+                directory.resolve(ColumnarFileSink.ROWS_FILE)))) {
+            if (in.readInt() != ColumnarFileSink.FILE_MAGIC || in.readInt() != ColumnarFileSink.FILE_VERSION) {
+                throw new IOException("Not a columnar results directory: " + directory);
+            }
+            final long rows = in.readLong();
+            // Each column is one mapping, which a ByteBuffer limits to an int's worth of bytes
+            if (rows > Integer.MAX_VALUE / Double.BYTES) {
+                throw new IOException("Too many rows to map: " + rows);
+            }
+            return new ColumnarResults(directory, (int) rows);
+        }
+    }
+
+    private static MappedByteBuffer map(final Path directory, final ColumnarFileSink.Column column, final int rows)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(directory.resolve(column.fileName), StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, (long) rows * column.width);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return buffer;
+        }
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int day(final int row) {
+        return day.getInt(row * Integer.BYTES);
+    }
+
+    public DestinationType destination(final int row) {
+        return DESTINATION_TYPES[destination.get(row)];
+    }
+
+    public ShipmentCalculator.OptionType optionType(final int row) {
+        return OPTION_TYPES[optionType.get(row)];
+    }
+
+    public double deltaV(final int row) {
+        return deltaV.getDouble(row * Double.BYTES);
+    }
+
+    /**
+     * @return Water burnt as fuel on the way
+     */
+    public double fuelKgs(final int row) {
+        return fuelKgs.getDouble(row * Double.BYTES);
+    }
+
+    public double profit(final int row) {
+        return profit.getDouble(row * Double.BYTES);
+    }
+
+    /**
+     * @return Transfer time in days
+     */
+    public double time(final int row) {
+        return time.getDouble(row * Double.BYTES);
+    }
+}
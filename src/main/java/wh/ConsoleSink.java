@@ -0,0 +1,68 @@
+package wh;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Prints each day as the interactive simulation always has: the asteroid, then a table per option type, then the
+ * decision
+ */
+public class ConsoleSink implements SimulationSink {
+    private static final Comparator<DayResult.Option> BY_PROFIT_DESCENDING =
+            (o1, o2) -> Double.compare(o2.profit(), o1.profit());
+
+    private final PrintStream out;
+
+    public ConsoleSink(final PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void accept(final DayResult result) {
+        out.printf("Day %d | Distance from Sun: %.3f AU\n", result.dayInOrbit(), result.distanceFromSun());
+        out.printf("Mined %d kg water, now available %d kg\n", result.kgsWaterMined(), result.availableKgsWater());
+        out.printf("Hauler allows shipping %d kg of it\n", result.shippableKgsWater());
+
+        printOptions("Efficient Options (descending from highest profit)", result,
+                ShipmentCalculator.OptionType.EFFICIENT, BY_PROFIT_DESCENDING);
+        printOptions("Fast Options (descending from fastest route)", result,
+                ShipmentCalculator.OptionType.FAST, Comparator.comparingDouble(DayResult.Option::time));
+        printOptions("Cycler Options (descending from highest profit)", result,
+                ShipmentCalculator.OptionType.CYCLER, BY_PROFIT_DESCENDING);
+
+        if (result.stored()) {
+            out.println("No profitable non-cycler options found. Water stored for future use.\n");
+        } else {
+            out.printf("Shipped %d kg to %s by the %s route\n\n", result.shippableKgsWater(),
+                    result.shipped().destination().name, result.shipped().optionType().name().toLowerCase());
+        }
+    }
+
+    private void printOptions(final String title, final DayResult result,
+                              final ShipmentCalculator.OptionType optionType,
+                              final Comparator<DayResult.Option> comparator) {
+        final List<DayResult.Option> options = new ArrayList<>();
+        for (DayResult.Option option : result.options()) {
+            if (option.optionType() == optionType) {
+                options.add(option);
+            }
+        }
+        options.sort(comparator);
+        out.println(title + ":");
+        out.printf("%-15s %-10s %-20s %-20s %-15s %-15s\n",
+                "Destination", "Price/kg", "kg Shipped/Received", "Fuel/Delta-V", "Profit", "Time (days)");
+        for (DayResult.Option option : options) {
+            out.printf("%-15s %-10.2f %-20s %-20s %-15s %-15.2f\n",
+                    option.destination().name,
+                    option.salePricePerKg(),
+                    String.format("%.0f/%s", option.kgsWaterShipped(),
+                            option.kgsWaterReceived() > 0 ? String.format("%.0f", option.kgsWaterReceived()) : "-"),
+                    String.format("%.0f/%.2f", option.kgsWaterUsedForDeltaV(), option.deltaV()),
+                    option.profit() > 0 ? String.format("%.1f", option.profit()) : "-",
+                    option.time());
+        }
+        out.println();
+    }
+}
@@ -0,0 +1,63 @@
+package wh;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Prices drawn from a counter-based random: each (seed, run, day, destination) cell is hashed into its own short
+ * SplitMix64 stream, which {@link DestinationType#calculateSalePricePerKg} then draws from. No cell depends on
+ * another, so cells can be computed in any order or in parallel with the same result, and strategies played on the
+ * same seed and run always face the same market.
+ */
+public final class CounterPriceSource implements PriceSource {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final long seed;
+
+    public CounterPriceSource(final long seed) {
+        this.seed = seed;
+    }
+
+    @Override
+    public double salePricePerKg(final int run, final int dayInOrbit, final int totalDaysInOrbit,
+                                 final DestinationType destination) {
+        final double perihelionWeight = 1.0 - (double) dayInOrbit / totalDaysInOrbit;
+        return destination.calculateSalePricePerKg(perihelionWeight,
+                new CellRandom(cellKey(run, dayInOrbit, destination.ordinal())));
+    }
+
+    /**
+     * Hashes the cell coordinates in one at a time, so cells that differ in any coordinate get unrelated keys
+     */
+    private long cellKey(final int run, final int dayInOrbit, final int destination) {
+        long key = mix64(seed);
+        key = mix64(key + (run + 1) * GOLDEN_GAMMA);
+        key = mix64(key + (dayInOrbit + 1) * GOLDEN_GAMMA);
+        return mix64(key + (destination + 1) * GOLDEN_GAMMA);
+    }
+
+    /**
+     * Stafford's variant 13 finaliser, as used by SplitMix64
+     */
+    static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * SplitMix64 stream of one cell
+     */
+    private static final class CellRandom implements RandomGenerator {
+        private long state;
+
+        CellRandom(final long key) {
+            this.state = key;
+        }
+
+        @Override
+        public long nextLong() {
+            state += GOLDEN_GAMMA;
+            return mix64(state);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package wh;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes one CSV line per option per day, the day's asteroid state and decision repeated on each of its lines
+ */
+public class CsvFileSink implements SimulationSink {
+    static final String HEADER = "day,asteroidX,asteroidY,asteroidZ,distanceFromSun,kgsWaterMined,availableKgsWater," +
+            "shippableKgsWater,storedWaterKgs,destination,optionType,x,y,z,salePricePerKg,kgsWaterShipped," +
+            "kgsWaterUsedForDeltaV,deltaV,time,profit,shipped";
+
+    private final BufferedWriter out;
+
+    public CsvFileSink(final Path path) throws IOException {
+        this.out = Files.newBufferedWriter(path);
+        out.write(HEADER);
+        out.newLine();
+    }
+
+    @Override
+    public void accept(final DayResult result) {
+        try {
+            for (DayResult.Option option : result.options()) {
+                out.write(result.dayInOrbit() + "," + result.asteroidX() + "," + result.asteroidY() + "," +
+                        result.asteroidZ() + "," + result.distanceFromSun() + "," + result.kgsWaterMined() + "," +
+                        result.availableKgsWater() + "," + result.shippableKgsWater() + "," +
+                        result.storedWaterKgs() + "," + option.destination().name() + "," + option.optionType() +
+                        "," + option.x() + "," + option.y() + "," + option.z() + "," + option.salePricePerKg() +
+                        "," + option.kgsWaterShipped() + "," + option.kgsWaterUsedForDeltaV() + "," +
+                        option.deltaV() + "," + option.time() + "," + option.profit() + "," +
+                        (option == result.shipped()));
+                out.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package wh;
+
+/**
+ * Establishes a cycler to one destination as soon as the hauler can, then ships each day by the most profitable of
+ * the efficient, fast and cycler routes, storing when none would make a profit
+ */
+public class CyclerStrategy implements ShippingStrategy {
+    private static final ShipmentCalculator.OptionType[] OPTION_TYPES = ShipmentCalculator.OptionType.values();
+
+    private final DestinationType destination;
+
+    public CyclerStrategy(final DestinationType destination) {
+        this.destination = destination;
+    }
+
+    @Override
+    public String name() {
+        return "CYCLER_" + destination.name();
+    }
+
+    @Override
+    public ShippingDecision decide(final ShippingDay day) {
+        double bestProfit = 0;
+        int bestDestination = -1;
+        ShipmentCalculator.OptionType bestOptionType = null;
+        for (int i = 0; i < day.destinationCount(); i++) {
+            if (day.destinationType(i) == destination && day.canEstablishCycler(i)) {
+                return ShippingDecision.establishCycler(i);
+            }
+            for (ShipmentCalculator.OptionType optionType : OPTION_TYPES) {
+                if (optionType == ShipmentCalculator.OptionType.CYCLER && !day.hasCycler(i)) {
+                    continue;
+                }
+                final double profit = day.profit(i, optionType);
+                if (profit > bestProfit) {
+                    bestProfit = profit;
+                    bestDestination = i;
+                    bestOptionType = optionType;
+                }
+            }
+        }
+        return bestDestination < 0 ? ShippingDecision.STORE : ShippingDecision.ship(bestDestination, bestOptionType);
+    }
+}
@@ -0,0 +1,93 @@
+package wh;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lets a {@link ShippingStrategy} decide each day of a single hauler's orbit and books the outcome on the context's
+ * stored water. Nothing else may change the stored water while days are being decided. A single hauler has no
+ * cyclers, so a strategy establishing or shipping by one is an error.
+ */
+final class DayEvaluator {
+    private static final ShipmentCalculator.OptionType[] OPTION_TYPES = ShipmentCalculator.OptionType.values();
+
+    private final SimulationContext context;
+    private final HaulerPerformance performance;
+    private final ShippingStrategy strategy;
+    private final ShippingDay view;
+    private final boolean[] noCyclers;
+
+    DayEvaluator(final SimulationContext context, final HaulerPerformance performance,
+                 final ShippingStrategy strategy) {
+        this.context = context;
+        this.performance = performance;
+        this.strategy = strategy;
+        this.view = new ShippingDay(context.getDestinations(), performance, context.getParameters().difficultyScale());
+        this.noCyclers = new boolean[context.getDestinations().size()];
+    }
+
+    boolean isFor(final SimulationContext context, final Hauler hauler) {
+        return this.context == context && performance.hauler == hauler;
+    }
+
+    /**
+     * Decides the day as the context's destinations now stand, without allocating once warm
+     * @return true if the day's water was stored rather than shipped
+     */
+    boolean advance(final int dayInOrbit, final int totalDaysInOrbit) {
+        view.update(context.getDestinations());
+        return book(decide(dayInOrbit, totalDaysInOrbit));
+    }
+
+    /**
+     * Decides the day as the snapshot has the destinations, also evaluating every option so the day can be reported
+     */
+    DayResult evaluate(final DaySnapshot day, final int totalDaysInOrbit) {
+        view.update(day);
+        final ShippingDecision decision = decide(day.dayInOrbit(), totalDaysInOrbit);
+        final List<DestinationSnapshot> destinations = day.destinations();
+        final int shippableKgsWater = view.getShippableKgsWater();
+        final List<DayResult.Option> options = new ArrayList<>(OPTION_TYPES.length * destinations.size());
+        for (ShipmentCalculator.OptionType optionType : OPTION_TYPES) {
+            for (int i = 0; i < destinations.size(); i++) {
+                options.add(DayResult.Option.of(destinations.get(i), optionType, shippableKgsWater,
+                        view.kgsFuel(i, optionType)));
+            }
+        }
+        final DayResult.Option shipped = decision.action() == ShippingDecision.Action.SHIP ?
+                options.get(decision.optionType().ordinal() * destinations.size() + decision.destination()) : null;
+        book(decision);
+        return new DayResult(day.dayInOrbit(), day.asteroidX(), day.asteroidY(), day.asteroidZ(),
+                day.distanceFromSun(), context.getParameters().kgsWaterMinedPerDay(), view.getAvailableKgsWater(),
+                shippableKgsWater, options, shipped, context.getAsteroid().storedWaterKgs);
+    }
+
+    private ShippingDecision decide(final int dayInOrbit, final int totalDaysInOrbit) {
+        view.set(dayInOrbit, totalDaysInOrbit, context.getAsteroid().storedWaterKgs,
+                context.getParameters().kgsWaterMinedPerDay(), noCyclers);
+        return strategy.decide(view);
+    }
+
+    /**
+     * @return true if the water was stored
+     */
+    private boolean book(final ShippingDecision decision) {
+        final AsteroidState asteroid = context.getAsteroid();
+        switch (decision.action()) {
+            case STORE -> {
+                asteroid.storedWaterKgs += context.getParameters().kgsWaterMinedPerDay();
+                return true;
+            }
+            case SHIP -> {
+                if (decision.optionType() == ShipmentCalculator.OptionType.CYCLER) {
+                    throw new IllegalStateException(strategy.name() + " shipped by a cycler to " +
+                            view.destinationType(decision.destination()) + " but a single hauler has none");
+                }
+                asteroid.storedWaterKgs = Math.max(asteroid.storedWaterKgs - view.getShippableKgsWater(), 0);
+                return false;
+            }
+            default -> throw new IllegalStateException(strategy.name() + " cannot establish a cycler to " +
+                    view.destinationType(decision.destination()) + " from a single hauler's orbit");
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package wh;
+
+import java.util.List;
+
+/**
+ * Everything that happened on one simulated day, copied out of the mutable simulation objects so it stays valid after
+ * the next day is run
+ * @param dayInOrbit Day the result is for
+ * @param asteroidX Asteroid x position in AU
+ * @param asteroidY Asteroid y position in AU
+ * @param asteroidZ Asteroid z position in AU
+ * @param distanceFromSun Asteroid distance from the Sun in AU
+ * @param kgsWaterMined Water mined on the day
+ * @param availableKgsWater Stored water plus the day's mining, before the decision
+ * @param shippableKgsWater Part of the available water the hauler can carry
+ * @param options Every option evaluated, grouped by option type in {@link ShipmentCalculator.OptionType} order
+ * @param shipped Option the strategy shipped, or null if the water was stored
+ * @param storedWaterKgs Water stored on the asteroid after the decision
+ */
+public record DayResult(int dayInOrbit, double asteroidX, double asteroidY, double asteroidZ, double distanceFromSun,
+                        int kgsWaterMined, int availableKgsWater, int shippableKgsWater, List<Option> options,
+                        Option shipped, int storedWaterKgs) {
+
+    public boolean stored() {
+        return shipped == null;
+    }
+
+    /**
+     * One shipment option as it stood on the day
+     * @param destination Where the water would go
+     * @param optionType Kind of transfer
+     * @param x Destination x position in AU
+     * @param y Destination y position in AU
+     * @param z Destination z position in AU
+     * @param salePricePerKg Destination's price on the day
+     * @param kgsWaterShipped Water loaded onto the hauler
+     * @param kgsWaterUsedForDeltaV Water burnt as fuel on the way
+     * @param deltaV Delta-v of the transfer
+     * @param time Transfer time in days
+     * @param profit Sale value of the water that arrives, see {@link ShipmentOption#profit}
+     */
+    public record Option(DestinationType destination, ShipmentCalculator.OptionType optionType,
+                         double x, double y, double z, double salePricePerKg, double kgsWaterShipped,
+                         double kgsWaterUsedForDeltaV, double deltaV, double time, double profit) {
+
+        /**
+         * @param kgsWaterUsedForDeltaV Fuel the hauler burns for the transfer's delta-v
+         */
+        static Option of(final DestinationSnapshot destination, final ShipmentCalculator.OptionType optionType,
+                         final int shippableKgsWater, final double kgsWaterUsedForDeltaV) {
+            return new Option(destination.type(), optionType, destination.x(), destination.y(), destination.z(),
+                    destination.salePricePerKg(), shippableKgsWater, kgsWaterUsedForDeltaV,
+                    destination.deltaV(optionType), destination.time(optionType),
+                    ShipmentOption.profit(shippableKgsWater, kgsWaterUsedForDeltaV, destination.salePricePerKg()));
+        }
+
+        public double kgsWaterReceived() {
+            return Math.max(kgsWaterShipped - kgsWaterUsedForDeltaV, 0);
+        }
+    }
+}
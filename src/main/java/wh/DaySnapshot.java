@@ -0,0 +1,28 @@
+package wh;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Where the asteroid and every destination were on one day, with the day's prices and transfers, and nothing that
+ * depends on earlier shipping decisions
+ * @param dayInOrbit Day the snapshot is for
+ * @param asteroidX Asteroid x position in AU
+ * @param asteroidY Asteroid y position in AU
+ * @param asteroidZ Asteroid z position in AU
+ * @param distanceFromSun Asteroid distance from the Sun in AU
+ * @param destinations Destinations in the order of the simulation's list
+ */
+public record DaySnapshot(int dayInOrbit, double asteroidX, double asteroidY, double asteroidZ,
+                          double distanceFromSun, List<DestinationSnapshot> destinations) {
+
+    static DaySnapshot of(final int dayInOrbit, final AsteroidState asteroid, final List<Destination> destinations) {
+        final List<DestinationSnapshot> snapshots = new ArrayList<>(destinations.size());
+        for (int i = 0; i < destinations.size(); i++) {
+            snapshots.add(DestinationSnapshot.of(destinations.get(i)));
+        }
+        return new DaySnapshot(dayInOrbit, asteroid.getX(), asteroid.getY(), asteroid.getZ(),
+                asteroid.getDistanceFromSun(), Collections.unmodifiableList(snapshots));
+    }
+}
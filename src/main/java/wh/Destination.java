@@ -1,8 +1,10 @@
 package wh;
 
-import jaid.collection.DoublesVector;
-
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 class Destination {
     final DestinationType type;
@@ -13,34 +15,123 @@ class Destination {
     double deltaVEfficient;
     double deltaVFast;
     double deltaVCycler;
-    private DoublesVector position;    // [x, y, z] in AU
+    private final double[] position = new double[3];    // [x, y, z] in AU
+    private final double[] velocity = new double[3];    // [vx, vy, vz] in AU/year
+    private final TransferResult transfers = new TransferResult();
+    private final KeplerPropagator propagator;
+    private final RandomGenerator random;    // null to draw from the updating thread's ThreadLocalRandom
 
+    /**
+     * Destination drawing its prices from the ThreadLocalRandom of whichever thread updates it
+     */
     public Destination(DestinationType type) {
+        this(type, null);
+    }
+
+    public Destination(DestinationType type, RandomGenerator random) {
         this.type = type;
-        this.position = new DoublesVector(new double[3]);
+        this.random = random;
+        this.propagator = new KeplerPropagator(type.orbitalElements.getEccentricity());
     }
 
-    public void updateDaily(int dayInOrbit, int totalDaysInOrbit) {
+    /**
+     * Draws the day's price, moves the destination and works out the transfers to it from the given asteroid
+     */
+    public void updateDaily(SimulationParameters parameters, AsteroidState asteroid,
+                            int dayInOrbit, int totalDaysInOrbit) {
+        final SimulationTelemetry.PhaseEvent price =
+                SimulationTelemetry.beginPhase(SimulationTelemetry.Phase.PRICE, dayInOrbit, type);
         double perihelionWeight = 1.0 - (double) dayInOrbit / totalDaysInOrbit;
-        this.salePricePerKg = type.calculateSalePricePerKg(perihelionWeight, ThreadLocalRandom.current());
-        double meanMotion = 2 * Math.PI / totalDaysInOrbit;
-        double meanAnomaly = meanMotion * dayInOrbit;
-        if (SimulationState.ENABLE_ORBITAL_MECHANICS) {
-            this.position = MathsUtil.calculateOrbitalState(type.orbitalRadius, type.eccentricity,
-                    type.inclination, type.argumentOfPerihelion, type.ascendingNode, meanAnomaly);
+        this.salePricePerKg = type.calculateSalePricePerKg(perihelionWeight,
+                random == null ? ThreadLocalRandom.current() : random);
+        SimulationTelemetry.endPhase(price);
+        updateTransfers(parameters, asteroid, dayInOrbit, totalDaysInOrbit);
+    }
+
+    /**
+     * Same as {@link #updateDaily(SimulationParameters, AsteroidState, int, int)} with the price taken from the run's
+     * price path instead of drawn
+     */
+    public void updateDaily(SimulationParameters parameters, AsteroidState asteroid, PriceSource prices, int run,
+                            int dayInOrbit, int totalDaysInOrbit) {
+        final SimulationTelemetry.PhaseEvent price =
+                SimulationTelemetry.beginPhase(SimulationTelemetry.Phase.PRICE, dayInOrbit, type);
+        this.salePricePerKg = prices.salePricePerKg(run, dayInOrbit, totalDaysInOrbit, type);
+        SimulationTelemetry.endPhase(price);
+        updateTransfers(parameters, asteroid, dayInOrbit, totalDaysInOrbit);
+    }
+
+    private void updateTransfers(SimulationParameters parameters, AsteroidState asteroid,
+                                 int dayInOrbit, int totalDaysInOrbit) {
+        final SimulationTelemetry.PhaseEvent move =
+                SimulationTelemetry.beginPhase(SimulationTelemetry.Phase.POSITION, dayInOrbit, type);
+        double meanAnomaly = meanAnomaly(dayInOrbit, totalDaysInOrbit);
+        if (parameters.enableOrbitalMechanics()) {
+            propagator.propagateTo(meanAnomaly);
+            type.orbitalElements.positionAtEccentricAnomaly(propagator.getCosE(), propagator.getSinE(), position);
+            type.orbitalElements.velocityAtEccentricAnomaly(propagator.getCosE(), propagator.getSinE(),
+                    MathsUtil.SUN_MU, velocity);
         } else {
-            this.position = new DoublesVector(new double[]{type.orbitalRadius, 0, 0});
+            // Parked on the x axis, on a circular orbit
+            position[0] = type.orbitalRadius;
+            position[1] = 0;
+            position[2] = 0;
+            velocity[0] = 0;
+            velocity[1] = Math.sqrt(MathsUtil.SUN_MU / type.orbitalRadius);
+            velocity[2] = 0;
         }
-        final DoublesVector asteroidPos = SimulationState.ASTEROID_STATE.getPosition();
-        final double[] results = (type == DestinationType.EARTH_LEO || type == DestinationType.EML1) ?
-                MathsUtil.calculateEarthRelativeTransfers(asteroidPos, position,
-                        type == DestinationType.EARTH_LEO, SimulationState.ENABLE_AEROBRAKING) :
-                MathsUtil.calculateHeliocentricTransfers(asteroidPos, position);
-        this.deltaVEfficient = results[0];
-        this.timeEfficient = results[1];
-        this.deltaVFast = results[2];
-        this.timeFast = results[3];
-        this.deltaVCycler = results[4];
-        this.timeCycler = results[5];
-    }
-}
\ No newline at end of file
+        SimulationTelemetry.endPhase(move);
+        final SimulationTelemetry.PhaseEvent transfer =
+                SimulationTelemetry.beginPhase(SimulationTelemetry.Phase.TRANSFERS, dayInOrbit, type);
+        final boolean isEarthRelative = type == DestinationType.EARTH_LEO || type == DestinationType.EML1;
+        MathsUtil.calculateTransfers(asteroid.getX(), asteroid.getY(), asteroid.getZ(),
+                asteroid.getVelocityX(), asteroid.getVelocityY(), asteroid.getVelocityZ(),
+                position[0], position[1], position[2], velocity[0], velocity[1], velocity[2],
+                isEarthRelative, parameters.enableAerobraking(), parameters.difficultyScale(), transfers);
+        this.deltaVEfficient = transfers.deltaVEfficient;
+        this.timeEfficient = transfers.timeEfficient;
+        this.deltaVFast = transfers.deltaVFast;
+        this.timeFast = transfers.timeFast;
+        this.deltaVCycler = transfers.deltaVCycler;
+        this.timeCycler = transfers.timeCycler;
+        SimulationTelemetry.endPhase(transfer);
+    }
+
+    /**
+     * Writes the orbital position, the only state carried from one day to the next. Prices and transfers are worked
+     * out afresh each day, and the random they are drawn from is saved by its owner.
+     */
+    void writeState(DataOutput out) throws IOException {
+        out.writeByte(type.ordinal());
+        propagator.writeState(out);
+    }
+
+    void readState(DataInput in) throws IOException {
+        final int ordinal = in.readUnsignedByte();
+        if (ordinal != type.ordinal()) {
+            throw new IOException("Expected the state of " + type + " but found " +
+                    (ordinal < DestinationType.values().length ? DestinationType.values()[ordinal] : ordinal));
+        }
+        propagator.readState(in);
+    }
+
+    double getX() {
+        return position[0];
+    }
+
+    double getY() {
+        return position[1];
+    }
+
+    double getZ() {
+        return position[2];
+    }
+
+    /**
+     * Mean anomaly in radians of every destination on the given day, destinations being at perihelion on day 0
+     */
+    static double meanAnomaly(int dayInOrbit, int totalDaysInOrbit) {
+        double meanMotion = 2 * Math.PI / totalDaysInOrbit;
+        return meanMotion * dayInOrbit;
+    }
+}
@@ -0,0 +1,43 @@
+package wh;
+
+/**
+ * A destination as it stood on one day, copied out of the mutable {@link Destination} so it stays valid while the
+ * destination moves on to later days
+ * @param type Which destination
+ * @param x Destination x position in AU
+ * @param y Destination y position in AU
+ * @param z Destination z position in AU
+ * @param salePricePerKg Price on the day
+ * @param deltaVEfficient Delta-v of the efficient transfer
+ * @param timeEfficient Days the efficient transfer takes
+ * @param deltaVFast Delta-v of the fast transfer
+ * @param timeFast Days the fast transfer takes
+ * @param deltaVCycler Delta-v of the cycler transfer
+ * @param timeCycler Days the cycler transfer takes
+ */
+public record DestinationSnapshot(DestinationType type, double x, double y, double z, double salePricePerKg,
+                                  double deltaVEfficient, double timeEfficient, double deltaVFast, double timeFast,
+                                  double deltaVCycler, double timeCycler) {
+
+    static DestinationSnapshot of(final Destination destination) {
+        return new DestinationSnapshot(destination.type, destination.getX(), destination.getY(), destination.getZ(),
+                destination.salePricePerKg, destination.deltaVEfficient, destination.timeEfficient,
+                destination.deltaVFast, destination.timeFast, destination.deltaVCycler, destination.timeCycler);
+    }
+
+    public double deltaV(final ShipmentCalculator.OptionType optionType) {
+        return switch (optionType) {
+            case EFFICIENT -> deltaVEfficient;
+            case FAST -> deltaVFast;
+            case CYCLER -> deltaVCycler;
+        };
+    }
+
+    public double time(final ShipmentCalculator.OptionType optionType) {
+        return switch (optionType) {
+            case EFFICIENT -> timeEfficient;
+            case FAST -> timeFast;
+            case CYCLER -> timeCycler;
+        };
+    }
+}
@@ -1,6 +1,6 @@
 package wh;
 
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 public enum DestinationType {
     // Values from NASA JPL Small-Body Database where available
@@ -10,7 +10,7 @@ public enum DestinationType {
             77.456,     // argument of perihelion (degrees)
             48.331) {   // longitude of ascending node (degrees)
         @Override
-        public double calculateSalePricePerKg(double perihelionWeight, Random random) {
+        public double calculateSalePricePerKg(double perihelionWeight, RandomGenerator random) {
             return 8 + perihelionWeight * 2 + random.nextDouble();
         }
     },
@@ -20,7 +20,7 @@ public enum DestinationType {
             102.9,      // Earth's argument of perihelion
             348.739) {  // Earth's ascending node
         @Override
-        public double calculateSalePricePerKg(double perihelionWeight, Random random) {
+        public double calculateSalePricePerKg(double perihelionWeight, RandomGenerator random) {
             return 5 + random.nextDouble() * 3;
         }
     },
@@ -30,7 +30,7 @@ public enum DestinationType {
             286.502,    // argument of perihelion
             49.558) {   // ascending node
         @Override
-        public double calculateSalePricePerKg(double perihelionWeight, Random random) {
+        public double calculateSalePricePerKg(double perihelionWeight, RandomGenerator random) {
             double aphelionWeight = 1.0 - perihelionWeight;
             return 6 + aphelionWeight * 2 + random.nextDouble();
         }
@@ -41,7 +41,7 @@ public enum DestinationType {
             95.417,
             150.195) {
         @Override
-        public double calculateSalePricePerKg(double perihelionWeight, Random random) {
+        public double calculateSalePricePerKg(double perihelionWeight, RandomGenerator random) {
             double aphelionWeight = 1.0 - perihelionWeight;
             return 6 + aphelionWeight * 2 + random.nextDouble();
         }
@@ -52,7 +52,7 @@ public enum DestinationType {
             0.0,        // N/A for nearly circular orbit
             0.0) {      // N/A for nearly circular orbit
         @Override
-        public double calculateSalePricePerKg(double perihelionWeight, Random random) {
+        public double calculateSalePricePerKg(double perihelionWeight, RandomGenerator random) {
             return 5 + random.nextDouble() * 3;
         }
     },
@@ -62,7 +62,7 @@ public enum DestinationType {
             132.462,
             272.459) {
         @Override
-        public double calculateSalePricePerKg(double perihelionWeight, Random random) {
+        public double calculateSalePricePerKg(double perihelionWeight, RandomGenerator random) {
             double aphelionWeight = 1.0 - perihelionWeight;
             return 5.5 + aphelionWeight * 1.5 + random.nextDouble();
         }
@@ -73,7 +73,7 @@ public enum DestinationType {
             266.121,
             147.469) {
         @Override
-        public double calculateSalePricePerKg(double perihelionWeight, Random random) {
+        public double calculateSalePricePerKg(double perihelionWeight, RandomGenerator random) {
             return 5 + random.nextDouble() * 2;
         }
     };
@@ -89,6 +89,7 @@ public enum DestinationType {
     final double inclination;            // orbital inclination in degrees
     final double argumentOfPerihelion;   // argument of perihelion in degrees
     final double ascendingNode;          // longitude of ascending node in degrees
+    final OrbitalElements orbitalElements;
 
     DestinationType(String name, double deltaVEfficient, double deltaVFast, double deltaVCycler,
                     double orbitalRadius, double cyclerEstablishmentDeltaV,
@@ -104,11 +105,23 @@ public enum DestinationType {
         this.inclination = inclination;
         this.argumentOfPerihelion = argumentOfPerihelion;
         this.ascendingNode = ascendingNode;
+        this.orbitalElements = new OrbitalElements(orbitalRadius, eccentricity, inclination,
+                argumentOfPerihelion, ascendingNode);
     }
 
-    public abstract double calculateSalePricePerKg(double perihelionWeight, Random random);
+    public abstract double calculateSalePricePerKg(double perihelionWeight, RandomGenerator random);
 
+    /**
+     * @return Destination drawing its prices from the ThreadLocalRandom of whichever thread updates it
+     */
     public Destination createDestination() {
         return new Destination(this);
     }
+
+    /**
+     * @param random Source of the destination's daily price draws, so a seeded source repeats the same prices
+     */
+    public Destination createDestination(RandomGenerator random) {
+        return new Destination(this, random);
+    }
 }
\ No newline at end of file
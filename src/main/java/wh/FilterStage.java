@@ -0,0 +1,59 @@
+package wh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.function.Predicate;
+
+/**
+ * Pipeline stage passing on only the days that match, in batches as they came. The next batch is only requested
+ * once the filtered one has been taken downstream, so a slow subscriber holds back the stage and so the publisher
+ * before it.
+ */
+public class FilterStage extends SubmissionPublisher<List<DayResult>>
+        implements Flow.Processor<List<DayResult>, List<DayResult>> {
+    private final Predicate<? super DayResult> predicate;
+    private Flow.Subscription subscription;
+
+    /**
+     * @param executor Runs this stage's subscribers
+     * @param maxBufferCapacity Batches each subscriber can have waiting, rounded up to a power of two
+     */
+    public FilterStage(final Executor executor, final int maxBufferCapacity,
+                       final Predicate<? super DayResult> predicate) {
+        super(executor, maxBufferCapacity);
+        this.predicate = predicate;
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(1);
+    }
+
+    @Override
+    public void onNext(final List<DayResult> batch) {
+        final List<DayResult> matching = new ArrayList<>(batch.size());
+        for (DayResult result : batch) {
+            if (predicate.test(result)) {
+                matching.add(result);
+            }
+        }
+        if (!matching.isEmpty()) {
+            submit(matching);
+        }
+        subscription.request(1);
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+        closeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        close();
+    }
+}
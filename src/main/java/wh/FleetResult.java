@@ -0,0 +1,15 @@
+package wh;
+
+/**
+ * Totals of a fleet simulation
+ * @param days Days simulated
+ * @param events Events processed, which is what the run's cost grows with rather than the days
+ * @param shipments Loads that left the asteroid
+ * @param kgsWaterShipped Water loaded onto haulers
+ * @param kgsWaterDelivered Water that reached a destination within the simulated days
+ * @param profit Sale value of the delivered water
+ * @param storedWaterKgs Water left on the asteroid at the end
+ */
+public record FleetResult(int days, long events, int shipments, long kgsWaterShipped, double kgsWaterDelivered,
+                          double profit, int storedWaterKgs) {
+}
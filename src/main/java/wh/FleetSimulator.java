@@ -0,0 +1,405 @@
+package wh;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Simulates a fleet of haulers as a queue of events rather than day by day, so the cost grows with the number of
+ * trips and not with the number of days or haulers.
+ * <p>
+ * Water builds up on the asteroid at the scenario's mining rate and is only counted when an event needs it. Idle
+ * haulers wait in line, and the one at the front departs once there is a full load for it and the rule decides to
+ * ship, by the route the rule picks. Its cargo is sold when it arrives, and it rejoins the line after the same time
+ * again for the empty trip home. Trip times are rounded up to whole days. When the rule stores instead the line tries
+ * again after {@link #RETRY_DAYS}.
+ * <p>
+ * A fleet started from a seed can be checkpointed as it goes, with the same file format conventions as
+ * {@link SimulationCheckpoint}: the scenario, the haulers and rule, which haulers are waiting in line and every event
+ * still to come, so a run read back carries on exactly as if it had never stopped.
+ */
+public class FleetSimulator {
+    private static final int MAGIC = 0x5748464C;    // "WHFL"
+    private static final short VERSION = 1;
+    private static final String WHAT = "fleet checkpoint";
+    private static final EventType[] EVENT_TYPES = EventType.values();
+
+    // Days the front of the line waits before looking again when the rule stores
+    static final int RETRY_DAYS = 7;
+
+    enum EventType {
+        // The front of the line tries to load and leave
+        DEPARTURE,
+        // A hauler reaches its destination and its cargo is sold
+        ARRIVAL,
+        // A hauler is back at the asteroid and joins the line
+        RETURN
+    }
+
+    /**
+     * @param sequence Order the event was scheduled in, so events on the same day run first come first served
+     */
+    private record Event(int day, long sequence, EventType type, int hauler, double kgsWaterReceived, double profit)
+            implements Comparable<Event> {
+
+        @Override
+        public int compareTo(final Event other) {
+            return day != other.day ? Integer.compare(day, other.day) : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private final SimulationContext context;
+    private final List<Hauler> haulers;
+    // Each hauler's view of the destinations, brought up to date when it tries to leave
+    private final ShippingDay[] views;
+    private final boolean[] noCyclers;
+    private final ShippingRule rule;
+    private final int totalDaysInOrbit;
+    // Where the prices come from when started from a seed, null otherwise
+    private final ReplayableRandom random;
+
+    private final PriorityQueue<Event> events = new PriorityQueue<>();
+    private final ArrayDeque<Integer> idle = new ArrayDeque<>();
+    private boolean started;
+    // Last day whose events have all been processed
+    private int dayReached;
+    private long processed;
+    private long sequence;
+    private int accruedDay;
+    private int destinationsDay;
+    // Day of the departure attempt waiting in the queue, 0 if there is none
+    private int pendingDepartureDay;
+
+    private int shipments;
+    private long kgsWaterShipped;
+    private double kgsWaterDelivered;
+    private double profit;
+
+    /**
+     * @param context Scenario whose asteroid stores the water and whose destinations are shipped to
+     * @param haulers Fleet, all starting idle at the asteroid in list order
+     * @param rule Routes the fleet may use
+     * @param totalDaysInOrbit Days in one orbit, positions and prices repeating every orbit
+     */
+    public FleetSimulator(final SimulationContext context, final List<Hauler> haulers, final ShippingRule rule,
+                          final int totalDaysInOrbit) {
+        this(context, haulers, rule, totalDaysInOrbit, null);
+    }
+
+    private FleetSimulator(final SimulationContext context, final List<Hauler> haulers, final ShippingRule rule,
+                           final int totalDaysInOrbit, final ReplayableRandom random) {
+        if (haulers.isEmpty()) {
+            throw new IllegalArgumentException("A fleet needs at least one hauler");
+        }
+        this.context = context;
+        this.haulers = List.copyOf(haulers);
+        this.views = new ShippingDay[haulers.size()];
+        for (int i = 0; i < views.length; i++) {
+            views[i] = new ShippingDay(context.getDestinations(), new HaulerPerformance(haulers.get(i)),
+                    context.getParameters().difficultyScale());
+        }
+        this.noCyclers = new boolean[context.getDestinations().size()];
+        this.rule = rule;
+        this.totalDaysInOrbit = totalDaysInOrbit;
+        this.random = random;
+    }
+
+    /**
+     * A fleet in a fresh scenario whose prices are drawn from a stream with the given seed, which unlike one given a
+     * context can be checkpointed
+     */
+    public static FleetSimulator start(final SimulationParameters parameters, final List<Hauler> haulers,
+                                       final ShippingRule rule, final int totalDaysInOrbit, final long seed) {
+        final ReplayableRandom random = new ReplayableRandom(seed);
+        return new FleetSimulator(new SimulationContext(parameters, random), haulers, rule, totalDaysInOrbit, random);
+    }
+
+    /**
+     * @return Last day run to, 0 before the first run
+     */
+    public int getDayReached() {
+        return dayReached;
+    }
+
+    /**
+     * Runs the fleet to the given day, from day 1, the first day water is mined, or on from the day an earlier run or
+     * a checkpoint got to
+     * @param days Last day simulated, sales arriving after it not being counted
+     */
+    public FleetResult run(final int days) {
+        runTo(days);
+        accrue(days);
+        return result(days);
+    }
+
+    /**
+     * Same as {@link #run(int)}, writing the fleet to the path every so many days and after the last day. A run that
+     * is killed can be read back with {@link #read} and carried on from the last write with the same result.
+     * @param checkpointIntervalDays Days between writes
+     * @throws IllegalStateException If the fleet was not started from a seed
+     */
+    public FleetResult run(final int days, final int checkpointIntervalDays, final Path path) throws IOException {
+        if (checkpointIntervalDays <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive, got " + checkpointIntervalDays);
+        }
+        if (random == null) {
+            throw new IllegalStateException("Only a fleet started from a seed can be checkpointed");
+        }
+        runTo(days, checkpointIntervalDays, path);
+        accrue(days);
+        write(path);
+        return result(days);
+    }
+
+    private void runTo(final int days, final int checkpointIntervalDays, final Path path) throws IOException {
+        while (dayReached < days) {
+            runTo(Math.min((dayReached / checkpointIntervalDays + 1) * checkpointIntervalDays, days));
+            if (dayReached < days) {
+                write(path);
+            }
+        }
+    }
+
+    /**
+     * Processes every event up to and including the day
+     */
+    private void runTo(final int day) {
+        if (day < dayReached) {
+            throw new IllegalArgumentException("Already run to day " + dayReached + ", cannot go back to day " + day);
+        }
+        if (!started) {
+            started = true;
+            for (int i = 0; i < haulers.size(); i++) {
+                idle.add(i);
+            }
+            scheduleDeparture(1);
+        }
+        while (!events.isEmpty() && events.peek().day() <= day) {
+            final Event event = events.poll();
+            processed++;
+            switch (event.type()) {
+                case DEPARTURE -> {
+                    // An earlier attempt may have replaced this one
+                    if (event.day() == pendingDepartureDay) {
+                        pendingDepartureDay = 0;
+                        dispatch(event.day());
+                    }
+                }
+                case ARRIVAL -> {
+                    kgsWaterDelivered += event.kgsWaterReceived();
+                    profit += event.profit();
+                }
+                case RETURN -> {
+                    idle.add(event.hauler());
+                    // Behind someone else it can only leave after them
+                    if (idle.size() == 1) {
+                        scheduleDeparture(event.day());
+                    }
+                }
+            }
+        }
+        dayReached = day;
+    }
+
+    private FleetResult result(final int days) {
+        return new FleetResult(days, processed, shipments, kgsWaterShipped, kgsWaterDelivered, profit,
+                context.getAsteroid().storedWaterKgs);
+    }
+
+    /**
+     * Sends haulers off from the front of the line while each has a full load and a profitable route, then
+     * schedules when the line should next try
+     */
+    private void dispatch(final int day) {
+        accrue(day);
+        final AsteroidState asteroid = context.getAsteroid();
+        while (!idle.isEmpty()) {
+            final int hauler = idle.peek();
+            final int cargoKgs = haulers.get(hauler).type().maxCargoKgs;
+            if (asteroid.storedWaterKgs < cargoKgs) {
+                final int kgsWaterMinedPerDay = context.getParameters().kgsWaterMinedPerDay();
+                if (kgsWaterMinedPerDay > 0) {
+                    final int shortfallKgs = cargoKgs - asteroid.storedWaterKgs;
+                    scheduleDeparture(day + (shortfallKgs + kgsWaterMinedPerDay - 1) / kgsWaterMinedPerDay);
+                }
+                return;
+            }
+            updateDestinations(day);
+            final ShippingDay view = views[hauler];
+            view.update(context.getDestinations());
+            // The day's mining is already in the stored water
+            view.set((day - 1) % totalDaysInOrbit + 1, totalDaysInOrbit, asteroid.storedWaterKgs, 0, noCyclers);
+            final ShippingDecision decision = rule.decide(view);
+            if (decision.action() == ShippingDecision.Action.STORE) {
+                scheduleDeparture(day + RETRY_DAYS);
+                return;
+            }
+            final int destination = decision.destination();
+            final ShipmentCalculator.OptionType optionType = decision.optionType();
+            idle.poll();
+            asteroid.storedWaterKgs -= cargoKgs;
+            shipments++;
+            kgsWaterShipped += cargoKgs;
+            final int tripDays = Math.max(1, (int) Math.ceil(view.time(destination, optionType)));
+            final double kgsWaterReceived = Math.max(cargoKgs - view.kgsFuel(destination, optionType), 0);
+            schedule(day + tripDays, EventType.ARRIVAL, hauler, kgsWaterReceived, view.profit(destination, optionType));
+            schedule(day + 2 * tripDays, EventType.RETURN, hauler, 0, 0);
+        }
+    }
+
+    /**
+     * Adds the water mined since the last count, up to and including the day
+     */
+    private void accrue(final int day) {
+        if (day > accruedDay) {
+            context.getAsteroid().storedWaterKgs += (day - accruedDay) * context.getParameters().kgsWaterMinedPerDay();
+            accruedDay = day;
+        }
+    }
+
+    /**
+     * Moves the asteroid and destinations to the day, drawing its prices, unless an earlier departure already has
+     */
+    private void updateDestinations(final int day) {
+        if (day == destinationsDay) {
+            return;
+        }
+        destinationsDay = day;
+        final int dayInOrbit = (day - 1) % totalDaysInOrbit + 1;
+        final AsteroidState asteroid = context.getAsteroid();
+        asteroid.updateDistanceFromSun(dayInOrbit, totalDaysInOrbit);
+        final List<Destination> destinations = context.getDestinations();
+        for (int i = 0; i < destinations.size(); i++) {
+            destinations.get(i).updateDaily(context.getParameters(), asteroid, dayInOrbit, totalDaysInOrbit);
+        }
+    }
+
+    private void scheduleDeparture(final int day) {
+        if (pendingDepartureDay == 0 || day < pendingDepartureDay) {
+            pendingDepartureDay = day;
+            schedule(day, EventType.DEPARTURE, -1, 0, 0);
+        }
+    }
+
+    private void schedule(final int day, final EventType type, final int hauler, final double kgsWaterReceived,
+                          final double profit) {
+        events.add(new Event(day, sequence++, type, hauler, kgsWaterReceived, profit));
+    }
+
+    /**
+     * Replaces the file at the path with the fleet as it now stands, never leaving a partly written file there
+     * @throws IllegalStateException If the fleet was not started from a seed
+     */
+    public void write(final Path path) throws IOException {
+        if (random == null) {
+            throw new IllegalStateException("Only a fleet started from a seed can be checkpointed");
+        }
+        CheckpointFiles.replace(path, this::write);
+    }
+
+    /**
+     * @return Fleet carrying on from the day the checkpoint got to
+     * @throws IOException If the file cannot be read, is not a fleet checkpoint or is corrupt
+     */
+    public static FleetSimulator read(final Path path) throws IOException {
+        return CheckpointFiles.read(path, FleetSimulator::read);
+    }
+
+    private void write(final DataOutputStream out) throws IOException {
+        CheckpointFiles.writeHeader(out, MAGIC, VERSION);
+        CheckpointFiles.writeParameters(out, context.getParameters());
+        out.writeInt(haulers.size());
+        for (Hauler hauler : haulers) {
+            CheckpointFiles.writeHauler(out, hauler);
+        }
+        out.writeByte(rule.ordinal());
+        out.writeInt(totalDaysInOrbit);
+        out.writeBoolean(started);
+        out.writeInt(dayReached);
+        out.writeLong(processed);
+        out.writeLong(sequence);
+        out.writeInt(accruedDay);
+        out.writeInt(destinationsDay);
+        out.writeInt(pendingDepartureDay);
+        out.writeInt(shipments);
+        out.writeLong(kgsWaterShipped);
+        out.writeDouble(kgsWaterDelivered);
+        out.writeDouble(profit);
+        out.writeInt(idle.size());
+        for (int hauler : idle) {
+            out.writeInt(hauler);
+        }
+        out.writeInt(events.size());
+        for (Event event : events) {
+            out.writeInt(event.day());
+            out.writeLong(event.sequence());
+            out.writeByte(event.type().ordinal());
+            out.writeInt(event.hauler());
+            out.writeDouble(event.kgsWaterReceived());
+            out.writeDouble(event.profit());
+        }
+        CheckpointFiles.writeContext(out, context, random);
+    }
+
+    private static FleetSimulator read(final DataInputStream in) throws IOException {
+        CheckpointFiles.readHeader(in, MAGIC, VERSION, WHAT);
+        final SimulationParameters parameters = CheckpointFiles.readParameters(in);
+        final int haulerCount = CheckpointFiles.readInt(in, 1, Integer.MAX_VALUE, "hauler count");
+        final List<Hauler> haulers = new ArrayList<>();
+        for (int i = 0; i < haulerCount; i++) {
+            haulers.add(CheckpointFiles.readHauler(in));
+        }
+        final ShippingRule rule = CheckpointFiles.readOrdinal(in, ShippingRule.values());
+        final int totalDaysInOrbit = CheckpointFiles.readInt(in, 1, Integer.MAX_VALUE, "days in orbit");
+        final boolean started = in.readBoolean();
+        final int dayReached = CheckpointFiles.readInt(in, 0, Integer.MAX_VALUE, "day reached");
+        final long processed = in.readLong();
+        final long sequence = in.readLong();
+        final int accruedDay = CheckpointFiles.readInt(in, 0, Integer.MAX_VALUE, "accrued day");
+        final int destinationsDay = CheckpointFiles.readInt(in, 0, Integer.MAX_VALUE, "destinations day");
+        final int pendingDepartureDay = CheckpointFiles.readInt(in, 0, Integer.MAX_VALUE, "departure day");
+        final int shipments = in.readInt();
+        final long kgsWaterShipped = in.readLong();
+        final double kgsWaterDelivered = in.readDouble();
+        final double profit = in.readDouble();
+        final int idleCount = CheckpointFiles.readInt(in, 0, haulerCount, "idle hauler count");
+        final int[] idle = new int[idleCount];
+        for (int i = 0; i < idleCount; i++) {
+            idle[i] = CheckpointFiles.readInt(in, 0, haulerCount - 1, "idle hauler");
+        }
+        final int eventCount = CheckpointFiles.readInt(in, 0, Integer.MAX_VALUE, "event count");
+        final List<Event> events = new ArrayList<>();
+        for (int i = 0; i < eventCount; i++) {
+            events.add(new Event(CheckpointFiles.readInt(in, 1, Integer.MAX_VALUE, "event day"), in.readLong(),
+                    CheckpointFiles.readOrdinal(in, EVENT_TYPES),
+                    CheckpointFiles.readInt(in, -1, haulerCount - 1, "event hauler"), in.readDouble(),
+                    in.readDouble()));
+        }
+        final ReplayableRandom random = CheckpointFiles.readRandom(in);
+        final SimulationContext context = new SimulationContext(parameters, random);
+        CheckpointFiles.readContext(in, context);
+
+        final FleetSimulator fleet = new FleetSimulator(context, haulers, rule, totalDaysInOrbit, random);
+        fleet.started = started;
+        fleet.dayReached = dayReached;
+        fleet.processed = processed;
+        fleet.sequence = sequence;
+        fleet.accruedDay = accruedDay;
+        fleet.destinationsDay = destinationsDay;
+        fleet.pendingDepartureDay = pendingDepartureDay;
+        fleet.shipments = shipments;
+        fleet.kgsWaterShipped = kgsWaterShipped;
+        fleet.kgsWaterDelivered = kgsWaterDelivered;
+        fleet.profit = profit;
+        for (int hauler : idle) {
+            fleet.idle.add(hauler);
+        }
+        fleet.events.addAll(events);
+        return fleet;
+    }
+}
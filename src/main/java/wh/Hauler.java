@@ -1,77 +1,70 @@
 package wh;
 
 import java.util.EnumMap;
+import java.util.Map;
 
 public record Hauler(HaulerClass type, EnumMap<WaterPropulsionSystem, Integer> engines, EnumMap<PowerSource, Integer> power) {
     public Hauler {
-        final int requiredPower = engines.entrySet().stream()
-                .mapToInt(entry -> entry.getKey().requiredPowerKW * entry.getValue())
-                .sum();
-        final int availablePower = power.entrySet().stream()
-                .mapToInt(entry -> entry.getKey().powerKw * entry.getValue())
-                .sum();
+        int requiredPower = 0;
+        for (Map.Entry<WaterPropulsionSystem, Integer> entry : engines.entrySet()) {
+            requiredPower += entry.getKey().requiredPowerKW * entry.getValue();
+        }
+        int availablePower = 0;
+        for (Map.Entry<PowerSource, Integer> entry : power.entrySet()) {
+            availablePower += entry.getKey().powerKw * entry.getValue();
+        }
         if (requiredPower > availablePower) {
             throw new IllegalArgumentException("Required power " + requiredPower + "kW in " + engines + " but only " +
                     availablePower + "kW was available in " + power);
         }
-        if (!engines.entrySet().stream().filter(e -> e.getValue() > e.getKey().maxPerShip).toList().isEmpty()) {
-            throw new IllegalArgumentException("Too many engines of a type in " + engines);
+        for (Map.Entry<WaterPropulsionSystem, Integer> entry : engines.entrySet()) {
+            if (entry.getValue() > entry.getKey().maxPerShip) {
+                throw new IllegalArgumentException("Too many engines of a type in " + engines);
+            }
         }
     }
 
+    // Cached since values() clones its array on every call, and these sums run inside the daily option evaluation
+    private static final WaterPropulsionSystem[] ENGINE_TYPES = WaterPropulsionSystem.values();
+    private static final PowerSource[] POWER_TYPES = PowerSource.values();
+
     public double getImpulseMetersSec() {
-        return engines.entrySet().stream()
-                .mapToDouble(entry -> entry.getKey().specificImpulseMetersSec * entry.getKey().conversionEfficiency * entry.getValue())
-                .sum();
+        double impulse = 0;
+        for (WaterPropulsionSystem engine : ENGINE_TYPES) {
+            final Integer count = engines.get(engine);
+            if (count != null) {
+                impulse += engine.specificImpulseMetersSec * engine.conversionEfficiency * count;
+            }
+        }
+        return impulse;
     }
 
     public int getDryWeightKgs() {
-        return type.dryWeightKgs +
-                engines.entrySet().stream().mapToInt(entry -> entry.getKey().weightKg * entry.getValue()).sum() +
-                power.entrySet().stream().mapToInt(entry -> entry.getKey().weightKgs * entry.getValue()).sum();
+        int weight = type.dryWeightKgs;
+        for (WaterPropulsionSystem engine : ENGINE_TYPES) {
+            final Integer count = engines.get(engine);
+            if (count != null) {
+                weight += engine.weightKg * count;
+            }
+        }
+        for (PowerSource source : POWER_TYPES) {
+            final Integer count = power.get(source);
+            if (count != null) {
+                weight += source.weightKgs * count;
+            }
+        }
+        return weight;
     }
 
     /**
-     * Amount of water required to accelerate the dry weight + that water fuel to the target delta v
+     * Amount of water required to accelerate the dry weight + that water fuel to the target delta v, infinite if more
+     * than 500kgs would be needed. Callers evaluating many delta-vs should hold on to a {@link HaulerPerformance}.
      */
     double kgsFuelToAccelerateTo(double targetDeltaV) {
-        // Special case for zero deltaV - no fuel needed
-        if (targetDeltaV == 0.0) {
-            return 0.0;
-        }
-        
+        final double impulseMetersSec = getImpulseMetersSec();
         final double dryWeightKgs = getDryWeightKgs();
-
-        // Check if deltaV is achievable
-        double maxDeltaV = getImpulseMetersSec() * Math.log((dryWeightKgs + 500) / dryWeightKgs) / 1000.0;
-        if (targetDeltaV > maxDeltaV) {
-            return Double.POSITIVE_INFINITY;
-        }
-
-        // Use binary search to solve rocket equation
-        double lowFuelWeightKgs = 0.001;
-        double highFuelWeightKgs = 1_000_000;
-
-        int iterations = 0;
-        while (highFuelWeightKgs - lowFuelWeightKgs > 0.0001 && iterations < 100) {
-            double midFuelWeightKgs = (lowFuelWeightKgs + highFuelWeightKgs) / 2;
-            double achievableDeltaV = deltaVFromBurning(midFuelWeightKgs, dryWeightKgs);
-
-            if (Math.abs(achievableDeltaV - targetDeltaV) < 0.0001) {
-                return midFuelWeightKgs;
-            } else if (achievableDeltaV < targetDeltaV) {
-                lowFuelWeightKgs = midFuelWeightKgs;
-            } else {
-                highFuelWeightKgs = midFuelWeightKgs;
-            }
-            iterations++;
-        }
-
-        if (iterations >= 100) {
-            return Double.POSITIVE_INFINITY;
-        }
-
-        return (lowFuelWeightKgs + highFuelWeightKgs) / 2;
+        return HaulerPerformance.kgsFuelToAccelerateTo(targetDeltaV, impulseMetersSec, dryWeightKgs,
+                HaulerPerformance.maxDeltaV(impulseMetersSec, dryWeightKgs));
     }
 
     /**
@@ -0,0 +1,61 @@
+package wh;
+
+/**
+ * One point in the hauler design space along with the objectives it is ranked on
+ * @param genome The configuration, see {@link HaulerGenome}
+ * @param cost Total cost of the engines and power sources
+ * @param kgsFuelPerKmSec Kgs of water to accelerate the dry hauler by 1km/s, with no cap on the fuel carried
+ */
+public record HaulerDesign(long genome, long cost, double kgsFuelPerKmSec) {
+
+    public HaulerClass type() {
+        return HaulerGenome.type(genome);
+    }
+
+    public int cargoKgs() {
+        return type().maxCargoKgs;
+    }
+
+    /**
+     * @return Number of each engine, indexed by {@link WaterPropulsionSystem} ordinal
+     */
+    public int[] engineCounts() {
+        final WaterPropulsionSystem[] engines = WaterPropulsionSystem.values();
+        final int[] counts = new int[engines.length];
+        for (WaterPropulsionSystem engine : engines) {
+            counts[engine.ordinal()] = HaulerGenome.engineCount(genome, engine);
+        }
+        return counts;
+    }
+
+    /**
+     * @return Number of each power source, indexed by {@link PowerSource} ordinal
+     */
+    public int[] powerCounts() {
+        final PowerSource[] sources = PowerSource.values();
+        final int[] counts = new int[sources.length];
+        for (PowerSource source : sources) {
+            counts[source.ordinal()] = HaulerGenome.powerCount(genome, source);
+        }
+        return counts;
+    }
+
+    /**
+     * @return True if this design is at least as good as the other on every objective and better on one
+     */
+    public boolean dominates(final HaulerDesign other) {
+        final boolean noWorse = cargoKgs() >= other.cargoKgs() && cost <= other.cost &&
+                kgsFuelPerKmSec <= other.kgsFuelPerKmSec;
+        return noWorse && (cargoKgs() > other.cargoKgs() || cost < other.cost ||
+                kgsFuelPerKmSec < other.kgsFuelPerKmSec);
+    }
+
+    public Hauler toHauler() {
+        return HaulerGenome.decode(genome);
+    }
+
+    @Override
+    public String toString() {
+        return toHauler() + " cost " + cost + " fuel " + String.format("%.1f", kgsFuelPerKmSec) + "kgs per km/s";
+    }
+}
@@ -0,0 +1,172 @@
+package wh;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Walks every hauler that could be built, being each class with at least one engine, no more of an engine than its
+ * maxPerShip, engines within the class's weight allowance, and enough power for them. The Pareto frontier over cost,
+ * cargo capacity and fuel per km/s is returned.
+ * <p>
+ * Engines are placed heaviest first so the weight allowance cuts branches as early as possible. Surplus power never
+ * helps, and a beamed unit is cheaper and lighter per kW than solar, so for each number of fusion plants the only
+ * power worth considering is beamed units rounded up, or rounded down with fewer than one beamed unit of solar.
+ */
+public final class HaulerDesignEnumerator {
+
+    private static final WaterPropulsionSystem[] ENGINES_BY_WEIGHT = Arrays.stream(WaterPropulsionSystem.values())
+            .sorted(Comparator.comparingInt((WaterPropulsionSystem engine) -> engine.weightKg).reversed())
+            .toArray(WaterPropulsionSystem[]::new);
+    // Engine types whose counts are split into separate tasks, the rest of each branch being walked on one thread
+    private static final int PARALLEL_DEPTH = 2;
+
+    private HaulerDesignEnumerator() {
+    }
+
+    public static List<HaulerDesign> paretoFrontier() {
+        return paretoFrontier(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool Pool the branches of the design space are split across
+     * @return Non-dominated designs, by class then by increasing cost
+     */
+    public static List<HaulerDesign> paretoFrontier(final ForkJoinPool pool) {
+        final HaulerClass[] types = HaulerClass.values();
+        final ParetoFrontier[] frontiers = new ParetoFrontier[types.length];
+        for (HaulerClass type : types) {
+            frontiers[type.ordinal()] = pool.invoke(new BranchTask(HaulerGenome.of(type), 0, 0, 0, 0, 0));
+        }
+        // Within a class the cargo is equal, so a design can now only be beaten by a class carrying more
+        final List<HaulerDesign> designs = new ArrayList<>();
+        for (HaulerClass type : types) {
+            for (HaulerDesign design : frontiers[type.ordinal()].designs()) {
+                boolean dominated = false;
+                for (HaulerClass other : types) {
+                    if (other.maxCargoKgs > type.maxCargoKgs &&
+                            frontiers[other.ordinal()].isDominated(design.cost(), design.kgsFuelPerKmSec())) {
+                        dominated = true;
+                        break;
+                    }
+                }
+                if (!dominated) {
+                    designs.add(design);
+                }
+            }
+        }
+        return designs;
+    }
+
+    /**
+     * Places every allowed count of the engine at depth, then the engines after it. The running totals are carried
+     * alongside the genome so each candidate costs a handful of additions.
+     * @param genome Class and counts of the engines before depth
+     */
+    private static void enumerate(final long genome, final int depth, final int engineWeightKgs,
+                                  final int requiredPowerKw, final double impulseMetersSec, final long engineCost,
+                                  final ParetoFrontier frontier) {
+        if (depth == ENGINES_BY_WEIGHT.length) {
+            if (impulseMetersSec > 0) {
+                offerPowerOptions(genome, engineWeightKgs, requiredPowerKw, impulseMetersSec, engineCost, frontier);
+            }
+            return;
+        }
+        final WaterPropulsionSystem engine = ENGINES_BY_WEIGHT[depth];
+        final int maxCount = maxCount(HaulerGenome.type(genome), engine, engineWeightKgs);
+        for (int count = 0; count <= maxCount; count++) {
+            enumerate(HaulerGenome.withEngineCount(genome, engine, count), depth + 1,
+                    engineWeightKgs + engine.weightKg * count, requiredPowerKw + engine.requiredPowerKW * count,
+                    impulseMetersSec + engine.specificImpulseMetersSec * engine.conversionEfficiency * count,
+                    engineCost + (long) engine.cost * count, frontier);
+        }
+    }
+
+    private static int maxCount(final HaulerClass type, final WaterPropulsionSystem engine,
+                                final int engineWeightKgs) {
+        return Math.min(engine.maxPerShip, (type.maxEngineWeightKgs - engineWeightKgs) / engine.weightKg);
+    }
+
+    private static void offerPowerOptions(final long genome, final int engineWeightKgs, final int requiredPowerKw,
+                                          final double impulseMetersSec, final long engineCost,
+                                          final ParetoFrontier frontier) {
+        final int fusionKw = PowerSource.FUSION.powerKw;
+        final int beamedKw = PowerSource.BEAMED.powerKw;
+        final int maxFusion = (requiredPowerKw + fusionKw - 1) / fusionKw;
+        for (int fusion = 0; fusion <= maxFusion; fusion++) {
+            final int remainingKw = Math.max(0, requiredPowerKw - fusion * fusionKw);
+            final int beamed = remainingKw / beamedKw;
+            final int leftoverKw = remainingKw % beamedKw;
+            if (leftoverKw == 0) {
+                offer(genome, engineWeightKgs, impulseMetersSec, engineCost, fusion, beamed, 0, frontier);
+            } else {
+                offer(genome, engineWeightKgs, impulseMetersSec, engineCost, fusion, beamed + 1, 0, frontier);
+                final int solar = (leftoverKw + PowerSource.SOLAR.powerKw - 1) / PowerSource.SOLAR.powerKw;
+                offer(genome, engineWeightKgs, impulseMetersSec, engineCost, fusion, beamed, solar, frontier);
+            }
+        }
+    }
+
+    private static void offer(final long genome, final int engineWeightKgs, final double impulseMetersSec,
+                              final long engineCost, final int fusion, final int beamed, final int solar,
+                              final ParetoFrontier frontier) {
+        final long cost = engineCost + (long) PowerSource.FUSION.cost * fusion +
+                (long) PowerSource.BEAMED.cost * beamed + (long) PowerSource.SOLAR.cost * solar;
+        final double dryWeightKgs = HaulerGenome.type(genome).dryWeightKgs + engineWeightKgs +
+                (double) PowerSource.FUSION.weightKgs * fusion + (double) PowerSource.BEAMED.weightKgs * beamed +
+                (double) PowerSource.SOLAR.weightKgs * solar;
+        final double kgsFuelPerKmSec = dryWeightKgs * Math.expm1(1000.0 / impulseMetersSec);
+        // Checked before building the design, as nearly every candidate is rejected
+        if (frontier.isDominated(cost, kgsFuelPerKmSec)) {
+            return;
+        }
+        long design = HaulerGenome.withPowerCount(genome, PowerSource.FUSION, fusion);
+        design = HaulerGenome.withPowerCount(design, PowerSource.BEAMED, beamed);
+        design = HaulerGenome.withPowerCount(design, PowerSource.SOLAR, solar);
+        frontier.offer(new HaulerDesign(design, cost, kgsFuelPerKmSec));
+    }
+
+    private static final class BranchTask extends RecursiveTask<ParetoFrontier> {
+        private final long genome;
+        private final int depth;
+        private final int engineWeightKgs;
+        private final int requiredPowerKw;
+        private final double impulseMetersSec;
+        private final long engineCost;
+
+        BranchTask(long genome, int depth, int engineWeightKgs, int requiredPowerKw, double impulseMetersSec,
+                   long engineCost) {
+            this.genome = genome;
+            this.depth = depth;
+            this.engineWeightKgs = engineWeightKgs;
+            this.requiredPowerKw = requiredPowerKw;
+            this.impulseMetersSec = impulseMetersSec;
+            this.engineCost = engineCost;
+        }
+
+        @Override
+        protected ParetoFrontier compute() {
+            final ParetoFrontier frontier = new ParetoFrontier();
+            if (depth == PARALLEL_DEPTH) {
+                enumerate(genome, depth, engineWeightKgs, requiredPowerKw, impulseMetersSec, engineCost, frontier);
+                return frontier;
+            }
+            final WaterPropulsionSystem engine = ENGINES_BY_WEIGHT[depth];
+            final List<BranchTask> branches = new ArrayList<>();
+            for (int count = 0; count <= maxCount(HaulerGenome.type(genome), engine, engineWeightKgs); count++) {
+                branches.add(new BranchTask(HaulerGenome.withEngineCount(genome, engine, count), depth + 1,
+                        engineWeightKgs + engine.weightKg * count, requiredPowerKw + engine.requiredPowerKW * count,
+                        impulseMetersSec + engine.specificImpulseMetersSec * engine.conversionEfficiency * count,
+                        engineCost + (long) engine.cost * count));
+            }
+            // Merged in branch order, so ties between equal designs resolve the same way on every run
+            for (BranchTask branch : invokeAll(branches)) {
+                frontier.offerAll(branch.join());
+            }
+            return frontier;
+        }
+    }
+}
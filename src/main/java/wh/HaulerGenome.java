@@ -0,0 +1,226 @@
+package wh;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * A hauler configuration packed into one long, so that design searches can hold and score candidates without
+ * allocating. From the low bits up: the {@link HaulerClass} ordinal, then a count per {@link WaterPropulsionSystem}
+ * just wide enough for its maxPerShip, then a count per {@link PowerSource}. The properties the {@link Hauler} record
+ * derives from its maps are computed here from flat per-component tables.
+ */
+public final class HaulerGenome {
+
+    private static final HaulerClass[] CLASSES = HaulerClass.values();
+    private static final WaterPropulsionSystem[] ENGINES = WaterPropulsionSystem.values();
+    private static final PowerSource[] POWER_SOURCES = PowerSource.values();
+
+    private static final int CLASS_BITS = 2;
+    // Solar and beamed can each need tens of thousands of units to run a pair of fusion drives
+    private static final int[] POWER_BITS = {16, 16, 8};  // by PowerSource ordinal
+
+    private static final int[] ENGINE_SHIFT = new int[ENGINES.length];
+    private static final long[] ENGINE_MASK = new long[ENGINES.length];
+    private static final int[] POWER_SHIFT = new int[POWER_SOURCES.length];
+    private static final long[] POWER_MASK = new long[POWER_SOURCES.length];
+
+    private static final int[] CLASS_DRY_WEIGHT_KGS = new int[CLASSES.length];
+    private static final int[] ENGINE_MAX_PER_SHIP = new int[ENGINES.length];
+    private static final double[] ENGINE_IMPULSE_METERS_SEC = new double[ENGINES.length];
+    private static final int[] ENGINE_POWER_KW = new int[ENGINES.length];
+    private static final int[] ENGINE_WEIGHT_KGS = new int[ENGINES.length];
+    private static final long[] ENGINE_COST = new long[ENGINES.length];
+    private static final int[] POWER_KW = new int[POWER_SOURCES.length];
+    private static final int[] POWER_WEIGHT_KGS = new int[POWER_SOURCES.length];
+    private static final long[] POWER_COST = new long[POWER_SOURCES.length];
+
+    static {
+        if (CLASSES.length > 1 << CLASS_BITS || POWER_BITS.length != POWER_SOURCES.length) {
+            throw new IllegalStateException("Genome layout does not fit the hauler components");
+        }
+        int shift = CLASS_BITS;
+        for (WaterPropulsionSystem engine : ENGINES) {
+            final int bits = 32 - Integer.numberOfLeadingZeros(engine.maxPerShip);
+            ENGINE_SHIFT[engine.ordinal()] = shift;
+            ENGINE_MASK[engine.ordinal()] = (1L << bits) - 1;
+            shift += bits;
+        }
+        for (PowerSource source : POWER_SOURCES) {
+            POWER_SHIFT[source.ordinal()] = shift;
+            POWER_MASK[source.ordinal()] = (1L << POWER_BITS[source.ordinal()]) - 1;
+            shift += POWER_BITS[source.ordinal()];
+        }
+        if (shift > Long.SIZE) {
+            throw new IllegalStateException("Genome layout needs " + shift + " bits");
+        }
+        for (HaulerClass type : CLASSES) {
+            CLASS_DRY_WEIGHT_KGS[type.ordinal()] = type.dryWeightKgs;
+        }
+        for (WaterPropulsionSystem engine : ENGINES) {
+            ENGINE_MAX_PER_SHIP[engine.ordinal()] = engine.maxPerShip;
+            ENGINE_IMPULSE_METERS_SEC[engine.ordinal()] = engine.specificImpulseMetersSec * engine.conversionEfficiency;
+            ENGINE_POWER_KW[engine.ordinal()] = engine.requiredPowerKW;
+            ENGINE_WEIGHT_KGS[engine.ordinal()] = engine.weightKg;
+            ENGINE_COST[engine.ordinal()] = engine.cost;
+        }
+        for (PowerSource source : POWER_SOURCES) {
+            POWER_KW[source.ordinal()] = source.powerKw;
+            POWER_WEIGHT_KGS[source.ordinal()] = source.weightKgs;
+            POWER_COST[source.ordinal()] = source.cost;
+        }
+    }
+
+    private HaulerGenome() {
+    }
+
+    /**
+     * @return Genome of a hauler with no engines or power
+     */
+    public static long of(final HaulerClass type) {
+        return type.ordinal();
+    }
+
+    /**
+     * A component with a count of zero encodes the same as one left out, so {@code decode(encode(hauler))} equals the
+     * hauler only if its maps hold no zero counts, and is otherwise the same hauler without them
+     * @throws IllegalArgumentException If a count is negative or too large for its field
+     */
+    public static long encode(final Hauler hauler) {
+        long genome = of(hauler.type());
+        for (Map.Entry<WaterPropulsionSystem, Integer> entry : hauler.engines().entrySet()) {
+            genome = withEngineCount(genome, entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<PowerSource, Integer> entry : hauler.power().entrySet()) {
+            genome = withPowerCount(genome, entry.getKey(), entry.getValue());
+        }
+        return genome;
+    }
+
+    /**
+     * Builds the record, leaving out components with a count of zero, so it never has zero counts in its maps
+     * @throws IllegalArgumentException If the genome does not describe a valid hauler
+     */
+    public static Hauler decode(final long genome) {
+        final EnumMap<WaterPropulsionSystem, Integer> engines = new EnumMap<>(WaterPropulsionSystem.class);
+        for (WaterPropulsionSystem engine : ENGINES) {
+            final int count = engineCount(genome, engine);
+            if (count > 0) {
+                engines.put(engine, count);
+            }
+        }
+        final EnumMap<PowerSource, Integer> power = new EnumMap<>(PowerSource.class);
+        for (PowerSource source : POWER_SOURCES) {
+            final int count = powerCount(genome, source);
+            if (count > 0) {
+                power.put(source, count);
+            }
+        }
+        return new Hauler(type(genome), engines, power);
+    }
+
+    public static HaulerClass type(final long genome) {
+        return CLASSES[(int) (genome & ((1 << CLASS_BITS) - 1))];
+    }
+
+    public static int engineCount(final long genome, final WaterPropulsionSystem engine) {
+        return (int) ((genome >>> ENGINE_SHIFT[engine.ordinal()]) & ENGINE_MASK[engine.ordinal()]);
+    }
+
+    public static int powerCount(final long genome, final PowerSource source) {
+        return (int) ((genome >>> POWER_SHIFT[source.ordinal()]) & POWER_MASK[source.ordinal()]);
+    }
+
+    public static long withEngineCount(final long genome, final WaterPropulsionSystem engine, final int count) {
+        return withField(genome, ENGINE_SHIFT[engine.ordinal()], ENGINE_MASK[engine.ordinal()], count, engine);
+    }
+
+    public static long withPowerCount(final long genome, final PowerSource source, final int count) {
+        return withField(genome, POWER_SHIFT[source.ordinal()], POWER_MASK[source.ordinal()], count, source);
+    }
+
+    public static int requiredPowerKw(final long genome) {
+        int required = 0;
+        for (int i = 0; i < ENGINES.length; i++) {
+            required += ENGINE_POWER_KW[i] * (int) ((genome >>> ENGINE_SHIFT[i]) & ENGINE_MASK[i]);
+        }
+        return required;
+    }
+
+    public static int availablePowerKw(final long genome) {
+        int available = 0;
+        for (int i = 0; i < POWER_SOURCES.length; i++) {
+            available += POWER_KW[i] * (int) ((genome >>> POWER_SHIFT[i]) & POWER_MASK[i]);
+        }
+        return available;
+    }
+
+    /**
+     * @return True if the hauler record would accept this configuration: enough power, and no engine type over its
+     * maxPerShip
+     */
+    public static boolean isValid(final long genome) {
+        for (int i = 0; i < ENGINES.length; i++) {
+            if (((genome >>> ENGINE_SHIFT[i]) & ENGINE_MASK[i]) > ENGINE_MAX_PER_SHIP[i]) {
+                return false;
+            }
+        }
+        return requiredPowerKw(genome) <= availablePowerKw(genome);
+    }
+
+    /**
+     * Same value as {@link Hauler#getImpulseMetersSec}, summed in the same order
+     */
+    public static double impulseMetersSec(final long genome) {
+        double impulse = 0;
+        for (int i = 0; i < ENGINES.length; i++) {
+            final long count = (genome >>> ENGINE_SHIFT[i]) & ENGINE_MASK[i];
+            if (count != 0) {
+                impulse += ENGINE_IMPULSE_METERS_SEC[i] * count;
+            }
+        }
+        return impulse;
+    }
+
+    /**
+     * Same value as {@link Hauler#getDryWeightKgs}
+     */
+    public static int dryWeightKgs(final long genome) {
+        int weight = CLASS_DRY_WEIGHT_KGS[(int) (genome & ((1 << CLASS_BITS) - 1))];
+        for (int i = 0; i < ENGINES.length; i++) {
+            weight += ENGINE_WEIGHT_KGS[i] * (int) ((genome >>> ENGINE_SHIFT[i]) & ENGINE_MASK[i]);
+        }
+        for (int i = 0; i < POWER_SOURCES.length; i++) {
+            weight += POWER_WEIGHT_KGS[i] * (int) ((genome >>> POWER_SHIFT[i]) & POWER_MASK[i]);
+        }
+        return weight;
+    }
+
+    /**
+     * @return Total cost of the engines and power sources
+     */
+    public static long cost(final long genome) {
+        long cost = 0;
+        for (int i = 0; i < ENGINES.length; i++) {
+            cost += ENGINE_COST[i] * ((genome >>> ENGINE_SHIFT[i]) & ENGINE_MASK[i]);
+        }
+        for (int i = 0; i < POWER_SOURCES.length; i++) {
+            cost += POWER_COST[i] * ((genome >>> POWER_SHIFT[i]) & POWER_MASK[i]);
+        }
+        return cost;
+    }
+
+    /**
+     * @return Kgs of water to accelerate the dry hauler by 1km/s, with no cap on the fuel carried
+     */
+    public static double kgsFuelPerKmSec(final long genome) {
+        return dryWeightKgs(genome) * Math.expm1(1000.0 / impulseMetersSec(genome));
+    }
+
+    private static long withField(final long genome, final int shift, final long mask, final int count,
+                                  final Object component) {
+        if (count < 0 || count > mask) {
+            throw new IllegalArgumentException("Count " + count + " of " + component + " does not fit in a genome");
+        }
+        return (genome & ~(mask << shift)) | ((long) count << shift);
+    }
+}
@@ -0,0 +1,116 @@
+package wh;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * A hauler's impulse and dry weight summed once, with the rocket equation inverted in closed form:
+ * fuel = dry * (exp(deltaV / exhaust velocity) - 1). Holding on to the profile avoids re-summing the engine and
+ * power maps for every option evaluated.
+ */
+public final class HaulerPerformance {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    // Hauls are only planned while the fuel needed stays under this, see maxDeltaV
+    private static final double MAX_FUEL_KGS = 500;
+
+    final Hauler hauler;
+    private final double impulseMetersSec;
+    private final double dryWeightKgs;
+    private final double maxDeltaV;
+
+    public HaulerPerformance(final Hauler hauler) {
+        this.hauler = hauler;
+        this.impulseMetersSec = hauler.getImpulseMetersSec();
+        this.dryWeightKgs = hauler.getDryWeightKgs();
+        this.maxDeltaV = maxDeltaV(impulseMetersSec, dryWeightKgs);
+    }
+
+    public double getImpulseMetersSec() {
+        return impulseMetersSec;
+    }
+
+    public double getDryWeightKgs() {
+        return dryWeightKgs;
+    }
+
+    /**
+     * Same contract as {@link Hauler#kgsFuelToAccelerateTo}
+     * @param targetDeltaV Delta-v in km/s
+     * @return Kgs of water fuel, 0 for no (or a negative) delta-v and infinity if it cannot be reached
+     */
+    public double kgsFuelToAccelerateTo(final double targetDeltaV) {
+        return kgsFuelToAccelerateTo(targetDeltaV, impulseMetersSec, dryWeightKgs, maxDeltaV);
+    }
+
+    /**
+     * @param targetDeltaVs Delta-vs in km/s
+     * @return Kgs of water fuel for each delta-v, as {@link #kgsFuelToAccelerateTo(double)} would return
+     */
+    public double[] kgsFuelToAccelerateTo(final double[] targetDeltaVs) {
+        final double[] fuelKgs = new double[targetDeltaVs.length];
+        kgsFuelToAccelerateTo(targetDeltaVs, fuelKgs);
+        return fuelKgs;
+    }
+
+    /**
+     * @param targetDeltaVs Delta-vs in km/s
+     * @param fuelKgs Output kgs of water fuel, same length as targetDeltaVs
+     */
+    public void kgsFuelToAccelerateTo(final double[] targetDeltaVs, final double[] fuelKgs) {
+        if (fuelKgs.length != targetDeltaVs.length) {
+            throw new IllegalArgumentException("Fuel array has length " + fuelKgs.length + " but there are " +
+                    targetDeltaVs.length + " delta-vs");
+        }
+        final double kmSecToExponent = 1000.0 / impulseMetersSec;
+        final int count = targetDeltaVs.length;
+        final int upperBound = SPECIES.loopBound(count);
+        int i = 0;
+        for (; i < upperBound; i += SPECIES.length()) {
+            kgsFuel(DoubleVector.fromArray(SPECIES, targetDeltaVs, i), kmSecToExponent).intoArray(fuelKgs, i);
+        }
+        if (i < count) {
+            final VectorMask<Double> tail = SPECIES.indexInRange(i, count);
+            kgsFuel(DoubleVector.fromArray(SPECIES, targetDeltaVs, i, tail), kmSecToExponent)
+                    .intoArray(fuelKgs, i, tail);
+        }
+        if (SimulationTelemetry.ENABLED) {
+            for (double kgsFuel : fuelKgs) {
+                SimulationTelemetry.fuelCalculated(kgsFuel);
+            }
+        }
+    }
+
+    private DoubleVector kgsFuel(final DoubleVector targetDeltaV, final double kmSecToExponent) {
+        final DoubleVector fuel = targetDeltaV.mul(kmSecToExponent).lanewise(VectorOperators.EXPM1).mul(dryWeightKgs);
+        return DoubleVector.zero(SPECIES)
+                .blend(fuel, targetDeltaV.compare(VectorOperators.GT, 0))
+                .blend(Double.POSITIVE_INFINITY, targetDeltaV.compare(VectorOperators.GT, maxDeltaV));
+    }
+
+    /**
+     * Largest delta-v in km/s reachable without burning more than {@link #MAX_FUEL_KGS}
+     */
+    static double maxDeltaV(final double impulseMetersSec, final double dryWeightKgs) {
+        return impulseMetersSec * Math.log((dryWeightKgs + MAX_FUEL_KGS) / dryWeightKgs) / 1000.0;
+    }
+
+    static double kgsFuelToAccelerateTo(final double targetDeltaV, final double impulseMetersSec,
+                                        final double dryWeightKgs, final double maxDeltaV) {
+        final double kgsFuel;
+        // Also catches NaN, which the old bisection search walked down to its lower bound of (nearly) no fuel
+        if (!(targetDeltaV > 0)) {
+            kgsFuel = 0.0;
+        } else if (targetDeltaV > maxDeltaV) {
+            kgsFuel = Double.POSITIVE_INFINITY;
+        } else {
+            kgsFuel = dryWeightKgs * Math.expm1(targetDeltaV * 1000.0 / impulseMetersSec);
+        }
+        if (SimulationTelemetry.ENABLED) {
+            SimulationTelemetry.fuelCalculated(kgsFuel);
+        }
+        return kgsFuel;
+    }
+}
@@ -0,0 +1,24 @@
+package wh;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keeps every day's result for inspection after the run
+ */
+public class InMemorySink implements SimulationSink {
+    private final List<DayResult> results = new ArrayList<>();
+
+    @Override
+    public void accept(final DayResult result) {
+        results.add(result);
+    }
+
+    /**
+     * @return Results so far in day order
+     */
+    public List<DayResult> getResults() {
+        return Collections.unmodifiableList(results);
+    }
+}
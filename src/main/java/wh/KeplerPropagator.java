@@ -0,0 +1,120 @@
+package wh;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Follows one body around its orbit, stepping the eccentric anomaly on from the previous call rather than solving
+ * Kepler's equation from scratch. A small step is predicted from the local slope dE/dM, then refined by one
+ * {@link MathsUtil#keplerCorrection}. sin(E) and cos(E) are rotated forward by each increment using short Taylor
+ * series, so a warm step makes no trigonometric calls. Jumps that are large for the local curvature, and every
+ * {@link #REANCHOR_INTERVAL}th step, are re-anchored with a full {@link MathsUtil#solveKepler} so rounding in the
+ * rotated sine and cosine cannot build up.
+ */
+public final class KeplerPropagator {
+
+    static final int REANCHOR_INTERVAL = 64;
+    // Largest predicted change in E (radians) that is stepped rather than solved, before scaling by dM/dE
+    static final double MAX_STEP = 0.1;
+    // Taylor coefficients of sin and cos
+    private static final double SIN3 = -1.0 / 6, SIN5 = 1.0 / 120, SIN7 = -1.0 / 5040, SIN9 = 1.0 / 362880;
+    private static final double COS2 = -1.0 / 2, COS4 = 1.0 / 24, COS6 = -1.0 / 720, COS8 = 1.0 / 40320;
+
+    private final double eccentricity;
+    private double meanAnomaly = Double.NaN;
+    private double eccentricAnomaly;
+    private double sinE;
+    private double cosE;
+    private int stepsSinceAnchor;
+
+    /**
+     * @param eccentricity Eccentricity (dimensionless) of the orbit being followed
+     */
+    public KeplerPropagator(double eccentricity) {
+        this.eccentricity = eccentricity;
+    }
+
+    /**
+     * Moves the body to the given mean anomaly, from any previous one
+     * @param meanAnomaly Mean anomaly in radians
+     * @return Eccentric anomaly in radians, in the same revolution as the mean anomaly
+     */
+    public double propagateTo(double meanAnomaly) {
+        final double slope = 1 - eccentricity * cosE;  // dM/dE
+        final double predictedStep = (meanAnomaly - this.meanAnomaly) / slope;
+        // The prediction is only good to the order of step^2 / slope, which is large near perihelion of very
+        // eccentric orbits, so steps are limited in proportion to the slope. The test is also false when there is
+        // no previous state, or the new mean anomaly is not finite, since NaN compares false.
+        if (!(Math.abs(predictedStep) <= MAX_STEP * slope) || stepsSinceAnchor >= REANCHOR_INTERVAL) {
+            anchor(meanAnomaly);
+            if (SimulationTelemetry.ENABLED) {
+                SimulationTelemetry.PROPAGATOR_ANCHORS.increment();
+            }
+        } else {
+            rotate(predictedStep);
+            rotate(MathsUtil.keplerCorrection(eccentricAnomaly, eccentricity * sinE, eccentricity * cosE,
+                    meanAnomaly));
+            this.meanAnomaly = meanAnomaly;
+            stepsSinceAnchor++;
+            if (SimulationTelemetry.ENABLED) {
+                SimulationTelemetry.PROPAGATOR_STEPS.increment();
+            }
+        }
+        return eccentricAnomaly;
+    }
+
+    public double getEccentricAnomaly() {
+        return eccentricAnomaly;
+    }
+
+    public double getSinE() {
+        return sinE;
+    }
+
+    public double getCosE() {
+        return cosE;
+    }
+
+    /**
+     * Writes where the body is and how far it has stepped since the last anchor, so a propagator restored by
+     * {@link #readState} continues with exactly the same steps
+     */
+    void writeState(DataOutput out) throws IOException {
+        out.writeDouble(meanAnomaly);
+        out.writeDouble(eccentricAnomaly);
+        out.writeDouble(sinE);
+        out.writeDouble(cosE);
+        out.writeInt(stepsSinceAnchor);
+    }
+
+    void readState(DataInput in) throws IOException {
+        meanAnomaly = in.readDouble();
+        eccentricAnomaly = in.readDouble();
+        sinE = in.readDouble();
+        cosE = in.readDouble();
+        stepsSinceAnchor = in.readInt();
+    }
+
+    private void anchor(double meanAnomaly) {
+        this.meanAnomaly = meanAnomaly;
+        eccentricAnomaly = MathsUtil.solveKepler(meanAnomaly, eccentricity);
+        sinE = Math.sin(eccentricAnomaly);
+        cosE = Math.cos(eccentricAnomaly);
+        stepsSinceAnchor = 0;
+    }
+
+    /**
+     * Adds delta (at most {@link #MAX_STEP} in size) to E, updating sin(E) and cos(E) with the angle sum identities
+     */
+    private void rotate(double delta) {
+        final double delta2 = delta * delta;
+        // Taylor series truncated after the delta^9 and delta^8 terms, under 1e-18 out for |delta| <= MAX_STEP
+        final double sinDelta = delta * (1 + delta2 * (SIN3 + delta2 * (SIN5 + delta2 * (SIN7 + delta2 * SIN9))));
+        final double cosDelta = 1 + delta2 * (COS2 + delta2 * (COS4 + delta2 * (COS6 + delta2 * COS8)));
+        final double sin = sinE * cosDelta + cosE * sinDelta;
+        cosE = cosE * cosDelta - sinE * sinDelta;
+        sinE = sin;
+        eccentricAnomaly += delta;
+    }
+}
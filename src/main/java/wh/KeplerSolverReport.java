@@ -0,0 +1,84 @@
+package wh;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * Compares the Kepler solvers across eccentricities from circular to nearly parabolic. Accuracy is the worst residual
+ * |E - e sin(E) - M| over a full revolution of mean anomalies, and throughput is the mean time per solve once warm.
+ */
+public final class KeplerSolverReport {
+
+    static final double[] ECCENTRICITIES = {0.0, 0.1, 0.2, 0.3, 0.4, 0.5, 0.6, 0.63175, 0.7, 0.8, 0.9, 0.95, 0.99};
+
+    private static final int SAMPLES = 4096;
+    private static final int TIMED_PASSES = 200;
+
+    private KeplerSolverReport() {
+    }
+
+    public static void print(final PrintStream out) {
+        final double[] meanAnomalies = new double[SAMPLES];
+        final double[] eccentricities = new double[SAMPLES];
+        final double[] eccentricAnomalies = new double[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            meanAnomalies[i] = MathsUtil.TWO_PI * i / SAMPLES;
+        }
+        out.printf("%-9s %-14s %-14s %-12s %-12s %-12s\n", "e", "newton resid", "markley resid",
+                "newton ns", "markley ns", "vector ns");
+        for (double e : ECCENTRICITIES) {
+            Arrays.fill(eccentricities, e);
+            double newtonResidual = 0, markleyResidual = 0;
+            for (double M : meanAnomalies) {
+                newtonResidual = Math.max(newtonResidual, residual(MathsUtil.solveKeplerNewton(M, e), M, e));
+                markleyResidual = Math.max(markleyResidual, residual(MathsUtil.solveKepler(M, e), M, e));
+            }
+            out.printf("%-9.5f %-14.2e %-14.2e %-12.1f %-12.1f %-12.1f\n", e, newtonResidual, markleyResidual,
+                    timeScalar(meanAnomalies, e, true), timeScalar(meanAnomalies, e, false),
+                    timeVector(meanAnomalies, eccentricities, eccentricAnomalies));
+        }
+    }
+
+    /**
+     * @return How far E is from satisfying Kepler's equation for M and e
+     */
+    static double residual(final double E, final double M, final double e) {
+        return Math.abs(E - e * Math.sin(E) - M);
+    }
+
+    private static double timeScalar(final double[] meanAnomalies, final double e, final boolean newton) {
+        double sink = 0;
+        long elapsed = 0;
+        // The first half of the passes only warm up the solver
+        for (int pass = 0; pass < 2 * TIMED_PASSES; pass++) {
+            final long start = System.nanoTime();
+            for (double M : meanAnomalies) {
+                sink += newton ? MathsUtil.solveKeplerNewton(M, e) : MathsUtil.solveKepler(M, e);
+            }
+            if (pass >= TIMED_PASSES) {
+                elapsed += System.nanoTime() - start;
+            }
+        }
+        return nanosPerSolve(elapsed, meanAnomalies.length, sink);
+    }
+
+    private static double timeVector(final double[] meanAnomalies, final double[] eccentricities,
+                                     final double[] eccentricAnomalies) {
+        double sink = 0;
+        long elapsed = 0;
+        for (int pass = 0; pass < 2 * TIMED_PASSES; pass++) {
+            final long start = System.nanoTime();
+            VectorMathsUtil.solveKepler(meanAnomalies, eccentricities, eccentricAnomalies);
+            if (pass >= TIMED_PASSES) {
+                elapsed += System.nanoTime() - start;
+            }
+            sink += eccentricAnomalies[pass % eccentricAnomalies.length];
+        }
+        return nanosPerSolve(elapsed, meanAnomalies.length, sink);
+    }
+
+    private static double nanosPerSolve(final long elapsed, final int solvesPerPass, final double sink) {
+        // Consuming the sink keeps the solves from being optimised away
+        return (elapsed + (sink == Double.MIN_VALUE ? 1 : 0)) / (double) (TIMED_PASSES * solvesPerPass);
+    }
+}
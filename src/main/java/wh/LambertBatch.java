@@ -0,0 +1,46 @@
+package wh;
+
+/**
+ * Structure-of-arrays inputs and outputs for {@link LambertSolver#solve(double, LambertBatch, int)}, sized once and
+ * refilled by the caller for every batch
+ */
+public final class LambertBatch {
+    // Inputs: departure position, arrival position and time of flight
+    final double[] r1x, r1y, r1z;
+    final double[] r2x, r2y, r2z;
+    final double[] timeOfFlight;
+    // Outputs: transfer orbit velocity at departure and at arrival, NaN for degenerate problems
+    final double[] v1x, v1y, v1z;
+    final double[] v2x, v2y, v2z;
+
+    public LambertBatch(int capacity) {
+        r1x = new double[capacity];
+        r1y = new double[capacity];
+        r1z = new double[capacity];
+        r2x = new double[capacity];
+        r2y = new double[capacity];
+        r2z = new double[capacity];
+        timeOfFlight = new double[capacity];
+        v1x = new double[capacity];
+        v1y = new double[capacity];
+        v1z = new double[capacity];
+        v2x = new double[capacity];
+        v2y = new double[capacity];
+        v2z = new double[capacity];
+    }
+
+    public int capacity() {
+        return timeOfFlight.length;
+    }
+
+    public void setProblem(int index, double r1x, double r1y, double r1z,
+                           double r2x, double r2y, double r2z, double timeOfFlight) {
+        this.r1x[index] = r1x;
+        this.r1y[index] = r1y;
+        this.r1z[index] = r1z;
+        this.r2x[index] = r2x;
+        this.r2y[index] = r2y;
+        this.r2z[index] = r2z;
+        this.timeOfFlight[index] = timeOfFlight;
+    }
+}
@@ -0,0 +1,393 @@
+package wh;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Izzo's formulation of Lambert's problem: the single revolution orbit that connects two positions in a given time of
+ * flight, prograde unless asked otherwise, solved with Householder iterations on Izzo's x variable. Units follow
+ * {@link MathsUtil}, so with {@link MathsUtil#SUN_MU} positions are in AU, times in years and velocities in AU/year.
+ * <p>
+ * The batch form solves a set of Vector API lanes at a time using Lancaster's time of flight expression, which loses
+ * precision near the parabola, so lanes finishing within {@link #NEAR_PARABOLIC} of it are re-solved with the scalar
+ * solver and its series expansions.
+ */
+public final class LambertSolver {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final double NEAR_PARABOLIC = 0.2;
+
+    private static final double TOLERANCE = 1e-11;
+    private static final int MAX_ITERATIONS = 15;
+    private static final double LN_2 = Math.log(2);
+
+    private LambertSolver() {
+    }
+
+    /**
+     * @param mu Gravitational parameter of the central body
+     * @param r1x Departure position x
+     * @param r1y Departure position y
+     * @param r1z Departure position z
+     * @param r2x Arrival position x
+     * @param r2y Arrival position y
+     * @param r2z Arrival position z
+     * @param timeOfFlight Time between departure and arrival
+     * @param velocities Output [v1x, v1y, v1z, v2x, v2y, v2z], the transfer orbit velocity at departure then arrival
+     * @return false (leaving velocities untouched) when the problem is degenerate, i.e. a non-positive time of flight
+     *         or coincident positions
+     */
+    public static boolean solve(double mu, double r1x, double r1y, double r1z,
+                                double r2x, double r2y, double r2z, double timeOfFlight, double[] velocities) {
+        return solve(mu, r1x, r1y, r1z, r2x, r2y, r2z, timeOfFlight, false, velocities);
+    }
+
+    /**
+     * Same as {@link #solve(double, double, double, double, double, double, double, double, double[])}, going round
+     * the Sun the other way when retrograde. Of the two, one takes the short way between the positions and the other
+     * the long way, and which is which depends on which side of the ecliptic the plane through them faces.
+     */
+    public static boolean solve(double mu, double r1x, double r1y, double r1z,
+                                double r2x, double r2y, double r2z, double timeOfFlight, boolean retrograde,
+                                double[] velocities) {
+        final double r1 = Math.sqrt(r1x * r1x + r1y * r1y + r1z * r1z);
+        final double r2 = Math.sqrt(r2x * r2x + r2y * r2y + r2z * r2z);
+        final double cx = r2x - r1x, cy = r2y - r1y, cz = r2z - r1z;
+        final double c = Math.sqrt(cx * cx + cy * cy + cz * cz);
+        if (!(timeOfFlight > 0) || !(c > 1e-12 * (r1 + r2))) {
+            return false;
+        }
+        final double s = (r1 + r2 + c) / 2;
+
+        // Radial unit vectors, and the transfer plane normal which for collinear positions defaults to the ecliptic
+        final double ir1x = r1x / r1, ir1y = r1y / r1, ir1z = r1z / r1;
+        final double ir2x = r2x / r2, ir2y = r2y / r2, ir2z = r2z / r2;
+        double ihx = ir1y * ir2z - ir1z * ir2y;
+        double ihy = ir1z * ir2x - ir1x * ir2z;
+        double ihz = ir1x * ir2y - ir1y * ir2x;
+        final double ihNorm = Math.sqrt(ihx * ihx + ihy * ihy + ihz * ihz);
+        if (ihNorm < 1e-12) {
+            ihx = 0;
+            ihy = 0;
+            ihz = 1;
+        } else {
+            ihx /= ihNorm;
+            ihy /= ihNorm;
+            ihz /= ihNorm;
+        }
+
+        // Tangential unit vectors. A normal pointing below the ecliptic means the prograde transfer goes the long way
+        // round (more than 180 degrees), and one above means the retrograde one does, which Izzo encodes as a
+        // negative lambda
+        double lambda = Math.sqrt(Math.max(0, 1 - c / s));
+        double it1x, it1y, it1z, it2x, it2y, it2z;
+        if ((ihz < 0) != retrograde) {
+            lambda = -lambda;
+            it1x = ir1y * ihz - ir1z * ihy;
+            it1y = ir1z * ihx - ir1x * ihz;
+            it1z = ir1x * ihy - ir1y * ihx;
+            it2x = ir2y * ihz - ir2z * ihy;
+            it2y = ir2z * ihx - ir2x * ihz;
+            it2z = ir2x * ihy - ir2y * ihx;
+        } else {
+            it1x = ihy * ir1z - ihz * ir1y;
+            it1y = ihz * ir1x - ihx * ir1z;
+            it1z = ihx * ir1y - ihy * ir1x;
+            it2x = ihy * ir2z - ihz * ir2y;
+            it2y = ihz * ir2x - ihx * ir2z;
+            it2z = ihx * ir2y - ihy * ir2x;
+        }
+        final double it1Norm = Math.sqrt(it1x * it1x + it1y * it1y + it1z * it1z);
+        final double it2Norm = Math.sqrt(it2x * it2x + it2y * it2y + it2z * it2z);
+        it1x /= it1Norm;
+        it1y /= it1Norm;
+        it1z /= it1Norm;
+        it2x /= it2Norm;
+        it2y /= it2Norm;
+        it2z /= it2Norm;
+
+        final double T = Math.sqrt(2 * mu / (s * s * s)) * timeOfFlight;
+        final double x = findX(lambda, T);
+
+        // Reconstruct the terminal velocities from x
+        final double lambda2 = lambda * lambda;
+        final double gamma = Math.sqrt(mu * s / 2);
+        final double rho = (r1 - r2) / c;
+        final double sigma = Math.sqrt(Math.max(0, 1 - rho * rho));
+        final double y = Math.sqrt(1 - lambda2 + lambda2 * x * x);
+        final double vr1 = gamma * ((lambda * y - x) - rho * (lambda * y + x)) / r1;
+        final double vr2 = -gamma * ((lambda * y - x) + rho * (lambda * y + x)) / r2;
+        final double vt = gamma * sigma * (y + lambda * x);
+        final double vt1 = vt / r1;
+        final double vt2 = vt / r2;
+        velocities[0] = vr1 * ir1x + vt1 * it1x;
+        velocities[1] = vr1 * ir1y + vt1 * it1y;
+        velocities[2] = vr1 * ir1z + vt1 * it1z;
+        velocities[3] = vr2 * ir2x + vt2 * it2x;
+        velocities[4] = vr2 * ir2y + vt2 * it2y;
+        velocities[5] = vr2 * ir2z + vt2 * it2z;
+        return true;
+    }
+
+    /**
+     * Solves the first count problems of the batch, writing NaN velocities for degenerate ones
+     * @param mu Gravitational parameter of the central body
+     */
+    public static void solve(final double mu, final LambertBatch batch, final int count) {
+        if (count > batch.capacity()) {
+            throw new IllegalArgumentException("Batch of capacity " + batch.capacity() + " cannot hold " + count +
+                    " problems");
+        }
+        final double[] velocities = new double[6];
+        final int upperBound = SPECIES.loopBound(count);
+        int i = 0;
+        for (; i < upperBound; i += SPECIES.length()) {
+            solveLanes(mu, batch, i, SPECIES.maskAll(true), velocities);
+        }
+        if (i < count) {
+            solveLanes(mu, batch, i, SPECIES.indexInRange(i, count), velocities);
+        }
+    }
+
+    private static void solveLanes(final double mu, final LambertBatch b, final int offset,
+                                   final VectorMask<Double> lanes, final double[] velocities) {
+        final DoubleVector r1x = DoubleVector.fromArray(SPECIES, b.r1x, offset, lanes);
+        final DoubleVector r1y = DoubleVector.fromArray(SPECIES, b.r1y, offset, lanes);
+        final DoubleVector r1z = DoubleVector.fromArray(SPECIES, b.r1z, offset, lanes);
+        final DoubleVector r2x = DoubleVector.fromArray(SPECIES, b.r2x, offset, lanes);
+        final DoubleVector r2y = DoubleVector.fromArray(SPECIES, b.r2y, offset, lanes);
+        final DoubleVector r2z = DoubleVector.fromArray(SPECIES, b.r2z, offset, lanes);
+        final DoubleVector timeOfFlight = DoubleVector.fromArray(SPECIES, b.timeOfFlight, offset, lanes);
+
+        final DoubleVector r1 = norm(r1x, r1y, r1z);
+        final DoubleVector r2 = norm(r2x, r2y, r2z);
+        final DoubleVector c = norm(r2x.sub(r1x), r2y.sub(r1y), r2z.sub(r1z));
+        final VectorMask<Double> valid = lanes.and(timeOfFlight.compare(VectorOperators.GT, 0))
+                .and(c.compare(VectorOperators.GT, r1.add(r2).mul(1e-12)));
+        final DoubleVector s = r1.add(r2).add(c).mul(0.5);
+
+        final DoubleVector ir1x = r1x.div(r1), ir1y = r1y.div(r1), ir1z = r1z.div(r1);
+        final DoubleVector ir2x = r2x.div(r2), ir2y = r2y.div(r2), ir2z = r2z.div(r2);
+        DoubleVector ihx = ir1y.mul(ir2z).sub(ir1z.mul(ir2y));
+        DoubleVector ihy = ir1z.mul(ir2x).sub(ir1x.mul(ir2z));
+        DoubleVector ihz = ir1x.mul(ir2y).sub(ir1y.mul(ir2x));
+        final DoubleVector ihNorm = norm(ihx, ihy, ihz);
+        final VectorMask<Double> collinear = ihNorm.compare(VectorOperators.LT, 1e-12);
+        ihx = ihx.div(ihNorm).blend(0, collinear);
+        ihy = ihy.div(ihNorm).blend(0, collinear);
+        ihz = ihz.div(ihNorm).blend(1, collinear);
+
+        // cross(ir, ih) is -cross(ih, ir), so the long way round only flips the tangential directions
+        final VectorMask<Double> longWay = ihz.compare(VectorOperators.LT, 0);
+        final DoubleVector direction = DoubleVector.broadcast(SPECIES, 1).blend(-1, longWay);
+        final DoubleVector lambdaMagnitude = c.div(s).neg().add(1).max(0).lanewise(VectorOperators.SQRT);
+        final DoubleVector lambda = lambdaMagnitude.mul(direction);
+        DoubleVector it1x = ihy.mul(ir1z).sub(ihz.mul(ir1y));
+        DoubleVector it1y = ihz.mul(ir1x).sub(ihx.mul(ir1z));
+        DoubleVector it1z = ihx.mul(ir1y).sub(ihy.mul(ir1x));
+        DoubleVector it2x = ihy.mul(ir2z).sub(ihz.mul(ir2y));
+        DoubleVector it2y = ihz.mul(ir2x).sub(ihx.mul(ir2z));
+        DoubleVector it2z = ihx.mul(ir2y).sub(ihy.mul(ir2x));
+        final DoubleVector it1Scale = direction.div(norm(it1x, it1y, it1z));
+        final DoubleVector it2Scale = direction.div(norm(it2x, it2y, it2z));
+        it1x = it1x.mul(it1Scale);
+        it1y = it1y.mul(it1Scale);
+        it1z = it1z.mul(it1Scale);
+        it2x = it2x.mul(it2Scale);
+        it2y = it2y.mul(it2Scale);
+        it2z = it2z.mul(it2Scale);
+
+        final DoubleVector T = DoubleVector.broadcast(SPECIES, 2 * mu).div(s.mul(s).mul(s))
+                .lanewise(VectorOperators.SQRT).mul(timeOfFlight);
+        final DoubleVector x = findX(lambda, T, valid);
+
+        final DoubleVector lambda2 = lambda.mul(lambda);
+        final DoubleVector gamma = s.mul(mu / 2).lanewise(VectorOperators.SQRT);
+        final DoubleVector rho = r1.sub(r2).div(c);
+        final DoubleVector sigma = rho.mul(rho).neg().add(1).max(0).lanewise(VectorOperators.SQRT);
+        final DoubleVector y = lambda2.neg().add(1).add(lambda2.mul(x).mul(x)).lanewise(VectorOperators.SQRT);
+        final DoubleVector lambdaYMinusX = lambda.mul(y).sub(x);
+        final DoubleVector lambdaYPlusX = lambda.mul(y).add(x);
+        final DoubleVector vr1 = gamma.mul(lambdaYMinusX.sub(rho.mul(lambdaYPlusX))).div(r1);
+        final DoubleVector vr2 = gamma.mul(lambdaYMinusX.add(rho.mul(lambdaYPlusX))).div(r2).neg();
+        final DoubleVector vt = gamma.mul(sigma).mul(y.add(lambda.mul(x)));
+        final DoubleVector vt1 = vt.div(r1);
+        final DoubleVector vt2 = vt.div(r2);
+        final VectorMask<Double> invalid = valid.not();
+        vr1.mul(ir1x).add(vt1.mul(it1x)).blend(Double.NaN, invalid).intoArray(b.v1x, offset, lanes);
+        vr1.mul(ir1y).add(vt1.mul(it1y)).blend(Double.NaN, invalid).intoArray(b.v1y, offset, lanes);
+        vr1.mul(ir1z).add(vt1.mul(it1z)).blend(Double.NaN, invalid).intoArray(b.v1z, offset, lanes);
+        vr2.mul(ir2x).add(vt2.mul(it2x)).blend(Double.NaN, invalid).intoArray(b.v2x, offset, lanes);
+        vr2.mul(ir2y).add(vt2.mul(it2y)).blend(Double.NaN, invalid).intoArray(b.v2y, offset, lanes);
+        vr2.mul(ir2z).add(vt2.mul(it2z)).blend(Double.NaN, invalid).intoArray(b.v2z, offset, lanes);
+
+        // Re-solve the lanes where Lancaster's expression is not accurate enough
+        final long nearParabolic = valid.and(x.sub(1).abs().compare(VectorOperators.LT, NEAR_PARABOLIC)).toLong();
+        for (int lane = 0; lane < SPECIES.length(); lane++) {
+            if ((nearParabolic & (1L << lane)) != 0) {
+                final int i = offset + lane;
+                solve(mu, b.r1x[i], b.r1y[i], b.r1z[i], b.r2x[i], b.r2y[i], b.r2z[i], b.timeOfFlight[i], velocities);
+                b.v1x[i] = velocities[0];
+                b.v1y[i] = velocities[1];
+                b.v1z[i] = velocities[2];
+                b.v2x[i] = velocities[3];
+                b.v2y[i] = velocities[4];
+                b.v2z[i] = velocities[5];
+            }
+        }
+    }
+
+    /**
+     * Lane-wise {@link #findX(double, double)} using Lancaster's time of flight expression throughout
+     */
+    private static DoubleVector findX(final DoubleVector lambda, final DoubleVector T, final VectorMask<Double> valid) {
+        final DoubleVector lambda2 = lambda.mul(lambda);
+        final DoubleVector lambda3 = lambda2.mul(lambda);
+        final DoubleVector T00 = lambda.lanewise(VectorOperators.ACOS)
+                .add(lambda.mul(lambda2.neg().add(1).lanewise(VectorOperators.SQRT)));
+        final DoubleVector T1 = lambda3.neg().add(1).mul(2.0 / 3.0);
+        final DoubleVector beyondT00 = T.sub(T00);
+        final DoubleVector xLong = beyondT00.neg().div(beyondT00.add(4));
+        final DoubleVector xShort = T1.mul(T1.sub(T))
+                .div(lambda2.mul(lambda3).neg().add(1).mul(2.0 / 5.0).mul(T)).add(1);
+        final DoubleVector xMiddle = T.div(T00)
+                .pow(DoubleVector.broadcast(SPECIES, LN_2).div(T1.div(T00).lanewise(VectorOperators.LOG))).sub(1);
+        DoubleVector x = xMiddle
+                .blend(xShort, T.compare(VectorOperators.LE, T1))
+                .blend(xLong, T.compare(VectorOperators.GE, T00));
+
+        final DoubleVector oneMinusLambda2 = lambda2.neg().add(1);
+        VectorMask<Double> active = valid;
+        for (int iter = 0; iter < MAX_ITERATIONS && active.anyTrue(); iter++) {
+            // Lancaster's time of flight, elliptic lanes taking the acos branch and hyperbolic lanes the log branch
+            final DoubleVector E = x.mul(x).sub(1);
+            final DoubleVector z = lambda2.mul(E).add(1).lanewise(VectorOperators.SQRT);
+            final DoubleVector rootRho = E.abs().lanewise(VectorOperators.SQRT);
+            final DoubleVector g = x.mul(z).sub(lambda.mul(E));
+            final DoubleVector d = rootRho.mul(z.sub(lambda.mul(x))).add(g).lanewise(VectorOperators.LOG)
+                    .blend(g.lanewise(VectorOperators.ACOS), E.compare(VectorOperators.LT, 0));
+            final DoubleVector tof = x.sub(lambda.mul(z)).sub(d.div(rootRho)).div(E);
+
+            final DoubleVector umx2 = E.neg();
+            final DoubleVector y = lambda2.mul(umx2).neg().add(1).lanewise(VectorOperators.SQRT);
+            final DoubleVector y3 = y.mul(y).mul(y);
+            final DoubleVector dT = tof.mul(x).mul(3).sub(2).add(lambda3.mul(x).mul(2).div(y)).div(umx2);
+            final DoubleVector ddT = tof.mul(3).add(x.mul(dT).mul(5))
+                    .add(oneMinusLambda2.mul(lambda3).mul(2).div(y3)).div(umx2);
+            final DoubleVector dddT = x.mul(ddT).mul(7).add(dT.mul(8))
+                    .sub(oneMinusLambda2.mul(lambda2).mul(lambda3).mul(x).mul(6).div(y3).div(y.mul(y))).div(umx2);
+            final DoubleVector delta = tof.sub(T);
+            final DoubleVector dT2 = dT.mul(dT);
+            final DoubleVector step = delta.mul(dT2.sub(delta.mul(ddT).mul(0.5)))
+                    .div(dT.mul(dT2.sub(delta.mul(ddT))).add(dddT.mul(delta).mul(delta).div(6)));
+            x = x.sub(step, active);
+            active = active.and(step.abs().compare(VectorOperators.GT, TOLERANCE));
+        }
+        return x;
+    }
+
+    private static DoubleVector norm(final DoubleVector x, final DoubleVector y, final DoubleVector z) {
+        return x.mul(x).add(y.mul(y)).add(z.mul(z)).lanewise(VectorOperators.SQRT);
+    }
+
+    /**
+     * Finds Izzo's x for the non-dimensional time of flight T, starting from his initial guess and refining with
+     * third order Householder steps
+     */
+    static double findX(double lambda, double T) {
+        final double lambda2 = lambda * lambda;
+        final double lambda3 = lambda2 * lambda;
+        final double T00 = Math.acos(lambda) + lambda * Math.sqrt(1 - lambda2);
+        final double T1 = 2.0 / 3.0 * (1 - lambda3);
+        double x;
+        if (T >= T00) {
+            x = -(T - T00) / (T - T00 + 4);
+        } else if (T <= T1) {
+            x = T1 * (T1 - T) / (2.0 / 5.0 * (1 - lambda2 * lambda3) * T) + 1;
+        } else {
+            x = Math.pow(T / T00, LN_2 / Math.log(T1 / T00)) - 1;
+        }
+
+        double err = 1;
+        for (int iter = 0; err > TOLERANCE && iter < MAX_ITERATIONS; iter++) {
+            final double tof = timeOfFlight(lambda, x);
+            final double umx2 = 1 - x * x;
+            final double y = Math.sqrt(1 - lambda2 * umx2);
+            final double y3 = y * y * y;
+            final double dT = (3 * tof * x - 2 + 2 * lambda3 * x / y) / umx2;
+            final double ddT = (3 * tof + 5 * x * dT + 2 * (1 - lambda2) * lambda3 / y3) / umx2;
+            final double dddT = (7 * x * ddT + 8 * dT -
+                    6 * (1 - lambda2) * lambda2 * lambda3 * x / y3 / (y * y)) / umx2;
+            final double delta = tof - T;
+            final double dT2 = dT * dT;
+            final double xNew = x - delta * (dT2 - delta * ddT / 2) /
+                    (dT * (dT2 - delta * ddT) + dddT * delta * delta / 6);
+            err = Math.abs(x - xNew);
+            x = xNew;
+        }
+        return x;
+    }
+
+    /**
+     * Non-dimensional time of flight for a given x, using Battin's series near the parabola, Lagrange's expression
+     * close to it and Lancaster's expression everywhere else
+     */
+    static double timeOfFlight(double lambda, double x) {
+        final double dist = Math.abs(x - 1);
+        if (dist < NEAR_PARABOLIC && dist > 0.01) {
+            return lagrangeTimeOfFlight(lambda, x);
+        }
+        final double K = lambda * lambda;
+        final double E = x * x - 1;
+        final double rho = Math.abs(E);
+        final double z = Math.sqrt(1 + K * E);
+        if (dist < 0.01) {
+            final double eta = z - lambda * x;
+            final double S1 = 0.5 * (1 - lambda - x * eta);
+            final double Q = 4.0 / 3.0 * hypergeometricF(S1);
+            return (eta * eta * eta * Q + 4 * lambda * eta) / 2;
+        }
+        final double y = Math.sqrt(rho);
+        final double g = x * z - lambda * E;
+        final double d = E < 0 ? Math.acos(g) : Math.log(y * (z - lambda * x) + g);
+        return (x - lambda * z - d / y) / E;
+    }
+
+    private static double lagrangeTimeOfFlight(double lambda, double x) {
+        final double a = 1 / (1 - x * x);
+        if (a > 0) {
+            final double alpha = 2 * Math.acos(x);
+            double beta = 2 * Math.asin(Math.sqrt(lambda * lambda / a));
+            if (lambda < 0) {
+                beta = -beta;
+            }
+            return a * Math.sqrt(a) * ((alpha - Math.sin(alpha)) - (beta - Math.sin(beta))) / 2;
+        }
+        final double alpha = 2 * acosh(x);
+        double beta = 2 * asinh(Math.sqrt(-lambda * lambda / a));
+        if (lambda < 0) {
+            beta = -beta;
+        }
+        return -a * Math.sqrt(-a) * ((beta - Math.sinh(beta)) - (alpha - Math.sinh(alpha))) / 2;
+    }
+
+    private static double hypergeometricF(double z) {
+        double sum = 1;
+        double term = 1;
+        for (int j = 0; Math.abs(term) > 1e-11; j++) {
+            term = term * (3 + j) * (1 + j) / (2.5 + j) * z / (j + 1);
+            sum += term;
+        }
+        return sum;
+    }
+
+    private static double acosh(double x) {
+        return Math.log(x + Math.sqrt(x * x - 1));
+    }
+
+    private static double asinh(double x) {
+        return Math.log(x + Math.sqrt(x * x + 1));
+    }
+}
@@ -1,38 +1,392 @@
 package wh;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class Main {
+    private static final String USAGE =
+            "Usage: Main [mode [arguments]], with no mode running an orbit interactively\n" +
+            "Modes:\n" +
+            "  porkchop [directory]\n" +
+            "  headless [csv]\n" +
+            "  designs\n" +
+            "  monte-carlo [runs [seed]]\n" +
+            "  fleet [haulers [years]]\n" +
+            "  optimal-policy [seed]\n" +
+            "  tournament [max runs [seed]]\n" +
+            "  sweep [runs [seed [csv]]]\n" +
+            "  resumable [checkpoint [interval days [orbits]]]\n" +
+            "  columnar [directory]\n" +
+            "  flow [csv]\n" +
+            "  pipelined [csv [seed]]\n" +
+            "  price-tape [tape [runs [seed]]]\n" +
+            "  kepler-report";
 
     public static void main(String[] args) throws Exception {
+        if (SimulationTelemetry.ENABLED) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> SimulationTelemetry.report(System.err)));
+        }
+        if (args.length == 0) {
+            runInteractive();
+            return;
+        }
+        switch (args[0]) {
+            case "porkchop" -> writePorkchopPlots(Path.of(args.length > 1 ? args[1] : "porkchop"));
+            case "headless" -> runHeadless(Path.of(args.length > 1 ? args[1] : "orbit.csv"));
+            case "designs" -> printHaulerDesigns();
+            case "monte-carlo" -> runMonteCarlo(args.length > 1 ? Integer.parseInt(args[1]) : 1000,
+                    args.length > 2 ? Long.parseLong(args[2]) : 1L);
+            case "fleet" -> runFleet(args.length > 1 ? Integer.parseInt(args[1]) : 100,
+                    args.length > 2 ? Integer.parseInt(args[2]) : 30);
+            case "optimal-policy" -> solveOptimalPolicy(args.length > 1 ? Long.parseLong(args[1]) : 1L);
+            case "tournament" -> runTournament(args.length > 1 ? Integer.parseInt(args[1]) : 200,
+                    args.length > 2 ? Long.parseLong(args[2]) : 1L);
+            case "sweep" -> runSweep(args.length > 1 ? Integer.parseInt(args[1]) : 100,
+                    args.length > 2 ? Long.parseLong(args[2]) : 1L,
+                    args.length > 3 ? Path.of(args[3]) : null);
+            case "resumable" -> runResumable(Path.of(args.length > 1 ? args[1] : "orbit.checkpoint"),
+                    args.length > 2 ? Integer.parseInt(args[2]) : 30,
+                    args.length > 3 ? Integer.parseInt(args[3]) : 1);
+            case "columnar" -> runColumnar(Path.of(args.length > 1 ? args[1] : "orbit-columns"));
+            case "flow" -> runFlow(Path.of(args.length > 1 ? args[1] : "orbit-flow.csv"));
+            case "pipelined" -> runPipelined(Path.of(args.length > 1 ? args[1] : "orbit-pipelined.csv"),
+                    args.length > 2 ? Long.parseLong(args[2]) : 1L);
+            case "price-tape" -> replayPriceTape(Path.of(args.length > 1 ? args[1] : "prices.tape"),
+                    args.length > 2 ? Integer.parseInt(args[2]) : 64,
+                    args.length > 3 ? Long.parseLong(args[3]) : 1L);
+            case "kepler-report" -> KeplerSolverReport.print(System.out);
+            default -> {
+                System.err.println("Unknown mode " + args[0] + "\n" + USAGE);
+                System.exit(1);
+            }
+        }
+    }
+
+    /**
+     * Prints the cycler establishment costs, then steps through an orbit printing each day
+     */
+    private static void runInteractive() throws Exception {
         final ShipmentCalculator shipmentCalculator = new ShipmentCalculator();
         final SimulationRunner simulationRunner = new SimulationRunner(shipmentCalculator);
         
-        final SimulationState simState = new SimulationState(List.of(
-                new Hauler(HaulerClass.SMALL,
-                        new EnumMap<>(Map.of(WaterPropulsionSystem.THERMAL, 1)),
-                        new EnumMap<>(Map.of(PowerSource.SOLAR, 5)))));
-        final List<Destination> destinations = new ArrayList<>();
-        for (DestinationType type : DestinationType.values()) {
-            destinations.add(type.createDestination());
-        }
+        final SimulationState simState = new SimulationState(List.of(defaultHauler()));
+        final SimulationContext context = new SimulationContext(SimulationParameters.DEFAULT, new SplittableRandom());
 
         // TODO use this up when shipping
         final Hauler hauler = simState.getCurrentHauler();
         System.out.println("Establishment Costs for cycler " + hauler);
         System.out.printf("%-15s %-20s\n", "Destination", "kgs water fuel/Delta-V");
-        for (Destination destination : destinations) {
+        for (Destination destination : context.getDestinations()) {
             double requiredDeltaV = destination.type.cyclerEstablishmentDeltaV;
             double kgsFuelUsed = hauler.kgsFuelToAccelerateTo(requiredDeltaV);
             System.out.printf("%-15s %-20s\n", destination.type.name,
                     String.format("%.0f/%.1f", kgsFuelUsed, requiredDeltaV));
         }
-        int totalDaysInOrbit = 1537;
+        int totalDaysInOrbit = SimulationState.TOTAL_DAYS_IN_ORBIT;
         System.out.println("Press enter to start");
         System.in.read();
         for (int dayInOrbit = 1; dayInOrbit <= totalDaysInOrbit; dayInOrbit++) {
-            simulationRunner.simulateDay(destinations, hauler, dayInOrbit, totalDaysInOrbit);
+            simulationRunner.simulateDay(context, hauler, dayInOrbit, totalDaysInOrbit);
             Thread.sleep(5_000);
         }
     }
+
+    private static void writePorkchopPlots(final Path directory) throws IOException {
+        Files.createDirectories(directory);
+        final AsteroidState asteroid = AsteroidState.wilsonHarrington();
+        for (DestinationType type : DestinationType.values()) {
+            final long start = System.nanoTime();
+            final PorkchopPlot plot = PorkchopPlot.calculate(asteroid, type, SimulationState.TOTAL_DAYS_IN_ORBIT,
+                    SimulationState.TOTAL_DAYS_IN_ORBIT);
+            plot.writeBinary(directory.resolve(type.name() + ".pkch"));
+            System.out.printf("%-15s %dms\n", type.name, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private static void runHeadless(final Path csv) throws IOException {
+        final SimulationRunner simulationRunner = new SimulationRunner(new ShipmentCalculator());
+        final Hauler hauler = defaultHauler();
+        final SimulationContext context = new SimulationContext(SimulationParameters.DEFAULT,
+                new SplittableRandom());
+        final long start = System.nanoTime();
+        simulationRunner.runOrbit(context, hauler, SimulationState.TOTAL_DAYS_IN_ORBIT, new CsvFileSink(csv));
+        System.out.printf("%d days written to %s in %dms\n", SimulationState.TOTAL_DAYS_IN_ORBIT, csv,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static void runMonteCarlo(final int runs, final long seed) {
+        final Hauler hauler = defaultHauler();
+        final long start = System.nanoTime();
+        final Map<ShippingRule, ProfitDistribution> distributions = MonteCarloSimulator.run(
+                SimulationParameters.DEFAULT, hauler, EnumSet.allOf(ShippingRule.class), runs,
+                SimulationState.TOTAL_DAYS_IN_ORBIT, seed);
+        System.out.printf("%d orbits with seed %d in %dms\n", runs, seed, (System.nanoTime() - start) / 1_000_000);
+        System.out.printf("%-15s %-14s %-14s %-14s %-14s %-14s\n", "Rule", "Mean", "Std dev", "5%", "Median", "95%");
+        for (Map.Entry<ShippingRule, ProfitDistribution> entry : distributions.entrySet()) {
+            final ProfitDistribution distribution = entry.getValue();
+            System.out.printf("%-15s %-14.0f %-14.0f %-14.0f %-14.0f %-14.0f\n", entry.getKey(),
+                    distribution.mean(), distribution.standardDeviation(), distribution.percentile5(),
+                    distribution.median(), distribution.percentile95());
+        }
+    }
+
+    private static void runFleet(final int fleetSize, final int years) {
+        final Hauler hauler = defaultHauler();
+        final SimulationState simState = new SimulationState(Collections.nCopies(fleetSize, hauler));
+        final SimulationContext context = new SimulationContext(SimulationParameters.DEFAULT,
+                new SplittableRandom());
+        final int days = (int) Math.round(years * MathsUtil.YEAR_TO_DAYS);
+        final long start = System.nanoTime();
+        final FleetResult result = new FleetSimulator(context, simState.getHaulers(), ShippingRule.BEST_ROUTE,
+                SimulationState.TOTAL_DAYS_IN_ORBIT).run(days);
+        System.out.printf("%d haulers over %d days in %dms, %d events\n", fleetSize, days,
+                (System.nanoTime() - start) / 1_000_000, result.events());
+        System.out.printf("%d shipments, %d kg shipped, %.0f kg delivered, profit %.0f, %d kg left stored\n",
+                result.shipments(), result.kgsWaterShipped(), result.kgsWaterDelivered(), result.profit(),
+                result.storedWaterKgs());
+    }
+
+    private static void solveOptimalPolicy(final long seed) {
+        final Hauler hauler = defaultHauler();
+        final int totalDaysInOrbit = SimulationState.TOTAL_DAYS_IN_ORBIT;
+        final long start = System.nanoTime();
+        final OptimalPolicy policy = PolicySolver.solve(
+                new SimulationContext(SimulationParameters.DEFAULT, new SplittableRandom(seed)), hauler,
+                ShippingRule.BEST_ROUTE, totalDaysInOrbit);
+        System.out.printf("Solved in %dms, shipping on %d days\n", (System.nanoTime() - start) / 1_000_000,
+                policy.shipDays().size());
+        final InMemorySink greedy = new InMemorySink();
+        new SimulationRunner(new ShipmentCalculator()).runOrbit(
+                new SimulationContext(SimulationParameters.DEFAULT, new SplittableRandom(seed)), hauler,
+                totalDaysInOrbit, greedy);
+        double greedyProfit = 0;
+        for (DayResult result : greedy.getResults()) {
+            greedyProfit += result.stored() ? 0 : result.shipped().profit();
+        }
+        System.out.printf("Optimal profit %.0f, greedy profit %.0f (%.1f%% of optimal)\n", policy.getProfit(),
+                greedyProfit, 100 * greedyProfit / policy.getProfit());
+    }
+
+    /**
+     * Whether establishing a cycler is worth it, with a hauler able to reach every cycler
+     */
+    private static void runTournament(final int maxRuns, final long seed) {
+        final Hauler hauler = new Hauler(HaulerClass.SMALL,
+                new EnumMap<>(Map.of(WaterPropulsionSystem.ELECTROLYSIS, 4, WaterPropulsionSystem.ELECTROSTATIC, 1)),
+                new EnumMap<>(Map.of(PowerSource.BEAMED, 4)));
+        final List<ShippingStrategy> strategies = new ArrayList<>(List.of(ShippingRule.values()));
+        for (DestinationType type : DestinationType.values()) {
+            strategies.add(new CyclerStrategy(type));
+        }
+        final long start = System.nanoTime();
+        final List<StrategyStanding> standings = StrategyTournament.run(SimulationParameters.DEFAULT, hauler,
+                strategies, maxRuns, SimulationState.TOTAL_DAYS_IN_ORBIT, seed);
+        System.out.printf("%d strategies, up to %d orbits with seed %d in %dms\n", strategies.size(), maxRuns, seed,
+                (System.nanoTime() - start) / 1_000_000);
+        System.out.printf("%-20s %-8s %-14s %-12s %s\n", "Strategy", "Runs", "Mean profit", "Std error", "Dropped");
+        for (StrategyStanding standing : standings) {
+            System.out.printf("%-20s %-8d %-14.0f %-12.0f %s\n", standing.name(), standing.runs(),
+                    standing.meanProfit(), standing.standardError(), standing.eliminated() ? "yes" : "");
+        }
+    }
+
+    /**
+     * Mining rate, difficulty and aerobraking against a basic and a cycler capable hauler, in one process
+     */
+    private static void runSweep(final int runs, final long seed, final Path csv) throws IOException {
+        final SweepGrid grid = new SweepGrid(List.of(2_500, 5_000, 10_000), List.of(0.1f, 0.2f, 0.5f), List.of(true),
+                List.of(false, true), List.of(
+                        defaultHauler(),
+                        new Hauler(HaulerClass.SMALL,
+                                new EnumMap<>(Map.of(WaterPropulsionSystem.ELECTROLYSIS, 4,
+                                        WaterPropulsionSystem.ELECTROSTATIC, 1)),
+                                new EnumMap<>(Map.of(PowerSource.BEAMED, 4)))));
+        final long start = System.nanoTime();
+        final List<SweepResult> results = ParameterSweep.run(grid, List.of(ShippingRule.values()), runs,
+                SimulationState.TOTAL_DAYS_IN_ORBIT, seed);
+        System.out.printf("%d points of %d orbits with seed %d in %dms\n", grid.points().size(), runs, seed,
+                (System.nanoTime() - start) / 1_000_000);
+        System.out.printf("%-8s %-8s %-8s %-12s %-15s %-14s %-14s\n", "Mined", "Scale", "Aero", "Impulse", "Rule",
+                "Mean", "Std dev");
+        for (SweepResult result : results) {
+            final SimulationParameters parameters = result.parameters();
+            System.out.printf("%-8d %-8.2f %-8s %-12.0f %-15s %-14.0f %-14.0f\n", parameters.kgsWaterMinedPerDay(),
+                    parameters.difficultyScale(), parameters.enableAerobraking(),
+                    result.hauler().getImpulseMetersSec(), result.strategy(), result.profits().mean(),
+                    result.profits().standardDeviation());
+        }
+        if (csv != null) {
+            ParameterSweep.writeCsv(results, csv);
+            System.out.println("Wrote " + csv);
+        }
+    }
+
+    /**
+     * Runs orbits headless, carrying on from the checkpoint file if there is one
+     * @param orbits Orbits to run when starting afresh, a resumed run keeping the number it was started with
+     */
+    private static void runResumable(final Path path, final int checkpointIntervalDays, final int orbits)
+            throws IOException {
+        final SimulationCheckpoint checkpoint;
+        if (Files.exists(path)) {
+            checkpoint = SimulationCheckpoint.read(path);
+            if (checkpoint.getDaysCompleted() == checkpoint.getTotalDays()) {
+                System.out.println("The run checkpointed to " + path + " is already finished");
+                return;
+            }
+            System.out.printf("Resuming from day %d of %d\n", checkpoint.getDaysCompleted() + 1,
+                    checkpoint.getTotalDays());
+        } else {
+            checkpoint = SimulationCheckpoint.start(SimulationParameters.DEFAULT, defaultHauler(),
+                    SimulationState.TOTAL_DAYS_IN_ORBIT, orbits, ThreadLocalRandom.current().nextLong());
+        }
+        final int[] shipments = new int[1];
+        final long start = System.nanoTime();
+        new SimulationRunner(new ShipmentCalculator()).runOrbit(checkpoint, checkpointIntervalDays, path,
+                result -> shipments[0] += result.stored() ? 0 : 1);
+        System.out.printf("Ran to day %d in %dms with %d shipments, checkpointed to %s\n",
+                checkpoint.getDaysCompleted(), (System.nanoTime() - start) / 1_000_000, shipments[0], path);
+    }
+
+    /**
+     * Runs an orbit headless into column files, then scans them for the best efficient profit to each destination
+     */
+    private static void runColumnar(final Path directory) throws IOException {
+        final Hauler hauler = defaultHauler();
+        final SimulationContext context = new SimulationContext(SimulationParameters.DEFAULT,
+                new SplittableRandom());
+        new SimulationRunner(new ShipmentCalculator()).runOrbit(context, hauler, SimulationState.TOTAL_DAYS_IN_ORBIT,
+                new ColumnarFileSink(directory));
+
+        final long start = System.nanoTime();
+        final ColumnarResults results = ColumnarResults.open(directory);
+        final double[] bestProfit = new double[DestinationType.values().length];
+        final int[] bestDay = new int[bestProfit.length];
+        for (int row = 0; row < results.rows(); row++) {
+            final int destination = results.destination(row).ordinal();
+            if (results.optionType(row) == ShipmentCalculator.OptionType.EFFICIENT &&
+                    results.profit(row) > bestProfit[destination]) {
+                bestProfit[destination] = results.profit(row);
+                bestDay[destination] = results.day(row);
+            }
+        }
+        System.out.printf("Scanned %d rows in %s in %dms\n", results.rows(), directory,
+                (System.nanoTime() - start) / 1_000_000);
+        for (DestinationType type : DestinationType.values()) {
+            System.out.printf("%-15s best efficient profit %.0f on day %d\n", type.name, bestProfit[type.ordinal()],
+                    bestDay[type.ordinal()]);
+        }
+    }
+
+    /**
+     * Runs an orbit while one stage writes every day to CSV and another tallies the shipments, each on its own thread
+     */
+    private static void runFlow(final Path csv) throws Exception {
+        final Hauler hauler = defaultHauler();
+        final SimulationContext context = new SimulationContext(SimulationParameters.DEFAULT,
+                new SplittableRandom());
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            final PublishingSink publisher = new PublishingSink(executor, 32, 8);
+            final SinkSubscriber writer = new SinkSubscriber(new CsvFileSink(csv));
+            publisher.subscribe(writer);
+            final FilterStage shipped = new FilterStage(executor, 8, result -> !result.stored());
+            publisher.subscribe(shipped);
+            final ShipmentTally tally = new ShipmentTally();
+            final SinkSubscriber tallier = new SinkSubscriber(tally);
+            shipped.subscribe(tallier);
+
+            final long start = System.nanoTime();
+            new SimulationRunner(new ShipmentCalculator()).runOrbit(context, hauler,
+                    SimulationState.TOTAL_DAYS_IN_ORBIT, publisher);
+            CompletableFuture.allOf(writer.completion(), tallier.completion()).get();
+            System.out.printf("Wrote %s and tallied shipments in %dms\n", csv,
+                    (System.nanoTime() - start) / 1_000_000);
+            for (DestinationType type : DestinationType.values()) {
+                System.out.printf("%-15s %5d shipments, profit %.0f\n", type.name, tally.getShipments(type),
+                        tally.getProfit(type));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Runs the same orbit one day at a time and then pipelined, writing the pipelined days to CSV
+     */
+    private static void runPipelined(final Path csv, final long seed) throws IOException {
+        final Hauler hauler = defaultHauler();
+        final int totalDaysInOrbit = SimulationState.TOTAL_DAYS_IN_ORBIT;
+        final SimulationContext sequential = new SimulationContext(SimulationParameters.DEFAULT,
+                new SplittableRandom(seed));
+        long start = System.nanoTime();
+        // Only timed, the CSV being written from the pipelined run
+        new SimulationRunner(new ShipmentCalculator()).runOrbit(sequential, hauler, totalDaysInOrbit, result -> { });
+        System.out.printf("Sequential %dms\n", (System.nanoTime() - start) / 1_000_000);
+
+        final SimulationContext pipelined = new SimulationContext(SimulationParameters.DEFAULT,
+                new SplittableRandom(seed));
+        try (PipelinedRunner runner = new PipelinedRunner(64)) {
+            start = System.nanoTime();
+            runner.runOrbit(pipelined, hauler, totalDaysInOrbit, new CsvFileSink(csv));
+            System.out.printf("Pipelined  %dms, %d days written to %s\n", (System.nanoTime() - start) / 1_000_000,
+                    totalDaysInOrbit, csv);
+        }
+        System.out.printf("Water stored at the end %d sequential, %d pipelined\n",
+                sequential.getAsteroid().storedWaterKgs, pipelined.getAsteroid().storedWaterKgs);
+    }
+
+    /**
+     * Plays the shipping rules on the market recorded in the tape, recording a counter-based one first if there is no
+     * tape yet
+     */
+    private static void replayPriceTape(final Path path, final int runs, final long seed) throws IOException {
+        final PriceTape tape;
+        if (Files.exists(path)) {
+            tape = PriceTape.read(path);
+            System.out.printf("Replaying %d runs from %s\n", tape.getRuns(), path);
+        } else {
+            final long start = System.nanoTime();
+            tape = PriceTape.record(new CounterPriceSource(seed), runs, SimulationState.TOTAL_DAYS_IN_ORBIT);
+            tape.write(path);
+            System.out.printf("Recorded %d runs with seed %d to %s in %dms\n", runs, seed, path,
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+        final Hauler hauler = defaultHauler();
+        final List<StrategyStanding> standings = StrategyTournament.run(SimulationParameters.DEFAULT, hauler,
+                List.of(ShippingRule.values()), tape.getRuns(), tape.getTotalDaysInOrbit(), tape,
+                ForkJoinPool.commonPool());
+        for (StrategyStanding standing : standings) {
+            System.out.printf("%-15s %-8d %-14.0f %s\n", standing.name(), standing.runs(), standing.meanProfit(),
+                    standing.eliminated() ? "dropped" : "");
+        }
+    }
+
+    private static void printHaulerDesigns() {
+        final long start = System.nanoTime();
+        final List<HaulerDesign> designs = HaulerDesignEnumerator.paretoFrontier();
+        System.out.printf("%d non-dominated designs in %dms\n", designs.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        System.out.printf("%-8s %-12s %-16s %-10s %s\n", "Class", "Cargo kgs", "Cost", "Fuel/km/s", "Hauler");
+        for (HaulerDesign design : designs) {
+            System.out.printf("%-8s %-12d %-16d %-10.1f %s\n", design.type(), design.cargoKgs(), design.cost(),
+                    design.kgsFuelPerKmSec(), design.toHauler());
+        }
+    }
+
+    /**
+     * Small hauler with a thermal engine on solar power, which every mode not comparing haulers runs with
+     */
+    private static Hauler defaultHauler() {
+        return new Hauler(HaulerClass.SMALL,
+                new EnumMap<>(Map.of(WaterPropulsionSystem.THERMAL, 1)),
+                new EnumMap<>(Map.of(PowerSource.SOLAR, 5)));
+    }
 }
@@ -8,13 +8,66 @@ public class MathsUtil {
     public static final double YEAR_TO_DAYS = 365.25;    // Days in a year
     public static final double EARTH_MU = 398600.4418;   // km³/s²
 
+    static final double TWO_PI = 2 * Math.PI;
+    static final double PI_SQUARED = Math.PI * Math.PI;
+
     /**
-     * Solves Kepler's equation for eccentric anomaly
+     * Solves Kepler's equation for eccentric anomaly, using Markley's cubic starter followed by a single fifth order
+     * correction. The step count is fixed, and the result is within about 1e-15 of the root for any e up to 0.99.
      * @param M Mean anomaly in radians
      * @param e Eccentricity
-     * @return Eccentric anomaly in radians
+     * @return Eccentric anomaly in radians, in the same revolution as M
      */
     public static double solveKepler(double M, double e) {
+        // Kepler's equation is odd in E and shifts with whole turns, so solve for |M| in [0, pi] and map back
+        double turns = (long) (M / TWO_PI + Math.copySign(0.5, M)) * TWO_PI;
+        double reduced = M - turns;
+        double m = Math.abs(reduced);
+
+        // Markley (1995) starter, accurate to around 1e-4
+        double alpha = (3 * PI_SQUARED + 1.6 * Math.PI * (Math.PI - m) / (1 + e)) / (PI_SQUARED - 6);
+        double d = 3 * (1 - e) + alpha * e;
+        double q = 2 * alpha * d * (1 - e) - m * m;
+        double r = 3 * alpha * d * (d - 1 + e) * m + m * m * m;
+        double w = Math.cbrt(Math.abs(r) + Math.sqrt(q * q * q + r * r));
+        w *= w;
+        double E = (2 * r * w / (w * w + w * q + q * q) + m) / d;
+
+        E += keplerCorrection(E, e * Math.sin(E), e * Math.cos(E), m);
+
+        final double eccentricAnomaly = Math.copySign(E, reduced) + turns;
+        if (SimulationTelemetry.ENABLED) {
+            SimulationTelemetry.keplerSolved(eccentricAnomaly);
+        }
+        return eccentricAnomaly;
+    }
+
+    /**
+     * Fifth order correction to an estimate of the eccentric anomaly, from the Taylor expansion of Kepler's equation
+     * about the estimate
+     * @param E Estimated eccentric anomaly in radians
+     * @param eSinE Eccentricity times sin(E)
+     * @param eCosE Eccentricity times cos(E)
+     * @param M Mean anomaly in radians
+     * @return Amount to add to E
+     */
+    static double keplerCorrection(double E, double eSinE, double eCosE, double M) {
+        double f0 = E - eSinE - M;
+        double f1 = 1 - eCosE;
+        double delta3 = -f0 / (f1 - 0.5 * f0 * eSinE / f1);
+        double delta4 = -f0 / (f1 + 0.5 * delta3 * eSinE + delta3 * delta3 * eCosE * (1.0 / 6));
+        return -f0 / (f1 + 0.5 * delta4 * eSinE + delta4 * delta4 * eCosE * (1.0 / 6) -
+                delta4 * delta4 * delta4 * eSinE * (1.0 / 24));
+    }
+
+    /**
+     * The original solver, Newton's method started from E = M which stops after 10 iterations whether or not it has
+     * converged. Kept as the reference for {@link KeplerSolverReport}.
+     * @param M Mean anomaly in radians
+     * @param e Eccentricity
+     * @return Eccentric anomaly in radians
+     */
+    static double solveKeplerNewton(double M, double e) {
         double E = M;  // Initial guess
         double delta = 1.0;
         int iter = 0;
@@ -51,51 +104,73 @@ public class MathsUtil {
     public static DoublesVector calculateOrbitalState(
             double semiMajorAxis, double eccentricity, double inclination,
             double argumentPerihelion, double ascendingNode, double meanAnomaly) {
+        // Callers with a fixed orbit should hold on to the compiled elements instead of rebuilding them every call
+        return new OrbitalElements(semiMajorAxis, eccentricity, inclination, argumentPerihelion, ascendingNode)
+                .positionAt(meanAnomaly);
+    }
 
-        // Solve Kepler's equation
-        double eccentricAnomaly = solveKepler(meanAnomaly, eccentricity);
-
-        // Calculate true anomaly
-        double trueAnomaly = calculateTrueAnomaly(eccentricAnomaly, eccentricity);
-
-        // Calculate position in orbital plane
-        double p = semiMajorAxis * (1 - eccentricity * eccentricity);
-        double radius = p / (1 + eccentricity * Math.cos(trueAnomaly));
-
-        double xPrime = radius * Math.cos(trueAnomaly);
-        double yPrime = radius * Math.sin(trueAnomaly);
-
-        // Convert angles to radians
-        double inc = Math.toRadians(inclination);
-        double argPeri = Math.toRadians(argumentPerihelion);
-        double node = Math.toRadians(ascendingNode);
-
-        // Calculate position vector
-        double[] position = new double[3];
-        position[0] = xPrime * (Math.cos(argPeri) * Math.cos(node) -
-                Math.sin(argPeri) * Math.cos(inc) * Math.sin(node)) -
-                yPrime * (Math.sin(argPeri) * Math.cos(node) +
-                        Math.cos(argPeri) * Math.cos(inc) * Math.sin(node));
-
-        position[1] = xPrime * (Math.cos(argPeri) * Math.sin(node) +
-                Math.sin(argPeri) * Math.cos(inc) * Math.cos(node)) +
-                yPrime * (Math.cos(argPeri) * Math.cos(inc) * Math.cos(node) -
-                        Math.sin(argPeri) * Math.sin(node));
+    /**
+     * @return Transfers at the default difficulty, see {@link TransferResult#toArray}
+     */
+    public static double[] calculateTransfers(DoublesVector asteroidPos, DoublesVector destPos,
+                                              boolean isEarthRelative, boolean enableAerobraking) {
+        final double[] a = asteroidPos.contents();
+        final double[] d = destPos.contents();
+        final TransferResult result = new TransferResult();
+        calculateTransfers(a[0], a[1], a[2], d[0], d[1], d[2], isEarthRelative, enableAerobraking,
+                SimulationParameters.DEFAULT.difficultyScale(), result);
+        return result.toArray();
+    }
 
-        position[2] = xPrime * Math.sin(argPeri) * Math.sin(inc) +
-                yPrime * Math.cos(argPeri) * Math.sin(inc);
+    /**
+     * Allocation free version of {@link #calculateTransfers(DoublesVector, DoublesVector, boolean, boolean)} taking
+     * raw coordinates in AU and writing into a caller owned result. Same as {@link #calculateTransfers(double, double,
+     * double, double, double, double, double, double, double, double, double, double, boolean, boolean, float,
+     * TransferResult)} for bodies whose velocities are not known, taking each to be on a circular prograde orbit
+     * about the ecliptic pole. A body on the pole axis has no way round it to go, so is taken to be still.
+     * @param difficultyScale Factor applied to every delta-v, 1 being the normal orbital mechanics
+     */
+    public static void calculateTransfers(double asteroidX, double asteroidY, double asteroidZ,
+                                          double destX, double destY, double destZ,
+                                          boolean isEarthRelative, boolean enableAerobraking,
+                                          float difficultyScale, TransferResult result) {
+        final double asteroidSpeed = circularSpeedOverAxisDistance(asteroidX, asteroidY, asteroidZ);
+        final double destSpeed = circularSpeedOverAxisDistance(destX, destY, destZ);
+        calculateTransfers(asteroidX, asteroidY, asteroidZ, -asteroidSpeed * asteroidY, asteroidSpeed * asteroidX, 0,
+                destX, destY, destZ, -destSpeed * destY, destSpeed * destX, 0,
+                isEarthRelative, enableAerobraking, difficultyScale, result);
+    }
 
-        return new DoublesVector(position);
+    /**
+     * @return Circular orbit speed at the position over its distance from the ecliptic pole axis, which scales the
+     * position's (-y, x) into the prograde velocity, or 0 on the axis itself
+     */
+    private static double circularSpeedOverAxisDistance(double x, double y, double z) {
+        final double axisDistance = Math.hypot(x, y);
+        if (axisDistance == 0) {
+            return 0;
+        }
+        return Math.sqrt(SUN_MU / Math.sqrt(x * x + y * y + z * z)) / axisDistance;
     }
 
-    public static double[] calculateTransfers(DoublesVector asteroidPos, DoublesVector destPos,
-                                              boolean isEarthRelative, boolean enableAerobraking) {
+    /**
+     * @param asteroidVX Asteroid velocity along x in AU/year, as for the other velocity components
+     * @param difficultyScale Factor applied to every delta-v, 1 being the normal orbital mechanics
+     */
+    public static void calculateTransfers(double asteroidX, double asteroidY, double asteroidZ,
+                                          double asteroidVX, double asteroidVY, double asteroidVZ,
+                                          double destX, double destY, double destZ,
+                                          double destVX, double destVY, double destVZ,
+                                          boolean isEarthRelative, boolean enableAerobraking,
+                                          float difficultyScale, TransferResult result) {
         // Common calculations
-        double r1 = asteroidPos.magnitude();  // Asteroid distance from Sun (AU)
-        double r2 = destPos.magnitude();      // Destination distance from Sun (AU)
-        double v1 = Math.sqrt(SUN_MU / r1);   // Asteroid orbital velocity
-        double v2 = Math.sqrt(SUN_MU / r2);   // Destination orbital velocity
-        double phaseAngle = asteroidPos.angleBetween(destPos);
+        // Asteroid and destination distances from Sun (AU)
+        double r1 = Math.sqrt(asteroidX * asteroidX + asteroidY * asteroidY + asteroidZ * asteroidZ);
+        double r2 = Math.sqrt(destX * destX + destY * destY + destZ * destZ);
+        double v1 = Math.sqrt(SUN_MU / r1);   // Asteroid circular orbital velocity
+        double v2 = Math.sqrt(SUN_MU / r2);   // Destination circular orbital velocity
+        double cosPhase = (asteroidX * destX + asteroidY * destY + asteroidZ * destZ) / (r1 * r2);
+        double phaseAngle = Math.acos(Math.max(-1.0, Math.min(1.0, cosPhase)));
 
         // ---- EFFICIENT TRANSFER (Hohmann-like) ----
         // Basic Hohmann transfer calculation
@@ -117,7 +192,7 @@ public class MathsUtil {
         double angleDeviation = Math.abs(phaseAngle - optimalAngle);
         double phaseFactor = 1.0 + 2.0 * Math.pow(Math.sin(angleDeviation / 2), 2);
         deltaV_efficient *= phaseFactor;
-        deltaV_efficient *= SimulationState.DIFFICULTY_SCALE;
+        deltaV_efficient *= difficultyScale;
 
         // ---- FAST TRANSFER (Direct path) ----
         // Calculate time based on a more direct path between the two orbits
@@ -129,21 +204,25 @@ public class MathsUtil {
         double distanceFactor = Math.sqrt(Math.pow(r1 - r2, 2) + 2 * r1 * r2 * (1 - Math.cos(phaseAngle)));
         double time_fast = 40 * Math.sqrt(avgRadius) * Math.pow(distanceFactor, 0.6);
 
-        // Direct transfers scale non-linearly with distance
-        // Based on approximation of Lambert's problem solution
-        double radiiRatio = Math.max(r1, r2) / Math.min(r1, r2);
-        double baseMultiplier = 1.5 + 0.5 * radiiRatio;  // Scales with orbit size difference
-
-        // Average orbital velocity
-        double avgVelocity = (v1 + v2) / 2.0;
-
-        // Time efficiency penalty - shorter trips require more delta-V
-        // Fast trajectory time ratio compared to a theoretical minimum transfer time
-        double minTransferTime = distanceFactor * 25; // Theoretical minimum time
-        double timeEfficiencyFactor = Math.max(1.5, 3.0 * minTransferTime / time_fast);
-
-        // Calculate total delta-V for fast route
-        double deltaV_fast = avgVelocity * baseMultiplier * timeEfficiencyFactor * SimulationState.DIFFICULTY_SCALE;
+        // Delta-V of the Lambert transfer covering that path in that time, starting and ending matched to each body's
+        // own velocity. Going round one way is the short way and the other the long way, and which is which flips as
+        // the destination passes the asteroid, so both are solved and the cheaper kept.
+        double[] transferVelocities = result.lambertVelocities;
+        double deltaV_fast;
+        if (LambertSolver.solve(SUN_MU, asteroidX, asteroidY, asteroidZ, destX, destY, destZ,
+                time_fast / YEAR_TO_DAYS, false, transferVelocities)) {
+            deltaV_fast = lambertDeltaV(transferVelocities, asteroidVX, asteroidVY, asteroidVZ,
+                    destVX, destVY, destVZ);
+            LambertSolver.solve(SUN_MU, asteroidX, asteroidY, asteroidZ, destX, destY, destZ,
+                    time_fast / YEAR_TO_DAYS, true, transferVelocities);
+            deltaV_fast = Math.min(deltaV_fast, lambertDeltaV(transferVelocities, asteroidVX, asteroidVY, asteroidVZ,
+                    destVX, destVY, destVZ));
+        } else {
+            // Both bodies in the same place, so only their velocities need matching
+            deltaV_fast = Math.sqrt(Math.pow(destVX - asteroidVX, 2) + Math.pow(destVY - asteroidVY, 2) +
+                    Math.pow(destVZ - asteroidVZ, 2));
+        }
+        deltaV_fast *= difficultyScale;
         if (deltaV_fast < 0) {
             throw new IllegalStateException("Negative delta V");
         }
@@ -154,10 +233,13 @@ public class MathsUtil {
         double deltaV_cycler;
         double time_cycler;
 
-        // Calculate velocity vectors and relative velocity
-        DoublesVector v1_vec = asteroidPos.normalize().scale((float)v1);
-        DoublesVector v2_vec = destPos.normalize().scale((float)v2);
-        double relVelocity = v1_vec.distance(v2_vec);
+        // Calculate velocity vectors and relative velocity, speeds rounded to float as DoublesVector.scale does
+        double v1Scale = (float) v1 / r1;
+        double v2Scale = (float) v2 / r2;
+        double relVx = asteroidX * v1Scale - destX * v2Scale;
+        double relVy = asteroidY * v1Scale - destY * v2Scale;
+        double relVz = asteroidZ * v1Scale - destZ * v2Scale;
+        double relVelocity = Math.sqrt(relVx * relVx + relVy * relVy + relVz * relVz);
 
         if (isEarthRelative) {
             // Earth-asteroid cyclers (need to match specific cycler orbits)
@@ -166,7 +248,7 @@ public class MathsUtil {
 
             // Rendezvous delta-V depends on relative velocity at encounter
             // Small fraction of relative velocity needed for rendezvous
-            deltaV_cycler = (0.2 + (0.1 * relVelocity)) * SimulationState.DIFFICULTY_SCALE;
+            deltaV_cycler = (0.2 + (0.1 * relVelocity)) * difficultyScale;
 
             // Time is more regular for established Earth cyclers
             time_cycler = cyclerPeriod * 0.4;  // Fraction of cycler period
@@ -178,7 +260,7 @@ public class MathsUtil {
             cyclerPeriod = (p1 * p2) / Math.abs(p1 - p2);  // Synodic period
 
             // Higher delta-V for non-Earth cycler rendezvous due to less frequent encounters
-            deltaV_cycler = Math.max(0.01, (0.3 + (0.15 * relVelocity)) * SimulationState.DIFFICULTY_SCALE);
+            deltaV_cycler = Math.max(0.01, (0.3 + (0.15 * relVelocity)) * difficultyScale);
 
             // Time depends on where in the cycle we encounter the cycler
             time_cycler = cyclerPeriod * 0.3;  // Fraction of synodic period
@@ -201,13 +283,25 @@ public class MathsUtil {
             deltaV_fast += captureDV * 1.2;  // Higher entry velocity needs more capture delta-V
         }
 
-        return new double[] {
-                deltaV_efficient, time_efficient,
-                deltaV_fast, time_fast,
-                deltaV_cycler, time_cycler
-        };
+        result.deltaVEfficient = deltaV_efficient;
+        result.timeEfficient = time_efficient;
+        result.deltaVFast = deltaV_fast;
+        result.timeFast = time_fast;
+        result.deltaVCycler = deltaV_cycler;
+        result.timeCycler = time_cycler;
     }
 
+    /**
+     * @return Delta-v to leave the asteroid on the transfer and then match the destination's velocity at the end
+     */
+    private static double lambertDeltaV(double[] transferVelocities,
+                                        double asteroidVX, double asteroidVY, double asteroidVZ,
+                                        double destVX, double destVY, double destVZ) {
+        return Math.sqrt(Math.pow(transferVelocities[0] - asteroidVX, 2) +
+                Math.pow(transferVelocities[1] - asteroidVY, 2) + Math.pow(transferVelocities[2] - asteroidVZ, 2)) +
+                Math.sqrt(Math.pow(destVX - transferVelocities[3], 2) +
+                Math.pow(destVY - transferVelocities[4], 2) + Math.pow(destVZ - transferVelocities[5], 2));
+    }
 
     public static double[] calculateEarthRelativeTransfers(DoublesVector asteroidPos, DoublesVector destinationPos,
                                                            boolean isLEO, boolean enableAerobraking) {
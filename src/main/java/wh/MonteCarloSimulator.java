@@ -0,0 +1,220 @@
+package wh;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs many full orbits with different destination prices and summarises the profit each shipping rule made.
+ * <p>
+ * Every run has its own asteroid, destinations and random stream, split from the master seed in run order before
+ * any run starts, so a run's prices depend only on the seed and its index. The rules are all played against the same
+ * prices within a run, each with its own stored water, so they are compared on the same price paths and the
+ * positions and transfers are worked out once per day rather than once per rule. Profits are kept by run index and
+ * summed in that order, so the result is the same whatever the number of threads.
+ * <p>
+ * A long batch can be checkpointed every so many runs. The rules decide from the day alone and keep no state between
+ * days, so all a run leaves behind is its profits: the file holds the batch's inputs and the profits of the runs
+ * finished so far, and a batch carried on from it re-runs any unfinished run from its own stream.
+ */
+public final class MonteCarloSimulator {
+    private static final int MAGIC = 0x57484D43;    // "WHMC"
+    private static final short VERSION = 1;
+    private static final String WHAT = "Monte Carlo checkpoint";
+
+    private MonteCarloSimulator() {
+    }
+
+    public static Map<ShippingRule, ProfitDistribution> run(final SimulationParameters parameters,
+                                                            final Hauler hauler, final Set<ShippingRule> rules,
+                                                            final int runs, final int totalDaysInOrbit,
+                                                            final long seed) {
+        return run(parameters, hauler, rules, runs, totalDaysInOrbit, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param parameters Tunables every run shares
+     * @param rules Rules to compare, reported in declaration order
+     * @param runs Number of orbits to simulate
+     * @param seed Master seed every run's random stream is split from
+     * @param pool Pool the runs are split across
+     * @return Distribution of the total orbit profit per rule
+     */
+    public static Map<ShippingRule, ProfitDistribution> run(final SimulationParameters parameters,
+                                                            final Hauler hauler, final Set<ShippingRule> rules,
+                                                            final int runs, final int totalDaysInOrbit,
+                                                            final long seed, final ForkJoinPool pool) {
+        final ShippingRule[] ruleOrder = ruleOrder(rules, runs);
+        final double[][] profits = new double[ruleOrder.length][runs];
+        pool.invoke(new RunTask(parameters, hauler, ruleOrder, totalDaysInOrbit, streams(seed, runs), profits, 0,
+                runs));
+        return distributions(ruleOrder, profits);
+    }
+
+    /**
+     * Same as {@link #run(SimulationParameters, Hauler, Set, int, int, long, ForkJoinPool)}, writing the profits of
+     * the runs finished so far to the path every so many runs, and carrying on from the file if there already is one
+     * @param path Checkpoint file, left holding every run once the batch is done
+     * @param runsPerCheckpoint Runs between writes
+     * @throws IllegalArgumentException If the file there is of a batch with other inputs
+     * @throws IOException If the file cannot be read or written, or is corrupt
+     */
+    public static Map<ShippingRule, ProfitDistribution> run(final SimulationParameters parameters,
+                                                            final Hauler hauler, final Set<ShippingRule> rules,
+                                                            final int runs, final int totalDaysInOrbit,
+                                                            final long seed, final ForkJoinPool pool,
+                                                            final Path path, final int runsPerCheckpoint)
+            throws IOException {
+        final ShippingRule[] ruleOrder = ruleOrder(rules, runs);
+        if (runsPerCheckpoint <= 0) {
+            throw new IllegalArgumentException("Runs per checkpoint must be positive, got " + runsPerCheckpoint);
+        }
+        final double[][] profits = new double[ruleOrder.length][runs];
+        int completed = 0;
+        if (Files.exists(path)) {
+            completed = CheckpointFiles.read(path, in -> readCheckpoint(in, parameters, hauler, ruleOrder, runs,
+                    totalDaysInOrbit, seed, profits));
+        }
+        final SplittableRandom[] streams = streams(seed, runs);
+        while (completed < runs) {
+            final int toRun = Math.min(completed + runsPerCheckpoint, runs);
+            pool.invoke(new RunTask(parameters, hauler, ruleOrder, totalDaysInOrbit, streams, profits, completed,
+                    toRun));
+            completed = toRun;
+            CheckpointFiles.replace(path, out -> writeCheckpoint(out, parameters, hauler, ruleOrder, runs,
+                    totalDaysInOrbit, seed, profits, toRun));
+        }
+        return distributions(ruleOrder, profits);
+    }
+
+    private static ShippingRule[] ruleOrder(final Set<ShippingRule> rules, final int runs) {
+        if (runs <= 0 || rules.isEmpty()) {
+            throw new IllegalArgumentException("Need at least one run and one rule, got " + runs + " runs of " +
+                    rules);
+        }
+        return rules.stream().sorted().toArray(ShippingRule[]::new);
+    }
+
+    private static Map<ShippingRule, ProfitDistribution> distributions(final ShippingRule[] ruleOrder,
+                                                                       final double[][] profits) {
+        final Map<ShippingRule, ProfitDistribution> distributions = new EnumMap<>(ShippingRule.class);
+        for (int r = 0; r < ruleOrder.length; r++) {
+            distributions.put(ruleOrder[r], ProfitDistribution.of(profits[r]));
+        }
+        return distributions;
+    }
+
+    private static void writeCheckpoint(final DataOutputStream out, final SimulationParameters parameters,
+                                        final Hauler hauler, final ShippingRule[] rules, final int runs,
+                                        final int totalDaysInOrbit, final long seed, final double[][] profits,
+                                        final int completed) throws IOException {
+        CheckpointFiles.writeHeader(out, MAGIC, VERSION);
+        CheckpointFiles.writeParameters(out, parameters);
+        CheckpointFiles.writeHauler(out, hauler);
+        out.writeByte(rules.length);
+        for (ShippingRule rule : rules) {
+            out.writeByte(rule.ordinal());
+        }
+        out.writeInt(runs);
+        out.writeInt(totalDaysInOrbit);
+        out.writeLong(seed);
+        out.writeInt(completed);
+        for (double[] ruleProfits : profits) {
+            for (int run = 0; run < completed; run++) {
+                out.writeDouble(ruleProfits[run]);
+            }
+        }
+    }
+
+    /**
+     * Reads the finished runs' profits into the array
+     * @return Runs finished
+     */
+    private static int readCheckpoint(final DataInputStream in, final SimulationParameters parameters,
+                                      final Hauler hauler, final ShippingRule[] rules, final int runs,
+                                      final int totalDaysInOrbit, final long seed, final double[][] profits)
+            throws IOException {
+        CheckpointFiles.readHeader(in, MAGIC, VERSION, WHAT);
+        final SimulationParameters readParameters = CheckpointFiles.readParameters(in);
+        final Hauler readHauler = CheckpointFiles.readHauler(in);
+        final ShippingRule[] readRules = new ShippingRule[in.readUnsignedByte()];
+        for (int r = 0; r < readRules.length; r++) {
+            readRules[r] = CheckpointFiles.readOrdinal(in, ShippingRule.values());
+        }
+        final int readRuns = in.readInt();
+        final int readTotalDaysInOrbit = in.readInt();
+        final long readSeed = in.readLong();
+        if (!readParameters.equals(parameters) || !readHauler.equals(hauler) || !Arrays.equals(readRules, rules) ||
+                readRuns != runs || readTotalDaysInOrbit != totalDaysInOrbit || readSeed != seed) {
+            throw new IllegalArgumentException("Checkpoint is of another batch, " + readRuns + " runs of " +
+                    Arrays.toString(readRules) + " over " + readTotalDaysInOrbit + " days from seed " + readSeed +
+                    " with " + readParameters + " and " + readHauler);
+        }
+        final int completed = CheckpointFiles.readInt(in, 0, runs, "runs completed");
+        for (double[] ruleProfits : profits) {
+            for (int run = 0; run < completed; run++) {
+                ruleProfits[run] = in.readDouble();
+            }
+        }
+        return completed;
+    }
+
+    /**
+     * Random stream of each run, split one after another from the master seed
+     */
+    static SplittableRandom[] streams(final long seed, final int runs) {
+        final SplittableRandom master = new SplittableRandom(seed);
+        final SplittableRandom[] streams = new SplittableRandom[runs];
+        for (int i = 0; i < runs; i++) {
+            streams[i] = master.split();
+        }
+        return streams;
+    }
+
+    private static final class RunTask extends RecursiveAction {
+        private final SimulationParameters parameters;
+        private final Hauler hauler;
+        private final ShippingRule[] rules;
+        private final int totalDaysInOrbit;
+        private final SplittableRandom[] streams;
+        private final double[][] profits;
+        private final int fromRun;
+        private final int toRun;
+
+        RunTask(SimulationParameters parameters, Hauler hauler, ShippingRule[] rules, int totalDaysInOrbit,
+                SplittableRandom[] streams, double[][] profits, int fromRun, int toRun) {
+            this.parameters = parameters;
+            this.hauler = hauler;
+            this.rules = rules;
+            this.totalDaysInOrbit = totalDaysInOrbit;
+            this.streams = streams;
+            this.profits = profits;
+            this.fromRun = fromRun;
+            this.toRun = toRun;
+        }
+
+        @Override
+        protected void compute() {
+            if (toRun - fromRun > 1) {
+                final int middle = (fromRun + toRun) >>> 1;
+                invokeAll(new RunTask(parameters, hauler, rules, totalDaysInOrbit, streams, profits, fromRun, middle),
+                        new RunTask(parameters, hauler, rules, totalDaysInOrbit, streams, profits, middle, toRun));
+                return;
+            }
+            final double[] runProfits = new double[rules.length];
+            StrategyOrbit.run(parameters, hauler, rules, totalDaysInOrbit, streams[fromRun], runProfits);
+            for (int r = 0; r < rules.length; r++) {
+                profits[r][fromRun] = runProfits[r];
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package wh;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Most profitable store or ship decision for every day and amount of stored water of one orbit with known prices,
+ * as found by {@link PolicySolver}. Stored water is held in whole steps, so amounts between steps are never reached.
+ */
+public class OptimalPolicy {
+    static final byte STORE = -1;
+
+    private final int days;
+    private final int stepKgs;
+    private final int levels;
+    private final int initialStoredWaterKgs;
+    private final int kgsWaterMinedPerDay;
+    private final int maxCargoKgs;
+    // Chosen route per day and stored level, being destination ordinal * 2 plus 1 for fast, or STORE
+    private final byte[] actions;
+    private final double profit;
+
+    OptimalPolicy(final int days, final int stepKgs, final int levels, final int initialStoredWaterKgs,
+                  final int kgsWaterMinedPerDay, final int maxCargoKgs, final byte[] actions, final double profit) {
+        this.days = days;
+        this.stepKgs = stepKgs;
+        this.levels = levels;
+        this.initialStoredWaterKgs = initialStoredWaterKgs;
+        this.kgsWaterMinedPerDay = kgsWaterMinedPerDay;
+        this.maxCargoKgs = maxCargoKgs;
+        this.actions = actions;
+        this.profit = profit;
+    }
+
+    /**
+     * @return Total profit of the orbit when every decision follows the policy
+     */
+    public double getProfit() {
+        return profit;
+    }
+
+    public int getStepKgs() {
+        return stepKgs;
+    }
+
+    /**
+     * @param storedWaterKgs Water stored at the start of the day, a whole number of steps
+     * @return True if the day's water should be shipped
+     */
+    public boolean ships(final int dayInOrbit, final int storedWaterKgs) {
+        return action(dayInOrbit, storedWaterKgs) != STORE;
+    }
+
+    /**
+     * @return Destination to ship to, or null if the water should be stored
+     */
+    public DestinationType destination(final int dayInOrbit, final int storedWaterKgs) {
+        final byte action = action(dayInOrbit, storedWaterKgs);
+        return action == STORE ? null : DestinationType.values()[action >> 1];
+    }
+
+    /**
+     * @return Route to ship by, or null if the water should be stored
+     */
+    public ShipmentCalculator.OptionType optionType(final int dayInOrbit, final int storedWaterKgs) {
+        final byte action = action(dayInOrbit, storedWaterKgs);
+        if (action == STORE) {
+            return null;
+        }
+        return (action & 1) == 0 ? ShipmentCalculator.OptionType.EFFICIENT : ShipmentCalculator.OptionType.FAST;
+    }
+
+    /**
+     * Follows the policy from the orbit's starting water, storing and shipping as {@link SimulationRunner} does
+     * @return Days water is shipped on, in order
+     */
+    public List<Integer> shipDays() {
+        final List<Integer> shipDays = new ArrayList<>();
+        int storedWaterKgs = initialStoredWaterKgs;
+        for (int day = 1; day <= days; day++) {
+            if (ships(day, storedWaterKgs)) {
+                shipDays.add(day);
+                final int shippableKgsWater = Math.min(storedWaterKgs + kgsWaterMinedPerDay, maxCargoKgs);
+                storedWaterKgs = Math.max(storedWaterKgs - shippableKgsWater, 0);
+            } else {
+                storedWaterKgs += kgsWaterMinedPerDay;
+            }
+        }
+        return shipDays;
+    }
+
+    private byte action(final int dayInOrbit, final int storedWaterKgs) {
+        if (dayInOrbit < 1 || dayInOrbit > days) {
+            throw new IllegalArgumentException("Day " + dayInOrbit + " is outside the solved orbit of " + days +
+                    " days");
+        }
+        if (storedWaterKgs < 0 || storedWaterKgs % stepKgs != 0 || storedWaterKgs / stepKgs >= levels) {
+            throw new IllegalArgumentException("Stored water " + storedWaterKgs + " kg is not a multiple of " +
+                    stepKgs + " kg up to " + (long) (levels - 1) * stepKgs + " kg");
+        }
+        return actions[(dayInOrbit - 1) * levels + storedWaterKgs / stepKgs];
+    }
+}
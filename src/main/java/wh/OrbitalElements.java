@@ -0,0 +1,116 @@
+package wh;
+
+import jaid.collection.DoublesVector;
+
+/**
+ * Keplerian elements of a fixed orbit, compiled once into the perifocal to ecliptic rotation so that each position
+ * costs a Kepler solve plus a 3x2 matrix multiply
+ */
+public final class OrbitalElements {
+    private final double semiMajorAxis;  // in AU
+    private final double eccentricity;   // dimensionless
+    private final double semiMinorAxis;  // a * sqrt(1 - e^2), in AU
+    // Columns of the rotation matrix: ecliptic directions of the perihelion (P) and of 90 degrees ahead of it (Q)
+    final double px, py, pz;
+    final double qx, qy, qz;
+
+    /**
+     * @param semiMajorAxis Semi-major axis in AU
+     * @param eccentricity Eccentricity (dimensionless)
+     * @param inclination Inclination in degrees
+     * @param argumentPerihelion Argument of perihelion in degrees
+     * @param ascendingNode Longitude of ascending node in degrees
+     */
+    public OrbitalElements(double semiMajorAxis, double eccentricity, double inclination,
+                           double argumentPerihelion, double ascendingNode) {
+        this.semiMajorAxis = semiMajorAxis;
+        this.eccentricity = eccentricity;
+        this.semiMinorAxis = semiMajorAxis * Math.sqrt(1 - eccentricity * eccentricity);
+
+        final double inc = Math.toRadians(inclination);
+        final double argPeri = Math.toRadians(argumentPerihelion);
+        final double node = Math.toRadians(ascendingNode);
+        final double cosW = Math.cos(argPeri), sinW = Math.sin(argPeri);
+        final double cosO = Math.cos(node), sinO = Math.sin(node);
+        final double cosI = Math.cos(inc), sinI = Math.sin(inc);
+        this.px = cosW * cosO - sinW * cosI * sinO;
+        this.py = cosW * sinO + sinW * cosI * cosO;
+        this.pz = sinW * sinI;
+        this.qx = -(sinW * cosO + cosW * cosI * sinO);
+        this.qy = cosW * cosI * cosO - sinW * sinO;
+        this.qz = cosW * sinI;
+    }
+
+    public double getSemiMajorAxis() {
+        return semiMajorAxis;
+    }
+
+    public double getEccentricity() {
+        return eccentricity;
+    }
+
+    double getSemiMinorAxis() {
+        return semiMinorAxis;
+    }
+
+    /**
+     * @param meanAnomaly Mean anomaly in radians
+     * @return Position in AU
+     */
+    public DoublesVector positionAt(double meanAnomaly) {
+        final double[] position = new double[3];
+        positionAt(meanAnomaly, position);
+        return new DoublesVector(position);
+    }
+
+    /**
+     * Writes the [x, y, z] position in AU at the given mean anomaly (radians) into the first three slots of position
+     */
+    public void positionAt(double meanAnomaly, double[] position) {
+        positionAtEccentricAnomaly(MathsUtil.solveKepler(meanAnomaly, eccentricity), position);
+    }
+
+    /**
+     * Writes the [x, y, z] position in AU at the given eccentric anomaly (radians) into the first three slots of
+     * position
+     */
+    void positionAtEccentricAnomaly(double eccentricAnomaly, double[] position) {
+        positionAtEccentricAnomaly(Math.cos(eccentricAnomaly), Math.sin(eccentricAnomaly), position);
+    }
+
+    /**
+     * Writes the [x, y, z] position in AU at the eccentric anomaly with the given cosine and sine into the first three
+     * slots of position
+     */
+    void positionAtEccentricAnomaly(double cosE, double sinE, double[] position) {
+        // Position in the orbital plane, measured from the focus with x towards perihelion
+        final double xPrime = semiMajorAxis * (cosE - eccentricity);
+        final double yPrime = semiMinorAxis * sinE;
+
+        position[0] = xPrime * px + yPrime * qx;
+        position[1] = xPrime * py + yPrime * qy;
+        position[2] = xPrime * pz + yPrime * qz;
+    }
+
+    /**
+     * Writes the [vx, vy, vz] velocity at the given eccentric anomaly (radians) into the first three slots of velocity,
+     * in AU/year when mu is {@link MathsUtil#SUN_MU}
+     */
+    void velocityAtEccentricAnomaly(double eccentricAnomaly, double mu, double[] velocity) {
+        velocityAtEccentricAnomaly(Math.cos(eccentricAnomaly), Math.sin(eccentricAnomaly), mu, velocity);
+    }
+
+    /**
+     * Writes the [vx, vy, vz] velocity at the eccentric anomaly with the given cosine and sine into the first three
+     * slots of velocity, in AU/year when mu is {@link MathsUtil#SUN_MU}
+     */
+    void velocityAtEccentricAnomaly(double cosE, double sinE, double mu, double[] velocity) {
+        final double speedScale = Math.sqrt(mu * semiMajorAxis) / (semiMajorAxis * (1 - eccentricity * cosE));
+        final double vxPrime = -speedScale * sinE;
+        final double vyPrime = speedScale * (semiMinorAxis / semiMajorAxis) * cosE;
+
+        velocity[0] = vxPrime * px + vyPrime * qx;
+        velocity[1] = vxPrime * py + vyPrime * qy;
+        velocity[2] = vxPrime * pz + vyPrime * qz;
+    }
+}
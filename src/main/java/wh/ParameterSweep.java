@@ -0,0 +1,207 @@
+package wh;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs every point of a {@link SweepGrid} through the same Monte Carlo runs in one process, with every orbit of every
+ * point a task on a work-stealing pool.
+ * <p>
+ * Work that does not depend on the varied parameters is done once: transfers once per distinct
+ * {@link TransferTable.Key}, prices once per run since they depend only on the seed, and hauler performance once per
+ * hauler. Each orbit then only replays the tables through the strategies. Prices are drawn for
+ * {@link #RUNS_PER_CHUNK} runs at a time and every point played through those runs before the next are drawn, so
+ * the prices held stay the same size however many runs there are. Run i of every point uses the i-th stream of
+ * {@link MonteCarloSimulator#streams}, so a point gets the same profits as {@link MonteCarloSimulator} would give it
+ * on its own, whatever the number of threads.
+ */
+public final class ParameterSweep {
+    // Runs whose prices are held at once, about 20 MB of them over a full orbit
+    static final int RUNS_PER_CHUNK = 256;
+
+    static final String CSV_HEADER = "kgsWaterMinedPerDay,difficultyScale,enableOrbitalMechanics,enableAerobraking," +
+            "hauler,strategy,runs,mean,standardDeviation,min,percentile5,median,percentile95,max";
+
+    private ParameterSweep() {
+    }
+
+    public static List<SweepResult> run(final SweepGrid grid, final List<? extends ShippingStrategy> strategies,
+                                        final int runs, final int totalDaysInOrbit, final long seed) {
+        return run(grid, strategies, runs, totalDaysInOrbit, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param strategies Strategies played at every point, which must not share state between runs
+     * @param runs Orbits simulated per point
+     * @param seed Master seed the runs' price streams are split from
+     * @param pool Pool the orbits are spread across
+     * @return One result per point and strategy, in {@link SweepGrid#points} order then strategy order
+     */
+    public static List<SweepResult> run(final SweepGrid grid, final List<? extends ShippingStrategy> strategies,
+                                        final int runs, final int totalDaysInOrbit, final long seed,
+                                        final ForkJoinPool pool) {
+        return run(grid, strategies, runs, totalDaysInOrbit, seed, pool, RUNS_PER_CHUNK);
+    }
+
+    /**
+     * @param runsPerChunk Runs whose prices are drawn and held at once
+     */
+    static List<SweepResult> run(final SweepGrid grid, final List<? extends ShippingStrategy> strategies,
+                                 final int runs, final int totalDaysInOrbit, final long seed, final ForkJoinPool pool,
+                                 final int runsPerChunk) {
+        if (strategies.isEmpty() || runs <= 0) {
+            throw new IllegalArgumentException("Need at least one strategy and one run, got " + strategies.size() +
+                    " strategies and " + runs + " runs");
+        }
+        final List<SweepGrid.Point> points = grid.points();
+        final Map<TransferTable.Key, ForkJoinTask<TransferTable>> pendingTables = new LinkedHashMap<>();
+        for (SweepGrid.Point point : points) {
+            final SimulationParameters parameters = point.parameters();
+            pendingTables.computeIfAbsent(TransferTable.Key.of(parameters),
+                    key -> pool.submit(() -> TransferTable.compute(parameters, totalDaysInOrbit)));
+        }
+        final SplittableRandom[] streams = MonteCarloSimulator.streams(seed, runs);
+
+        final TransferTable[] tables = new TransferTable[points.size()];
+        final HaulerPerformance[] performances = new HaulerPerformance[points.size()];
+        final Map<Hauler, HaulerPerformance> performanceByHauler = new HashMap<>();
+        for (int p = 0; p < points.size(); p++) {
+            final SweepGrid.Point point = points.get(p);
+            tables[p] = pendingTables.get(TransferTable.Key.of(point.parameters())).join();
+            performances[p] = performanceByHauler.computeIfAbsent(point.hauler(), HaulerPerformance::new);
+        }
+        final ShippingStrategy[] playing = strategies.toArray(new ShippingStrategy[0]);
+        final double[][][] profits = new double[points.size()][playing.length][runs];
+        for (int fromRun = 0; fromRun < runs; fromRun += runsPerChunk) {
+            final double[][] prices = prices(streams, fromRun, Math.min(runsPerChunk, runs - fromRun),
+                    totalDaysInOrbit);
+            pool.invoke(new OrbitTask(points, tables, performances, playing, totalDaysInOrbit, fromRun, prices,
+                    profits, 0, points.size() * prices.length));
+        }
+
+        final List<SweepResult> results = new ArrayList<>(points.size() * playing.length);
+        for (int p = 0; p < points.size(); p++) {
+            for (int s = 0; s < playing.length; s++) {
+                results.add(new SweepResult(points.get(p).parameters(), points.get(p).hauler(), playing[s].name(),
+                        ProfitDistribution.of(profits[p][s])));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Writes the results as one table, a line per result
+     */
+    public static void writeCsv(final List<SweepResult> results, final Path path) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(path)) {
+            out.write(CSV_HEADER);
+            out.newLine();
+            for (SweepResult result : results) {
+                final SimulationParameters parameters = result.parameters();
+                final ProfitDistribution profits = result.profits();
+                out.write(parameters.kgsWaterMinedPerDay() + "," + parameters.difficultyScale() + "," +
+                        parameters.enableOrbitalMechanics() + "," + parameters.enableAerobraking() + "," +
+                        result.hauler() + "," + result.strategy() + "," + profits.runs() + "," + profits.mean() +
+                        "," + profits.standardDeviation() + "," + profits.min() + "," + profits.percentile5() +
+                        "," + profits.median() + "," + profits.percentile95() + "," + profits.max());
+                out.newLine();
+            }
+        }
+    }
+
+    /**
+     * Prices of a chunk of runs, each drawn from its stream in the order {@link StrategyOrbit#run} draws them: day by
+     * day, each day's destinations in {@link DestinationType} order
+     * @param streams Every run's stream, only those of the chunk being drawn from
+     * @return Prices per run of the chunk, indexed by day then destination
+     */
+    static double[][] prices(final SplittableRandom[] streams, final int fromRun, final int runs,
+                             final int totalDaysInOrbit) {
+        final DestinationType[] types = DestinationType.values();
+        final double[][] prices = new double[runs][totalDaysInOrbit * types.length];
+        for (int r = 0; r < runs; r++) {
+            for (int dayInOrbit = 1; dayInOrbit <= totalDaysInOrbit; dayInOrbit++) {
+                final double perihelionWeight = 1.0 - (double) dayInOrbit / totalDaysInOrbit;
+                for (int i = 0; i < types.length; i++) {
+                    prices[r][(dayInOrbit - 1) * types.length + i] =
+                            types[i].calculateSalePricePerKg(perihelionWeight, streams[fromRun + r]);
+                }
+            }
+        }
+        return prices;
+    }
+
+    private static final class OrbitTask extends RecursiveAction {
+        private final List<SweepGrid.Point> points;
+        private final TransferTable[] tables;
+        private final HaulerPerformance[] performances;
+        private final ShippingStrategy[] strategies;
+        private final int totalDaysInOrbit;
+        // First run of the chunk, whose prices are held
+        private final int fromRun;
+        private final double[][] prices;
+        private final double[][][] profits;
+        // Orbits of the chunk numbered point by point, run by run
+        private final int fromOrbit;
+        private final int toOrbit;
+
+        OrbitTask(List<SweepGrid.Point> points, TransferTable[] tables, HaulerPerformance[] performances,
+                  ShippingStrategy[] strategies, int totalDaysInOrbit, int fromRun, double[][] prices,
+                  double[][][] profits, int fromOrbit, int toOrbit) {
+            this.points = points;
+            this.tables = tables;
+            this.performances = performances;
+            this.strategies = strategies;
+            this.totalDaysInOrbit = totalDaysInOrbit;
+            this.fromRun = fromRun;
+            this.prices = prices;
+            this.profits = profits;
+            this.fromOrbit = fromOrbit;
+            this.toOrbit = toOrbit;
+        }
+
+        @Override
+        protected void compute() {
+            if (toOrbit - fromOrbit > 1) {
+                final int middle = (fromOrbit + toOrbit) >>> 1;
+                invokeAll(new OrbitTask(points, tables, performances, strategies, totalDaysInOrbit, fromRun, prices,
+                                profits, fromOrbit, middle),
+                        new OrbitTask(points, tables, performances, strategies, totalDaysInOrbit, fromRun, prices,
+                                profits, middle, toOrbit));
+                return;
+            }
+            final int point = fromOrbit / prices.length;
+            final int chunkRun = fromOrbit % prices.length;
+            final List<Destination> destinations = new ArrayList<>();
+            for (DestinationType type : DestinationType.values()) {
+                // Prices and transfers come from the tables, so the destination never draws from its random
+                destinations.add(new Destination(type));
+            }
+            final double[] runProfits = new double[strategies.length];
+            final StrategyOrbit orbit = new StrategyOrbit(points.get(point).parameters(), performances[point],
+                    strategies, destinations, runProfits);
+            final double[] runPrices = prices[chunkRun];
+            for (int dayInOrbit = 1; dayInOrbit <= totalDaysInOrbit; dayInOrbit++) {
+                tables[point].apply(dayInOrbit, destinations);
+                for (int i = 0; i < destinations.size(); i++) {
+                    destinations.get(i).salePricePerKg = runPrices[(dayInOrbit - 1) * destinations.size() + i];
+                }
+                orbit.playDay(dayInOrbit, totalDaysInOrbit);
+            }
+            for (int s = 0; s < strategies.length; s++) {
+                profits[point][s][fromRun + chunkRun] = runProfits[s];
+            }
+        }
+    }
+}
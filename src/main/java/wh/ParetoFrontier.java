@@ -0,0 +1,58 @@
+package wh;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Designs of one cargo capacity that no other design offered beats on both cost and fuel. Kept as a staircase keyed
+ * on cost, with fuel strictly falling as cost rises, so each offer is a couple of ordered lookups.
+ */
+final class ParetoFrontier {
+    private final TreeMap<Long, HaulerDesign> byCost = new TreeMap<>();
+
+    /**
+     * @return True if some design already on the frontier costs no more and burns no more fuel, which includes an
+     * exact tie so that the first design offered is the one kept
+     */
+    boolean isDominated(final long cost, final double kgsFuelPerKmSec) {
+        final Map.Entry<Long, HaulerDesign> cheaper = byCost.floorEntry(cost);
+        return cheaper != null && cheaper.getValue().kgsFuelPerKmSec() <= kgsFuelPerKmSec;
+    }
+
+    /**
+     * Adds the design unless it is dominated, dropping any designs it dominates
+     * @return True if the design joined the frontier
+     */
+    boolean offer(final HaulerDesign design) {
+        if (isDominated(design.cost(), design.kgsFuelPerKmSec())) {
+            return false;
+        }
+        // Designs costing the same or more are dominated while they burn at least as much, and those form a run
+        final Iterator<HaulerDesign> costlier = byCost.tailMap(design.cost(), true).values().iterator();
+        while (costlier.hasNext() && costlier.next().kgsFuelPerKmSec() >= design.kgsFuelPerKmSec()) {
+            costlier.remove();
+        }
+        byCost.put(design.cost(), design);
+        return true;
+    }
+
+    void offerAll(final ParetoFrontier other) {
+        for (HaulerDesign design : other.byCost.values()) {
+            offer(design);
+        }
+    }
+
+    /**
+     * @return Designs in order of increasing cost
+     */
+    List<HaulerDesign> designs() {
+        return new ArrayList<>(byCost.values());
+    }
+
+    int size() {
+        return byCost.size();
+    }
+}
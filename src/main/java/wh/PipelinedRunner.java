@@ -0,0 +1,129 @@
+package wh;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Runs an orbit as three overlapping stages, each on its own thread, giving the same day results and end state as
+ * {@link SimulationRunner#runOrbit(SimulationContext, Hauler, int, SimulationSink)}:
+ * <ol>
+ *     <li>Moving the asteroid and destinations, drawing prices and solving transfers into a {@link DaySnapshot}.
+ *     Nothing here depends on shipping decisions, so it runs ahead of the later stages.</li>
+ *     <li>Evaluating every option of a snapshot and deciding whether to store or ship, which has to go day by day
+ *     since each day starts from the water the previous one left.</li>
+ *     <li>Handing results to the sink, on the calling thread.</li>
+ * </ol>
+ * At most {@link #getMaxDaysInFlight} days are between the first and last stage at a time, so a slow sink holds the
+ * others back rather than results piling up.
+ */
+public class PipelinedRunner implements AutoCloseable {
+    private final ExecutorService computeStage = Executors.newSingleThreadExecutor(daemon("pipeline-compute"));
+    private final ExecutorService evaluateStage = Executors.newSingleThreadExecutor(daemon("pipeline-evaluate"));
+    private final int maxDaysInFlight;
+    private final ShippingStrategy strategy;
+
+    /**
+     * Runner shipping by {@link ShippingRule#BEST_ROUTE}, as {@link SimulationRunner} does by default
+     * @param maxDaysInFlight Days computed or evaluated but not yet handed to the sink
+     */
+    public PipelinedRunner(final int maxDaysInFlight) {
+        this(maxDaysInFlight, ShippingRule.BEST_ROUTE);
+    }
+
+    /**
+     * @param maxDaysInFlight Days computed or evaluated but not yet handed to the sink
+     * @param strategy Decides each day, as for {@link SimulationRunner#SimulationRunner(ShipmentCalculator,
+     *                 ShippingStrategy)}
+     */
+    public PipelinedRunner(final int maxDaysInFlight, final ShippingStrategy strategy) {
+        if (maxDaysInFlight <= 0) {
+            throw new IllegalArgumentException("Days in flight must be positive, got " + maxDaysInFlight);
+        }
+        this.maxDaysInFlight = maxDaysInFlight;
+        this.strategy = strategy;
+    }
+
+    private static ThreadFactory daemon(final String name) {
+        return runnable -> {
+            final Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public int getMaxDaysInFlight() {
+        return maxDaysInFlight;
+    }
+
+    /**
+     * Runs every day of one orbit on the context, handing each day's result to the sink, which is closed at the end.
+     * The context must not be touched by anything else until this returns.
+     */
+    public void runOrbit(final SimulationContext context, final Hauler hauler, final int totalDaysInOrbit,
+                         final SimulationSink sink) {
+        // Owns the stored water, which the compute stage never touches
+        final DayEvaluator evaluator = new DayEvaluator(context, new HaulerPerformance(hauler), strategy);
+        final ArrayDeque<CompletableFuture<DayResult>> inFlight = new ArrayDeque<>(maxDaysInFlight);
+        try (sink) {
+            for (int dayInOrbit = 1; dayInOrbit <= totalDaysInOrbit; dayInOrbit++) {
+                final int day = dayInOrbit;
+                // Both stages are single threads taking work in submission order, so days stay in order
+                inFlight.add(CompletableFuture
+                        .supplyAsync(() -> computeDay(context, day, totalDaysInOrbit), computeStage)
+                        .thenApplyAsync(snapshot -> evaluator.evaluate(snapshot, totalDaysInOrbit), evaluateStage));
+                if (inFlight.size() == maxDaysInFlight) {
+                    sink.accept(join(inFlight.remove()));
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                sink.accept(join(inFlight.remove()));
+            }
+        } finally {
+            if (!inFlight.isEmpty()) {
+                // After a failure the days still in flight are not evaluated, but their moves may already be queued and
+                // must finish before the context is used again. Stages run in order, so a no-op behind both waits.
+                for (CompletableFuture<DayResult> day : inFlight) {
+                    day.cancel(false);
+                }
+                CompletableFuture.runAsync(() -> { }, computeStage).thenRunAsync(() -> { }, evaluateStage).join();
+            }
+        }
+    }
+
+    private static DayResult join(final CompletableFuture<DayResult> day) {
+        try {
+            return day.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static DaySnapshot computeDay(final SimulationContext context, final int dayInOrbit,
+                                          final int totalDaysInOrbit) {
+        final SimulationParameters parameters = context.getParameters();
+        final AsteroidState asteroid = context.getAsteroid();
+        final List<Destination> destinations = context.getDestinations();
+        asteroid.updateDistanceFromSun(dayInOrbit, totalDaysInOrbit);
+        for (int i = 0; i < destinations.size(); i++) {
+            destinations.get(i).updateDaily(parameters, asteroid, dayInOrbit, totalDaysInOrbit);
+        }
+        return DaySnapshot.of(dayInOrbit, asteroid, destinations);
+    }
+
+    /**
+     * Shuts down the stage threads
+     */
+    @Override
+    public void close() {
+        computeStage.shutdown();
+        evaluateStage.shutdown();
+    }
+}
@@ -0,0 +1,177 @@
+package wh;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Finds the most profitable store or ship decisions over an orbit by dynamic programming over days and stored water,
+ * working back from the last day. Decisions follow {@link SimulationRunner}'s rules, with the difference that every
+ * price is known in advance, so the total is an upper bound for any rule run on the same prices.
+ * <p>
+ * Stored water only changes by the daily mining or by a full or partial hauler load, so it is held in steps of
+ * their greatest common divisor and the grid is exact. Whatever is stored, only a few shippable amounts are
+ * possible, and the best route for each is worked out once per day before solving. Each day's stored levels are
+ * independent given the next day, so large days are split across the pool. Only two days of values are kept, with
+ * one byte of decision per day and level.
+ */
+public final class PolicySolver {
+    // Stored levels of one day below which a day is solved on a single thread
+    static final int LEVELS_PER_TASK = 2048;
+
+    private PolicySolver() {
+    }
+
+    public static OptimalPolicy solve(final SimulationContext context, final Hauler hauler, final ShippingRule rule,
+                                      final int totalDaysInOrbit) {
+        return solve(context, hauler, rule, totalDaysInOrbit, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param context Scenario whose destinations are moved through the orbit, drawing every day's prices in the same
+     *                order the runner would, and whose stored water is the starting amount
+     * @param rule Routes water may be shipped by
+     * @param pool Pool the larger days are split across
+     */
+    public static OptimalPolicy solve(final SimulationContext context, final Hauler hauler, final ShippingRule rule,
+                                      final int totalDaysInOrbit, final ForkJoinPool pool) {
+        final int kgsWaterMinedPerDay = context.getParameters().kgsWaterMinedPerDay();
+        final int maxCargoKgs = hauler.type().maxCargoKgs;
+        final int initialStoredWaterKgs = context.getAsteroid().storedWaterKgs;
+        final int stepKgs = gcd(gcd(kgsWaterMinedPerDay, maxCargoKgs), initialStoredWaterKgs);
+        final int minedLevels = kgsWaterMinedPerDay / stepKgs;
+        final int initialLevel = initialStoredWaterKgs / stepKgs;
+        final long maxLevel = initialLevel + (long) minedLevels * totalDaysInOrbit;
+        if (maxLevel + 1 > Integer.MAX_VALUE / Math.max(totalDaysInOrbit, 1)) {
+            throw new IllegalArgumentException("Grid of " + totalDaysInOrbit + " days by " + (maxLevel + 1) +
+                    " stored levels is too large");
+        }
+        final int levels = (int) maxLevel + 1;
+        final int cargoLevels = maxCargoKgs / stepKgs;
+
+        final double[][] bestProfit = new double[totalDaysInOrbit][cargoLevels + 1];
+        final byte[][] bestRoute = new byte[totalDaysInOrbit][cargoLevels + 1];
+        precomputeRoutes(context, hauler, rule, totalDaysInOrbit, stepKgs, bestProfit, bestRoute);
+
+        final byte[] actions = new byte[totalDaysInOrbit * levels];
+        double[] next = new double[levels];
+        double[] current = new double[levels];
+        for (int day = totalDaysInOrbit; day >= 1; day--) {
+            // No more water than the starting amount plus what has been mined before the day
+            final int reachableLevels = initialLevel + minedLevels * (day - 1) + 1;
+            final DayTask task = new DayTask(bestProfit[day - 1], bestRoute[day - 1], minedLevels, cargoLevels,
+                    next, current, actions, (day - 1) * levels, 0, reachableLevels);
+            if (reachableLevels > LEVELS_PER_TASK) {
+                pool.invoke(task);
+            } else {
+                task.compute();
+            }
+            final double[] swap = next;
+            next = current;
+            current = swap;
+        }
+        return new OptimalPolicy(totalDaysInOrbit, stepKgs, levels, initialStoredWaterKgs, kgsWaterMinedPerDay,
+                maxCargoKgs, actions, next[initialLevel]);
+    }
+
+    /**
+     * Moves the context through the orbit, keeping for each day and shippable amount the route the rule decides on,
+     * or STORE when it stores
+     */
+    private static void precomputeRoutes(final SimulationContext context, final Hauler hauler,
+                                         final ShippingRule rule, final int totalDaysInOrbit, final int stepKgs,
+                                         final double[][] bestProfit, final byte[][] bestRoute) {
+        final AsteroidState asteroid = context.getAsteroid();
+        final List<Destination> destinations = context.getDestinations();
+        final ShippingDay view = new ShippingDay(destinations, new HaulerPerformance(hauler),
+                context.getParameters().difficultyScale());
+        final boolean[] noCyclers = new boolean[destinations.size()];
+        for (int day = 1; day <= totalDaysInOrbit; day++) {
+            asteroid.updateDistanceFromSun(day, totalDaysInOrbit);
+            for (int i = 0; i < destinations.size(); i++) {
+                destinations.get(i).updateDaily(context.getParameters(), asteroid, day, totalDaysInOrbit);
+            }
+            view.update(destinations);
+            final double[] dayProfit = bestProfit[day - 1];
+            final byte[] dayRoute = bestRoute[day - 1];
+            for (int cargoLevel = 0; cargoLevel < dayProfit.length; cargoLevel++) {
+                // With nothing mined on top, the stored amount is what gets shipped
+                view.set(day, totalDaysInOrbit, cargoLevel * stepKgs, 0, noCyclers);
+                final ShippingDecision decision = rule.decide(view);
+                if (decision.action() == ShippingDecision.Action.SHIP) {
+                    dayProfit[cargoLevel] = view.profit(decision.destination(), decision.optionType());
+                    dayRoute[cargoLevel] = (byte) (view.destinationType(decision.destination()).ordinal() * 2 +
+                            (decision.optionType() == ShipmentCalculator.OptionType.FAST ? 1 : 0));
+                } else {
+                    dayProfit[cargoLevel] = 0;
+                    dayRoute[cargoLevel] = OptimalPolicy.STORE;
+                }
+            }
+        }
+    }
+
+    static int gcd(int a, int b) {
+        while (b != 0) {
+            final int remainder = a % b;
+            a = b;
+            b = remainder;
+        }
+        return a;
+    }
+
+    /**
+     * Best total from each stored level of one day onwards, given the totals of the next day
+     */
+    private static final class DayTask extends RecursiveAction {
+        private final double[] bestProfit;
+        private final byte[] bestRoute;
+        private final int minedLevels;
+        private final int cargoLevels;
+        private final double[] next;
+        private final double[] current;
+        private final byte[] actions;
+        private final int actionOffset;
+        private final int fromLevel;
+        private final int toLevel;
+
+        DayTask(double[] bestProfit, byte[] bestRoute, int minedLevels, int cargoLevels, double[] next,
+                double[] current, byte[] actions, int actionOffset, int fromLevel, int toLevel) {
+            this.bestProfit = bestProfit;
+            this.bestRoute = bestRoute;
+            this.minedLevels = minedLevels;
+            this.cargoLevels = cargoLevels;
+            this.next = next;
+            this.current = current;
+            this.actions = actions;
+            this.actionOffset = actionOffset;
+            this.fromLevel = fromLevel;
+            this.toLevel = toLevel;
+        }
+
+        @Override
+        protected void compute() {
+            if (toLevel - fromLevel > LEVELS_PER_TASK) {
+                final int middle = (fromLevel + toLevel) >>> 1;
+                invokeAll(new DayTask(bestProfit, bestRoute, minedLevels, cargoLevels, next, current, actions,
+                                actionOffset, fromLevel, middle),
+                        new DayTask(bestProfit, bestRoute, minedLevels, cargoLevels, next, current, actions,
+                                actionOffset, middle, toLevel));
+                return;
+            }
+            for (int level = fromLevel; level < toLevel; level++) {
+                final double storeTotal = next[level + minedLevels];
+                final int shippableLevels = Math.min(level + minedLevels, cargoLevels);
+                final byte route = bestRoute[shippableLevels];
+                final double shipTotal = route == OptimalPolicy.STORE ? Double.NEGATIVE_INFINITY :
+                        bestProfit[shippableLevels] + next[Math.max(level - shippableLevels, 0)];
+                if (shipTotal > storeTotal) {
+                    current[level] = shipTotal;
+                    actions[actionOffset + level] = route;
+                } else {
+                    current[level] = storeTotal;
+                    actions[actionOffset + level] = OptimalPolicy.STORE;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package wh;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Delta-v surface of every (departure day, arrival day) transfer from the asteroid to one destination, each cell
+ * being a Lambert solve between the asteroid's position on the departure day and the destination's position on the
+ * arrival day, with each departure row solved as one {@link LambertBatch}. Time of flight is the difference of the
+ * two days, so cells whose arrival is not after the departure are NaN. Bodies are placed and given velocities on
+ * each day exactly as the simulation does: each goes round its orbit once every totalDaysInOrbit days, and moves at
+ * the Kepler velocity the Sun's gravity gives that point of its orbit, so a cell has the delta-v the simulation's fast
+ * transfer works out for the same days and destination.
+ */
+public final class PorkchopPlot {
+
+    /** One AU/year in km/s */
+    static final double AU_PER_YEAR_IN_KM_PER_SEC = 4.740470463533348;
+
+    private static final int FILE_MAGIC = 0x504B4348;  // "PKCH"
+    private static final int FILE_VERSION = 2;
+    private static final int FILE_HEADER_BYTES = 5 * Integer.BYTES;
+    private static final int ROWS_PER_TASK = 8;
+    // Largest array the JVM reliably allocates
+    private static final int MAX_CELLS = Integer.MAX_VALUE - 8;
+
+    private final DestinationType destination;
+    private final int days;
+    private final int totalDaysInOrbit;
+    private final float[] deltaVKmSec;  // row major, [departureDay - 1][arrivalDay - 1]
+
+    private PorkchopPlot(DestinationType destination, int days, int totalDaysInOrbit, float[] deltaVKmSec) {
+        this.destination = destination;
+        this.days = days;
+        this.totalDaysInOrbit = totalDaysInOrbit;
+        this.deltaVKmSec = deltaVKmSec;
+    }
+
+    public static PorkchopPlot calculate(final AsteroidState asteroid, final DestinationType destination,
+                                         final int days, final int totalDaysInOrbit) {
+        return calculate(asteroid, destination, days, totalDaysInOrbit, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param asteroid Asteroid whose orbit the transfers depart from, its own position is not changed
+     * @param destination Destination the transfers arrive at
+     * @param days Days in the grid along each axis, starting from day 1 of the orbit
+     * @param totalDaysInOrbit Days each body takes to go round its orbit, as in the simulation
+     * @param pool Pool the departure rows are split across
+     */
+    public static PorkchopPlot calculate(final AsteroidState asteroid, final DestinationType destination,
+                                         final int days, final int totalDaysInOrbit, final ForkJoinPool pool) {
+        if (days <= 0 || totalDaysInOrbit <= 0 || (long) days * days > MAX_CELLS) {
+            throw new IllegalArgumentException("Days and days in orbit must be positive and the grid fit in an " +
+                    "array, got " + days + " and " + totalDaysInOrbit);
+        }
+        final double[][] departure = new double[days][];
+        final double[][] arrival = new double[days][];
+        for (int day = 1; day <= days; day++) {
+            departure[day - 1] = state(asteroid.getOrbitalElements(), asteroid.meanAnomaly(day, totalDaysInOrbit));
+            arrival[day - 1] = state(destination.orbitalElements, Destination.meanAnomaly(day, totalDaysInOrbit));
+        }
+        final float[] deltaVKmSec = new float[days * days];
+        pool.invoke(new RowTask(departure, arrival, deltaVKmSec, 0, days));
+        return new PorkchopPlot(destination, days, totalDaysInOrbit, deltaVKmSec);
+    }
+
+    public DestinationType getDestination() {
+        return destination;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public int getTotalDaysInOrbit() {
+        return totalDaysInOrbit;
+    }
+
+    /**
+     * @return Total of the departure and arrival hyperbolic excess speeds in km/s, NaN unless arrival is after
+     * departure
+     */
+    public float getDeltaV(final int departureDay, final int arrivalDay) {
+        return deltaVKmSec[(departureDay - 1) * days + (arrivalDay - 1)];
+    }
+
+    /**
+     * Writes a header (magic, version, destination ordinal, days, days in orbit) followed by the full grid of floats
+     * in row order
+     */
+    public void writeBinary(final Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(FILE_VERSION);
+            out.writeInt(destination.ordinal());
+            out.writeInt(days);
+            out.writeInt(totalDaysInOrbit);
+            for (float deltaV : deltaVKmSec) {
+                out.writeFloat(deltaV);
+            }
+        }
+    }
+
+    /**
+     * @throws IOException If the file cannot be read, is not a porkchop plot or has a header that is corrupt or does
+     * not match its size
+     */
+    public static PorkchopPlot readBinary(final Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+                throw new IOException("Not a porkchop plot file: " + path);
+            }
+            final DestinationType[] destinations = DestinationType.values();
+            final int ordinal = in.readInt();
+            final int days = in.readInt();
+            final int totalDaysInOrbit = in.readInt();
+            final long cells = (long) days * days;
+            // Checked against the file so a corrupt header cannot ask for a huge array
+            if (ordinal < 0 || ordinal >= destinations.length || days <= 0 || totalDaysInOrbit <= 0 ||
+                    cells > MAX_CELLS || Files.size(path) != FILE_HEADER_BYTES + cells * Float.BYTES) {
+                throw new IOException("Porkchop plot header of destination " + ordinal + ", " + days + " days and " +
+                        totalDaysInOrbit + " days in orbit is corrupt or does not match the file's " +
+                        Files.size(path) + " bytes: " + path);
+            }
+            final DestinationType destination = destinations[ordinal];
+            final float[] deltaVKmSec = new float[(int) cells];
+            for (int i = 0; i < deltaVKmSec.length; i++) {
+                deltaVKmSec[i] = in.readFloat();
+            }
+            return new PorkchopPlot(destination, days, totalDaysInOrbit, deltaVKmSec);
+        }
+    }
+
+    /**
+     * Writes one line per reachable cell, skipping the cells whose arrival is not after departure
+     */
+    public void writeCsv(final Path path) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(path)) {
+            out.write("departureDay,arrivalDay,timeOfFlightDays,deltaVKmSec\n");
+            for (int departureDay = 1; departureDay <= days; departureDay++) {
+                for (int arrivalDay = departureDay + 1; arrivalDay <= days; arrivalDay++) {
+                    final float deltaV = getDeltaV(departureDay, arrivalDay);
+                    if (!Float.isNaN(deltaV)) {
+                        out.write(departureDay + "," + arrivalDay + "," + (arrivalDay - departureDay) + "," +
+                                deltaV + "\n");
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return [x, y, z, vx, vy, vz] in AU and AU/year
+     */
+    static double[] state(final OrbitalElements elements, final double meanAnomaly) {
+        final double eccentricAnomaly = MathsUtil.solveKepler(meanAnomaly, elements.getEccentricity());
+        final double[] position = new double[3];
+        final double[] velocity = new double[3];
+        elements.positionAtEccentricAnomaly(eccentricAnomaly, position);
+        elements.velocityAtEccentricAnomaly(eccentricAnomaly, MathsUtil.SUN_MU, velocity);
+        return new double[] {position[0], position[1], position[2], velocity[0], velocity[1], velocity[2]};
+    }
+
+    private static final class RowTask extends RecursiveAction {
+        private final double[][] departure;
+        private final double[][] arrival;
+        private final float[] deltaVKmSec;
+        private final int fromRow;
+        private final int toRow;
+
+        RowTask(double[][] departure, double[][] arrival, float[] deltaVKmSec, int fromRow, int toRow) {
+            this.departure = departure;
+            this.arrival = arrival;
+            this.deltaVKmSec = deltaVKmSec;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+        }
+
+        @Override
+        protected void compute() {
+            if (toRow - fromRow > ROWS_PER_TASK) {
+                final int middle = (fromRow + toRow) >>> 1;
+                invokeAll(new RowTask(departure, arrival, deltaVKmSec, fromRow, middle),
+                        new RowTask(departure, arrival, deltaVKmSec, middle, toRow));
+                return;
+            }
+            final int days = departure.length;
+            final LambertBatch batch = new LambertBatch(days);
+            for (int row = fromRow; row < toRow; row++) {
+                Arrays.fill(deltaVKmSec, row * days, (row + 1) * days, Float.NaN);
+                // Only arrivals after the departure day have a positive time of flight
+                final double[] from = departure[row];
+                final int count = days - row - 1;
+                for (int i = 0; i < count; i++) {
+                    final double[] to = arrival[row + 1 + i];
+                    batch.setProblem(i, from[0], from[1], from[2], to[0], to[1], to[2],
+                            (i + 1) / MathsUtil.YEAR_TO_DAYS);
+                }
+                LambertSolver.solve(MathsUtil.SUN_MU, batch, count);
+                for (int i = 0; i < count; i++) {
+                    final double[] to = arrival[row + 1 + i];
+                    final double departureDeltaV = Math.sqrt(square(batch.v1x[i] - from[3]) +
+                            square(batch.v1y[i] - from[4]) + square(batch.v1z[i] - from[5]));
+                    final double arrivalDeltaV = Math.sqrt(square(to[3] - batch.v2x[i]) +
+                            square(to[4] - batch.v2y[i]) + square(to[5] - batch.v2z[i]));
+                    deltaVKmSec[row * days + row + 1 + i] =
+                            (float) ((departureDeltaV + arrivalDeltaV) * AU_PER_YEAR_IN_KM_PER_SEC);
+                }
+            }
+        }
+
+        private static double square(double value) {
+            return value * value;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package wh;
+
+/**
+ * Sale prices of every run of a batch of simulations, looked up by cell rather than drawn in sequence, so any day of
+ * any run can be asked for in any order and from any thread and always gives the same price
+ */
+public interface PriceSource {
+
+    /**
+     * @param run Index of the run within the batch
+     * @param dayInOrbit Day of the run, from 1
+     * @return Sale price per kg of water at the destination on the day
+     */
+    double salePricePerKg(int run, int dayInOrbit, int totalDaysInOrbit, DestinationType destination);
+}
@@ -0,0 +1,160 @@
+package wh;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Every price of a batch of runs, recorded from a {@link PriceSource} so the same market can be replayed from memory
+ * or from disk without working the prices out again
+ */
+public final class PriceTape implements PriceSource {
+    private static final int FILE_MAGIC = 0x57485054;  // "WHPT"
+    private static final int FILE_VERSION = 1;
+    private static final int FILE_HEADER_BYTES = 5 * Integer.BYTES;
+    // Largest array the JVM reliably allocates
+    private static final int MAX_PRICES = Integer.MAX_VALUE - 8;
+    private static final DestinationType[] DESTINATION_TYPES = DestinationType.values();
+
+    private final int runs;
+    private final int totalDaysInOrbit;
+    // Indexed by run, then day, then destination
+    private final double[] prices;
+
+    private PriceTape(final int runs, final int totalDaysInOrbit, final double[] prices) {
+        this.runs = runs;
+        this.totalDaysInOrbit = totalDaysInOrbit;
+        this.prices = prices;
+    }
+
+    public static PriceTape record(final PriceSource source, final int runs, final int totalDaysInOrbit) {
+        return record(source, runs, totalDaysInOrbit, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param source Prices to record, which must be safe to call from several threads at once
+     * @param pool Pool the runs are recorded across
+     * @throws IllegalArgumentException If there are no runs or days, or too many prices to hold in one array
+     */
+    public static PriceTape record(final PriceSource source, final int runs, final int totalDaysInOrbit,
+                                   final ForkJoinPool pool) {
+        final long length = length(runs, totalDaysInOrbit);
+        if (length < 0) {
+            throw new IllegalArgumentException("Cannot record " + runs + " runs of " + totalDaysInOrbit +
+                    " days, the runs and days must be positive and hold at most " + MAX_PRICES + " prices");
+        }
+        final PriceTape tape = new PriceTape(runs, totalDaysInOrbit, new double[(int) length]);
+        pool.invoke(new RecordTask(source, tape, 0, runs));
+        return tape;
+    }
+
+    @Override
+    public double salePricePerKg(final int run, final int dayInOrbit, final int totalDaysInOrbit,
+                                 final DestinationType destination) {
+        if (totalDaysInOrbit != this.totalDaysInOrbit || run < 0 || run >= runs || dayInOrbit < 1 ||
+                dayInOrbit > totalDaysInOrbit) {
+            throw new IllegalArgumentException("Tape has " + runs + " runs of " + this.totalDaysInOrbit +
+                    " days, asked for day " + dayInOrbit + " of run " + run + " of " + totalDaysInOrbit + " days");
+        }
+        return prices[index(run, dayInOrbit, destination.ordinal())];
+    }
+
+    public int getRuns() {
+        return runs;
+    }
+
+    public int getTotalDaysInOrbit() {
+        return totalDaysInOrbit;
+    }
+
+    public void write(final Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(FILE_VERSION);
+            out.writeInt(runs);
+            out.writeInt(totalDaysInOrbit);
+            out.writeInt(DESTINATION_TYPES.length);
+            for (double price : prices) {
+                out.writeDouble(price);
+            }
+        }
+    }
+
+    /**
+     * @throws IOException If the file cannot be read, is not a price tape or its header does not match its size
+     */
+    public static PriceTape read(final Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+                throw new IOException("Not a price tape file: " + path);
+            }
+            final int runs = in.readInt();
+            final int totalDaysInOrbit = in.readInt();
+            final int destinations = in.readInt();
+            if (destinations != DESTINATION_TYPES.length) {
+                throw new IOException("Price tape has " + destinations + " destinations but there are " +
+                        DESTINATION_TYPES.length + " destination types");
+            }
+            final long length = length(runs, totalDaysInOrbit);
+            // Checked against the file so a corrupt header cannot ask for a huge array
+            if (length < 0 || Files.size(path) != FILE_HEADER_BYTES + length * Double.BYTES) {
+                throw new IOException("Price tape header of " + runs + " runs of " + totalDaysInOrbit +
+                        " days does not match the file's " + Files.size(path) + " bytes: " + path);
+            }
+            final double[] prices = new double[(int) length];
+            for (int i = 0; i < prices.length; i++) {
+                prices[i] = in.readDouble();
+            }
+            return new PriceTape(runs, totalDaysInOrbit, prices);
+        }
+    }
+
+    /**
+     * @return Number of prices a tape of the runs holds, or -1 if there cannot be such a tape
+     */
+    private static long length(final int runs, final int totalDaysInOrbit) {
+        final long length = (long) runs * totalDaysInOrbit * DESTINATION_TYPES.length;
+        return runs <= 0 || totalDaysInOrbit <= 0 || length > MAX_PRICES ? -1 : length;
+    }
+
+    private int index(final int run, final int dayInOrbit, final int destination) {
+        return (run * totalDaysInOrbit + dayInOrbit - 1) * DESTINATION_TYPES.length + destination;
+    }
+
+    private static final class RecordTask extends RecursiveAction {
+        private final PriceSource source;
+        private final PriceTape tape;
+        private final int fromRun;
+        private final int toRun;
+
+        RecordTask(PriceSource source, PriceTape tape, int fromRun, int toRun) {
+            this.source = source;
+            this.tape = tape;
+            this.fromRun = fromRun;
+            this.toRun = toRun;
+        }
+
+        @Override
+        protected void compute() {
+            if (toRun - fromRun > 1) {
+                final int middle = (fromRun + toRun) >>> 1;
+                invokeAll(new RecordTask(source, tape, fromRun, middle), new RecordTask(source, tape, middle, toRun));
+                return;
+            }
+            for (int run = fromRun; run < toRun; run++) {
+                for (int dayInOrbit = 1; dayInOrbit <= tape.totalDaysInOrbit; dayInOrbit++) {
+                    for (DestinationType destination : DESTINATION_TYPES) {
+                        tape.prices[tape.index(run, dayInOrbit, destination.ordinal())] =
+                                source.salePricePerKg(run, dayInOrbit, tape.totalDaysInOrbit, destination);
+                    }
+                }
+            }
+        }
+    }
+}
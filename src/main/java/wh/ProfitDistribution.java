@@ -0,0 +1,50 @@
+package wh;
+
+import java.util.Arrays;
+
+/**
+ * Spread of the total orbit profit over many simulated runs
+ * @param runs Number of runs
+ * @param mean Mean profit per run
+ * @param standardDeviation Sample standard deviation of the profit per run
+ * @param min Lowest profit of any run
+ * @param percentile5 Profit 5% of runs fell below
+ * @param median Middle profit
+ * @param percentile95 Profit 95% of runs fell below
+ * @param max Highest profit of any run
+ */
+public record ProfitDistribution(int runs, double mean, double standardDeviation, double min, double percentile5,
+                                 double median, double percentile95, double max) {
+
+    /**
+     * Summarises the profits in the order given, so the same profits in the same order always give the same result
+     * @param profits Profit of each run, left unchanged
+     */
+    public static ProfitDistribution of(final double[] profits) {
+        if (profits.length == 0) {
+            throw new IllegalArgumentException("No profits to summarise");
+        }
+        double sum = 0;
+        for (double profit : profits) {
+            sum += profit;
+        }
+        final double mean = sum / profits.length;
+        double squares = 0;
+        for (double profit : profits) {
+            squares += (profit - mean) * (profit - mean);
+        }
+        final double standardDeviation = profits.length > 1 ? Math.sqrt(squares / (profits.length - 1)) : 0;
+        final double[] sorted = profits.clone();
+        Arrays.sort(sorted);
+        return new ProfitDistribution(profits.length, mean, standardDeviation, sorted[0], percentile(sorted, 5),
+                percentile(sorted, 50), percentile(sorted, 95), sorted[sorted.length - 1]);
+    }
+
+    /**
+     * Nearest rank percentile of already sorted values
+     */
+    static double percentile(final double[] sorted, final int percent) {
+        final int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+}
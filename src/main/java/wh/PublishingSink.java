@@ -0,0 +1,63 @@
+package wh;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+
+/**
+ * Publishes the days it is given in batches to any number of {@link Flow.Subscriber}s, each served on its own task
+ * of the executor so consumption overlaps the simulation. Publishing blocks while the slowest subscriber has a full
+ * buffer, so the simulation never gets more than the buffer capacity of batches ahead of it and nothing is buffered
+ * without bound.
+ * <p>
+ * Subscribers only see batches published after they subscribe, so they should all subscribe before the run starts.
+ * Closing publishes the last partial batch and then completes every subscriber.
+ */
+public class PublishingSink implements SimulationSink, Flow.Publisher<List<DayResult>> {
+    private final SubmissionPublisher<List<DayResult>> publisher;
+    private final int batchSize;
+    private List<DayResult> batch;
+
+    /**
+     * @param executor Runs the subscribers
+     * @param batchSize Days per published batch
+     * @param maxBufferCapacity Batches each subscriber can have waiting, rounded up to a power of two
+     */
+    public PublishingSink(final Executor executor, final int batchSize, final int maxBufferCapacity) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive, got " + batchSize);
+        }
+        this.publisher = new SubmissionPublisher<>(executor, maxBufferCapacity);
+        this.batchSize = batchSize;
+        this.batch = new ArrayList<>(batchSize);
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super List<DayResult>> subscriber) {
+        publisher.subscribe(subscriber);
+    }
+
+    @Override
+    public void accept(final DayResult result) {
+        batch.add(result);
+        if (batch.size() == batchSize) {
+            publishBatch();
+        }
+    }
+
+    private void publishBatch() {
+        publisher.submit(Collections.unmodifiableList(batch));
+        batch = new ArrayList<>(batchSize);
+    }
+
+    @Override
+    public void close() {
+        if (!batch.isEmpty()) {
+            publishBatch();
+        }
+        publisher.close();
+    }
+}
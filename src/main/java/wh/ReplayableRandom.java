@@ -0,0 +1,59 @@
+package wh;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Seeded random stream that counts what it hands out, so it can be recreated at the same point from just its seed
+ * and the count. Every value is derived from {@link #nextLong}, which is the only method counted.
+ * <p>
+ * The values are those of a {@link java.util.SplittableRandom} made with the same seed. Its state only ever moves on
+ * by a fixed step per draw, so the state after any number of draws is worked out directly rather than replayed.
+ */
+public final class ReplayableRandom implements RandomGenerator {
+    // SplittableRandom's step between states, an odd number near 2^64 divided by the golden ratio
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final long seed;
+    private long state;
+    private long draws;
+
+    public ReplayableRandom(final long seed) {
+        this.seed = seed;
+        this.state = seed;
+    }
+
+    /**
+     * The stream as it was after the given number of draws, in constant time however many there were
+     */
+    public static ReplayableRandom resume(final long seed, final long draws) {
+        final ReplayableRandom resumed = new ReplayableRandom(seed);
+        // Wraps around exactly as the state does when stepped one draw at a time
+        resumed.state = seed + draws * GOLDEN_GAMMA;
+        resumed.draws = draws;
+        return resumed;
+    }
+
+    @Override
+    public long nextLong() {
+        draws++;
+        state += GOLDEN_GAMMA;
+        return mix64(state);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getDraws() {
+        return draws;
+    }
+
+    /**
+     * SplittableRandom's output function, David Stafford's variant 13 of the MurmurHash3 finalizer
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
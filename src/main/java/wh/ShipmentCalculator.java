@@ -9,40 +9,53 @@ public class ShipmentCalculator {
         EFFICIENT, FAST, CYCLER
     }
 
+    // Profile of the last hauler seen, immutable so it can be swapped without locking
+    private HaulerPerformance performance;
+
     public ShipmentOption calculateShipmentOption(final Destination destination, final int shippableKgsWater,
                                                  final OptionType optionType, final Hauler hauler) {
-        double deltaV;
-        double time;
-        switch (optionType) {
-            case EFFICIENT -> {
-                deltaV = destination.deltaVEfficient;
-                time = destination.timeEfficient;
-            }
-            case FAST -> {
-                deltaV = destination.deltaVFast;
-                time = destination.timeFast;
-            }
-            case CYCLER -> {
-                deltaV = destination.deltaVCycler;
-                time = destination.timeCycler;
-            }
-            default -> throw new IllegalArgumentException("Invalid option type");
-        }
+        final double deltaV = deltaV(destination, optionType);
+        final double time = time(destination, optionType);
 
-        double kgsWaterUsedForDeltaV = hauler.kgsFuelToAccelerateTo(deltaV);
+        double kgsWaterUsedForDeltaV = performance(hauler).kgsFuelToAccelerateTo(deltaV);
         return new ShipmentOption(destination, shippableKgsWater, kgsWaterUsedForDeltaV, deltaV, time);
     }
 
-    public boolean allNonCyclerOptionsUnprofitable(final List<Destination> destinations,
-                                                  final int shippableKgsWater, final Hauler hauler) {
-        for (Destination destination : destinations) {
-            ShipmentOption efficient = calculateShipmentOption(destination, shippableKgsWater, OptionType.EFFICIENT, hauler);
-            ShipmentOption fast = calculateShipmentOption(destination, shippableKgsWater, OptionType.FAST, hauler);
-            if (efficient.profit > 0 || fast.profit > 0) {
-                return false;
-            }
+    /**
+     * Same profit as {@link #calculateShipmentOption} would report, without allocating the option
+     */
+    public double calculateProfit(final Destination destination, final int shippableKgsWater,
+                                  final OptionType optionType, final Hauler hauler) {
+        final double kgsWaterUsedForDeltaV = performance(hauler).kgsFuelToAccelerateTo(deltaV(destination, optionType));
+        return ShipmentOption.profit(shippableKgsWater, kgsWaterUsedForDeltaV, destination.salePricePerKg);
+    }
+
+    /**
+     * Profile of the hauler, reused while the same hauler is asked about
+     */
+    HaulerPerformance performance(final Hauler hauler) {
+        HaulerPerformance current = performance;
+        if (current == null || current.hauler != hauler) {
+            current = new HaulerPerformance(hauler);
+            performance = current;
         }
-        return true;
+        return current;
+    }
+
+    static double deltaV(final Destination destination, final OptionType optionType) {
+        return switch (optionType) {
+            case EFFICIENT -> destination.deltaVEfficient;
+            case FAST -> destination.deltaVFast;
+            case CYCLER -> destination.deltaVCycler;
+        };
+    }
+
+    static double time(final Destination destination, final OptionType optionType) {
+        return switch (optionType) {
+            case EFFICIENT -> destination.timeEfficient;
+            case FAST -> destination.timeFast;
+            case CYCLER -> destination.timeCycler;
+        };
     }
 
     public List<ShipmentOption> getShipmentOptions(final List<Destination> destinations,
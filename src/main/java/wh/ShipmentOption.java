@@ -15,9 +15,17 @@ public class ShipmentOption {
         this.kgsWaterShipped = kgsWaterShipped;
         this.kgsWaterUsedForDeltaV = kgsWaterUsedForDeltaV;
         this.kgsWaterReceived = Math.max(kgsWaterShipped - kgsWaterUsedForDeltaV, 0);
-        this.profit = kgsWaterReceived > 0 ? kgsWaterReceived * destination.salePricePerKg : 
-                      (kgsWaterShipped == 0 ? 0 : -1);
+        this.profit = profit(kgsWaterShipped, kgsWaterUsedForDeltaV, destination.salePricePerKg);
         this.deltaV = deltaV;
         this.time = time;
     }
+
+    /**
+     * Profit of a shipment without building the option, -1 when nothing would arrive from a non-empty shipment
+     */
+    static double profit(double kgsWaterShipped, double kgsWaterUsedForDeltaV, double salePricePerKg) {
+        final double kgsWaterReceived = Math.max(kgsWaterShipped - kgsWaterUsedForDeltaV, 0);
+        return kgsWaterReceived > 0 ? kgsWaterReceived * salePricePerKg :
+               (kgsWaterShipped == 0 ? 0 : -1);
+    }
 }
@@ -0,0 +1,34 @@
+package wh;
+
+/**
+ * Counts the shipments made to each destination and adds up their profit
+ */
+public class ShipmentTally implements SimulationSink {
+    private final int[] shipments = new int[DestinationType.values().length];
+    private final double[] profits = new double[shipments.length];
+
+    @Override
+    public void accept(final DayResult result) {
+        if (!result.stored()) {
+            final int destination = result.shipped().destination().ordinal();
+            shipments[destination]++;
+            profits[destination] += result.shipped().profit();
+        }
+    }
+
+    public int getShipments(final DestinationType destination) {
+        return shipments[destination.ordinal()];
+    }
+
+    public double getProfit(final DestinationType destination) {
+        return profits[destination.ordinal()];
+    }
+
+    public double getTotalProfit() {
+        double total = 0;
+        for (double profit : profits) {
+            total += profit;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,167 @@
+package wh;
+
+import java.util.List;
+
+/**
+ * One day of one run as a {@link ShippingStrategy} sees it: the destinations with their prices and transfers, and
+ * the run's own stored water and cyclers. The same object is reused for every strategy and day, the destinations
+ * being copied in by {@link #update} once a day and the run's water by {@link #set} before each decision.
+ */
+public final class ShippingDay {
+    private static final ShipmentCalculator.OptionType[] OPTION_TYPES = ShipmentCalculator.OptionType.values();
+
+    private final DestinationType[] types;
+    private final HaulerPerformance performance;
+    private final double[] cyclerEstablishmentKgs;
+    private final double[] salePricePerKg;
+    // Indexed by option type and then destination
+    private final double[][] kgsFuel;
+    private final double[][] time;
+    private int dayInOrbit;
+    private int totalDaysInOrbit;
+    private int storedWaterKgs;
+    private int availableKgsWater;
+    private int shippableKgsWater;
+    private boolean[] cyclers;
+
+    /**
+     * @param difficultyScale Applied to the cycler establishment delta-v as it is to every transfer
+     */
+    ShippingDay(final List<Destination> destinations, final HaulerPerformance performance,
+                final float difficultyScale) {
+        this.types = new DestinationType[destinations.size()];
+        this.performance = performance;
+        this.cyclerEstablishmentKgs = new double[types.length];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = destinations.get(i).type;
+            cyclerEstablishmentKgs[i] = performance.kgsFuelToAccelerateTo(
+                    types[i].cyclerEstablishmentDeltaV * difficultyScale);
+        }
+        this.salePricePerKg = new double[types.length];
+        this.kgsFuel = new double[OPTION_TYPES.length][types.length];
+        this.time = new double[OPTION_TYPES.length][types.length];
+    }
+
+    /**
+     * Copies in the destinations' prices and transfers as they now stand, with the fuel each transfer takes
+     * @param destinations The destinations this day was made for, in the same order
+     */
+    void update(final List<Destination> destinations) {
+        for (int i = 0; i < types.length; i++) {
+            final Destination destination = destinations.get(i);
+            salePricePerKg[i] = destination.salePricePerKg;
+            for (ShipmentCalculator.OptionType optionType : OPTION_TYPES) {
+                kgsFuel[optionType.ordinal()][i] =
+                        performance.kgsFuelToAccelerateTo(ShipmentCalculator.deltaV(destination, optionType));
+                time[optionType.ordinal()][i] = ShipmentCalculator.time(destination, optionType);
+            }
+        }
+    }
+
+    /**
+     * Same as {@link #update(List)} from a snapshot of the destinations
+     */
+    void update(final DaySnapshot day) {
+        final List<DestinationSnapshot> destinations = day.destinations();
+        for (int i = 0; i < types.length; i++) {
+            final DestinationSnapshot destination = destinations.get(i);
+            salePricePerKg[i] = destination.salePricePerKg();
+            for (ShipmentCalculator.OptionType optionType : OPTION_TYPES) {
+                kgsFuel[optionType.ordinal()][i] = performance.kgsFuelToAccelerateTo(destination.deltaV(optionType));
+                time[optionType.ordinal()][i] = destination.time(optionType);
+            }
+        }
+    }
+
+    void set(final int dayInOrbit, final int totalDaysInOrbit, final int storedWaterKgs,
+             final int kgsWaterMinedPerDay, final boolean[] cyclers) {
+        this.dayInOrbit = dayInOrbit;
+        this.totalDaysInOrbit = totalDaysInOrbit;
+        this.storedWaterKgs = storedWaterKgs;
+        this.availableKgsWater = storedWaterKgs + kgsWaterMinedPerDay;
+        this.shippableKgsWater = Math.min(availableKgsWater, performance.hauler.type().maxCargoKgs);
+        this.cyclers = cyclers;
+    }
+
+    public int getDayInOrbit() {
+        return dayInOrbit;
+    }
+
+    public int getTotalDaysInOrbit() {
+        return totalDaysInOrbit;
+    }
+
+    /**
+     * @return Water stored before the day's mining
+     */
+    public int getStoredWaterKgs() {
+        return storedWaterKgs;
+    }
+
+    /**
+     * @return Stored water plus the day's mining
+     */
+    public int getAvailableKgsWater() {
+        return availableKgsWater;
+    }
+
+    /**
+     * @return Part of the available water the hauler can carry, which is what a shipment takes
+     */
+    public int getShippableKgsWater() {
+        return shippableKgsWater;
+    }
+
+    public int getMaxCargoKgs() {
+        return performance.hauler.type().maxCargoKgs;
+    }
+
+    public int destinationCount() {
+        return types.length;
+    }
+
+    public DestinationType destinationType(final int destination) {
+        return types[destination];
+    }
+
+    public double salePricePerKg(final int destination) {
+        return salePricePerKg[destination];
+    }
+
+    /**
+     * @return Water burnt as fuel on the route, infinity if the hauler cannot reach it
+     */
+    public double kgsFuel(final int destination, final ShipmentCalculator.OptionType optionType) {
+        return kgsFuel[optionType.ordinal()][destination];
+    }
+
+    /**
+     * @return Profit of shipping the shippable water by the route, whether or not a cycler is there to use
+     */
+    public double profit(final int destination, final ShipmentCalculator.OptionType optionType) {
+        return ShipmentOption.profit(shippableKgsWater, kgsFuel[optionType.ordinal()][destination],
+                salePricePerKg[destination]);
+    }
+
+    /**
+     * @return Transfer time in days
+     */
+    public double time(final int destination, final ShipmentCalculator.OptionType optionType) {
+        return time[optionType.ordinal()][destination];
+    }
+
+    public boolean hasCycler(final int destination) {
+        return cyclers[destination];
+    }
+
+    /**
+     * @return Water burnt establishing a cycler to the destination, infinity if the hauler cannot reach it
+     */
+    public double cyclerEstablishmentKgs(final int destination) {
+        return cyclerEstablishmentKgs[destination];
+    }
+
+    public boolean canEstablishCycler(final int destination) {
+        return !cyclers[destination] && cyclerEstablishmentKgs[destination] <= availableKgsWater;
+    }
+}
@@ -0,0 +1,51 @@
+package wh;
+
+/**
+ * What a {@link ShippingStrategy} does with one day's water
+ * @param action Kind of decision
+ * @param destination Index of the destination in the day's list, -1 when storing
+ * @param optionType Route to ship by, null unless shipping
+ */
+public record ShippingDecision(Action action, int destination, ShipmentCalculator.OptionType optionType) {
+
+    public enum Action {
+        // Keep the day's water on the asteroid
+        STORE,
+        // Load what the hauler can carry and send it to the destination
+        SHIP,
+        // Burn water as fuel putting a cycler on the route to the destination, the rest of the water being stored
+        ESTABLISH_CYCLER
+    }
+
+    public static final ShippingDecision STORE = new ShippingDecision(Action.STORE, -1, null);
+
+    // Decisions for every destination of a scenario, made once so that deciding a day does not allocate
+    private static final ShippingDecision[][] SHIP = new ShippingDecision[ShipmentCalculator.OptionType.values().length]
+            [DestinationType.values().length];
+    private static final ShippingDecision[] ESTABLISH_CYCLER = new ShippingDecision[DestinationType.values().length];
+
+    static {
+        for (ShipmentCalculator.OptionType optionType : ShipmentCalculator.OptionType.values()) {
+            for (int i = 0; i < ESTABLISH_CYCLER.length; i++) {
+                SHIP[optionType.ordinal()][i] = new ShippingDecision(Action.SHIP, i, optionType);
+            }
+        }
+        for (int i = 0; i < ESTABLISH_CYCLER.length; i++) {
+            ESTABLISH_CYCLER[i] = new ShippingDecision(Action.ESTABLISH_CYCLER, i, null);
+        }
+    }
+
+    public static ShippingDecision ship(final int destination, final ShipmentCalculator.OptionType optionType) {
+        if (optionType != null && destination >= 0 && destination < ESTABLISH_CYCLER.length) {
+            return SHIP[optionType.ordinal()][destination];
+        }
+        return new ShippingDecision(Action.SHIP, destination, optionType);
+    }
+
+    public static ShippingDecision establishCycler(final int destination) {
+        if (destination >= 0 && destination < ESTABLISH_CYCLER.length) {
+            return ESTABLISH_CYCLER[destination];
+        }
+        return new ShippingDecision(Action.ESTABLISH_CYCLER, destination, null);
+    }
+}
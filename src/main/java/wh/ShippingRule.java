@@ -0,0 +1,46 @@
+package wh;
+
+/**
+ * Which routes water may be shipped by. Each day the most profitable allowed option is shipped, and if none would
+ * make a profit the water is stored.
+ */
+public enum ShippingRule implements ShippingStrategy {
+    // Both routes, which is what the interactive simulation does
+    BEST_ROUTE(true, true),
+    EFFICIENT_ONLY(true, false),
+    FAST_ONLY(false, true);
+
+    final boolean efficient;
+    final boolean fast;
+
+    ShippingRule(boolean efficient, boolean fast) {
+        this.efficient = efficient;
+        this.fast = fast;
+    }
+
+    @Override
+    public ShippingDecision decide(final ShippingDay day) {
+        double bestProfit = 0;
+        int bestDestination = -1;
+        ShipmentCalculator.OptionType bestOptionType = null;
+        for (int i = 0; i < day.destinationCount(); i++) {
+            if (efficient) {
+                final double profit = day.profit(i, ShipmentCalculator.OptionType.EFFICIENT);
+                if (profit > bestProfit) {
+                    bestProfit = profit;
+                    bestDestination = i;
+                    bestOptionType = ShipmentCalculator.OptionType.EFFICIENT;
+                }
+            }
+            if (fast) {
+                final double profit = day.profit(i, ShipmentCalculator.OptionType.FAST);
+                if (profit > bestProfit) {
+                    bestProfit = profit;
+                    bestDestination = i;
+                    bestOptionType = ShipmentCalculator.OptionType.FAST;
+                }
+            }
+        }
+        return bestDestination < 0 ? ShippingDecision.STORE : ShippingDecision.ship(bestDestination, bestOptionType);
+    }
+}
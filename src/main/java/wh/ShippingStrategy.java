@@ -0,0 +1,19 @@
+package wh;
+
+/**
+ * Decides each day whether the asteroid's water is stored, shipped and by which route, or spent establishing a
+ * cycler. The same strategy is played on several runs at once from different threads, so everything a decision
+ * depends on should come from the day it is given rather than from fields of the strategy.
+ */
+public interface ShippingStrategy {
+
+    /**
+     * @return Name results are reported under
+     */
+    String name();
+
+    /**
+     * @param day The day as this strategy's run stands, only valid during the call
+     */
+    ShippingDecision decide(ShippingDay day);
+}
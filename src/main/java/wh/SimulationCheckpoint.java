@@ -0,0 +1,158 @@
+package wh;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Everything needed to carry on a {@link SimulationRunner} run of one or more orbits from the end of a given day
+ * exactly as if it had never stopped, and its compact binary form.
+ * <p>
+ * The asteroid's stored water and the asteroid and destination orbital positions are saved as they are. The random
+ * the prices are drawn from is saved as its seed and draw count and recreated on reading. The parameters and hauler
+ * are saved too, so a resumed run cannot be given different ones by mistake, and so is the name of the strategy the
+ * run ships by, strategies deciding from the day alone and keeping no state of their own. A file is written in full
+ * to a temporary file next to it, forced to the disk and then moved over it, so a run killed mid-write leaves the
+ * previous checkpoint intact.
+ */
+public final class SimulationCheckpoint {
+    private static final int MAGIC = 0x57484350;    // "WHCP"
+    private static final short VERSION = 2;
+    private static final String WHAT = "simulation checkpoint";
+
+    private final SimulationContext context;
+    private final Hauler hauler;
+    private final ReplayableRandom random;
+    private final int totalDaysInOrbit;
+    private final int totalDays;
+    // Name of the strategy the days so far were run with, null before the first day
+    private String strategy;
+    private int daysCompleted;
+
+    private SimulationCheckpoint(final SimulationContext context, final Hauler hauler, final ReplayableRandom random,
+                                 final int totalDaysInOrbit, final int totalDays, final String strategy,
+                                 final int daysCompleted) {
+        this.context = context;
+        this.hauler = hauler;
+        this.random = random;
+        this.totalDaysInOrbit = totalDaysInOrbit;
+        this.totalDays = totalDays;
+        this.strategy = strategy;
+        this.daysCompleted = daysCompleted;
+    }
+
+    /**
+     * A fresh orbit with no days run, its prices drawn from a stream with the given seed
+     */
+    public static SimulationCheckpoint start(final SimulationParameters parameters, final Hauler hauler,
+                                             final int totalDaysInOrbit, final long seed) {
+        return start(parameters, hauler, totalDaysInOrbit, 1, seed);
+    }
+
+    /**
+     * A fresh run of several orbits back to back with no days run, such as a decades long one
+     * @param orbits Orbits to run
+     */
+    public static SimulationCheckpoint start(final SimulationParameters parameters, final Hauler hauler,
+                                             final int totalDaysInOrbit, final int orbits, final long seed) {
+        if (totalDaysInOrbit <= 0 || orbits <= 0 || (long) totalDaysInOrbit * orbits > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Need a positive number of orbits of positive length, got " + orbits +
+                    " of " + totalDaysInOrbit + " days");
+        }
+        final ReplayableRandom random = new ReplayableRandom(seed);
+        return new SimulationCheckpoint(new SimulationContext(parameters, random), hauler, random, totalDaysInOrbit,
+                totalDaysInOrbit * orbits, null, 0);
+    }
+
+    public SimulationContext getContext() {
+        return context;
+    }
+
+    public Hauler getHauler() {
+        return hauler;
+    }
+
+    public int getTotalDaysInOrbit() {
+        return totalDaysInOrbit;
+    }
+
+    /**
+     * @return Days of every orbit of the run together
+     */
+    public int getTotalDays() {
+        return totalDays;
+    }
+
+    /**
+     * @return Days of the run already run, counting on across orbits, so the next day to run is one more
+     */
+    public int getDaysCompleted() {
+        return daysCompleted;
+    }
+
+    void setDaysCompleted(final int daysCompleted) {
+        this.daysCompleted = daysCompleted;
+    }
+
+    /**
+     * @return Name of the strategy the days so far were run with, or null if none have been
+     */
+    public String getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Records the strategy the run ships by, which must be the one any earlier days were run with
+     */
+    void useStrategy(final ShippingStrategy shippingStrategy) {
+        if (strategy != null && !strategy.equals(shippingStrategy.name())) {
+            throw new IllegalArgumentException("Checkpoint was run with " + strategy + " but is being carried on " +
+                    "with " + shippingStrategy.name());
+        }
+        strategy = shippingStrategy.name();
+    }
+
+    /**
+     * Replaces the file at the path with the current state, never leaving a partly written file there
+     */
+    public void write(final Path path) throws IOException {
+        CheckpointFiles.replace(path, this::write);
+    }
+
+    /**
+     * @throws IOException If the file cannot be read, is not a checkpoint or is corrupt
+     */
+    public static SimulationCheckpoint read(final Path path) throws IOException {
+        return CheckpointFiles.read(path, SimulationCheckpoint::read);
+    }
+
+    private void write(final DataOutputStream out) throws IOException {
+        CheckpointFiles.writeHeader(out, MAGIC, VERSION);
+        CheckpointFiles.writeParameters(out, context.getParameters());
+        CheckpointFiles.writeHauler(out, hauler);
+        out.writeInt(totalDaysInOrbit);
+        out.writeInt(totalDays);
+        out.writeInt(daysCompleted);
+        out.writeBoolean(strategy != null);
+        if (strategy != null) {
+            out.writeUTF(strategy);
+        }
+        CheckpointFiles.writeContext(out, context, random);
+    }
+
+    private static SimulationCheckpoint read(final DataInputStream in) throws IOException {
+        CheckpointFiles.readHeader(in, MAGIC, VERSION, WHAT);
+        final SimulationParameters parameters = CheckpointFiles.readParameters(in);
+        final Hauler hauler = CheckpointFiles.readHauler(in);
+        final int totalDaysInOrbit = CheckpointFiles.readInt(in, 1, Integer.MAX_VALUE, "days in orbit");
+        final int totalDays = CheckpointFiles.readInt(in, 1, Integer.MAX_VALUE, "total days");
+        final int daysCompleted = CheckpointFiles.readInt(in, 0, totalDays, "days completed");
+        final String strategy = in.readBoolean() ? in.readUTF() : null;
+        final ReplayableRandom random = CheckpointFiles.readRandom(in);
+        final SimulationContext context = new SimulationContext(parameters, random);
+        CheckpointFiles.readContext(in, context);
+        return new SimulationCheckpoint(context, hauler, random, totalDaysInOrbit, totalDays, strategy,
+                daysCompleted);
+    }
+}
@@ -0,0 +1,52 @@
+package wh;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Everything one scenario mutates or tunes: its asteroid, its destinations and its parameters. Scenarios with their
+ * own contexts share nothing, so they can run at the same time on different threads. A context itself is only
+ * meant to be used by one thread at a time.
+ */
+public class SimulationContext {
+    private final SimulationParameters parameters;
+    private final AsteroidState asteroid;
+    private final List<Destination> destinations;
+
+    /**
+     * A fresh Wilson-Harrington with nothing stored and one destination of every type
+     * @param random Source of every destination's daily price draws
+     */
+    public SimulationContext(final SimulationParameters parameters, final RandomGenerator random) {
+        this(parameters, AsteroidState.wilsonHarrington(), createDestinations(random));
+    }
+
+    public SimulationContext(final SimulationParameters parameters, final AsteroidState asteroid,
+                             final List<Destination> destinations) {
+        this.parameters = parameters;
+        this.asteroid = asteroid;
+        this.destinations = Collections.unmodifiableList(destinations);
+    }
+
+    private static List<Destination> createDestinations(final RandomGenerator random) {
+        final List<Destination> destinations = new ArrayList<>();
+        for (DestinationType type : DestinationType.values()) {
+            destinations.add(type.createDestination(random));
+        }
+        return destinations;
+    }
+
+    public SimulationParameters getParameters() {
+        return parameters;
+    }
+
+    public AsteroidState getAsteroid() {
+        return asteroid;
+    }
+
+    public List<Destination> getDestinations() {
+        return destinations;
+    }
+}
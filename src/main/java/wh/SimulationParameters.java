@@ -0,0 +1,25 @@
+package wh;
+
+/**
+ * Tunables of one simulated scenario, which used to be compile time constants in {@link SimulationState}
+ * @param kgsWaterMinedPerDay Water the asteroid produces each day
+ * @param difficultyScale Factor applied to every transfer delta-v, less than 1 making unrealistic transfers possible
+ * @param enableOrbitalMechanics Whether destinations move along their orbits rather than sitting on the x axis
+ * @param enableAerobraking Whether Earth captures can shed speed in the atmosphere
+ */
+public record SimulationParameters(int kgsWaterMinedPerDay, float difficultyScale, boolean enableOrbitalMechanics,
+                                   boolean enableAerobraking) {
+
+    public static final SimulationParameters DEFAULT = new SimulationParameters(
+            SimulationState.KGS_WATER_MINED_PER_DAY, SimulationState.DIFFICULTY_SCALE,
+            SimulationState.ENABLE_ORBITAL_MECHANICS, SimulationState.ENABLE_AEROBRAKING);
+
+    public SimulationParameters {
+        if (kgsWaterMinedPerDay < 0) {
+            throw new IllegalArgumentException("Water mined per day must not be negative, got " + kgsWaterMinedPerDay);
+        }
+        if (!(difficultyScale > 0)) {
+            throw new IllegalArgumentException("Difficulty scale must be positive, got " + difficultyScale);
+        }
+    }
+}
@@ -1,63 +1,132 @@
 package wh;
 
-import java.util.Comparator;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 
+/**
+ * Runs a single hauler's days, each day's water being stored or shipped as the runner's {@link ShippingStrategy}
+ * decides. A runner keeps the working state of the last context and hauler it ran, so it is for one thread at a time.
+ */
 public class SimulationRunner {
     private final ShipmentCalculator shipmentCalculator;
+    private final ShippingStrategy strategy;
+    // Kept so that advanceDay does not allocate, and replaced when a day is run for another context or hauler
+    private DayEvaluator evaluator;
 
+    /**
+     * Runner shipping by {@link ShippingRule#BEST_ROUTE}, as the interactive simulation does
+     */
     public SimulationRunner(ShipmentCalculator shipmentCalculator) {
+        this(shipmentCalculator, ShippingRule.BEST_ROUTE);
+    }
+
+    /**
+     * @param strategy Decides each day, and must not establish or ship by cyclers as a single hauler has none
+     */
+    public SimulationRunner(final ShipmentCalculator shipmentCalculator, final ShippingStrategy strategy) {
         this.shipmentCalculator = shipmentCalculator;
+        this.strategy = strategy;
     }
 
-    public void simulateDay(final List<Destination> destinations, final Hauler hauler,
-                           final int dayInOrbit, final int totalDaysInOrbit) {
-        System.out.printf("Day %d | Distance from Sun: %.3f AU\n", dayInOrbit, SimulationState.ASTEROID_STATE.getDistanceFromSun());
-        SimulationState.ASTEROID_STATE.updateDistanceFromSun(dayInOrbit, totalDaysInOrbit);
+    public void simulateDay(final SimulationContext context, final Hauler hauler,
+                            final int dayInOrbit, final int totalDaysInOrbit) {
+        final DayResult result = runDay(context, hauler, dayInOrbit, totalDaysInOrbit);
+        final SimulationTelemetry.PhaseEvent output =
+                SimulationTelemetry.beginPhase(SimulationTelemetry.Phase.OUTPUT, dayInOrbit, null);
+        new ConsoleSink(System.out).accept(result);
+        SimulationTelemetry.endPhase(output);
+    }
 
-        final int availableKgsWater = SimulationState.ASTEROID_STATE.storedWaterKgs + SimulationState.KGS_WATER_MINED_PER_DAY;
-        final int shippableKgsWater = Math.min(availableKgsWater, hauler.type().maxCargoKgs);
-        System.out.printf("Mined %d kg water, now available %d kg\n", SimulationState.KGS_WATER_MINED_PER_DAY, availableKgsWater);
-        System.out.printf("%d kg hauler allows shipping %d kg of it\n", hauler.getDryWeightKgs(), shippableKgsWater);
+    /**
+     * Runs every day of one orbit on the context's asteroid and destinations back to back, handing each day's result
+     * to the sink, which is closed at the end
+     */
+    public void runOrbit(final SimulationContext context, final Hauler hauler, final int totalDaysInOrbit,
+                         final SimulationSink sink) {
+        try (sink) {
+            for (int dayInOrbit = 1; dayInOrbit <= totalDaysInOrbit; dayInOrbit++) {
+                sink.accept(runDay(context, hauler, dayInOrbit, totalDaysInOrbit));
+            }
+        }
+    }
 
-        for (Destination destination : destinations) {
-            destination.updateDaily(dayInOrbit, totalDaysInOrbit);
+    /**
+     * Runs the rest of the checkpoint's days, orbit after orbit, writing it to the path every so many days and after
+     * the last day. A run that is killed can be read back with {@link SimulationCheckpoint#read} and carried on from
+     * the last write with the same results, the days since that write being run and handed to the sink again.
+     * @param checkpointIntervalDays Days between writes
+     * @throws IllegalArgumentException If the checkpoint's days so far were run with another strategy
+     */
+    public void runOrbit(final SimulationCheckpoint checkpoint, final int checkpointIntervalDays, final Path path,
+                         final SimulationSink sink) throws IOException {
+        if (checkpointIntervalDays <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive, got " + checkpointIntervalDays);
+        }
+        checkpoint.useStrategy(strategy);
+        final int totalDaysInOrbit = checkpoint.getTotalDaysInOrbit();
+        final int totalDays = checkpoint.getTotalDays();
+        try (sink) {
+            for (int day = checkpoint.getDaysCompleted() + 1; day <= totalDays; day++) {
+                final int dayInOrbit = (day - 1) % totalDaysInOrbit + 1;
+                sink.accept(runDay(checkpoint.getContext(), checkpoint.getHauler(), dayInOrbit, totalDaysInOrbit));
+                checkpoint.setDaysCompleted(day);
+                if (day % checkpointIntervalDays == 0 || day == totalDays) {
+                    checkpoint.write(path);
+                }
+            }
         }
+    }
+
+    /**
+     * Same state changes as {@link #advanceDay}, also evaluating every option so the day can be reported
+     */
+    public DayResult runDay(final SimulationContext context, final Hauler hauler,
+                            final int dayInOrbit, final int totalDaysInOrbit) {
+        final SimulationTelemetry.DayEvent day = SimulationTelemetry.beginDay(dayInOrbit);
+        final AsteroidState asteroid = context.getAsteroid();
+        SimulationTelemetry.PhaseEvent phase =
+                SimulationTelemetry.beginPhase(SimulationTelemetry.Phase.ASTEROID, dayInOrbit, null);
+        asteroid.updateDistanceFromSun(dayInOrbit, totalDaysInOrbit);
+        SimulationTelemetry.endPhase(phase);
+        phase = SimulationTelemetry.beginPhase(SimulationTelemetry.Phase.DESTINATIONS, dayInOrbit, null);
+        updateDestinations(context, dayInOrbit, totalDaysInOrbit);
+        SimulationTelemetry.endPhase(phase);
+
+        phase = SimulationTelemetry.beginPhase(SimulationTelemetry.Phase.OPTIONS, dayInOrbit, null);
+        final DayResult result = evaluator(context, hauler).evaluate(
+                DaySnapshot.of(dayInOrbit, asteroid, context.getDestinations()), totalDaysInOrbit);
+        SimulationTelemetry.endPhase(phase);
+        SimulationTelemetry.endDay(day, result.stored());
+        return result;
+    }
+
+    /**
+     * Same state changes as {@link #simulateDay} but without displaying anything, so once warm it does not allocate
+     * @return true if the day's water was stored rather than shipped
+     */
+    public boolean advanceDay(final SimulationContext context, final Hauler hauler,
+                              final int dayInOrbit, final int totalDaysInOrbit) {
+        context.getAsteroid().updateDistanceFromSun(dayInOrbit, totalDaysInOrbit);
+        updateDestinations(context, dayInOrbit, totalDaysInOrbit);
+        return evaluator(context, hauler).advance(dayInOrbit, totalDaysInOrbit);
+    }
 
-        displayOptions("Efficient Options (descending from highest profit)", destinations, shippableKgsWater,
-                ShipmentCalculator.OptionType.EFFICIENT, hauler, (o1, o2) -> Double.compare(o2.profit, o1.profit));
-        displayOptions("Fast Options (descending from fastest route)", destinations, shippableKgsWater,
-                ShipmentCalculator.OptionType.FAST, hauler, Comparator.comparingDouble(o -> o.time));
-        displayOptions("Cycler Options (descending from highest profit)", destinations, shippableKgsWater,
-                ShipmentCalculator.OptionType.CYCLER, hauler, (o1, o2) -> Double.compare(o2.profit, o1.profit));
-
-        if (shipmentCalculator.allNonCyclerOptionsUnprofitable(destinations, shippableKgsWater, hauler)) {
-            SimulationState.ASTEROID_STATE.storedWaterKgs += SimulationState.KGS_WATER_MINED_PER_DAY;
-            System.out.println("No profitable non-cycler options found. Water stored for future use.\n");
-        } else {
-            SimulationState.ASTEROID_STATE.storedWaterKgs = Math.max(SimulationState.ASTEROID_STATE.storedWaterKgs - shippableKgsWater, 0);
+    private DayEvaluator evaluator(final SimulationContext context, final Hauler hauler) {
+        DayEvaluator current = evaluator;
+        if (current == null || !current.isFor(context, hauler)) {
+            current = new DayEvaluator(context, shipmentCalculator.performance(hauler), strategy);
+            evaluator = current;
         }
+        return current;
     }
 
-    private void displayOptions(final String title, final List<Destination> destinations,
-                               final int shippableKgsWater, final ShipmentCalculator.OptionType optionType,
-                               final Hauler hauler, final Comparator<ShipmentOption> comparator) {
-        final List<ShipmentOption> options = shipmentCalculator.getShipmentOptions(destinations, shippableKgsWater, optionType, hauler);
-
-        options.sort(comparator);
-        System.out.println(title + ":");
-        System.out.printf("%-15s %-10s %-20s %-20s %-15s %-15s\n",
-                "Destination", "Price/kg", "kg Shipped/Received", "Fuel/Delta-V", "Profit", "Time (days)");
-        for (ShipmentOption option : options) {
-            System.out.printf("%-15s %-10.2f %-20s %-20s %-15s %-15.2f\n",
-                    option.destination.type.name,
-                    option.destination.salePricePerKg,
-                    String.format("%.0f/%s", option.kgsWaterShipped,
-                            option.kgsWaterReceived > 0 ? String.format("%.0f", option.kgsWaterReceived) : "-"),
-                    String.format("%.0f/%.2f", option.kgsWaterUsedForDeltaV, option.deltaV),
-                    option.profit > 0 ? String.format("%.1f", option.profit) : "-",
-                    option.time);
+    private static void updateDestinations(final SimulationContext context, final int dayInOrbit,
+                                           final int totalDaysInOrbit) {
+        final List<Destination> destinations = context.getDestinations();
+        for (int i = 0; i < destinations.size(); i++) {
+            destinations.get(i).updateDaily(context.getParameters(), context.getAsteroid(), dayInOrbit,
+                    totalDaysInOrbit);
         }
-        System.out.println();
     }
 }
@@ -0,0 +1,18 @@
+package wh;
+
+import java.io.Closeable;
+
+/**
+ * Receives each day's result as {@link SimulationRunner#runOrbit} produces it, in day order and on the running thread
+ */
+public interface SimulationSink extends Closeable {
+
+    void accept(DayResult result);
+
+    /**
+     * Called once the run is over, by default doing nothing
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -1,11 +1,13 @@
 package wh;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class SimulationState {
 
     public static final int KGS_WATER_MINED_PER_DAY = 5_000;
+    public static final int TOTAL_DAYS_IN_ORBIT = 1537;
     public static final AsteroidState ASTEROID_STATE = AsteroidState.wilsonHarrington();
     public static final boolean ENABLE_ORBITAL_MECHANICS = true;
     public static final boolean ENABLE_AEROBRAKING = true;
@@ -21,4 +23,8 @@ public class SimulationState {
     public Hauler getCurrentHauler() {
         return haulers.get(0);
     }
+
+    public List<Hauler> getHaulers() {
+        return Collections.unmodifiableList(haulers);
+    }
 }
@@ -0,0 +1,187 @@
+package wh;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Flight recorder events around the phases of a simulated day, and counters for the Kepler and fuel calculations,
+ * for finding where the time in a slow run goes. Everything is off unless the JVM is started with
+ * {@code -Dwh.telemetry=true}, and as the flag is a constant the JIT drops the disabled paths altogether. Record with
+ * {@code -XX:StartFlightRecording} as usual: the phases appear as wh.SimulationDay and wh.SimulationPhase events, and
+ * the counters' running totals as a wh.SimulationCounters event at the start and end of every recording chunk.
+ */
+public final class SimulationTelemetry {
+    public static final boolean ENABLED = Boolean.getBoolean("wh.telemetry");
+
+    // MathsUtil.solveKepler and its vector version, which take a fixed number of steps
+    static final LongAdder KEPLER_SOLVES = new LongAdder();
+    // Solves giving NaN or infinity, from a non-finite mean anomaly or an eccentricity of 1 or more
+    static final LongAdder KEPLER_NON_FINITE = new LongAdder();
+    // KeplerPropagator moves stepped on from the last one, without solving
+    static final LongAdder PROPAGATOR_STEPS = new LongAdder();
+    // KeplerPropagator moves re-anchored with a full solve
+    static final LongAdder PROPAGATOR_ANCHORS = new LongAdder();
+    static final LongAdder FUEL_CALCULATIONS = new LongAdder();
+    // Fuel calculations for a delta-v the hauler cannot reach, giving infinity
+    static final LongAdder FUEL_UNREACHABLE = new LongAdder();
+
+    static {
+        if (ENABLED) {
+            FlightRecorder.addPeriodicEvent(CountersEvent.class, () -> {
+                final CountersEvent event = new CountersEvent();
+                event.keplerSolves = KEPLER_SOLVES.sum();
+                event.keplerNonFinite = KEPLER_NON_FINITE.sum();
+                event.propagatorSteps = PROPAGATOR_STEPS.sum();
+                event.propagatorAnchors = PROPAGATOR_ANCHORS.sum();
+                event.fuelCalculations = FUEL_CALCULATIONS.sum();
+                event.fuelUnreachable = FUEL_UNREACHABLE.sum();
+                event.commit();
+            });
+        }
+    }
+
+    private SimulationTelemetry() {
+    }
+
+    /**
+     * Phases of a day, and of bringing a destination up to date within it
+     */
+    enum Phase {
+        ASTEROID,
+        DESTINATIONS,
+        PRICE,
+        POSITION,
+        TRANSFERS,
+        OPTIONS,
+        OUTPUT
+    }
+
+    @Name("wh.SimulationDay")
+    @Label("Simulation Day")
+    @Category("Wilson-Harrington")
+    @StackTrace(false)
+    static final class DayEvent extends Event {
+        @Label("Day In Orbit")
+        int dayInOrbit;
+
+        @Label("Stored")
+        @Description("Whether the day's water was stored rather than shipped")
+        boolean stored;
+    }
+
+    @Name("wh.SimulationPhase")
+    @Label("Simulation Phase")
+    @Category("Wilson-Harrington")
+    @StackTrace(false)
+    static final class PhaseEvent extends Event {
+        @Label("Phase")
+        String phase;
+
+        @Label("Day In Orbit")
+        int dayInOrbit;
+
+        @Label("Destination")
+        @Description("Destination being brought up to date, if the phase is for one")
+        String destination;
+    }
+
+    @Name("wh.SimulationCounters")
+    @Label("Simulation Counters")
+    @Category("Wilson-Harrington")
+    @Description("Totals since the JVM started")
+    @Period("everyChunk")
+    @StackTrace(false)
+    static final class CountersEvent extends Event {
+        @Label("Kepler Solves")
+        long keplerSolves;
+
+        @Label("Kepler Non-Finite Results")
+        long keplerNonFinite;
+
+        @Label("Propagator Steps")
+        long propagatorSteps;
+
+        @Label("Propagator Anchors")
+        long propagatorAnchors;
+
+        @Label("Fuel Calculations")
+        long fuelCalculations;
+
+        @Label("Fuel Unreachable")
+        long fuelUnreachable;
+    }
+
+    /**
+     * @return Event timing the day, to be passed to {@link #endDay}, or null when disabled
+     */
+    static DayEvent beginDay(final int dayInOrbit) {
+        if (!ENABLED) {
+            return null;
+        }
+        final DayEvent event = new DayEvent();
+        event.dayInOrbit = dayInOrbit;
+        event.begin();
+        return event;
+    }
+
+    static void endDay(final DayEvent event, final boolean stored) {
+        if (event != null) {
+            event.stored = stored;
+            event.commit();
+        }
+    }
+
+    /**
+     * @param destination Destination the phase is for, or null
+     * @return Event timing the phase, to be passed to {@link #endPhase}, or null when disabled
+     */
+    static PhaseEvent beginPhase(final Phase phase, final int dayInOrbit, final DestinationType destination) {
+        if (!ENABLED) {
+            return null;
+        }
+        final PhaseEvent event = new PhaseEvent();
+        event.phase = phase.name();
+        event.dayInOrbit = dayInOrbit;
+        event.destination = destination == null ? null : destination.name();
+        event.begin();
+        return event;
+    }
+
+    static void endPhase(final PhaseEvent event) {
+        if (event != null) {
+            event.commit();
+        }
+    }
+
+    static void keplerSolved(final double eccentricAnomaly) {
+        KEPLER_SOLVES.increment();
+        if (!Double.isFinite(eccentricAnomaly)) {
+            KEPLER_NON_FINITE.increment();
+        }
+    }
+
+    static void fuelCalculated(final double kgsFuel) {
+        FUEL_CALCULATIONS.increment();
+        if (kgsFuel == Double.POSITIVE_INFINITY) {
+            FUEL_UNREACHABLE.increment();
+        }
+    }
+
+    /**
+     * Prints the counters, all zero unless enabled
+     */
+    public static void report(final PrintStream out) {
+        out.printf("Kepler solves %d, non-finite %d\n", KEPLER_SOLVES.sum(), KEPLER_NON_FINITE.sum());
+        out.printf("Propagator steps %d, anchors %d\n", PROPAGATOR_STEPS.sum(), PROPAGATOR_ANCHORS.sum());
+        out.printf("Fuel calculations %d, unreachable %d\n", FUEL_CALCULATIONS.sum(), FUEL_UNREACHABLE.sum());
+    }
+}
@@ -0,0 +1,66 @@
+package wh;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * Last stage of a pipeline, handing every day to a sink one batch at a time on the thread the publisher delivers
+ * on, and closing the sink when the stream ends. A sink that throws cancels the subscription.
+ */
+public class SinkSubscriber implements Flow.Subscriber<List<DayResult>> {
+    private final SimulationSink sink;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private Flow.Subscription subscription;
+
+    public SinkSubscriber(final SimulationSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * @return Completes once the sink has taken every day and been closed, or with the error that ended the stream
+     */
+    public CompletableFuture<Void> completion() {
+        return completion;
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(1);
+    }
+
+    @Override
+    public void onNext(final List<DayResult> batch) {
+        try {
+            for (DayResult result : batch) {
+                sink.accept(result);
+            }
+        } catch (RuntimeException e) {
+            subscription.cancel();
+            onError(e);
+            return;
+        }
+        subscription.request(1);
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+        try {
+            sink.close();
+        } catch (RuntimeException e) {
+            throwable.addSuppressed(e);
+        }
+        completion.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        try {
+            sink.close();
+            completion.complete(null);
+        } catch (RuntimeException e) {
+            completion.completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package wh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Plays several strategies through one orbit against the same asteroid, destinations and prices, each with its own
+ * stored water and cyclers. Positions, transfers and prices are worked out once a day for all of them, and because
+ * every strategy sees the same prices their profits can be compared run by run.
+ */
+final class StrategyOrbit {
+    private final ShippingStrategy[] strategies;
+    private final int kgsWaterMinedPerDay;
+    private final List<Destination> destinations;
+    private final ShippingDay view;
+    private final int[] storedWaterKgs;
+    private final boolean[][] cyclers;
+    private final double[] profits;
+
+    /**
+     * @param destinations Destinations whose prices and transfers the caller brings up to date before each day
+     * @param profits Output total profit of each strategy, in the order of the strategies
+     */
+    StrategyOrbit(final SimulationParameters parameters, final HaulerPerformance performance,
+                  final ShippingStrategy[] strategies, final List<Destination> destinations, final double[] profits) {
+        this.strategies = strategies;
+        this.kgsWaterMinedPerDay = parameters.kgsWaterMinedPerDay();
+        this.destinations = destinations;
+        this.view = new ShippingDay(destinations, performance, parameters.difficultyScale());
+        this.storedWaterKgs = new int[strategies.length];
+        this.cyclers = new boolean[strategies.length][destinations.size()];
+        this.profits = profits;
+    }
+
+    /**
+     * @param random Source of the run's prices
+     * @param profits Output total profit of each strategy, in the order of the strategies
+     */
+    static void run(final SimulationParameters parameters, final Hauler hauler,
+                    final ShippingStrategy[] strategies, final int totalDaysInOrbit, final RandomGenerator random,
+                    final double[] profits) {
+        final SimulationContext context = new SimulationContext(parameters, random);
+        final AsteroidState asteroid = context.getAsteroid();
+        final List<Destination> destinations = context.getDestinations();
+        final StrategyOrbit orbit = new StrategyOrbit(parameters, new HaulerPerformance(hauler), strategies,
+                destinations, profits);
+        for (int dayInOrbit = 1; dayInOrbit <= totalDaysInOrbit; dayInOrbit++) {
+            asteroid.updateDistanceFromSun(dayInOrbit, totalDaysInOrbit);
+            for (int i = 0; i < destinations.size(); i++) {
+                destinations.get(i).updateDaily(parameters, asteroid, dayInOrbit, totalDaysInOrbit);
+            }
+            orbit.playDay(dayInOrbit, totalDaysInOrbit);
+        }
+    }
+
+    /**
+     * Same as {@link #run(SimulationParameters, Hauler, ShippingStrategy[], int, RandomGenerator, double[])} with the
+     * prices of the given run of a price path
+     */
+    static void run(final SimulationParameters parameters, final Hauler hauler,
+                    final ShippingStrategy[] strategies, final int totalDaysInOrbit, final PriceSource prices,
+                    final int run, final double[] profits) {
+        final AsteroidState asteroid = AsteroidState.wilsonHarrington();
+        final List<Destination> destinations = new ArrayList<>();
+        for (DestinationType type : DestinationType.values()) {
+            // Prices come from the price path, so the destination never draws from its random
+            destinations.add(new Destination(type));
+        }
+        final StrategyOrbit orbit = new StrategyOrbit(parameters, new HaulerPerformance(hauler), strategies,
+                destinations, profits);
+        for (int dayInOrbit = 1; dayInOrbit <= totalDaysInOrbit; dayInOrbit++) {
+            asteroid.updateDistanceFromSun(dayInOrbit, totalDaysInOrbit);
+            for (int i = 0; i < destinations.size(); i++) {
+                destinations.get(i).updateDaily(parameters, asteroid, prices, run, dayInOrbit, totalDaysInOrbit);
+            }
+            orbit.playDay(dayInOrbit, totalDaysInOrbit);
+        }
+    }
+
+    /**
+     * Lets every strategy decide on the day as the destinations now stand and books the outcome
+     */
+    void playDay(final int dayInOrbit, final int totalDaysInOrbit) {
+        view.update(destinations);
+        for (int s = 0; s < strategies.length; s++) {
+            view.set(dayInOrbit, totalDaysInOrbit, storedWaterKgs[s], kgsWaterMinedPerDay, cyclers[s]);
+            final ShippingDecision decision = strategies[s].decide(view);
+            switch (decision.action()) {
+                case STORE -> storedWaterKgs[s] += kgsWaterMinedPerDay;
+                case SHIP -> {
+                    if (decision.optionType() == ShipmentCalculator.OptionType.CYCLER &&
+                            !cyclers[s][decision.destination()]) {
+                        throw new IllegalStateException(strategies[s].name() + " shipped by a cycler to " +
+                                view.destinationType(decision.destination()) + " before establishing one");
+                    }
+                    profits[s] += view.profit(decision.destination(), decision.optionType());
+                    // Same as SimulationRunner
+                    storedWaterKgs[s] = Math.max(storedWaterKgs[s] - view.getShippableKgsWater(), 0);
+                }
+                case ESTABLISH_CYCLER -> {
+                    if (!view.canEstablishCycler(decision.destination())) {
+                        throw new IllegalStateException(strategies[s].name() + " cannot establish a cycler to " +
+                                view.destinationType(decision.destination()));
+                    }
+                    cyclers[s][decision.destination()] = true;
+                    storedWaterKgs[s] = view.getAvailableKgsWater() -
+                            (int) Math.ceil(view.cyclerEstablishmentKgs(decision.destination()));
+                }
+            }
+        }
+    }
+}
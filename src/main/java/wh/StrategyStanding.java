@@ -0,0 +1,12 @@
+package wh;
+
+/**
+ * How one strategy did in a {@link StrategyTournament}
+ * @param name Strategy name
+ * @param runs Runs the strategy was played on before it finished or was dropped
+ * @param meanProfit Mean orbit profit over those runs
+ * @param standardError Standard error of the mean profit
+ * @param eliminated Whether the strategy was dropped as clearly worse than the leader
+ */
+public record StrategyStanding(String name, int runs, double meanProfit, double standardError, boolean eliminated) {
+}
@@ -0,0 +1,203 @@
+package wh;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Plays strategies against each other on the same price paths, in rounds of runs spread across a pool, dropping
+ * those that are clearly worse so later rounds are spent on the contenders.
+ * <p>
+ * Run i of every strategy uses the i-th stream of {@link MonteCarloSimulator#streams}, or run i of a
+ * {@link PriceSource}, so strategies are compared on identical prices and the per-run differences from the leader
+ * have far less spread than the profits themselves. After each round, from {@link #MIN_RUNS} on, a strategy is
+ * dropped when even the optimistic end of its mean difference from the leader, {@link #CONFIDENCE_Z} standard errors
+ * above the mean, is below zero. Decisions are made on profits held by run index, so the outcome does not depend on
+ * the number of threads.
+ */
+public final class StrategyTournament {
+    static final int RUNS_PER_ROUND = 8;
+    static final int MIN_RUNS = 16;
+    static final double CONFIDENCE_Z = 3;
+
+    private StrategyTournament() {
+    }
+
+    public static List<StrategyStanding> run(final SimulationParameters parameters, final Hauler hauler,
+                                             final List<? extends ShippingStrategy> strategies, final int maxRuns,
+                                             final int totalDaysInOrbit, final long seed) {
+        return run(parameters, hauler, strategies, maxRuns, totalDaysInOrbit, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param strategies Strategies to compare, which must not share state between runs
+     * @param maxRuns Runs played by the strategies that are never dropped
+     * @param seed Master seed the runs' price streams are split from
+     * @param pool Pool each round's runs are split across
+     * @return Standings, the strategies still in the race first, each group by decreasing mean profit
+     */
+    public static List<StrategyStanding> run(final SimulationParameters parameters, final Hauler hauler,
+                                             final List<? extends ShippingStrategy> strategies, final int maxRuns,
+                                             final int totalDaysInOrbit, final long seed, final ForkJoinPool pool) {
+        final SplittableRandom[] streams = MonteCarloSimulator.streams(seed, Math.max(maxRuns, 0));
+        return run(strategies, maxRuns, pool, (playing, run, profits) ->
+                StrategyOrbit.run(parameters, hauler, playing, totalDaysInOrbit, streams[run], profits));
+    }
+
+    /**
+     * Same as {@link #run(SimulationParameters, Hauler, List, int, int, long, ForkJoinPool)} with run i played on
+     * run i of the price source, so a recorded {@link PriceTape} replays the same market
+     */
+    public static List<StrategyStanding> run(final SimulationParameters parameters, final Hauler hauler,
+                                             final List<? extends ShippingStrategy> strategies, final int maxRuns,
+                                             final int totalDaysInOrbit, final PriceSource prices,
+                                             final ForkJoinPool pool) {
+        return run(strategies, maxRuns, pool, (playing, run, profits) ->
+                StrategyOrbit.run(parameters, hauler, playing, totalDaysInOrbit, prices, run, profits));
+    }
+
+    /**
+     * Plays one run of an orbit for the given strategies
+     */
+    private interface OrbitPlayer {
+        void play(ShippingStrategy[] strategies, int run, double[] profits);
+    }
+
+    private static List<StrategyStanding> run(final List<? extends ShippingStrategy> strategies, final int maxRuns,
+                                              final ForkJoinPool pool, final OrbitPlayer player) {
+        if (strategies.isEmpty() || maxRuns <= 0) {
+            throw new IllegalArgumentException("Need at least one strategy and one run, got " + strategies.size() +
+                    " strategies and " + maxRuns + " runs");
+        }
+        final int count = strategies.size();
+        final double[][] profits = new double[count][maxRuns];
+        final int[] runs = new int[count];
+        final boolean[] eliminated = new boolean[count];
+        int played = 0;
+        while (played < maxRuns) {
+            final int[] contenders = contenders(eliminated);
+            if (contenders.length == 1 && played >= MIN_RUNS) {
+                break;
+            }
+            final int roundEnd = Math.min(played + RUNS_PER_ROUND, maxRuns);
+            final ShippingStrategy[] playing = new ShippingStrategy[contenders.length];
+            for (int c = 0; c < contenders.length; c++) {
+                playing[c] = strategies.get(contenders[c]);
+            }
+            pool.invoke(new RoundTask(player, playing, contenders, profits, played, roundEnd));
+            played = roundEnd;
+            for (int contender : contenders) {
+                runs[contender] = played;
+            }
+            if (played >= MIN_RUNS) {
+                eliminate(profits, contenders, played, eliminated);
+            }
+        }
+
+        final List<StrategyStanding> standings = new ArrayList<>(count);
+        for (int s = 0; s < count; s++) {
+            final double mean = mean(profits[s], runs[s]);
+            double squares = 0;
+            for (int r = 0; r < runs[s]; r++) {
+                squares += (profits[s][r] - mean) * (profits[s][r] - mean);
+            }
+            final double standardError = runs[s] > 1 ? Math.sqrt(squares / (runs[s] - 1) / runs[s]) : 0;
+            standings.add(new StrategyStanding(strategies.get(s).name(), runs[s], mean, standardError,
+                    eliminated[s]));
+        }
+        standings.sort(Comparator.comparing(StrategyStanding::eliminated)
+                .thenComparing(Comparator.comparingDouble(StrategyStanding::meanProfit).reversed()));
+        return standings;
+    }
+
+    private static int[] contenders(final boolean[] eliminated) {
+        int count = 0;
+        for (boolean out : eliminated) {
+            count += out ? 0 : 1;
+        }
+        final int[] contenders = new int[count];
+        for (int s = 0, c = 0; s < eliminated.length; s++) {
+            if (!eliminated[s]) {
+                contenders[c++] = s;
+            }
+        }
+        return contenders;
+    }
+
+    /**
+     * Drops every contender whose paired difference from the leader is confidently negative over the runs so far
+     */
+    private static void eliminate(final double[][] profits, final int[] contenders, final int runs,
+                                  final boolean[] eliminated) {
+        int leader = contenders[0];
+        for (int contender : contenders) {
+            if (mean(profits[contender], runs) > mean(profits[leader], runs)) {
+                leader = contender;
+            }
+        }
+        for (int contender : contenders) {
+            if (contender == leader) {
+                continue;
+            }
+            double sum = 0;
+            for (int r = 0; r < runs; r++) {
+                sum += profits[contender][r] - profits[leader][r];
+            }
+            final double meanDifference = sum / runs;
+            double squares = 0;
+            for (int r = 0; r < runs; r++) {
+                final double deviation = profits[contender][r] - profits[leader][r] - meanDifference;
+                squares += deviation * deviation;
+            }
+            final double standardError = Math.sqrt(squares / (runs - 1) / runs);
+            if (meanDifference + CONFIDENCE_Z * standardError < 0) {
+                eliminated[contender] = true;
+            }
+        }
+    }
+
+    private static double mean(final double[] profits, final int runs) {
+        double sum = 0;
+        for (int r = 0; r < runs; r++) {
+            sum += profits[r];
+        }
+        return runs == 0 ? 0 : sum / runs;
+    }
+
+    private static final class RoundTask extends RecursiveAction {
+        private final OrbitPlayer player;
+        private final ShippingStrategy[] playing;
+        private final int[] contenders;
+        private final double[][] profits;
+        private final int fromRun;
+        private final int toRun;
+
+        RoundTask(OrbitPlayer player, ShippingStrategy[] playing, int[] contenders, double[][] profits, int fromRun,
+                  int toRun) {
+            this.player = player;
+            this.playing = playing;
+            this.contenders = contenders;
+            this.profits = profits;
+            this.fromRun = fromRun;
+            this.toRun = toRun;
+        }
+
+        @Override
+        protected void compute() {
+            if (toRun - fromRun > 1) {
+                final int middle = (fromRun + toRun) >>> 1;
+                invokeAll(new RoundTask(player, playing, contenders, profits, fromRun, middle),
+                        new RoundTask(player, playing, contenders, profits, middle, toRun));
+                return;
+            }
+            final double[] runProfits = new double[playing.length];
+            player.play(playing, fromRun, runProfits);
+            for (int c = 0; c < contenders.length; c++) {
+                profits[contenders[c]][fromRun] = runProfits[c];
+            }
+        }
+    }
+}
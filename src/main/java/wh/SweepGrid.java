@@ -0,0 +1,57 @@
+package wh;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Values to try for each tunable of {@link SimulationParameters} and the haulers to try them with, swept as their
+ * Cartesian product
+ * @param kgsWaterMinedPerDay Daily mining rates
+ * @param difficultyScales Delta-v scale factors
+ * @param enableOrbitalMechanics Orbital mechanics settings
+ * @param enableAerobraking Aerobraking settings
+ * @param haulers Hauler designs
+ */
+public record SweepGrid(List<Integer> kgsWaterMinedPerDay, List<Float> difficultyScales,
+                        List<Boolean> enableOrbitalMechanics, List<Boolean> enableAerobraking,
+                        List<Hauler> haulers) {
+
+    public SweepGrid {
+        kgsWaterMinedPerDay = List.copyOf(kgsWaterMinedPerDay);
+        difficultyScales = List.copyOf(difficultyScales);
+        enableOrbitalMechanics = List.copyOf(enableOrbitalMechanics);
+        enableAerobraking = List.copyOf(enableAerobraking);
+        haulers = List.copyOf(haulers);
+        if (kgsWaterMinedPerDay.isEmpty() || difficultyScales.isEmpty() || enableOrbitalMechanics.isEmpty() ||
+                enableAerobraking.isEmpty() || haulers.isEmpty()) {
+            throw new IllegalArgumentException("Every dimension needs at least one value");
+        }
+    }
+
+    /**
+     * One combination of the grid
+     */
+    public record Point(SimulationParameters parameters, Hauler hauler) {
+    }
+
+    /**
+     * @return Every combination, the hauler varying fastest and the mining rate slowest
+     */
+    public List<Point> points() {
+        final List<Point> points = new ArrayList<>();
+        for (int kgsWaterMined : kgsWaterMinedPerDay) {
+            for (float difficultyScale : difficultyScales) {
+                for (boolean orbitalMechanics : enableOrbitalMechanics) {
+                    for (boolean aerobraking : enableAerobraking) {
+                        final SimulationParameters parameters = new SimulationParameters(kgsWaterMined,
+                                difficultyScale, orbitalMechanics, aerobraking);
+                        for (Hauler hauler : haulers) {
+                            points.add(new Point(parameters, hauler));
+                        }
+                    }
+                }
+            }
+        }
+        return points;
+    }
+}
@@ -0,0 +1,12 @@
+package wh;
+
+/**
+ * How one strategy did at one point of a parameter sweep
+ * @param parameters Tunables of the point
+ * @param hauler Hauler of the point
+ * @param strategy Name of the strategy
+ * @param profits Distribution of the total orbit profit over the sweep's runs
+ */
+public record SweepResult(SimulationParameters parameters, Hauler hauler, String strategy,
+                          ProfitDistribution profits) {
+}
@@ -0,0 +1,27 @@
+package wh;
+
+/**
+ * Mutable holder for the output of {@link MathsUtil#calculateTransfers}, meant to be owned by the caller and reused
+ * every day instead of allocating a fresh result array
+ */
+public final class TransferResult {
+    double deltaVEfficient;
+    double timeEfficient;
+    double deltaVFast;
+    double timeFast;
+    double deltaVCycler;
+    double timeCycler;
+    // Scratch space for the fast transfer's Lambert solve
+    final double[] lambertVelocities = new double[6];
+
+    /**
+     * @return The values in the order of the array returned by the allocating transfer calculations
+     */
+    public double[] toArray() {
+        return new double[] {
+                deltaVEfficient, timeEfficient,
+                deltaVFast, timeFast,
+                deltaVCycler, timeCycler
+        };
+    }
+}
@@ -0,0 +1,79 @@
+package wh;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Delta-v and time of every transfer to every destination on every day of an orbit. These depend only on the day
+ * and on the parameters in {@link Key}, not on prices, mining or the hauler, so one table serves every run and
+ * sweep point that shares its key instead of each solving the same transfers again.
+ */
+final class TransferTable {
+    private static final int OPTION_TYPES = ShipmentCalculator.OptionType.values().length;
+
+    private final int destinationCount;
+    // Indexed by day, then destination in DestinationType order, then option type
+    private final double[] deltaV;
+    private final double[] time;
+
+    /**
+     * The parameters transfers depend on
+     */
+    record Key(boolean enableOrbitalMechanics, boolean enableAerobraking, float difficultyScale) {
+
+        static Key of(final SimulationParameters parameters) {
+            return new Key(parameters.enableOrbitalMechanics(), parameters.enableAerobraking(),
+                    parameters.difficultyScale());
+        }
+    }
+
+    private TransferTable(final int totalDaysInOrbit, final int destinationCount) {
+        this.destinationCount = destinationCount;
+        this.deltaV = new double[totalDaysInOrbit * destinationCount * OPTION_TYPES];
+        this.time = new double[deltaV.length];
+    }
+
+    /**
+     * Works out the transfers day by day exactly as {@link StrategyOrbit#run} does
+     */
+    static TransferTable compute(final SimulationParameters parameters, final int totalDaysInOrbit) {
+        // Prices are drawn along the way but not kept, so the stream only has to be valid
+        final SimulationContext context = new SimulationContext(parameters, new SplittableRandom(0));
+        final AsteroidState asteroid = context.getAsteroid();
+        final List<Destination> destinations = context.getDestinations();
+        final TransferTable table = new TransferTable(totalDaysInOrbit, destinations.size());
+        for (int dayInOrbit = 1; dayInOrbit <= totalDaysInOrbit; dayInOrbit++) {
+            asteroid.updateDistanceFromSun(dayInOrbit, totalDaysInOrbit);
+            for (int i = 0; i < destinations.size(); i++) {
+                final Destination destination = destinations.get(i);
+                destination.updateDaily(parameters, asteroid, dayInOrbit, totalDaysInOrbit);
+                final int index = table.index(dayInOrbit, i);
+                for (ShipmentCalculator.OptionType optionType : ShipmentCalculator.OptionType.values()) {
+                    table.deltaV[index + optionType.ordinal()] = ShipmentCalculator.deltaV(destination, optionType);
+                    table.time[index + optionType.ordinal()] = ShipmentCalculator.time(destination, optionType);
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Sets the day's transfers on destinations of every type in {@link DestinationType} order, leaving their prices
+     */
+    void apply(final int dayInOrbit, final List<Destination> destinations) {
+        for (int i = 0; i < destinations.size(); i++) {
+            final Destination destination = destinations.get(i);
+            final int index = index(dayInOrbit, i);
+            destination.deltaVEfficient = deltaV[index + ShipmentCalculator.OptionType.EFFICIENT.ordinal()];
+            destination.timeEfficient = time[index + ShipmentCalculator.OptionType.EFFICIENT.ordinal()];
+            destination.deltaVFast = deltaV[index + ShipmentCalculator.OptionType.FAST.ordinal()];
+            destination.timeFast = time[index + ShipmentCalculator.OptionType.FAST.ordinal()];
+            destination.deltaVCycler = deltaV[index + ShipmentCalculator.OptionType.CYCLER.ordinal()];
+            destination.timeCycler = time[index + ShipmentCalculator.OptionType.CYCLER.ordinal()];
+        }
+    }
+
+    private int index(final int dayInOrbit, final int destination) {
+        return ((dayInOrbit - 1) * destinationCount + destination) * OPTION_TYPES;
+    }
+}
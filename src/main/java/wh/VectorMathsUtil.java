@@ -0,0 +1,241 @@
+package wh;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Batched versions of the {@link MathsUtil} orbital calculations. Inputs and outputs are structure-of-arrays, so a
+ * sweep over many days and/or many bodies is evaluated a full set of Vector API lanes at a time.
+ */
+public class VectorMathsUtil {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    /**
+     * Solves Kepler's equation for every mean anomaly, each lane following the same fixed sequence of steps as
+     * {@link MathsUtil#solveKepler}
+     * @param meanAnomalies Mean anomalies in radians
+     * @param eccentricities Eccentricity of the orbit each mean anomaly belongs to
+     * @param eccentricAnomalies Output eccentric anomalies in radians, same length as the inputs
+     */
+    public static void solveKepler(final double[] meanAnomalies, final double[] eccentricities,
+                                   final double[] eccentricAnomalies) {
+        final int count = checkLengths(meanAnomalies, eccentricities, eccentricAnomalies);
+        final int upperBound = SPECIES.loopBound(count);
+        int i = 0;
+        for (; i < upperBound; i += SPECIES.length()) {
+            final DoubleVector M = DoubleVector.fromArray(SPECIES, meanAnomalies, i);
+            final DoubleVector e = DoubleVector.fromArray(SPECIES, eccentricities, i);
+            final DoubleVector E = solveKepler(M, e);
+            if (SimulationTelemetry.ENABLED) {
+                countSolves(E, SPECIES.maskAll(true));
+            }
+            E.intoArray(eccentricAnomalies, i);
+        }
+        if (i < count) {
+            final VectorMask<Double> tail = SPECIES.indexInRange(i, count);
+            final DoubleVector M = DoubleVector.fromArray(SPECIES, meanAnomalies, i, tail);
+            final DoubleVector e = DoubleVector.fromArray(SPECIES, eccentricities, i, tail);
+            final DoubleVector E = solveKepler(M, e);
+            if (SimulationTelemetry.ENABLED) {
+                countSolves(E, tail);
+            }
+            E.intoArray(eccentricAnomalies, i, tail);
+        }
+    }
+
+    /**
+     * Calculates the position of one body at many instants
+     * @param semiMajorAxis Semi-major axis in AU
+     * @param eccentricity Eccentricity (dimensionless)
+     * @param inclination Inclination in degrees
+     * @param argumentPerihelion Argument of perihelion in degrees
+     * @param ascendingNode Longitude of ascending node in degrees
+     * @param meanAnomalies Mean anomalies in radians, one per instant
+     * @param x Output x coordinates in AU, same length as meanAnomalies
+     * @param y Output y coordinates in AU
+     * @param z Output z coordinates in AU
+     */
+    public static void calculateOrbitalStates(
+            final double semiMajorAxis, final double eccentricity, final double inclination,
+            final double argumentPerihelion, final double ascendingNode, final double[] meanAnomalies,
+            final double[] x, final double[] y, final double[] z) {
+        calculateOrbitalStates(new OrbitalElements(semiMajorAxis, eccentricity, inclination, argumentPerihelion,
+                ascendingNode), meanAnomalies, x, y, z);
+    }
+
+    /**
+     * Calculates the position of one body at many instants
+     * @param elements Compiled elements of the body's orbit
+     * @param meanAnomalies Mean anomalies in radians, one per instant
+     * @param x Output x coordinates in AU, same length as meanAnomalies
+     * @param y Output y coordinates in AU
+     * @param z Output z coordinates in AU
+     */
+    public static void calculateOrbitalStates(final OrbitalElements elements, final double[] meanAnomalies,
+                                              final double[] x, final double[] y, final double[] z) {
+        final int count = checkLengths(meanAnomalies, x, y, z);
+        final double semiMajorAxis = elements.getSemiMajorAxis();
+        final double eccentricity = elements.getEccentricity();
+        final double semiMinorAxis = elements.getSemiMinorAxis();
+        final double px = elements.px, py = elements.py, pz = elements.pz;
+        final double qx = elements.qx, qy = elements.qy, qz = elements.qz;
+
+        final DoubleVector e = DoubleVector.broadcast(SPECIES, eccentricity);
+        final int upperBound = SPECIES.loopBound(count);
+        int i = 0;
+        for (; i < upperBound; i += SPECIES.length()) {
+            final DoubleVector E = solveKepler(DoubleVector.fromArray(SPECIES, meanAnomalies, i), e);
+            if (SimulationTelemetry.ENABLED) {
+                countSolves(E, SPECIES.maskAll(true));
+            }
+            final DoubleVector xPrime = E.lanewise(VectorOperators.COS).sub(eccentricity).mul(semiMajorAxis);
+            final DoubleVector yPrime = E.lanewise(VectorOperators.SIN).mul(semiMinorAxis);
+            xPrime.mul(px).add(yPrime.mul(qx)).intoArray(x, i);
+            xPrime.mul(py).add(yPrime.mul(qy)).intoArray(y, i);
+            xPrime.mul(pz).add(yPrime.mul(qz)).intoArray(z, i);
+        }
+        if (i < count) {
+            final VectorMask<Double> tail = SPECIES.indexInRange(i, count);
+            final DoubleVector E = solveKepler(DoubleVector.fromArray(SPECIES, meanAnomalies, i, tail), e);
+            if (SimulationTelemetry.ENABLED) {
+                countSolves(E, tail);
+            }
+            final DoubleVector xPrime = E.lanewise(VectorOperators.COS).sub(eccentricity).mul(semiMajorAxis);
+            final DoubleVector yPrime = E.lanewise(VectorOperators.SIN).mul(semiMinorAxis);
+            xPrime.mul(px).add(yPrime.mul(qx)).intoArray(x, i, tail);
+            xPrime.mul(py).add(yPrime.mul(qy)).intoArray(y, i, tail);
+            xPrime.mul(pz).add(yPrime.mul(qz)).intoArray(z, i, tail);
+        }
+    }
+
+    /**
+     * Calculates positions for many (body, instant) samples, every input array holding one entry per sample
+     * @param semiMajorAxes Semi-major axes in AU
+     * @param eccentricities Eccentricities (dimensionless)
+     * @param inclinations Inclinations in degrees
+     * @param argumentsPerihelion Arguments of perihelion in degrees
+     * @param ascendingNodes Longitudes of ascending node in degrees
+     * @param meanAnomalies Mean anomalies in radians
+     * @param x Output x coordinates in AU
+     * @param y Output y coordinates in AU
+     * @param z Output z coordinates in AU
+     */
+    public static void calculateOrbitalStates(
+            final double[] semiMajorAxes, final double[] eccentricities, final double[] inclinations,
+            final double[] argumentsPerihelion, final double[] ascendingNodes, final double[] meanAnomalies,
+            final double[] x, final double[] y, final double[] z) {
+        final int count = checkLengths(semiMajorAxes, eccentricities, inclinations, argumentsPerihelion,
+                ascendingNodes, meanAnomalies, x, y, z);
+        final VectorMask<Double> all = SPECIES.maskAll(true);
+        final int upperBound = SPECIES.loopBound(count);
+        int i = 0;
+        for (; i < upperBound; i += SPECIES.length()) {
+            calculateOrbitalStates(semiMajorAxes, eccentricities, inclinations, argumentsPerihelion,
+                    ascendingNodes, meanAnomalies, x, y, z, i, all);
+        }
+        if (i < count) {
+            calculateOrbitalStates(semiMajorAxes, eccentricities, inclinations, argumentsPerihelion,
+                    ascendingNodes, meanAnomalies, x, y, z, i, SPECIES.indexInRange(i, count));
+        }
+    }
+
+    private static void calculateOrbitalStates(
+            final double[] semiMajorAxes, final double[] eccentricities, final double[] inclinations,
+            final double[] argumentsPerihelion, final double[] ascendingNodes, final double[] meanAnomalies,
+            final double[] x, final double[] y, final double[] z, final int offset, final VectorMask<Double> mask) {
+        final DoubleVector a = DoubleVector.fromArray(SPECIES, semiMajorAxes, offset, mask);
+        final DoubleVector e = DoubleVector.fromArray(SPECIES, eccentricities, offset, mask);
+        final DoubleVector inc = toRadians(DoubleVector.fromArray(SPECIES, inclinations, offset, mask));
+        final DoubleVector argPeri = toRadians(DoubleVector.fromArray(SPECIES, argumentsPerihelion, offset, mask));
+        final DoubleVector node = toRadians(DoubleVector.fromArray(SPECIES, ascendingNodes, offset, mask));
+
+        final DoubleVector E = solveKepler(DoubleVector.fromArray(SPECIES, meanAnomalies, offset, mask), e);
+        if (SimulationTelemetry.ENABLED) {
+            countSolves(E, mask);
+        }
+        final DoubleVector semiMinorAxis = a.mul(e.mul(e).neg().add(1).lanewise(VectorOperators.SQRT));
+        final DoubleVector xPrime = E.lanewise(VectorOperators.COS).sub(e).mul(a);
+        final DoubleVector yPrime = E.lanewise(VectorOperators.SIN).mul(semiMinorAxis);
+
+        final DoubleVector cosW = argPeri.lanewise(VectorOperators.COS), sinW = argPeri.lanewise(VectorOperators.SIN);
+        final DoubleVector cosO = node.lanewise(VectorOperators.COS), sinO = node.lanewise(VectorOperators.SIN);
+        final DoubleVector cosI = inc.lanewise(VectorOperators.COS), sinI = inc.lanewise(VectorOperators.SIN);
+        final DoubleVector px = cosW.mul(cosO).sub(sinW.mul(cosI).mul(sinO));
+        final DoubleVector py = cosW.mul(sinO).add(sinW.mul(cosI).mul(cosO));
+        final DoubleVector pz = sinW.mul(sinI);
+        final DoubleVector qx = sinW.mul(cosO).add(cosW.mul(cosI).mul(sinO)).neg();
+        final DoubleVector qy = cosW.mul(cosI).mul(cosO).sub(sinW.mul(sinO));
+        final DoubleVector qz = cosW.mul(sinI);
+
+        xPrime.mul(px).add(yPrime.mul(qx)).intoArray(x, offset, mask);
+        xPrime.mul(py).add(yPrime.mul(qy)).intoArray(y, offset, mask);
+        xPrime.mul(pz).add(yPrime.mul(qz)).intoArray(z, offset, mask);
+    }
+
+    /**
+     * Adds the lanes in the mask to the same counters {@link MathsUtil#solveKepler} adds to
+     */
+    private static void countSolves(final DoubleVector E, final VectorMask<Double> mask) {
+        SimulationTelemetry.KEPLER_SOLVES.add(mask.trueCount());
+        SimulationTelemetry.KEPLER_NON_FINITE.add(E.test(VectorOperators.IS_FINITE).not().and(mask).trueCount());
+    }
+
+    /**
+     * Lane-wise form of {@link MathsUtil#solveKepler}. It is straight-line code, with no iteration count that depends
+     * on the data, so every lane does the same work.
+     */
+    static DoubleVector solveKepler(final DoubleVector M, final DoubleVector e) {
+        // Whole turns, rounded half away from zero by truncating through long as the scalar solver does
+        final DoubleVector halfTurn = DoubleVector.broadcast(SPECIES, 0.5)
+                .blend(-0.5, M.compare(VectorOperators.LT, 0));
+        final DoubleVector turns = ((DoubleVector) M.mul(1 / MathsUtil.TWO_PI).add(halfTurn)
+                .convert(VectorOperators.D2L, 0).convert(VectorOperators.L2D, 0)).mul(MathsUtil.TWO_PI);
+        final DoubleVector reduced = M.sub(turns);
+        final DoubleVector m = reduced.abs();
+
+        final DoubleVector oneMinusE = e.neg().add(1);
+        final DoubleVector alpha = m.neg().add(Math.PI).mul(1.6 * Math.PI).div(e.add(1))
+                .add(3 * MathsUtil.PI_SQUARED).div(MathsUtil.PI_SQUARED - 6);
+        final DoubleVector d = oneMinusE.mul(3).add(alpha.mul(e));
+        final DoubleVector mSquared = m.mul(m);
+        final DoubleVector q = alpha.mul(d).mul(oneMinusE).mul(2).sub(mSquared);
+        final DoubleVector r = alpha.mul(d).mul(d.sub(oneMinusE)).mul(m).mul(3).add(mSquared.mul(m));
+        final DoubleVector w = r.abs().add(q.mul(q).mul(q).add(r.mul(r)).lanewise(VectorOperators.SQRT))
+                .lanewise(VectorOperators.CBRT);
+        final DoubleVector wSquared = w.mul(w);
+        final DoubleVector start = r.mul(2).mul(wSquared)
+                .div(wSquared.mul(wSquared).add(wSquared.mul(q)).add(q.mul(q))).add(m).div(d);
+
+        final DoubleVector eSinE = e.mul(start.lanewise(VectorOperators.SIN));
+        final DoubleVector eCosE = e.mul(start.lanewise(VectorOperators.COS));
+        final DoubleVector f0 = start.sub(eSinE).sub(m);
+        final DoubleVector f1 = eCosE.neg().add(1);
+        final DoubleVector minusF0 = f0.neg();
+        final DoubleVector delta3 = minusF0.div(f1.sub(f0.mul(eSinE).mul(0.5).div(f1)));
+        final DoubleVector delta4 = minusF0.div(f1.add(delta3.mul(eSinE).mul(0.5))
+                .add(delta3.mul(delta3).mul(eCosE).div(6)));
+        final DoubleVector delta4Squared = delta4.mul(delta4);
+        final DoubleVector delta5 = minusF0.div(f1.add(delta4.mul(eSinE).mul(0.5))
+                .add(delta4Squared.mul(eCosE).div(6)).sub(delta4Squared.mul(delta4).mul(eSinE).div(24)));
+        final DoubleVector E = start.add(delta5);
+
+        return E.blend(E.neg(), reduced.compare(VectorOperators.LT, 0)).add(turns);
+    }
+
+    private static DoubleVector toRadians(final DoubleVector degrees) {
+        return degrees.mul(Math.PI / 180.0);
+    }
+
+    private static int checkLengths(final double[] first, final double[]... others) {
+        for (double[] other : others) {
+            if (other.length != first.length) {
+                throw new IllegalArgumentException("Batch arrays must all have length " + first.length +
+                        " but found one of length " + other.length);
+            }
+        }
+        return first.length;
+    }
+}
@@ -0,0 +1,143 @@
+package wh;
+
+import jaid.collection.DoublesVector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Bytes allocated per call on the hot paths, measured with the JVM's per-thread allocation counter once the path is
+ * warm, against a declared budget. Budgets are zero for the paths that allocate nothing, and otherwise leave room
+ * for JVM differences such as uncompressed pointers, so a test failing here means a change made a path allocate
+ * noticeably more, which in a long-running sweep turns into GC pauses.
+ */
+class AllocationBudgetTest {
+    private static final int WARMUP_CALLS = 20_000;
+    private static final int ROUNDS = 5;
+
+    private static final Hauler HAULER = new Hauler(HaulerClass.SMALL,
+            new EnumMap<>(Map.of(WaterPropulsionSystem.THERMAL, 1)),
+            new EnumMap<>(Map.of(PowerSource.SOLAR, 5)));
+
+    private static PrintStream out;
+
+    /**
+     * Each path with the most bytes a call may allocate on average, and the calls per measured round
+     */
+    enum HotPath {
+        // Builds the orbital elements and the returned vector, unless escape analysis removes them
+        CALCULATE_ORBITAL_STATE(512, 10_000, () -> {
+            final int[] day = new int[1];
+            final DestinationType mars = DestinationType.MARS;
+            return () -> MathsUtil.calculateOrbitalState(mars.orbitalRadius, mars.eccentricity, mars.inclination,
+                    mars.argumentOfPerihelion, mars.ascendingNode, day[0]++ * 0.01);
+        }),
+        POSITION_AT(0, 10_000, () -> {
+            final int[] day = new int[1];
+            final double[] position = new double[3];
+            return () -> DestinationType.MARS.orbitalElements.positionAt(day[0]++ * 0.01, position);
+        }),
+        // The result holder and the array it is copied into
+        CALCULATE_TRANSFERS_ARRAY(512, 10_000, () -> {
+            final DoublesVector asteroid = new DoublesVector(new double[] {1.1, 0.2, 0.01});
+            final DoublesVector mars = new DoublesVector(new double[] {-1.4, 0.5, 0.02});
+            return () -> MathsUtil.calculateTransfers(asteroid, mars, false, true);
+        }),
+        CALCULATE_TRANSFERS(0, 10_000, () -> {
+            final int[] day = new int[1];
+            final TransferResult result = new TransferResult();
+            return () -> MathsUtil.calculateTransfers(1.1, 0.2, 0.01, -1.4, 0.5, (day[0]++ % 100) * 0.001,
+                    false, true, 1.0f, result);
+        }),
+        HAULER_KGS_FUEL(0, 10_000, () -> {
+            final int[] call = new int[1];
+            return () -> HAULER.kgsFuelToAccelerateTo((call[0]++ % 100) * 0.1);
+        }),
+        PERFORMANCE_KGS_FUEL(0, 10_000, () -> {
+            final int[] call = new int[1];
+            final HaulerPerformance performance = new HaulerPerformance(HAULER);
+            return () -> performance.kgsFuelToAccelerateTo((call[0]++ % 100) * 0.1);
+        }),
+        // Documented as allocation free once warm
+        ADVANCE_DAY(0, 1_000, () -> day(SimulationRunner::advanceDay)),
+        // The day's result and every option in it
+        RUN_DAY(4 * 1024, 1_000, () -> day(SimulationRunner::runDay)),
+        // Mostly the formatting of the printed tables, printed here into a stream that discards them
+        SIMULATE_DAY(384 * 1024, 200, () -> day(SimulationRunner::simulateDay));
+
+        final long budgetBytes;
+        final int calls;
+        final Supplier<Runnable> call;
+
+        HotPath(final long budgetBytes, final int calls, final Supplier<Runnable> call) {
+            this.budgetBytes = budgetBytes;
+            this.calls = calls;
+            this.call = call;
+        }
+    }
+
+    private interface DayStep {
+        void run(SimulationRunner runner, SimulationContext context, Hauler hauler, int dayInOrbit,
+                 int totalDaysInOrbit);
+    }
+
+    /**
+     * Steps through the days of an orbit, wrapping around, in its own context
+     */
+    private static Runnable day(final DayStep step) {
+        final SimulationRunner runner = new SimulationRunner(new ShipmentCalculator());
+        final SimulationContext context = new SimulationContext(SimulationParameters.DEFAULT, new SplittableRandom(1));
+        final int[] day = new int[1];
+        return () -> {
+            day[0] = day[0] % SimulationState.TOTAL_DAYS_IN_ORBIT + 1;
+            step.run(runner, context, HAULER, day[0], SimulationState.TOTAL_DAYS_IN_ORBIT);
+        };
+    }
+
+    @BeforeAll
+    static void discardOutput() {
+        out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @AfterAll
+    static void restoreOutput() {
+        System.setOut(out);
+    }
+
+    @ParameterizedTest
+    @EnumSource(HotPath.class)
+    void call_shouldAllocateWithinBudget(final HotPath path) {
+        final com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "JVM cannot count allocated bytes per thread");
+        threads.setThreadAllocatedMemoryEnabled(true);
+        final Runnable call = path.call.get();
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            call.run();
+        }
+
+        // The quietest round, so a one off allocation such as a deoptimization does not count against the path
+        double bytesPerCall = Double.POSITIVE_INFINITY;
+        for (int round = 0; round < ROUNDS; round++) {
+            final long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < path.calls; i++) {
+                call.run();
+            }
+            bytesPerCall = Math.min(bytesPerCall,
+                    (double) (threads.getCurrentThreadAllocatedBytes() - before) / path.calls);
+        }
+
+        assertThat(bytesPerCall).as("Bytes allocated per call of %s", path).isLessThanOrEqualTo(path.budgetBytes);
+    }
+}
@@ -49,4 +49,30 @@ class AsteroidStateTest {
         
         assertThat(asteroid.storedWaterKgs).isEqualTo(0);
     }
+
+    @Test
+    void rawCoordinates_shouldMatchPosition() {
+        final AsteroidState asteroid = AsteroidState.wilsonHarrington();
+        asteroid.updateDistanceFromSun(400, 1537);
+
+        assertThat(asteroid.getPosition().contents())
+                .containsExactly(asteroid.getX(), asteroid.getY(), asteroid.getZ());
+        assertThat(asteroid.getDistanceFromSun()).isCloseTo(asteroid.getPosition().magnitude(), within(1e-12));
+    }
+
+    @Test
+    void updateDistanceFromSun_overConsecutiveDays_shouldMatchDirectPosition() {
+        final AsteroidState asteroid = AsteroidState.wilsonHarrington();
+        final int totalDaysInOrbit = SimulationState.TOTAL_DAYS_IN_ORBIT;
+
+        for (int day = 1; day <= 2 * totalDaysInOrbit; day++) {
+            asteroid.updateDistanceFromSun(day, totalDaysInOrbit);
+            final double[] expected = asteroid.getOrbitalElements()
+                    .positionAt(asteroid.meanAnomaly(day, totalDaysInOrbit)).contents();
+
+            assertThat(asteroid.getX()).isCloseTo(expected[0], within(1e-12));
+            assertThat(asteroid.getY()).isCloseTo(expected[1], within(1e-12));
+            assertThat(asteroid.getZ()).isCloseTo(expected[2], within(1e-12));
+        }
+    }
 }
@@ -0,0 +1,75 @@
+package wh;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ColumnarFileSinkTest {
+
+    private static final int DAYS = 40;
+
+    private final Hauler hauler = new Hauler(HaulerClass.SMALL,
+            new EnumMap<>(Map.of(WaterPropulsionSystem.THERMAL, 1)),
+            new EnumMap<>(Map.of(PowerSource.SOLAR, 5)));
+
+    @Test
+    void open_shouldReadBackEveryOptionAcrossChunks(@TempDir Path directory) throws Exception {
+        final InMemorySink expected = new InMemorySink();
+        new SimulationRunner(new ShipmentCalculator()).runOrbit(
+                new SimulationContext(SimulationParameters.DEFAULT, new SplittableRandom(4)), hauler, DAYS,
+                expected);
+        // Small chunks so the rows span many mappings, the last one only partly used
+        final ColumnarFileSink sink = new ColumnarFileSink(directory, 100);
+        new SimulationRunner(new ShipmentCalculator()).runOrbit(
+                new SimulationContext(SimulationParameters.DEFAULT, new SplittableRandom(4)), hauler, DAYS, sink);
+
+        final List<DayResult.Option> options = new ArrayList<>();
+        final List<Integer> days = new ArrayList<>();
+        for (DayResult result : expected.getResults()) {
+            for (DayResult.Option option : result.options()) {
+                options.add(option);
+                days.add(result.dayInOrbit());
+            }
+        }
+        final ColumnarResults results = ColumnarResults.open(directory);
+
+        assertThat(sink.getRows()).isEqualTo(options.size());
+        assertThat(results.rows()).isEqualTo(options.size());
+        assertThat(options.size() % 100).isNotZero();
+        for (int row = 0; row < results.rows(); row++) {
+            final DayResult.Option option = options.get(row);
+            assertThat(results.day(row)).isEqualTo(days.get(row));
+            assertThat(results.destination(row)).isEqualTo(option.destination());
+            assertThat(results.optionType(row)).isEqualTo(option.optionType());
+            assertThat(results.deltaV(row)).isEqualTo(option.deltaV());
+            assertThat(results.fuelKgs(row)).isEqualTo(option.kgsWaterUsedForDeltaV());
+            assertThat(results.profit(row)).isEqualTo(option.profit());
+            assertThat(results.time(row)).isEqualTo(option.time());
+        }
+        for (ColumnarFileSink.Column column : ColumnarFileSink.Column.values()) {
+            assertThat(Files.size(directory.resolve(column.fileName))).isEqualTo((long) options.size() * column.width);
+        }
+    }
+
+    @Test
+    void open_beforeClose_shouldThrow(@TempDir Path directory) throws Exception {
+        final ColumnarFileSink sink = new ColumnarFileSink(directory);
+        new SimulationRunner(new ShipmentCalculator()).runDay(
+                new SimulationContext(SimulationParameters.DEFAULT, new SplittableRandom(4)), hauler, 1, DAYS);
+
+        assertThatThrownBy(() -> ColumnarResults.open(directory)).isInstanceOf(IOException.class);
+        sink.close();
+        assertThat(ColumnarResults.open(directory).rows()).isZero();
+    }
+}
@@ -0,0 +1,42 @@
+package wh;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsoleSinkTest {
+
+    @Test
+    void accept_shouldPrintTablesAndDecision() {
+        final DayResult.Option efficient = new DayResult.Option(DestinationType.MARS,
+                ShipmentCalculator.OptionType.EFFICIENT, 1, 0, 0, 7.5, 5000, 200, 0.1, 250, 36000);
+        final DayResult.Option cycler = new DayResult.Option(DestinationType.MARS,
+                ShipmentCalculator.OptionType.CYCLER, 1, 0, 0, 7.5, 5000, 6000, 2, 300, -1);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        new ConsoleSink(new PrintStream(bytes)).accept(new DayResult(12, 1, 1, 0, Math.sqrt(2), 4000, 5000, 5000,
+                List.of(efficient, cycler), efficient, 0));
+
+        assertThat(bytes.toString())
+                .contains("Day 12 | Distance from Sun: 1.414 AU")
+                .contains("Mined 4000 kg water, now available 5000 kg")
+                .contains("Efficient Options")
+                .contains("5000/4800")
+                .contains("36000.0")
+                .contains("Shipped 5000 kg to Mars by the efficient route");
+    }
+
+    @Test
+    void accept_whenStored_shouldSayWaterWasStored() {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        new ConsoleSink(new PrintStream(bytes)).accept(new DayResult(1, 1, 0, 0, 1, 5000, 5000, 5000, List.of(),
+                null, 5000));
+
+        assertThat(bytes.toString()).contains("Water stored for future use");
+    }
+}
@@ -0,0 +1,54 @@
+package wh;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class CounterPriceSourceTest {
+
+    private static final int DAYS = 365;
+
+    @Test
+    void salePricePerKg_shouldNotDependOnOrderOfCells() {
+        final CounterPriceSource source = new CounterPriceSource(17);
+        final double later = source.salePricePerKg(3, 200, DAYS, DestinationType.PSYCHE);
+
+        for (int day = DAYS; day >= 1; day--) {
+            source.salePricePerKg(5, day, DAYS, DestinationType.MARS);
+        }
+
+        assertThat(new CounterPriceSource(17).salePricePerKg(3, 200, DAYS, DestinationType.PSYCHE)).isEqualTo(later);
+        assertThat(source.salePricePerKg(3, 200, DAYS, DestinationType.PSYCHE)).isEqualTo(later);
+    }
+
+    @Test
+    void salePricePerKg_shouldDifferAcrossEveryCoordinate() {
+        final CounterPriceSource source = new CounterPriceSource(17);
+        final double price = source.salePricePerKg(3, 200, DAYS, DestinationType.EARTH_LEO);
+
+        assertThat(new CounterPriceSource(18).salePricePerKg(3, 200, DAYS, DestinationType.EARTH_LEO))
+                .isNotEqualTo(price);
+        assertThat(source.salePricePerKg(4, 200, DAYS, DestinationType.EARTH_LEO)).isNotEqualTo(price);
+        assertThat(source.salePricePerKg(3, 201, DAYS, DestinationType.EARTH_LEO)).isNotEqualTo(price);
+        assertThat(source.salePricePerKg(3, 200, DAYS, DestinationType.EML1)).isNotEqualTo(price);
+    }
+
+    @Test
+    void salePricePerKg_shouldSpreadUniformlyOverTheTypesRange() {
+        final CounterPriceSource source = new CounterPriceSource(1);
+        double sum = 0;
+        int count = 0;
+        for (int run = 0; run < 20; run++) {
+            for (int day = 1; day <= DAYS; day++) {
+                final double price = source.salePricePerKg(run, day, DAYS, DestinationType.EARTH_LEO);
+                assertThat(price).isBetween(5.0, 8.0);
+                sum += price;
+                count++;
+            }
+        }
+
+        // 5 + 3U has mean 6.5 and standard deviation 0.87, so the mean of 7300 prices is within 0.03 of it
+        assertThat(sum / count).isCloseTo(6.5, within(0.05));
+    }
+}
@@ -0,0 +1,34 @@
+package wh;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvFileSinkTest {
+
+    @Test
+    void accept_shouldWriteLinePerOption(@TempDir Path directory) throws Exception {
+        final Path path = directory.resolve("orbit.csv");
+        final DayResult.Option efficient = new DayResult.Option(DestinationType.MARS,
+                ShipmentCalculator.OptionType.EFFICIENT, 1, 0, 0, 7.5, 5000, 200, 0.1, 250, 36000);
+        final DayResult.Option fast = new DayResult.Option(DestinationType.EML1,
+                ShipmentCalculator.OptionType.FAST, 1, 0, 0, 7.0, 5000, 6000, 2, 30, -1);
+
+        try (CsvFileSink sink = new CsvFileSink(path)) {
+            sink.accept(new DayResult(3, 1, 0, 0, 1, 5000, 5000, 5000, List.of(efficient, fast), efficient,
+                    0));
+        }
+
+        final List<String> lines = Files.readAllLines(path);
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).isEqualTo(CsvFileSink.HEADER);
+        assertThat(lines.get(1)).startsWith("3,").contains(",MARS,EFFICIENT,").endsWith(",true");
+        assertThat(lines.get(2)).contains(",EML1,FAST,").endsWith(",false");
+        assertThat(lines.get(1).split(",")).hasSameSizeAs(CsvFileSink.HEADER.split(","));
+    }
+}
@@ -0,0 +1,53 @@
+package wh;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CyclerStrategyTest {
+
+    private static final int DAYS = 120;
+
+    @Test
+    void decide_whenHaulerCannotReachCycler_shouldPlayAsBestRoute() {
+        final Hauler hauler = new Hauler(HaulerClass.SMALL,
+                new EnumMap<>(Map.of(WaterPropulsionSystem.THERMAL, 1)),
+                new EnumMap<>(Map.of(PowerSource.SOLAR, 5)));
+
+        final List<StrategyStanding> standings = StrategyTournament.run(SimulationParameters.DEFAULT, hauler,
+                List.of(ShippingRule.BEST_ROUTE, new CyclerStrategy(DestinationType.MARS)), 16, DAYS, 2);
+
+        assertThat(standings.get(0).meanProfit()).isEqualTo(standings.get(1).meanProfit());
+    }
+
+    @Test
+    void decide_shouldEstablishCyclerFirstWhenHaulerCan() {
+        final Hauler hauler = new Hauler(HaulerClass.SMALL,
+                new EnumMap<>(Map.of(WaterPropulsionSystem.ELECTROLYSIS, 4, WaterPropulsionSystem.ELECTROSTATIC, 1)),
+                new EnumMap<>(Map.of(PowerSource.BEAMED, 4)));
+        final SimulationContext context = new SimulationContext(SimulationParameters.DEFAULT,
+                new SplittableRandom(1));
+        final ShippingDay day = new ShippingDay(context.getDestinations(), new HaulerPerformance(hauler),
+                SimulationParameters.DEFAULT.difficultyScale());
+        final boolean[] cyclers = new boolean[context.getDestinations().size()];
+        for (Destination destination : context.getDestinations()) {
+            destination.updateDaily(SimulationParameters.DEFAULT, context.getAsteroid(), 1, DAYS);
+        }
+        day.update(context.getDestinations());
+        day.set(1, DAYS, 0, SimulationState.KGS_WATER_MINED_PER_DAY, cyclers);
+        final int mars = DestinationType.MARS.ordinal();
+
+        assertThat(new CyclerStrategy(DestinationType.MARS).decide(day))
+                .isEqualTo(ShippingDecision.establishCycler(mars));
+
+        cyclers[mars] = true;
+        final ShippingDecision decision = new CyclerStrategy(DestinationType.MARS).decide(day);
+        assertThat(decision.action()).isNotEqualTo(ShippingDecision.Action.ESTABLISH_CYCLER);
+        assertThat(day.cyclerEstablishmentKgs(mars)).isLessThan(SimulationState.KGS_WATER_MINED_PER_DAY);
+    }
+}
@@ -1,11 +1,16 @@
 package wh;
 
 import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 
 class DestinationTest {
 
+    private final AsteroidState asteroid = AsteroidState.wilsonHarrington();
+
     @Test
     void createDestination_shouldInitializeCorrectly() {
         final Destination destination = DestinationType.EARTH_LEO.createDestination();
@@ -20,7 +25,7 @@ class DestinationTest {
         final Destination destination = DestinationType.MARS.createDestination();
         final double initialPrice = destination.salePricePerKg;
         
-        destination.updateDaily(30, 365);
+        destination.updateDaily(SimulationParameters.DEFAULT, asteroid, 30, 365);
         
         assertThat(destination.salePricePerKg).isNotEqualTo(initialPrice);
     }
@@ -34,7 +39,7 @@ class DestinationTest {
             assertThat(destination.type).isEqualTo(type);
             
             // Update and verify it doesn't throw exceptions
-            destination.updateDaily(1, 365);
+            destination.updateDaily(SimulationParameters.DEFAULT, asteroid, 1, 365);
             // If we got here without exception, the test passes
         }
     }
@@ -44,16 +49,20 @@ class DestinationTest {
         final Destination destination = DestinationType.MARS.createDestination();
         
         // Test with day 0 (edge case)
-        assertThatCode(() -> destination.updateDaily(0, 365)).doesNotThrowAnyException();
+        assertThatCode(() -> destination.updateDaily(SimulationParameters.DEFAULT, asteroid, 0, 365))
+                .doesNotThrowAnyException();
         
         // Test with negative day (edge case)
-        assertThatCode(() -> destination.updateDaily(-10, 365)).doesNotThrowAnyException();
+        assertThatCode(() -> destination.updateDaily(SimulationParameters.DEFAULT, asteroid, -10, 365))
+                .doesNotThrowAnyException();
         
         // Test with day > totalDays (edge case)
-        assertThatCode(() -> destination.updateDaily(366, 365)).doesNotThrowAnyException();
+        assertThatCode(() -> destination.updateDaily(SimulationParameters.DEFAULT, asteroid, 366, 365))
+                .doesNotThrowAnyException();
         
         // Test with zero totalDays (edge case that could cause division by zero)
-        assertThatCode(() -> destination.updateDaily(1, 0)).doesNotThrowAnyException();
+        assertThatCode(() -> destination.updateDaily(SimulationParameters.DEFAULT, asteroid, 1, 0))
+                .doesNotThrowAnyException();
     }
     
     @Test
@@ -61,14 +70,43 @@ class DestinationTest {
         final Destination destination = DestinationType.MARS.createDestination();
         
         // Update and capture initial values
-        destination.updateDaily(1, 365);
+        destination.updateDaily(SimulationParameters.DEFAULT, asteroid, 1, 365);
         final double initialDeltaVEfficient = destination.deltaVEfficient;
         final double initialTimeEfficient = destination.timeEfficient;
         
         // Update to a different day and verify values change
-        destination.updateDaily(180, 365);
+        destination.updateDaily(SimulationParameters.DEFAULT, asteroid, 180, 365);
         
         assertThat(destination.deltaVEfficient).isNotEqualTo(initialDeltaVEfficient);
         assertThat(destination.timeEfficient).isNotEqualTo(initialTimeEfficient);
     }
+
+    @Test
+    void updateDaily_withSameSeed_shouldDrawSamePrices() {
+        final Destination first = DestinationType.MARS.createDestination(new SplittableRandom(3));
+        final Destination second = DestinationType.MARS.createDestination(new SplittableRandom(3));
+
+        for (int day = 1; day <= 10; day++) {
+            first.updateDaily(SimulationParameters.DEFAULT, asteroid, day, 365);
+            second.updateDaily(SimulationParameters.DEFAULT, asteroid, day, 365);
+
+            assertThat(second.salePricePerKg).isEqualTo(first.salePricePerKg);
+        }
+    }
+
+    @Test
+    void updateDaily_withPriceSource_shouldTakeItsPriceAndSameTransfers() {
+        final Destination drawn = DestinationType.MARS.createDestination(new SplittableRandom(3));
+        final Destination fromSource = DestinationType.MARS.createDestination(new SplittableRandom(3));
+        final PriceSource prices = (run, dayInOrbit, totalDaysInOrbit, destination) -> run * 100 + dayInOrbit;
+
+        for (int day = 1; day <= 10; day++) {
+            drawn.updateDaily(SimulationParameters.DEFAULT, asteroid, day, 365);
+            fromSource.updateDaily(SimulationParameters.DEFAULT, asteroid, prices, 2, day, 365);
+
+            assertThat(fromSource.salePricePerKg).isEqualTo(200 + day);
+            assertThat(fromSource.deltaVEfficient).isEqualTo(drawn.deltaVEfficient);
+            assertThat(fromSource.timeFast).isEqualTo(drawn.timeFast);
+        }
+    }
 }
@@ -0,0 +1,67 @@
+package wh;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class FilterStageTest {
+
+    private static final int DAYS = 120;
+
+    private final Hauler hauler = new Hauler(HaulerClass.SMALL,
+            new EnumMap<>(Map.of(WaterPropulsionSystem.THERMAL, 1)),
+            new EnumMap<>(Map.of(PowerSource.SOLAR, 5)));
+
+    @Test
+    void onNext_shouldPassOnMatchingDaysOffTheSimulationThread() throws Exception {
+        final InMemorySink expected = new InMemorySink();
+        new SimulationRunner(new ShipmentCalculator()).runOrbit(
+                new SimulationContext(SimulationParameters.DEFAULT, new SplittableRandom(6)), hauler, DAYS,
+                expected);
+        final CompletableFuture<Thread> filterThread = new CompletableFuture<>();
+
+        final InMemorySink everyDay = new InMemorySink();
+        final ShipmentTally tally = new ShipmentTally();
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            final PublishingSink publisher = new PublishingSink(executor, 16, 4);
+            final SinkSubscriber writer = new SinkSubscriber(everyDay);
+            publisher.subscribe(writer);
+            final FilterStage shipped = new FilterStage(executor, 4, result -> {
+                filterThread.complete(Thread.currentThread());
+                return !result.stored();
+            });
+            publisher.subscribe(shipped);
+            final SinkSubscriber tallier = new SinkSubscriber(tally);
+            shipped.subscribe(tallier);
+
+            new SimulationRunner(new ShipmentCalculator()).runOrbit(
+                    new SimulationContext(SimulationParameters.DEFAULT, new SplittableRandom(6)), hauler, DAYS,
+                    publisher);
+            CompletableFuture.allOf(writer.completion(), tallier.completion()).get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(everyDay.getResults()).isEqualTo(expected.getResults());
+        for (DestinationType type : DestinationType.values()) {
+            assertThat(tally.getShipments(type)).isEqualTo(expected.getResults().stream()
+                    .filter(result -> !result.stored() && result.shipped().destination() == type)
+                    .count());
+        }
+        assertThat(tally.getTotalProfit()).isCloseTo(expected.getResults().stream()
+                .filter(result -> !result.stored())
+                .mapToDouble(result -> result.shipped().profit())
+                .sum(), within(1e-3));
+        assertThat(filterThread.get()).isNotSameAs(Thread.currentThread());
+    }
+}
@@ -0,0 +1,101 @@
+package wh;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FleetSimulatorTest {
+
+    private static final int DAYS = 3 * SimulationState.TOTAL_DAYS_IN_ORBIT;
+
+    private final Hauler hauler = new Hauler(HaulerClass.SMALL,
+            new EnumMap<>(Map.of(WaterPropulsionSystem.THERMAL, 1)),
+            new EnumMap<>(Map.of(PowerSource.SOLAR, 5)));
+
+    private FleetResult run(final SimulationParameters parameters, final int fleetSize, final long seed) {
+        final SimulationContext context = new SimulationContext(parameters, new SplittableRandom(seed));
+        return new FleetSimulator(context, Collections.nCopies(fleetSize, hauler), ShippingRule.BEST_ROUTE,
+                SimulationState.TOTAL_DAYS_IN_ORBIT).run(DAYS);
+    }
+
+    @Test
+    void run_shouldAccountForEveryKgMined() {
+        final FleetResult result = run(SimulationParameters.DEFAULT, 5, 1);
+
+        assertThat(result.shipments()).isPositive();
+        assertThat(result.profit()).isPositive();
+        assertThat(result.kgsWaterShipped() + result.storedWaterKgs())
+                .isEqualTo((long) DAYS * SimulationParameters.DEFAULT.kgsWaterMinedPerDay());
+        assertThat(result.kgsWaterDelivered()).isLessThanOrEqualTo(result.kgsWaterShipped());
+    }
+
+    @Test
+    void run_withLargerFleet_shouldShipMoreWithoutSteppingEveryDay() {
+        final FleetResult one = run(SimulationParameters.DEFAULT, 1, 1);
+        final FleetResult many = run(SimulationParameters.DEFAULT, 200, 1);
+
+        assertThat(many.shipments()).isGreaterThan(one.shipments());
+        assertThat(many.profit()).isGreaterThan(one.profit());
+        // Each trip is a departure, an arrival and a return, plus occasional waits for water
+        assertThat(many.events()).isLessThan(4L * many.shipments() + DAYS);
+        assertThat(one.events()).isLessThan(DAYS);
+    }
+
+    @Test
+    void run_withSameSeed_shouldRepeat() {
+        assertThat(run(SimulationParameters.DEFAULT, 20, 4)).isEqualTo(run(SimulationParameters.DEFAULT, 20, 4));
+    }
+
+    @Test
+    void run_withNothingMined_shouldNeverShip() {
+        final FleetResult result = run(new SimulationParameters(0, 0.2f, true, true), 3, 1);
+
+        assertThat(result.shipments()).isZero();
+        assertThat(result.profit()).isZero();
+        assertThat(result.events()).isEqualTo(1);
+    }
+
+    @Test
+    void constructor_withNoHaulers_shouldThrow() {
+        final SimulationContext context = new SimulationContext(SimulationParameters.DEFAULT,
+                new SplittableRandom(1));
+
+        assertThatThrownBy(() -> new FleetSimulator(context, List.of(), ShippingRule.BEST_ROUTE,
+                SimulationState.TOTAL_DAYS_IN_ORBIT)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void run_resumedFromCheckpoint_shouldGiveSameResultAsUninterruptedRun(@TempDir Path directory)
+            throws Exception {
+        final Path path = directory.resolve("fleet.checkpoint");
+        final FleetSimulator killed = FleetSimulator.start(SimulationParameters.DEFAULT,
+                Collections.nCopies(20, hauler), ShippingRule.BEST_ROUTE, SimulationState.TOTAL_DAYS_IN_ORBIT, 4);
+        killed.run(400, 100, path);
+
+        final FleetSimulator resumed = FleetSimulator.read(path);
+
+        assertThat(resumed.getDayReached()).isEqualTo(400);
+        // Started from a seed the prices are drawn as from a SplittableRandom with it
+        assertThat(resumed.run(DAYS, 100, path)).isEqualTo(run(SimulationParameters.DEFAULT, 20, 4));
+        assertThat(FleetSimulator.read(path).getDayReached()).isEqualTo(DAYS);
+    }
+
+    @Test
+    void run_withCheckpointsAndNoSeed_shouldThrow(@TempDir Path directory) {
+        final SimulationContext context = new SimulationContext(SimulationParameters.DEFAULT, new SplittableRandom(1));
+        final FleetSimulator fleet = new FleetSimulator(context, List.of(hauler), ShippingRule.BEST_ROUTE,
+                SimulationState.TOTAL_DAYS_IN_ORBIT);
+
+        assertThatThrownBy(() -> fleet.run(DAYS, 100, directory.resolve("fleet.checkpoint")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,64 @@
+package wh;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class HaulerDesignEnumeratorTest {
+
+    private static final List<HaulerDesign> FRONTIER = HaulerDesignEnumerator.paretoFrontier();
+
+    @Test
+    void paretoFrontier_shouldCoverEveryClass() {
+        for (HaulerClass type : HaulerClass.values()) {
+            assertThat(FRONTIER).anyMatch(design -> design.type() == type);
+        }
+    }
+
+    @Test
+    void paretoFrontier_shouldOnlyContainBuildableDesigns() {
+        for (HaulerDesign design : FRONTIER) {
+            final Hauler hauler = design.toHauler();
+            int engineWeightKgs = 0;
+            for (WaterPropulsionSystem engine : WaterPropulsionSystem.values()) {
+                engineWeightKgs += engine.weightKg * design.engineCounts()[engine.ordinal()];
+            }
+
+            assertThat(engineWeightKgs).isLessThanOrEqualTo(design.type().maxEngineWeightKgs);
+            assertThat(hauler.getImpulseMetersSec()).isPositive();
+            assertThat(design.kgsFuelPerKmSec()).isCloseTo(
+                    hauler.getDryWeightKgs() * Math.expm1(1000.0 / hauler.getImpulseMetersSec()), within(1e-6));
+        }
+    }
+
+    @Test
+    void paretoFrontier_shouldNotContainDominatedDesigns() {
+        for (HaulerDesign design : FRONTIER) {
+            for (HaulerDesign other : FRONTIER) {
+                assertThat(other.dominates(design)).isFalse();
+            }
+        }
+    }
+
+    @Test
+    void paretoFrontier_shouldBeTheSameOnEveryRun() {
+        final List<HaulerDesign> again = HaulerDesignEnumerator.paretoFrontier(new ForkJoinPool(3));
+
+        assertThat(again).hasSameSizeAs(FRONTIER);
+        for (int i = 0; i < FRONTIER.size(); i++) {
+            assertThat(again.get(i).engineCounts()).isEqualTo(FRONTIER.get(i).engineCounts());
+            assertThat(again.get(i).powerCounts()).isEqualTo(FRONTIER.get(i).powerCounts());
+        }
+    }
+
+    @Test
+    void paretoFrontier_shouldContainCheapestSingleEngineHauler() {
+        // One electrolysis engine on three solar units is the cheapest hauler that can be built
+        assertThat(FRONTIER).anyMatch(design -> design.type() == HaulerClass.HUGE &&
+                design.cost() == WaterPropulsionSystem.ELECTROLYSIS.cost + 3L * PowerSource.SOLAR.cost);
+    }
+}
@@ -0,0 +1,103 @@
+package wh;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class HaulerGenomeTest {
+
+    private static final Hauler HAULER = new Hauler(HaulerClass.LARGE,
+            new EnumMap<>(Map.of(WaterPropulsionSystem.PLASMA, 3, WaterPropulsionSystem.ELECTROLYSIS, 30)),
+            new EnumMap<>(Map.of(PowerSource.BEAMED, 32, PowerSource.SOLAR, 5)));
+
+    @Test
+    void decode_shouldReverseEncode() {
+        final long genome = HaulerGenome.encode(HAULER);
+
+        assertThat(HaulerGenome.decode(genome)).isEqualTo(HAULER);
+        assertThat(HaulerGenome.encode(HaulerGenome.decode(genome))).isEqualTo(genome);
+    }
+
+    @Test
+    void decode_withZeroCountsEncoded_shouldLeaveThemOut() {
+        final Hauler withZeros = new Hauler(HaulerClass.LARGE,
+                new EnumMap<>(Map.of(WaterPropulsionSystem.PLASMA, 3, WaterPropulsionSystem.ELECTROLYSIS, 30,
+                        WaterPropulsionSystem.THERMAL, 0)),
+                new EnumMap<>(Map.of(PowerSource.BEAMED, 32, PowerSource.SOLAR, 5, PowerSource.FUSION, 0)));
+
+        assertThat(HaulerGenome.encode(withZeros)).isEqualTo(HaulerGenome.encode(HAULER));
+        assertThat(HaulerGenome.decode(HaulerGenome.encode(withZeros))).isEqualTo(HAULER).isNotEqualTo(withZeros);
+    }
+
+    @Test
+    void derivedProperties_shouldMatchRecord() {
+        final long genome = HaulerGenome.encode(HAULER);
+
+        assertThat(HaulerGenome.type(genome)).isEqualTo(HaulerClass.LARGE);
+        assertThat(HaulerGenome.impulseMetersSec(genome)).isEqualTo(HAULER.getImpulseMetersSec());
+        assertThat(HaulerGenome.dryWeightKgs(genome)).isEqualTo(HAULER.getDryWeightKgs());
+        assertThat(HaulerGenome.requiredPowerKw(genome)).isEqualTo(3 * 75 + 30 * 3);
+        assertThat(HaulerGenome.availablePowerKw(genome)).isEqualTo(32 * 10 + 5);
+        assertThat(HaulerGenome.cost(genome)).isEqualTo(3 * 10_000_000L + 30 * 1_000_000L + 32 * 2_500_000L +
+                5 * 500_000L);
+        assertThat(HaulerGenome.isValid(genome)).isTrue();
+    }
+
+    @ParameterizedTest
+    @EnumSource(HaulerClass.class)
+    void fields_shouldHoldTheirLargestCountsWithoutOverlapping(HaulerClass type) {
+        long genome = HaulerGenome.of(type);
+        for (WaterPropulsionSystem engine : WaterPropulsionSystem.values()) {
+            genome = HaulerGenome.withEngineCount(genome, engine, engine.maxPerShip);
+        }
+        genome = HaulerGenome.withPowerCount(genome, PowerSource.SOLAR, 65_535);
+        genome = HaulerGenome.withPowerCount(genome, PowerSource.BEAMED, 65_535);
+        genome = HaulerGenome.withPowerCount(genome, PowerSource.FUSION, 255);
+
+        assertThat(HaulerGenome.type(genome)).isEqualTo(type);
+        for (WaterPropulsionSystem engine : WaterPropulsionSystem.values()) {
+            assertThat(HaulerGenome.engineCount(genome, engine)).isEqualTo(engine.maxPerShip);
+        }
+        assertThat(HaulerGenome.powerCount(genome, PowerSource.SOLAR)).isEqualTo(65_535);
+        assertThat(HaulerGenome.powerCount(genome, PowerSource.BEAMED)).isEqualTo(65_535);
+        assertThat(HaulerGenome.powerCount(genome, PowerSource.FUSION)).isEqualTo(255);
+    }
+
+    @Test
+    void isValid_shouldAgreeWithRecordValidation() {
+        final long underpowered = HaulerGenome.withEngineCount(HaulerGenome.of(HaulerClass.SMALL),
+                WaterPropulsionSystem.THERMAL, 5);
+        final long tooManyEngines = HaulerGenome.withPowerCount(HaulerGenome.withEngineCount(
+                HaulerGenome.of(HaulerClass.SMALL), WaterPropulsionSystem.THERMAL, 12), PowerSource.BEAMED, 10);
+
+        assertThat(HaulerGenome.isValid(underpowered)).isFalse();
+        assertThat(HaulerGenome.isValid(tooManyEngines)).isFalse();
+        assertThatThrownBy(() -> HaulerGenome.decode(underpowered)).hasMessageContaining("Required power");
+        assertThatThrownBy(() -> HaulerGenome.decode(tooManyEngines)).hasMessageContaining("Too many engines");
+    }
+
+    @Test
+    void withEngineCount_withCountTooLargeForField_shouldThrow() {
+        assertThatThrownBy(() -> HaulerGenome.withEngineCount(0, WaterPropulsionSystem.FUSION, 4))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HaulerGenome.withPowerCount(0, PowerSource.SOLAR, -1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void frontierDesigns_shouldMatchTheirGenomes() {
+        for (HaulerDesign design : HaulerDesignEnumerator.paretoFrontier()) {
+            assertThat(HaulerGenome.cost(design.genome())).isEqualTo(design.cost());
+            assertThat(HaulerGenome.kgsFuelPerKmSec(design.genome()))
+                    .isCloseTo(design.kgsFuelPerKmSec(), within(1e-6));
+            assertThat(HaulerGenome.encode(design.toHauler())).isEqualTo(design.genome());
+        }
+    }
+}
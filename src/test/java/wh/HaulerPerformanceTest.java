@@ -0,0 +1,80 @@
+package wh;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class HaulerPerformanceTest {
+
+    private static final Hauler HAULER = new Hauler(HaulerClass.SMALL,
+            new EnumMap<>(Map.of(WaterPropulsionSystem.THERMAL, 1)),
+            new EnumMap<>(Map.of(PowerSource.SOLAR, 5)));
+
+    @Test
+    void constructor_shouldCacheHaulerTotals() {
+        final HaulerPerformance performance = new HaulerPerformance(HAULER);
+
+        assertThat(performance.getImpulseMetersSec()).isEqualTo(HAULER.getImpulseMetersSec());
+        assertThat(performance.getDryWeightKgs()).isEqualTo(HAULER.getDryWeightKgs());
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0.01, 0.05, 0.1, 0.2})
+    void kgsFuelToAccelerateTo_shouldInvertRocketEquation(double targetDeltaV) {
+        final HaulerPerformance performance = new HaulerPerformance(HAULER);
+
+        final double fuelKgs = performance.kgsFuelToAccelerateTo(targetDeltaV);
+
+        assertThat(HAULER.deltaVFromBurning(fuelKgs, HAULER.getDryWeightKgs()))
+                .isCloseTo(targetDeltaV, within(1e-12));
+    }
+
+    @Test
+    void kgsFuelToAccelerateTo_shouldKeepLegacyLimits() {
+        final HaulerPerformance performance = new HaulerPerformance(HAULER);
+
+        assertThat(performance.kgsFuelToAccelerateTo(0.0)).isEqualTo(0.0);
+        assertThat(performance.kgsFuelToAccelerateTo(-1.0)).isEqualTo(0.0);
+        assertThat(performance.kgsFuelToAccelerateTo(100000)).isEqualTo(Double.POSITIVE_INFINITY);
+        assertThat(performance.kgsFuelToAccelerateTo(0.1)).isEqualTo(HAULER.kgsFuelToAccelerateTo(0.1));
+    }
+
+    @Test
+    void kgsFuelToAccelerateTo_forBatch_shouldMatchScalar() {
+        final HaulerPerformance performance = new HaulerPerformance(HAULER);
+        final double[] targetDeltaVs = new double[21]; // Deliberately not a multiple of any lane count
+        for (int i = 0; i < targetDeltaVs.length; i++) {
+            targetDeltaVs[i] = 0.05 * i;
+        }
+        targetDeltaVs[3] = -0.2;
+        targetDeltaVs[5] = Double.NaN;
+        targetDeltaVs[20] = 100000;
+
+        final double[] fuelKgs = performance.kgsFuelToAccelerateTo(targetDeltaVs);
+
+        for (int i = 0; i < targetDeltaVs.length; i++) {
+            final double expected = performance.kgsFuelToAccelerateTo(targetDeltaVs[i]);
+            if (Double.isInfinite(expected)) {
+                assertThat(fuelKgs[i]).isEqualTo(expected);
+            } else {
+                assertThat(fuelKgs[i]).isCloseTo(expected, within(1e-9));
+            }
+        }
+    }
+
+    @Test
+    void kgsFuelToAccelerateTo_withMismatchedOutput_shouldThrow() {
+        final HaulerPerformance performance = new HaulerPerformance(HAULER);
+
+        assertThatThrownBy(() -> performance.kgsFuelToAccelerateTo(new double[3], new double[2]))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("length");
+    }
+}
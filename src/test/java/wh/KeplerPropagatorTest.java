@@ -0,0 +1,47 @@
+package wh;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class KeplerPropagatorTest {
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0.0, 0.0167, 0.63175, 0.9, 0.99})
+    void propagateTo_overConsecutiveDays_shouldMatchFullSolve(double eccentricity) {
+        final KeplerPropagator propagator = new KeplerPropagator(eccentricity);
+        final double meanMotion = 2 * Math.PI / SimulationState.TOTAL_DAYS_IN_ORBIT;
+
+        // Several orbits, so the mean anomaly runs well past 2 pi
+        for (int day = 1; day <= 5 * SimulationState.TOTAL_DAYS_IN_ORBIT; day++) {
+            final double meanAnomaly = 1.3 + meanMotion * day;
+            final double expected = MathsUtil.solveKepler(meanAnomaly, eccentricity);
+
+            assertThat(propagator.propagateTo(meanAnomaly)).isCloseTo(expected, within(1e-12));
+            assertThat(propagator.getSinE()).isCloseTo(Math.sin(expected), within(1e-12));
+            assertThat(propagator.getCosE()).isCloseTo(Math.cos(expected), within(1e-12));
+        }
+    }
+
+    @Test
+    void propagateTo_withJumpsAndReversals_shouldMatchFullSolve() {
+        final KeplerPropagator propagator = new KeplerPropagator(0.63175);
+
+        for (double meanAnomaly : new double[] {0.1, 0.11, 5.0, 4.99, -3.0, -2.995, 40.0, 0.2}) {
+            assertThat(propagator.propagateTo(meanAnomaly))
+                    .isCloseTo(MathsUtil.solveKepler(meanAnomaly, 0.63175), within(1e-12));
+        }
+    }
+
+    @Test
+    void propagateTo_afterNaN_shouldRecover() {
+        final KeplerPropagator propagator = new KeplerPropagator(0.5);
+        propagator.propagateTo(1.0);
+
+        assertThat(propagator.propagateTo(Double.NaN)).isNaN();
+        assertThat(propagator.propagateTo(1.01)).isCloseTo(MathsUtil.solveKepler(1.01, 0.5), within(1e-12));
+    }
+}
@@ -0,0 +1,109 @@
+package wh;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class LambertSolverTest {
+
+    @Test
+    void solve_withHohmannGeometry_shouldReturnHohmannVelocities() {
+        final double semiMajorAxis = 1.25;
+        final double halfPeriod = Math.PI * Math.sqrt(Math.pow(semiMajorAxis, 3) / MathsUtil.SUN_MU);
+        final double[] velocities = new double[6];
+
+        final boolean solved = LambertSolver.solve(MathsUtil.SUN_MU, 1.0, 0.0, 0.0, -1.5, 0.0, 0.0,
+                halfPeriod, velocities);
+
+        assertThat(solved).isTrue();
+        assertThat(velocities[0]).isCloseTo(0.0, within(1e-9));
+        assertThat(velocities[1]).isCloseTo(Math.sqrt(MathsUtil.SUN_MU * (2 / 1.0 - 1 / semiMajorAxis)), within(1e-9));
+        assertThat(velocities[3]).isCloseTo(0.0, within(1e-9));
+        assertThat(velocities[4]).isCloseTo(-Math.sqrt(MathsUtil.SUN_MU * (2 / 1.5 - 1 / semiMajorAxis)), within(1e-9));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "1.0, 0.0, 0.0, 0.0, 1.5, 0.1, 0.3",
+        "1.0, 0.2, 0.0, -2.0, -1.0, 0.0, 0.8",
+        "2.6, 0.4, 0.1, 0.3, 1.0, -0.05, 0.05",
+        "0.4, -0.1, 0.0, 1.0, 1.0, 0.0, 2.5"
+    })
+    void solve_shouldConserveAngularMomentumAndEnergy(double r1x, double r1y, double r1z,
+                                                      double r2x, double r2y, double r2z, double timeOfFlight) {
+        final double[] v = new double[6];
+
+        LambertSolver.solve(MathsUtil.SUN_MU, r1x, r1y, r1z, r2x, r2y, r2z, timeOfFlight, v);
+
+        assertThat(r1y * v[2] - r1z * v[1]).isCloseTo(r2y * v[5] - r2z * v[4], within(1e-9));
+        assertThat(r1z * v[0] - r1x * v[2]).isCloseTo(r2z * v[3] - r2x * v[5], within(1e-9));
+        assertThat(r1x * v[1] - r1y * v[0]).isCloseTo(r2x * v[4] - r2y * v[3], within(1e-9));
+        final double energy1 = (v[0] * v[0] + v[1] * v[1] + v[2] * v[2]) / 2 -
+                MathsUtil.SUN_MU / Math.sqrt(r1x * r1x + r1y * r1y + r1z * r1z);
+        final double energy2 = (v[3] * v[3] + v[4] * v[4] + v[5] * v[5]) / 2 -
+                MathsUtil.SUN_MU / Math.sqrt(r2x * r2x + r2y * r2y + r2z * r2z);
+        assertThat(energy1).isCloseTo(energy2, within(1e-9));
+        // Prograde, anticlockwise seen from above the ecliptic
+        assertThat(r1x * v[1] - r1y * v[0]).isPositive();
+    }
+
+    @Test
+    void solve_withDegenerateProblems_shouldReturnFalse() {
+        final double[] velocities = new double[6];
+
+        assertThat(LambertSolver.solve(MathsUtil.SUN_MU, 1, 0, 0, 0, 1, 0, 0.0, velocities)).isFalse();
+        assertThat(LambertSolver.solve(MathsUtil.SUN_MU, 1, 0, 0, 0, 1, 0, -0.5, velocities)).isFalse();
+        assertThat(LambertSolver.solve(MathsUtil.SUN_MU, 1, 0, 0, 1, 0, 0, 0.5, velocities)).isFalse();
+        assertThat(velocities).containsOnly(0.0);
+    }
+
+    @Test
+    void solveBatch_shouldMatchScalarSolve() {
+        // More problems than lanes, with a tail, spanning short, long way round and near parabolic transfers
+        final int count = 37;
+        final LambertBatch batch = new LambertBatch(count);
+        for (int i = 0; i < count; i++) {
+            final double angle = 0.3 + i * 0.17;
+            batch.setProblem(i, 1.0, 0.1, 0.0, 1.6 * Math.cos(angle), 1.6 * Math.sin(angle), 0.05 * (i % 3),
+                    0.02 + i * 0.04);
+        }
+
+        LambertSolver.solve(MathsUtil.SUN_MU, batch, count);
+
+        final double[] v = new double[6];
+        for (int i = 0; i < count; i++) {
+            assertThat(LambertSolver.solve(MathsUtil.SUN_MU, batch.r1x[i], batch.r1y[i], batch.r1z[i],
+                    batch.r2x[i], batch.r2y[i], batch.r2z[i], batch.timeOfFlight[i], v)).isTrue();
+            assertThat(batch.v1x[i]).isCloseTo(v[0], within(1e-9));
+            assertThat(batch.v1y[i]).isCloseTo(v[1], within(1e-9));
+            assertThat(batch.v1z[i]).isCloseTo(v[2], within(1e-9));
+            assertThat(batch.v2x[i]).isCloseTo(v[3], within(1e-9));
+            assertThat(batch.v2y[i]).isCloseTo(v[4], within(1e-9));
+            assertThat(batch.v2z[i]).isCloseTo(v[5], within(1e-9));
+        }
+    }
+
+    @Test
+    void solveBatch_withDegenerateProblems_shouldReturnNaN() {
+        final LambertBatch batch = new LambertBatch(3);
+        batch.setProblem(0, 1, 0, 0, 0, 1, 0, 0.0);
+        batch.setProblem(1, 1, 0, 0, 1, 0, 0, 0.5);
+        batch.setProblem(2, 1, 0, 0, 0, 1, 0, 0.5);
+
+        LambertSolver.solve(MathsUtil.SUN_MU, batch, 3);
+
+        assertThat(batch.v1x[0]).isNaN();
+        assertThat(batch.v2y[1]).isNaN();
+        assertThat(batch.v1y[2]).isPositive();
+    }
+
+    @Test
+    void solveBatch_withCountBeyondCapacity_shouldThrow() {
+        assertThatThrownBy(() -> LambertSolver.solve(MathsUtil.SUN_MU, new LambertBatch(4), 5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
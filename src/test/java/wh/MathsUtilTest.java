@@ -34,6 +34,22 @@ class MathsUtilTest {
         // The actual difference is about 0.73, so we'll test for > 0.7 instead of > 1.0
         assertThat(result - Math.PI/2).isGreaterThan(0.7);
     }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0.0, 0.3, 0.63175, 0.9, 0.95, 0.99})
+    void solveKepler_shouldSatisfyKeplersEquationAcrossRevolutions(double eccentricity) {
+        for (int i = -2000; i <= 2000; i++) {
+            final double meanAnomaly = 3 * Math.PI * i / 1000.0;
+            final double result = MathsUtil.solveKepler(meanAnomaly, eccentricity);
+            assertThat(result - eccentricity * Math.sin(result)).isCloseTo(meanAnomaly, within(1e-12));
+            assertThat(result).isCloseTo(meanAnomaly, within(Math.PI));
+        }
+    }
+
+    @Test
+    void solveKepler_withNaNMeanAnomaly_shouldReturnNaN() {
+        assertThat(MathsUtil.solveKepler(Double.NaN, 0.5)).isNaN();
+    }
     
     @ParameterizedTest
     @CsvSource({
@@ -198,6 +214,19 @@ class MathsUtilTest {
         assertThat(withAerobraking[2]).isLessThan(withoutAerobraking[2]); // Fast deltaV should be less
     }
     
+    @Test
+    void calculateTransfers_withDifficultyScale_shouldScaleHeliocentricDeltaV() {
+        final TransferResult easy = new TransferResult();
+        final TransferResult realistic = new TransferResult();
+
+        MathsUtil.calculateTransfers(2, 0.5, 0, -0.3, 1.4, 0, false, false, 0.2f, easy);
+        MathsUtil.calculateTransfers(2, 0.5, 0, -0.3, 1.4, 0, false, false, 1, realistic);
+
+        assertThat(easy.deltaVEfficient).isCloseTo(realistic.deltaVEfficient * 0.2, within(1e-6));
+        assertThat(easy.deltaVFast).isCloseTo(realistic.deltaVFast * 0.2, within(1e-6));
+        assertThat(easy.timeFast).isEqualTo(realistic.timeFast);
+    }
+
     @Test
     void calculateEarthRelativeTransfers_shouldReturnValidValues() {
         final DoublesVector asteroidPos = new DoublesVector(new double[]{2.0, 0.0, 0.0});
@@ -289,4 +318,46 @@ class MathsUtilTest {
             }
         }
     }
+
+    @Test
+    void calculateTransfers_withDestinationPassingAsteroid_shouldKeepFastDeltaVContinuous() {
+        final TransferResult result = new TransferResult();
+        double previous = Double.NaN;
+
+        // Steps of a tenth of a degree either side of alignment, stepping over exact alignment itself
+        for (int step = -10; step < 10; step++) {
+            final double angle = Math.toRadians(step * 0.1 + 0.05);
+            MathsUtil.calculateTransfers(1.1, 0, 0, Math.cos(angle), Math.sin(angle), 0, false, false, 1, result);
+
+            if (!Double.isNaN(previous)) {
+                assertThat(result.deltaVFast).as("Fast delta-v at %.2f degrees", Math.toDegrees(angle))
+                        .isCloseTo(previous, within(previous * 0.05));
+            }
+            previous = result.deltaVFast;
+        }
+    }
+
+    @Test
+    void calculateTransfers_withResultBuffer_shouldMatchArrayVersion() {
+        final DoublesVector asteroidPos = new DoublesVector(new double[]{1.0, 0.5, 0.0});
+        final DoublesVector destPos = new DoublesVector(new double[]{-1.5, 0.2, 0.1});
+        final TransferResult result = new TransferResult();
+
+        for (boolean isEarthRelative : new boolean[]{true, false}) {
+            MathsUtil.calculateTransfers(1.0, 0.5, 0.0, -1.5, 0.2, 0.1, isEarthRelative, false,
+                    SimulationParameters.DEFAULT.difficultyScale(), result);
+
+            assertThat(result.toArray())
+                    .containsExactly(MathsUtil.calculateTransfers(asteroidPos, destPos, isEarthRelative, false));
+        }
+    }
+
+    @Test
+    void calculateTransfers_withBodyOnPoleAxis_shouldNotReturnNaN() {
+        final TransferResult result = new TransferResult();
+
+        MathsUtil.calculateTransfers(0, 0, 1.2, -1.5, 0.2, 0.1, false, false, 1, result);
+
+        assertThat(result.toArray()).doesNotContain(Double.NaN);
+    }
 }
@@ -0,0 +1,128 @@
+package wh;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class MonteCarloSimulatorTest {
+
+    private static final int DAYS = 120;
+
+    private final Hauler hauler = new Hauler(HaulerClass.SMALL,
+            new EnumMap<>(Map.of(WaterPropulsionSystem.THERMAL, 1)),
+            new EnumMap<>(Map.of(PowerSource.SOLAR, 5)));
+
+    @Test
+    void run_shouldGiveSameResultWhateverTheThreadCount() {
+        final ForkJoinPool single = new ForkJoinPool(1);
+        final ForkJoinPool several = new ForkJoinPool(4);
+        try {
+            final Map<ShippingRule, ProfitDistribution> onOne = MonteCarloSimulator.run(
+                    SimulationParameters.DEFAULT, hauler, EnumSet.allOf(ShippingRule.class), 12, DAYS, 42, single);
+            final Map<ShippingRule, ProfitDistribution> onSeveral = MonteCarloSimulator.run(
+                    SimulationParameters.DEFAULT, hauler, EnumSet.allOf(ShippingRule.class), 12, DAYS, 42, several);
+
+            assertThat(onSeveral).isEqualTo(onOne);
+            assertThat(onOne.keySet()).containsExactly(ShippingRule.values());
+            assertThat(onOne.get(ShippingRule.BEST_ROUTE).runs()).isEqualTo(12);
+        } finally {
+            single.shutdown();
+            several.shutdown();
+        }
+    }
+
+    @Test
+    void run_withDifferentSeeds_shouldDrawDifferentPrices() {
+        final ProfitDistribution first = MonteCarloSimulator.run(SimulationParameters.DEFAULT, hauler,
+                EnumSet.of(ShippingRule.BEST_ROUTE), 4, DAYS, 1).get(ShippingRule.BEST_ROUTE);
+        final ProfitDistribution second = MonteCarloSimulator.run(SimulationParameters.DEFAULT, hauler,
+                EnumSet.of(ShippingRule.BEST_ROUTE), 4, DAYS, 2).get(ShippingRule.BEST_ROUTE);
+
+        assertThat(first.mean()).isNotEqualTo(second.mean());
+    }
+
+    @Test
+    void runOrbit_withBestRoute_shouldMatchSimulationRunner() {
+        final SimulationContext context = new SimulationContext(SimulationParameters.DEFAULT,
+                MonteCarloSimulator.streams(7, 1)[0]);
+        final InMemorySink sink = new InMemorySink();
+        new SimulationRunner(new ShipmentCalculator()).runOrbit(context, hauler, DAYS, sink);
+        final double runnerProfit = sink.getResults().stream()
+                .filter(result -> !result.stored())
+                .mapToDouble(result -> result.shipped().profit())
+                .sum();
+
+        final double[] profits = new double[1];
+        StrategyOrbit.run(SimulationParameters.DEFAULT, hauler,
+                new ShippingRule[] {ShippingRule.BEST_ROUTE}, DAYS, MonteCarloSimulator.streams(7, 1)[0], profits);
+
+        assertThat(profits[0]).isCloseTo(runnerProfit, within(runnerProfit * 1e-9));
+    }
+
+    @Test
+    void run_withNoRuns_shouldThrow() {
+        assertThatThrownBy(() -> MonteCarloSimulator.run(SimulationParameters.DEFAULT, hauler,
+                EnumSet.allOf(ShippingRule.class), 0, DAYS, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void run_checkpointedAndResumed_shouldGiveSameResultAsUncheckpointedRun(@TempDir Path directory)
+            throws Exception {
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            final Map<ShippingRule, ProfitDistribution> uncheckpointed = MonteCarloSimulator.run(
+                    SimulationParameters.DEFAULT, hauler, EnumSet.allOf(ShippingRule.class), 7, DAYS, 42, pool);
+
+            final Path path = directory.resolve("batch.checkpoint");
+            final Map<ShippingRule, ProfitDistribution> checkpointed = MonteCarloSimulator.run(
+                    SimulationParameters.DEFAULT, hauler, EnumSet.allOf(ShippingRule.class), 7, DAYS, 42, pool,
+                    path, 3);
+            // As a batch killed after its first checkpoint would have left it
+            Files.write(path, firstRuns(Files.readAllBytes(path), ShippingRule.values().length, 7, 3));
+            final Map<ShippingRule, ProfitDistribution> resumed = MonteCarloSimulator.run(
+                    SimulationParameters.DEFAULT, hauler, EnumSet.allOf(ShippingRule.class), 7, DAYS, 42, pool,
+                    path, 3);
+
+            assertThat(checkpointed).isEqualTo(uncheckpointed);
+            assertThat(resumed).isEqualTo(uncheckpointed);
+            assertThatThrownBy(() -> MonteCarloSimulator.run(SimulationParameters.DEFAULT, hauler,
+                    EnumSet.allOf(ShippingRule.class), 7, DAYS, 43, pool, path, 3))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("another batch");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * A finished batch's checkpoint cut back to only its first runs, the profits being last in the file
+     */
+    private static byte[] firstRuns(final byte[] finished, final int rules, final int runs, final int keptRuns) {
+        final int inputsLength = finished.length - Integer.BYTES - rules * runs * Double.BYTES;
+        final ByteBuffer in = ByteBuffer.wrap(finished, inputsLength + Integer.BYTES,
+                rules * runs * Double.BYTES);
+        final ByteBuffer out = ByteBuffer.allocate(inputsLength + Integer.BYTES + rules * keptRuns * Double.BYTES);
+        out.put(finished, 0, inputsLength).putInt(keptRuns);
+        for (int r = 0; r < rules; r++) {
+            for (int run = 0; run < runs; run++) {
+                final double profit = in.getDouble();
+                if (run < keptRuns) {
+                    out.putDouble(profit);
+                }
+            }
+        }
+        return out.array();
+    }
+}
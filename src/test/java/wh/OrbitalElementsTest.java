@@ -0,0 +1,54 @@
+package wh;
+
+import jaid.collection.DoublesVector;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class OrbitalElementsTest {
+
+    @Test
+    void positionAt_shouldMatchTrueAnomalyFormulation() {
+        final double a = 2.6249, e = 0.63175, inclination = 2.7992, argPeri = 95.441, node = 266.77;
+        final OrbitalElements elements = new OrbitalElements(a, e, inclination, argPeri, node);
+
+        for (double meanAnomaly = 0; meanAnomaly < 2 * Math.PI; meanAnomaly += Math.PI / 7) {
+            // Position via the true anomaly and explicit rotations, as the elements were evaluated before compiling
+            final double trueAnomaly = MathsUtil.calculateTrueAnomaly(MathsUtil.solveKepler(meanAnomaly, e), e);
+            final double radius = a * (1 - e * e) / (1 + e * Math.cos(trueAnomaly));
+            final double xPrime = radius * Math.cos(trueAnomaly);
+            final double yPrime = radius * Math.sin(trueAnomaly);
+            final double inc = Math.toRadians(inclination), w = Math.toRadians(argPeri), o = Math.toRadians(node);
+            final double expectedX = xPrime * (Math.cos(w) * Math.cos(o) - Math.sin(w) * Math.cos(inc) * Math.sin(o)) -
+                    yPrime * (Math.sin(w) * Math.cos(o) + Math.cos(w) * Math.cos(inc) * Math.sin(o));
+            final double expectedY = xPrime * (Math.cos(w) * Math.sin(o) + Math.sin(w) * Math.cos(inc) * Math.cos(o)) +
+                    yPrime * (Math.cos(w) * Math.cos(inc) * Math.cos(o) - Math.sin(w) * Math.sin(o));
+            final double expectedZ = xPrime * Math.sin(w) * Math.sin(inc) + yPrime * Math.cos(w) * Math.sin(inc);
+
+            final DoublesVector position = elements.positionAt(meanAnomaly);
+
+            assertThat(position.contents()[0]).isCloseTo(expectedX, within(1e-12));
+            assertThat(position.contents()[1]).isCloseTo(expectedY, within(1e-12));
+            assertThat(position.contents()[2]).isCloseTo(expectedZ, within(1e-12));
+        }
+    }
+
+    @Test
+    void positionAt_withBuffer_shouldMatchAllocatingVersion() {
+        final OrbitalElements elements = DestinationType.MARS.orbitalElements;
+        final double[] buffer = new double[3];
+
+        elements.positionAt(1.234, buffer);
+
+        assertThat(buffer).containsExactly(elements.positionAt(1.234).contents());
+    }
+
+    @Test
+    void positionAt_shouldGiveApsidesDistances() {
+        final OrbitalElements elements = new OrbitalElements(1.0, 0.5, 10.0, 30.0, 60.0);
+
+        assertThat(elements.positionAt(0.0).magnitude()).isCloseTo(0.5, within(1e-12));
+        assertThat(elements.positionAt(Math.PI).magnitude()).isCloseTo(1.5, within(1e-12));
+    }
+}
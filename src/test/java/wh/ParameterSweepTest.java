@@ -0,0 +1,103 @@
+package wh;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParameterSweepTest {
+
+    private static final int DAYS = 120;
+
+    private final Hauler small = new Hauler(HaulerClass.SMALL,
+            new EnumMap<>(Map.of(WaterPropulsionSystem.THERMAL, 1)),
+            new EnumMap<>(Map.of(PowerSource.SOLAR, 5)));
+    private final Hauler medium = new Hauler(HaulerClass.MEDIUM,
+            new EnumMap<>(Map.of(WaterPropulsionSystem.THERMAL, 2)),
+            new EnumMap<>(Map.of(PowerSource.SOLAR, 10)));
+    private final SweepGrid grid = new SweepGrid(List.of(2_500, 5_000), List.of(0.2f, 0.5f), List.of(true),
+            List.of(true), List.of(small, medium));
+
+    @Test
+    void points_shouldBeCartesianProductWithHaulerFastest() {
+        final List<SweepGrid.Point> points = grid.points();
+
+        assertThat(points).hasSize(8).doesNotHaveDuplicates();
+        assertThat(points.get(0).parameters()).isEqualTo(new SimulationParameters(2_500, 0.2f, true, true));
+        assertThat(points.get(0).hauler()).isEqualTo(small);
+        assertThat(points.get(1).hauler()).isEqualTo(medium);
+        assertThat(points.get(7).parameters()).isEqualTo(new SimulationParameters(5_000, 0.5f, true, true));
+    }
+
+    @Test
+    void sweepGrid_withEmptyDimension_shouldThrow() {
+        assertThatThrownBy(() -> new SweepGrid(List.of(5_000), List.of(), List.of(true), List.of(true),
+                List.of(small))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void run_shouldMatchMonteCarloSimulatorAtEveryPoint() {
+        final List<SweepResult> results = ParameterSweep.run(grid, List.of(ShippingRule.values()), 6, DAYS, 11);
+
+        assertThat(results).hasSize(grid.points().size() * ShippingRule.values().length);
+        int index = 0;
+        for (SweepGrid.Point point : grid.points()) {
+            final Map<ShippingRule, ProfitDistribution> expected = MonteCarloSimulator.run(point.parameters(),
+                    point.hauler(), EnumSet.allOf(ShippingRule.class), 6, DAYS, 11);
+            for (ShippingRule rule : ShippingRule.values()) {
+                final SweepResult result = results.get(index++);
+                assertThat(result.parameters()).isEqualTo(point.parameters());
+                assertThat(result.hauler()).isEqualTo(point.hauler());
+                assertThat(result.strategy()).isEqualTo(rule.name());
+                assertThat(result.profits()).isEqualTo(expected.get(rule));
+            }
+        }
+    }
+
+    @Test
+    void run_shouldGiveSameResultWhateverTheThreadCount() {
+        final ForkJoinPool single = new ForkJoinPool(1);
+        final ForkJoinPool several = new ForkJoinPool(4);
+        try {
+            assertThat(ParameterSweep.run(grid, List.of(ShippingRule.BEST_ROUTE), 4, DAYS, 5, several))
+                    .isEqualTo(ParameterSweep.run(grid, List.of(ShippingRule.BEST_ROUTE), 4, DAYS, 5, single));
+        } finally {
+            single.shutdown();
+            several.shutdown();
+        }
+    }
+
+    @Test
+    void run_inChunksOfRuns_shouldGiveSameResultAsAllAtOnce() {
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            assertThat(ParameterSweep.run(grid, List.of(ShippingRule.BEST_ROUTE), 7, DAYS, 5, pool, 3))
+                    .isEqualTo(ParameterSweep.run(grid, List.of(ShippingRule.BEST_ROUTE), 7, DAYS, 5, pool, 7));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void writeCsv_shouldWriteLinePerResult(@TempDir Path directory) throws Exception {
+        final Path path = directory.resolve("sweep.csv");
+        final List<SweepResult> results = ParameterSweep.run(grid, List.of(ShippingRule.BEST_ROUTE), 2, DAYS, 5);
+
+        ParameterSweep.writeCsv(results, path);
+
+        final List<String> lines = Files.readAllLines(path);
+        assertThat(lines).hasSize(results.size() + 1);
+        assertThat(lines.get(0)).isEqualTo(ParameterSweep.CSV_HEADER);
+        assertThat(lines.get(1)).startsWith("2500,0.2,true,true,").contains(",BEST_ROUTE,2,");
+        assertThat(lines.get(1).split(",")).hasSameSizeAs(ParameterSweep.CSV_HEADER.split(","));
+    }
+}
@@ -0,0 +1,129 @@
+package wh;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PipelinedRunnerTest {
+
+    private Hauler hauler;
+
+    @BeforeEach
+    void setUp() {
+        this.hauler = new Hauler(HaulerClass.SMALL,
+                new EnumMap<>(Map.of(WaterPropulsionSystem.THERMAL, 1)),
+                new EnumMap<>(Map.of(PowerSource.SOLAR, 5)));
+    }
+
+    @Test
+    void runOrbit_shouldGiveSameDaysAsSequentialRunner() {
+        final SimulationContext sequential = new SimulationContext(SimulationParameters.DEFAULT,
+                new SplittableRandom(11));
+        final SimulationContext pipelined = new SimulationContext(SimulationParameters.DEFAULT,
+                new SplittableRandom(11));
+        final InMemorySink expected = new InMemorySink();
+        final InMemorySink actual = new InMemorySink();
+
+        new SimulationRunner(new ShipmentCalculator()).runOrbit(sequential, hauler, 300, expected);
+        try (PipelinedRunner runner = new PipelinedRunner(8)) {
+            runner.runOrbit(pipelined, hauler, 300, actual);
+        }
+
+        assertThat(actual.getResults()).isEqualTo(expected.getResults());
+        assertThat(actual.getResults()).anyMatch(result -> !result.stored());
+        assertThat(pipelined.getAsteroid().storedWaterKgs).isEqualTo(sequential.getAsteroid().storedWaterKgs);
+    }
+
+    @Test
+    void runOrbit_withOneDayInFlight_shouldStillGiveSameDays() {
+        final SimulationContext sequential = new SimulationContext(SimulationParameters.DEFAULT,
+                new SplittableRandom(3));
+        final SimulationContext pipelined = new SimulationContext(SimulationParameters.DEFAULT,
+                new SplittableRandom(3));
+        final InMemorySink expected = new InMemorySink();
+        final InMemorySink actual = new InMemorySink();
+
+        new SimulationRunner(new ShipmentCalculator()).runOrbit(sequential, hauler, 40, expected);
+        try (PipelinedRunner runner = new PipelinedRunner(1)) {
+            runner.runOrbit(pipelined, hauler, 40, actual);
+        }
+
+        assertThat(actual.getResults()).isEqualTo(expected.getResults());
+    }
+
+    @Test
+    void runOrbit_withStrategy_shouldGiveSameDaysAsSequentialRunnerWithIt() {
+        final SimulationContext sequential = new SimulationContext(SimulationParameters.DEFAULT,
+                new SplittableRandom(5));
+        final SimulationContext pipelined = new SimulationContext(SimulationParameters.DEFAULT,
+                new SplittableRandom(5));
+        final InMemorySink expected = new InMemorySink();
+        final InMemorySink actual = new InMemorySink();
+
+        new SimulationRunner(new ShipmentCalculator(), ShippingRule.FAST_ONLY).runOrbit(sequential, hauler, 100,
+                expected);
+        try (PipelinedRunner runner = new PipelinedRunner(8, ShippingRule.FAST_ONLY)) {
+            runner.runOrbit(pipelined, hauler, 100, actual);
+        }
+
+        assertThat(actual.getResults()).isEqualTo(expected.getResults());
+    }
+
+    @Test
+    void runOrbit_shouldCloseSinkAndRethrowItsFailure() {
+        final boolean[] closed = new boolean[1];
+        final SimulationSink failing = new SimulationSink() {
+            @Override
+            public void accept(final DayResult result) {
+                if (result.dayInOrbit() == 5) {
+                    throw new IllegalStateException("disk full");
+                }
+            }
+
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+
+        try (PipelinedRunner runner = new PipelinedRunner(4)) {
+            assertThatThrownBy(() -> runner.runOrbit(new SimulationContext(SimulationParameters.DEFAULT,
+                    new SplittableRandom(1)), hauler, 50, failing))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("disk full");
+        }
+        assertThat(closed[0]).isTrue();
+    }
+
+    @Test
+    void snapshot_shouldNotChangeWhenDestinationsMoveOn() {
+        final SimulationContext context = new SimulationContext(SimulationParameters.DEFAULT,
+                new SplittableRandom(5));
+        final List<Destination> destinations = context.getDestinations();
+        context.getAsteroid().updateDistanceFromSun(10, 1537);
+        for (Destination destination : destinations) {
+            destination.updateDaily(context.getParameters(), context.getAsteroid(), 10, 1537);
+        }
+
+        final DaySnapshot snapshot = DaySnapshot.of(10, context.getAsteroid(), destinations);
+        final double price = destinations.get(0).salePricePerKg;
+        final double deltaVFast = destinations.get(0).deltaVFast;
+        for (Destination destination : destinations) {
+            destination.updateDaily(context.getParameters(), context.getAsteroid(), 400, 1537);
+        }
+
+        assertThat(snapshot.destinations()).hasSize(destinations.size());
+        assertThat(snapshot.destinations().get(0).salePricePerKg()).isEqualTo(price);
+        assertThat(snapshot.destinations().get(0).deltaV(ShipmentCalculator.OptionType.FAST)).isEqualTo(deltaVFast);
+    }
+
+    @Test
+    void constructor_shouldRejectNoDaysInFlight() {
+        assertThatThrownBy(() -> new PipelinedRunner(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
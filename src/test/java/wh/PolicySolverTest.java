@@ -0,0 +1,148 @@
+package wh;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class PolicySolverTest {
+
+    private static final int CARGO_LEVELS = 4;
+    private static final List<ShipmentCalculator.OptionType> ROUTES =
+            List.of(ShipmentCalculator.OptionType.EFFICIENT, ShipmentCalculator.OptionType.FAST);
+
+    private final Hauler hauler = new Hauler(HaulerClass.SMALL,
+            new EnumMap<>(Map.of(WaterPropulsionSystem.THERMAL, 1)),
+            new EnumMap<>(Map.of(PowerSource.SOLAR, 5)));
+
+    @Test
+    void solve_shouldMatchExhaustiveSearchOverShortOrbit() {
+        final int days = 14;
+        final double[][] bestProfit = bestProfitByDay(days, 3);
+
+        final OptimalPolicy policy = PolicySolver.solve(
+                new SimulationContext(SimulationParameters.DEFAULT, new SplittableRandom(3)), hauler,
+                ShippingRule.BEST_ROUTE, days);
+
+        double best = 0;
+        for (int decisions = 0; decisions < 1 << days; decisions++) {
+            best = Math.max(best, follow(decisions, days, bestProfit));
+        }
+        assertThat(policy.getProfit()).isCloseTo(best, within(1e-6));
+        int decisions = 0;
+        for (int day : policy.shipDays()) {
+            decisions |= 1 << (day - 1);
+        }
+        assertThat(follow(decisions, days, bestProfit)).isCloseTo(best, within(1e-6));
+    }
+
+    @Test
+    void solve_shouldBeatGreedyRunnerOnSamePrices() {
+        final int days = SimulationState.TOTAL_DAYS_IN_ORBIT;
+        final OptimalPolicy policy = PolicySolver.solve(
+                new SimulationContext(SimulationParameters.DEFAULT, new SplittableRandom(11)), hauler,
+                ShippingRule.BEST_ROUTE, days);
+        final InMemorySink greedy = new InMemorySink();
+        new SimulationRunner(new ShipmentCalculator()).runOrbit(
+                new SimulationContext(SimulationParameters.DEFAULT, new SplittableRandom(11)), hauler, days, greedy);
+        final double greedyProfit = greedy.getResults().stream()
+                .filter(result -> !result.stored())
+                .mapToDouble(result -> result.shipped().profit())
+                .sum();
+
+        assertThat(policy.getProfit()).isGreaterThanOrEqualTo(greedyProfit);
+        assertThat(policy.getStepKgs()).isEqualTo(SimulationState.KGS_WATER_MINED_PER_DAY);
+    }
+
+    @Test
+    void solve_withSplitDays_shouldGiveSameResultWhateverTheThreadCount() {
+        // Steps of 500 kg give more stored levels than one task takes
+        final SimulationParameters parameters = new SimulationParameters(1500, 0.2f, true, true);
+        final ForkJoinPool single = new ForkJoinPool(1);
+        final ForkJoinPool several = new ForkJoinPool(4);
+        try {
+            final OptimalPolicy onOne = PolicySolver.solve(
+                    new SimulationContext(parameters, new SplittableRandom(5)), hauler, ShippingRule.BEST_ROUTE,
+                    1000, single);
+            final OptimalPolicy onSeveral = PolicySolver.solve(
+                    new SimulationContext(parameters, new SplittableRandom(5)), hauler, ShippingRule.BEST_ROUTE,
+                    1000, several);
+
+            assertThat(onOne.getStepKgs()).isEqualTo(500);
+            assertThat(onSeveral.getProfit()).isEqualTo(onOne.getProfit());
+            assertThat(onSeveral.shipDays()).isEqualTo(onOne.shipDays());
+        } finally {
+            single.shutdown();
+            several.shutdown();
+        }
+    }
+
+    @Test
+    void policy_shouldDescribeShipmentsAndRejectUnreachableStates() {
+        final OptimalPolicy policy = PolicySolver.solve(
+                new SimulationContext(SimulationParameters.DEFAULT, new SplittableRandom(3)), hauler,
+                ShippingRule.EFFICIENT_ONLY, 30);
+        final int shipDay = policy.shipDays().get(0);
+        final int storedWaterKgs = (shipDay - 1) * SimulationState.KGS_WATER_MINED_PER_DAY;
+
+        assertThat(policy.ships(shipDay, storedWaterKgs)).isTrue();
+        assertThat(policy.optionType(shipDay, storedWaterKgs)).isEqualTo(ShipmentCalculator.OptionType.EFFICIENT);
+        assertThat(policy.destination(shipDay, storedWaterKgs)).isNotNull();
+        assertThat(policy.optionType(1, 0) == null).isEqualTo(!policy.ships(1, 0));
+        assertThatThrownBy(() -> policy.ships(0, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> policy.ships(1, 123)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Best profit of each day for each possible load, worked out through the ShipmentCalculator
+     */
+    private double[][] bestProfitByDay(final int days, final long seed) {
+        final SimulationContext context = new SimulationContext(SimulationParameters.DEFAULT,
+                new SplittableRandom(seed));
+        final ShipmentCalculator shipmentCalculator = new ShipmentCalculator();
+        final List<Destination> destinations = context.getDestinations();
+        final double[][] bestProfit = new double[days][CARGO_LEVELS + 1];
+        for (int day = 1; day <= days; day++) {
+            context.getAsteroid().updateDistanceFromSun(day, days);
+            for (Destination destination : destinations) {
+                destination.updateDaily(context.getParameters(), context.getAsteroid(), day, days);
+            }
+            for (int level = 1; level <= CARGO_LEVELS; level++) {
+                double best = Double.NEGATIVE_INFINITY;
+                for (Destination destination : destinations) {
+                    for (ShipmentCalculator.OptionType optionType : ROUTES) {
+                        best = Math.max(best, shipmentCalculator.calculateProfit(destination,
+                                level * SimulationState.KGS_WATER_MINED_PER_DAY, optionType, hauler));
+                    }
+                }
+                bestProfit[day - 1][level] = best;
+            }
+        }
+        return bestProfit;
+    }
+
+    /**
+     * Profit of shipping on the days whose bits are set, in steps of a day's mining, skipping unprofitable ones
+     */
+    private static double follow(final int decisions, final int days, final double[][] bestProfit) {
+        double profit = 0;
+        int stored = 0;
+        for (int day = 1; day <= days; day++) {
+            final int shippable = Math.min(stored + 1, CARGO_LEVELS);
+            if ((decisions & 1 << (day - 1)) != 0 && bestProfit[day - 1][shippable] > 0) {
+                profit += bestProfit[day - 1][shippable];
+                stored = Math.max(stored - shippable, 0);
+            } else {
+                stored++;
+            }
+        }
+        return profit;
+    }
+}
@@ -0,0 +1,96 @@
+package wh;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class PorkchopPlotTest {
+
+    private static final int DAYS = 40;
+    private static final int ORBIT_DAYS = SimulationState.TOTAL_DAYS_IN_ORBIT;
+
+    @Test
+    void calculate_shouldOnlyFillCellsWithArrivalAfterDeparture() {
+        final PorkchopPlot plot = PorkchopPlot.calculate(AsteroidState.wilsonHarrington(), DestinationType.MARS, DAYS,
+                ORBIT_DAYS);
+
+        assertThat(plot.getDays()).isEqualTo(DAYS);
+        for (int departureDay = 1; departureDay <= DAYS; departureDay++) {
+            for (int arrivalDay = 1; arrivalDay <= DAYS; arrivalDay++) {
+                final float deltaV = plot.getDeltaV(departureDay, arrivalDay);
+                if (arrivalDay > departureDay) {
+                    assertThat(deltaV).isFinite().isPositive();
+                } else {
+                    assertThat(deltaV).isNaN();
+                }
+            }
+        }
+    }
+
+    @Test
+    void state_shouldMatchSimulationsAsteroid() {
+        final AsteroidState asteroid = AsteroidState.wilsonHarrington();
+        asteroid.updateDistanceFromSun(100, ORBIT_DAYS);
+
+        final double[] state = PorkchopPlot.state(asteroid.getOrbitalElements(), asteroid.meanAnomaly(100, ORBIT_DAYS));
+
+        assertThat(state[0]).isCloseTo(asteroid.getX(), within(1e-9));
+        assertThat(state[1]).isCloseTo(asteroid.getY(), within(1e-9));
+        assertThat(state[2]).isCloseTo(asteroid.getZ(), within(1e-9));
+        assertThat(state[3]).isCloseTo(asteroid.getVelocityX(), within(1e-9));
+        assertThat(state[4]).isCloseTo(asteroid.getVelocityY(), within(1e-9));
+        assertThat(state[5]).isCloseTo(asteroid.getVelocityZ(), within(1e-9));
+    }
+
+    @Test
+    void writeBinary_shouldRoundTrip(@TempDir Path directory) throws Exception {
+        final PorkchopPlot plot = PorkchopPlot.calculate(AsteroidState.wilsonHarrington(), DestinationType.PSYCHE,
+                DAYS, ORBIT_DAYS);
+        final Path file = directory.resolve("psyche.pkch");
+
+        plot.writeBinary(file);
+        final PorkchopPlot read = PorkchopPlot.readBinary(file);
+
+        assertThat(read.getDestination()).isEqualTo(DestinationType.PSYCHE);
+        assertThat(read.getDays()).isEqualTo(DAYS);
+        assertThat(read.getTotalDaysInOrbit()).isEqualTo(ORBIT_DAYS);
+        assertThat(read.getDeltaV(3, 17)).isEqualTo(plot.getDeltaV(3, 17));
+        assertThat(read.getDeltaV(17, 3)).isNaN();
+    }
+
+    @Test
+    void writeCsv_shouldHaveOneLinePerReachableCell(@TempDir Path directory) throws Exception {
+        final PorkchopPlot plot = PorkchopPlot.calculate(AsteroidState.wilsonHarrington(), DestinationType.EML1, DAYS,
+                ORBIT_DAYS);
+        final Path file = directory.resolve("eml1.csv");
+
+        plot.writeCsv(file);
+
+        assertThat(Files.readAllLines(file)).hasSize(1 + DAYS * (DAYS - 1) / 2);
+    }
+
+    @Test
+    void readBinary_withCorruptHeader_shouldThrowIOException(@TempDir Path directory) throws Exception {
+        final Path file = directory.resolve("mars.pkch");
+        PorkchopPlot.calculate(AsteroidState.wilsonHarrington(), DestinationType.MARS, DAYS, ORBIT_DAYS)
+                .writeBinary(file);
+        final byte[] bytes = Files.readAllBytes(file);
+
+        // Destination ordinal, then days, after the magic number and version
+        for (int offset : new int[] {2 * Integer.BYTES, 3 * Integer.BYTES}) {
+            final byte[] corrupt = bytes.clone();
+            ByteBuffer.wrap(corrupt).putInt(offset, -1);
+            Files.write(file, corrupt);
+
+            assertThatThrownBy(() -> PorkchopPlot.readBinary(file)).isInstanceOf(IOException.class);
+        }
+    }
+}
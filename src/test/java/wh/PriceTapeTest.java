@@ -0,0 +1,99 @@
+package wh;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PriceTapeTest {
+
+    private static final int RUNS = 6;
+    private static final int DAYS = 50;
+
+    @Test
+    void record_shouldHoldEveryPriceOfTheSource() {
+        final CounterPriceSource source = new CounterPriceSource(9);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final PriceTape tape = PriceTape.record(source, RUNS, DAYS, pool);
+
+            assertThat(tape.getRuns()).isEqualTo(RUNS);
+            assertThat(tape.getTotalDaysInOrbit()).isEqualTo(DAYS);
+            for (int run = 0; run < RUNS; run++) {
+                for (int day = 1; day <= DAYS; day++) {
+                    for (DestinationType type : DestinationType.values()) {
+                        assertThat(tape.salePricePerKg(run, day, DAYS, type))
+                                .isEqualTo(source.salePricePerKg(run, day, DAYS, type));
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void read_shouldReplayWrittenTape(@TempDir Path directory) throws Exception {
+        final Path path = directory.resolve("prices.tape");
+        final PriceTape recorded = PriceTape.record(new CounterPriceSource(9), RUNS, DAYS);
+
+        recorded.write(path);
+        final PriceTape replayed = PriceTape.read(path);
+
+        assertThat(replayed.getRuns()).isEqualTo(RUNS);
+        for (DestinationType type : DestinationType.values()) {
+            assertThat(replayed.salePricePerKg(RUNS - 1, DAYS, DAYS, type))
+                    .isEqualTo(recorded.salePricePerKg(RUNS - 1, DAYS, DAYS, type));
+        }
+    }
+
+    @Test
+    void read_withOtherFile_shouldThrow(@TempDir Path directory) throws Exception {
+        final Path path = directory.resolve("prices.tape");
+        Files.writeString(path, "day,price\n");
+
+        assertThatThrownBy(() -> PriceTape.read(path)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void salePricePerKg_outsideTape_shouldThrow() {
+        final PriceTape tape = PriceTape.record(new CounterPriceSource(9), RUNS, DAYS);
+
+        assertThatThrownBy(() -> tape.salePricePerKg(RUNS, 1, DAYS, DestinationType.MARS))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> tape.salePricePerKg(0, 1, DAYS + 1, DestinationType.MARS))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> tape.salePricePerKg(1, 0, DAYS, DestinationType.MARS))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> tape.salePricePerKg(0, DAYS + 1, DAYS, DestinationType.MARS))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void record_withTooManyPrices_shouldThrow() {
+        assertThatThrownBy(() -> PriceTape.record(new CounterPriceSource(9), Integer.MAX_VALUE / 2, DAYS))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PriceTape.record(new CounterPriceSource(9), 0, DAYS))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void read_withCorruptHeader_shouldThrowIOException(@TempDir Path directory) throws Exception {
+        final Path path = directory.resolve("prices.tape");
+        PriceTape.record(new CounterPriceSource(9), RUNS, DAYS).write(path);
+        final byte[] bytes = Files.readAllBytes(path);
+        // Runs, after the magic number and version
+        ByteBuffer.wrap(bytes).putInt(2 * Integer.BYTES, Integer.MAX_VALUE);
+        Files.write(path, bytes);
+
+        assertThatThrownBy(() -> PriceTape.read(path)).isInstanceOf(IOException.class)
+                .hasMessageContaining("does not match");
+    }
+}
@@ -0,0 +1,43 @@
+package wh;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class ProfitDistributionTest {
+
+    @Test
+    void of_shouldSummariseProfits() {
+        final double[] profits = new double[20];
+        for (int i = 0; i < profits.length; i++) {
+            profits[i] = profits.length - i;
+        }
+
+        final ProfitDistribution distribution = ProfitDistribution.of(profits);
+
+        assertThat(distribution.runs()).isEqualTo(20);
+        assertThat(distribution.mean()).isEqualTo(10.5);
+        assertThat(distribution.standardDeviation()).isCloseTo(Math.sqrt(35), within(1e-12));
+        assertThat(distribution.min()).isEqualTo(1);
+        assertThat(distribution.percentile5()).isEqualTo(1);
+        assertThat(distribution.median()).isEqualTo(10);
+        assertThat(distribution.percentile95()).isEqualTo(19);
+        assertThat(distribution.max()).isEqualTo(20);
+        assertThat(profits[0]).isEqualTo(20);
+    }
+
+    @Test
+    void of_withSingleRun_shouldHaveNoSpread() {
+        final ProfitDistribution distribution = ProfitDistribution.of(new double[] {5});
+
+        assertThat(distribution.standardDeviation()).isZero();
+        assertThat(distribution.median()).isEqualTo(5);
+    }
+
+    @Test
+    void of_withNoProfits_shouldThrow() {
+        assertThatThrownBy(() -> ProfitDistribution.of(new double[0])).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,90 @@
+package wh;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PublishingSinkTest {
+
+    private static DayResult storedDay(final int dayInOrbit) {
+        return new DayResult(dayInOrbit, 1, 0, 0, 1, 5000, 5000, 5000, List.of(), null, 5000);
+    }
+
+    @Test
+    void close_shouldDeliverEveryDayInOrderIncludingPartialBatch() throws Exception {
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            final PublishingSink publisher = new PublishingSink(executor, 4, 2);
+            final List<Integer> batchSizes = new ArrayList<>();
+            final InMemorySink received = new InMemorySink();
+            final SinkSubscriber subscriber = new SinkSubscriber(received) {
+                @Override
+                public void onNext(final List<DayResult> batch) {
+                    batchSizes.add(batch.size());
+                    super.onNext(batch);
+                }
+            };
+            publisher.subscribe(subscriber);
+
+            for (int day = 1; day <= 10; day++) {
+                publisher.accept(storedDay(day));
+            }
+            publisher.close();
+            subscriber.completion().get(10, TimeUnit.SECONDS);
+
+            assertThat(received.getResults()).extracting(DayResult::dayInOrbit)
+                    .containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+            assertThat(batchSizes).containsExactly(4, 4, 2);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void accept_withSlowSubscriber_shouldNotRunAheadOfItsBuffer() throws Exception {
+        final int batchSize = 2;
+        final int bufferCapacity = 2;
+        final AtomicInteger consumed = new AtomicInteger();
+        final AtomicInteger mostAhead = new AtomicInteger();
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            final PublishingSink publisher = new PublishingSink(executor, batchSize, bufferCapacity);
+            final SinkSubscriber subscriber = new SinkSubscriber(result -> {
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                consumed.incrementAndGet();
+            });
+            publisher.subscribe(subscriber);
+
+            for (int day = 1; day <= 100; day++) {
+                publisher.accept(storedDay(day));
+                mostAhead.accumulateAndGet(day - consumed.get(), Math::max);
+            }
+            publisher.close();
+            subscriber.completion().get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(consumed.get()).isEqualTo(100);
+        // The buffer, the batch being consumed and the batch being filled
+        assertThat(mostAhead.get()).isLessThanOrEqualTo((bufferCapacity + 2) * batchSize);
+    }
+
+    @Test
+    void constructor_withNonPositiveBatchSize_shouldThrow() {
+        assertThatThrownBy(() -> new PublishingSink(Runnable::run, 0, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,50 @@
+package wh;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplayableRandomTest {
+
+    @Test
+    void resume_shouldCarryOnWithSameValues() {
+        final ReplayableRandom random = new ReplayableRandom(5);
+        for (int i = 0; i < 10; i++) {
+            random.nextDouble();
+        }
+        random.nextInt(7);
+
+        final ReplayableRandom resumed = ReplayableRandom.resume(random.getSeed(), random.getDraws());
+
+        assertThat(resumed.getDraws()).isEqualTo(random.getDraws());
+        for (int i = 0; i < 5; i++) {
+            assertThat(resumed.nextDouble()).isEqualTo(random.nextDouble());
+        }
+    }
+
+    @Test
+    void nextLong_shouldMatchSplittableRandomWithSameSeed() {
+        final ReplayableRandom random = new ReplayableRandom(42);
+        final SplittableRandom expected = new SplittableRandom(42);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(random.nextLong()).isEqualTo(expected.nextLong());
+        }
+    }
+
+    @Test
+    void resume_afterManyDraws_shouldMatchStreamStepped() {
+        final SplittableRandom expected = new SplittableRandom(-3);
+        for (int i = 0; i < 100_000; i++) {
+            expected.nextLong();
+        }
+
+        final ReplayableRandom resumed = ReplayableRandom.resume(-3, 100_000);
+
+        assertThat(resumed.nextLong()).isEqualTo(expected.nextLong());
+        // Far more draws than could be replayed one by one
+        assertThat(ReplayableRandom.resume(7, Long.MAX_VALUE).getDraws()).isEqualTo(Long.MAX_VALUE);
+    }
+}
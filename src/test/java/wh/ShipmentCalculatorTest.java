@@ -10,6 +10,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 class ShipmentCalculatorTest {
 
+    private final AsteroidState asteroid = AsteroidState.wilsonHarrington();
+
     private ShipmentCalculator shipmentCalculator;
     private Hauler hauler;
     private List<Destination> destinations;
@@ -26,7 +28,7 @@ class ShipmentCalculatorTest {
         this.destinations = new ArrayList<>();
         for (DestinationType type : DestinationType.values()) {
             final Destination destination = type.createDestination();
-            destination.updateDaily(30, 365);
+            destination.updateDaily(SimulationParameters.DEFAULT, asteroid, 30, 365);
             destinations.add(destination);
         }
     }
@@ -34,7 +36,7 @@ class ShipmentCalculatorTest {
     @Test
     void calculateShipmentOption_shouldReturnValidOption() {
         final Destination destination = DestinationType.MARS.createDestination();
-        destination.updateDaily(30, 365); // Update to get realistic values
+        destination.updateDaily(SimulationParameters.DEFAULT, asteroid, 30, 365); // Update to get realistic values
         
         final ShipmentOption option = shipmentCalculator.calculateShipmentOption(
             destination, 1000, ShipmentCalculator.OptionType.EFFICIENT, hauler
@@ -45,15 +47,6 @@ class ShipmentCalculatorTest {
         assertThat(option.kgsWaterShipped).isEqualTo(1000);
     }
     
-    @Test
-    void allNonCyclerOptionsUnprofitable_shouldDetectProfitability() {
-        final boolean result = shipmentCalculator.allNonCyclerOptionsUnprofitable(destinations, 1000, hauler);
-        
-        // This is just testing the method runs without exception
-        // The actual result depends on the simulation parameters
-        assertThat(result).isIn(true, false);
-    }
-    
     @Test
     void getShipmentOptions_shouldReturnCorrectNumberOfOptions() {
         final List<ShipmentOption> options = shipmentCalculator.getShipmentOptions(
@@ -66,7 +59,7 @@ class ShipmentCalculatorTest {
     @Test
     void calculateShipmentOption_shouldHandleZeroWaterShipped() {
         final Destination destination = DestinationType.MARS.createDestination();
-        destination.updateDaily(30, 365);
+        destination.updateDaily(SimulationParameters.DEFAULT, asteroid, 30, 365);
         
         final ShipmentOption option = shipmentCalculator.calculateShipmentOption(
             destination, 0, ShipmentCalculator.OptionType.EFFICIENT, hauler
@@ -80,7 +73,7 @@ class ShipmentCalculatorTest {
     @Test
     void calculateShipmentOption_shouldHandleExtremelyHighDeltaV() {
         final Destination destination = DestinationType.MARS.createDestination();
-        destination.updateDaily(30, 365);
+        destination.updateDaily(SimulationParameters.DEFAULT, asteroid, 30, 365);
         
         // Set an extremely high deltaV that would be impossible to achieve
         destination.deltaVEfficient = 1000.0;
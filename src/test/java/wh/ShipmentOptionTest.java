@@ -5,10 +5,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 class ShipmentOptionTest {
 
+    private final AsteroidState asteroid = AsteroidState.wilsonHarrington();
+
     @Test
     void constructor_shouldCalculateReceivedWaterAndProfit() {
         final Destination destination = DestinationType.MARS.createDestination();
-        destination.updateDaily(30, 365); // Update to get realistic values
+        destination.updateDaily(SimulationParameters.DEFAULT, asteroid, 30, 365); // Update to get realistic values
         destination.salePricePerKg = 10.0; // Set a known price for testing
         
         final double kgsWaterShipped = 1000;
@@ -27,7 +29,7 @@ class ShipmentOptionTest {
     @Test
     void constructor_shouldHandleNegativeWaterReceived() {
         final Destination destination = DestinationType.MARS.createDestination();
-        destination.updateDaily(30, 365);
+        destination.updateDaily(SimulationParameters.DEFAULT, asteroid, 30, 365);
         
         final double kgsWaterShipped = 1000;
         final double kgsWaterUsedForDeltaV = 1200; // More than shipped
@@ -45,7 +47,7 @@ class ShipmentOptionTest {
     @Test
     void constructor_shouldHandleInfiniteFuelRequirement() {
         final Destination destination = DestinationType.MARS.createDestination();
-        destination.updateDaily(30, 365);
+        destination.updateDaily(SimulationParameters.DEFAULT, asteroid, 30, 365);
         
         final double kgsWaterShipped = 1000;
         final double kgsWaterUsedForDeltaV = Double.POSITIVE_INFINITY; // Impossible deltaV
@@ -63,7 +65,7 @@ class ShipmentOptionTest {
     @Test
     void constructor_shouldHandleZeroWaterShipped() {
         final Destination destination = DestinationType.MARS.createDestination();
-        destination.updateDaily(30, 365);
+        destination.updateDaily(SimulationParameters.DEFAULT, asteroid, 30, 365);
         destination.salePricePerKg = 10.0; // Set a known price for testing
         
         final double kgsWaterShipped = 0;
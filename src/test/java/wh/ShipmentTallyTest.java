@@ -0,0 +1,26 @@
+package wh;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShipmentTallyTest {
+
+    @Test
+    void accept_shouldCountOnlyShippedDays() {
+        final DayResult.Option mars = new DayResult.Option(DestinationType.MARS,
+                ShipmentCalculator.OptionType.EFFICIENT, 1, 0, 0, 7.5, 5000, 200, 0.1, 250, 36000);
+        final ShipmentTally tally = new ShipmentTally();
+
+        tally.accept(new DayResult(1, 1, 0, 0, 1, 5000, 5000, 5000, List.of(mars), mars, 0));
+        tally.accept(new DayResult(2, 1, 0, 0, 1, 5000, 5000, 5000, List.of(mars), null, 5000));
+        tally.accept(new DayResult(3, 1, 0, 0, 1, 5000, 5000, 5000, List.of(mars), mars, 0));
+
+        assertThat(tally.getShipments(DestinationType.MARS)).isEqualTo(2);
+        assertThat(tally.getShipments(DestinationType.PSYCHE)).isZero();
+        assertThat(tally.getProfit(DestinationType.MARS)).isEqualTo(72000);
+        assertThat(tally.getTotalProfit()).isEqualTo(72000);
+    }
+}
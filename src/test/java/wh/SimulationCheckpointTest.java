@@ -0,0 +1,144 @@
+package wh;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SimulationCheckpointTest {
+
+    private static final int DAYS = 120;
+
+    private final Hauler hauler = new Hauler(HaulerClass.SMALL,
+            new EnumMap<>(Map.of(WaterPropulsionSystem.THERMAL, 1)),
+            new EnumMap<>(Map.of(PowerSource.SOLAR, 5)));
+    private final SimulationParameters parameters = new SimulationParameters(4_000, 0.3f, true, false);
+
+    @Test
+    void runOrbit_resumedAfterKill_shouldGiveSameDaysAsUninterruptedRun(@TempDir Path directory) throws Exception {
+        final InMemorySink uninterrupted = new InMemorySink();
+        new SimulationRunner(new ShipmentCalculator()).runOrbit(SimulationCheckpoint.start(parameters, hauler, DAYS,
+                9), 10, directory.resolve("uninterrupted"), uninterrupted);
+
+        final Path path = directory.resolve("killed");
+        final SimulationSink killedOnDay37 = result -> {
+            if (result.dayInOrbit() == 37) {
+                throw new IllegalStateException("Killed");
+            }
+        };
+        assertThatThrownBy(() -> new SimulationRunner(new ShipmentCalculator()).runOrbit(
+                SimulationCheckpoint.start(parameters, hauler, DAYS, 9), 10, path, killedOnDay37))
+                .hasMessage("Killed");
+
+        final SimulationCheckpoint resumed = SimulationCheckpoint.read(path);
+        assertThat(resumed.getDaysCompleted()).isEqualTo(30);
+        assertThat(resumed.getContext().getParameters()).isEqualTo(parameters);
+        assertThat(resumed.getHauler()).isEqualTo(hauler);
+        final InMemorySink afterResume = new InMemorySink();
+        new SimulationRunner(new ShipmentCalculator()).runOrbit(resumed, 10, path, afterResume);
+
+        assertThat(afterResume.getResults()).isEqualTo(uninterrupted.getResults().subList(30, DAYS));
+        assertThat(SimulationCheckpoint.read(path).getDaysCompleted()).isEqualTo(DAYS);
+    }
+
+    @Test
+    void write_shouldReplaceFileWithoutLeavingTemporaryFiles(@TempDir Path directory) throws Exception {
+        final Path path = directory.resolve("orbit.checkpoint");
+        final SimulationCheckpoint checkpoint = SimulationCheckpoint.start(parameters, hauler, DAYS, 1);
+        checkpoint.write(path);
+        checkpoint.getContext().getAsteroid().storedWaterKgs = 12_345;
+        checkpoint.setDaysCompleted(5);
+        checkpoint.write(path);
+
+        final SimulationCheckpoint read = SimulationCheckpoint.read(path);
+
+        assertThat(read.getDaysCompleted()).isEqualTo(5);
+        assertThat(read.getContext().getAsteroid().storedWaterKgs).isEqualTo(12_345);
+        try (var files = Files.list(directory)) {
+            assertThat(files.toList()).containsExactly(path);
+        }
+    }
+
+    @Test
+    void read_withOtherFile_shouldThrow(@TempDir Path directory) throws Exception {
+        final Path path = directory.resolve("orbit.csv");
+        Files.write(path, List.of(CsvFileSink.HEADER));
+
+        assertThatThrownBy(() -> SimulationCheckpoint.read(path)).isInstanceOf(IOException.class)
+                .hasMessageContaining("Not a simulation checkpoint");
+    }
+
+    @Test
+    void read_withHaulerClassOutOfRange_shouldThrowIOException(@TempDir Path directory) throws Exception {
+        final Path path = directory.resolve("orbit.checkpoint");
+        SimulationCheckpoint.start(parameters, hauler, DAYS, 1).write(path);
+        final byte[] bytes = Files.readAllBytes(path);
+        // After the magic number, version and parameters
+        bytes[16] = (byte) HaulerClass.values().length;
+        Files.write(path, bytes);
+
+        assertThatThrownBy(() -> SimulationCheckpoint.read(path)).isInstanceOf(IOException.class)
+                .hasMessageContaining("HaulerClass");
+    }
+
+    @Test
+    void read_withImpossibleParameters_shouldThrowIOException(@TempDir Path directory) throws Exception {
+        final Path path = directory.resolve("orbit.checkpoint");
+        SimulationCheckpoint.start(parameters, hauler, DAYS, 1).write(path);
+        final byte[] bytes = Files.readAllBytes(path);
+        // Mining rate, after the magic number and version
+        ByteBuffer.wrap(bytes).putInt(Integer.BYTES + Short.BYTES, -1);
+        Files.write(path, bytes);
+
+        assertThatThrownBy(() -> SimulationCheckpoint.read(path)).isInstanceOf(IOException.class)
+                .hasMessageContaining("impossible parameters");
+    }
+
+    @Test
+    void runOrbit_overSeveralOrbitsResumed_shouldGiveSameDaysAsUninterruptedRun(@TempDir Path directory)
+            throws Exception {
+        final InMemorySink uninterrupted = new InMemorySink();
+        new SimulationRunner(new ShipmentCalculator()).runOrbit(SimulationCheckpoint.start(parameters, hauler, DAYS,
+                3, 9), 50, directory.resolve("uninterrupted"), uninterrupted);
+
+        final Path path = directory.resolve("killed");
+        final int[] days = new int[1];
+        final SimulationSink killedOnDay170 = result -> {
+            if (++days[0] == 170) {
+                throw new IllegalStateException("Killed");
+            }
+        };
+        assertThatThrownBy(() -> new SimulationRunner(new ShipmentCalculator()).runOrbit(
+                SimulationCheckpoint.start(parameters, hauler, DAYS, 3, 9), 50, path, killedOnDay170))
+                .hasMessage("Killed");
+        final SimulationCheckpoint resumed = SimulationCheckpoint.read(path);
+        assertThat(resumed.getDaysCompleted()).isEqualTo(150);
+        final InMemorySink afterResume = new InMemorySink();
+        new SimulationRunner(new ShipmentCalculator()).runOrbit(resumed, 50, path, afterResume);
+
+        assertThat(uninterrupted.getResults()).hasSize(3 * DAYS);
+        assertThat(afterResume.getResults()).isEqualTo(uninterrupted.getResults().subList(150, 3 * DAYS));
+        assertThat(afterResume.getResults().get(0).dayInOrbit()).isEqualTo(31);
+    }
+
+    @Test
+    void runOrbit_withOtherStrategyThanCheckpoint_shouldThrow(@TempDir Path directory) throws Exception {
+        final Path path = directory.resolve("orbit.checkpoint");
+        final SimulationCheckpoint checkpoint = SimulationCheckpoint.start(parameters, hauler, DAYS, 1);
+        new SimulationRunner(new ShipmentCalculator(), ShippingRule.BEST_ROUTE).runOrbit(checkpoint, 10, path,
+                new InMemorySink());
+
+        assertThatThrownBy(() -> new SimulationRunner(new ShipmentCalculator(), ShippingRule.FAST_ONLY)
+                .runOrbit(SimulationCheckpoint.read(path), 10, path, new InMemorySink()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
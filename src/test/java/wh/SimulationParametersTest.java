@@ -0,0 +1,29 @@
+package wh;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SimulationParametersTest {
+
+    @Test
+    void defaults_shouldMatchSimulationStateConstants() {
+        assertThat(SimulationParameters.DEFAULT.kgsWaterMinedPerDay())
+                .isEqualTo(SimulationState.KGS_WATER_MINED_PER_DAY);
+        assertThat(SimulationParameters.DEFAULT.difficultyScale()).isEqualTo(SimulationState.DIFFICULTY_SCALE);
+        assertThat(SimulationParameters.DEFAULT.enableOrbitalMechanics())
+                .isEqualTo(SimulationState.ENABLE_ORBITAL_MECHANICS);
+        assertThat(SimulationParameters.DEFAULT.enableAerobraking()).isEqualTo(SimulationState.ENABLE_AEROBRAKING);
+    }
+
+    @Test
+    void constructor_shouldRejectNegativeMiningAndNonPositiveDifficulty() {
+        assertThatThrownBy(() -> new SimulationParameters(-1, 0.2f, true, true))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SimulationParameters(5000, 0, true, true))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SimulationParameters(5000, Float.NaN, true, true))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -2,18 +2,20 @@ package wh;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import java.util.ArrayList;
 import java.util.EnumMap;
-import java.util.List;
 import java.util.Map;
+import java.util.SplittableRandom;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
 
 class SimulationRunnerTest {
 
     private ShipmentCalculator shipmentCalculator;
     private SimulationRunner simulationRunner;
     private Hauler hauler;
-    private List<Destination> destinations;
+    private SimulationContext context;
 
     @BeforeEach
     void setUp() {
@@ -25,17 +27,133 @@ class SimulationRunnerTest {
             new EnumMap<>(Map.of(PowerSource.SOLAR, 5))
         );
         
-        this.destinations = new ArrayList<>();
-        for (DestinationType type : DestinationType.values()) {
-            destinations.add(type.createDestination());
-        }
+        this.context = new SimulationContext(SimulationParameters.DEFAULT, new SplittableRandom(7));
     }
     
     @Test
     void simulateDay_shouldNotThrowException() {
         // This should not throw an exception
         assertThatCode(() -> {
-            simulationRunner.simulateDay(destinations, hauler, 5000, 10);
+            simulationRunner.simulateDay(context, hauler, 5000, 10);
         }).doesNotThrowAnyException();
     }
+
+    @Test
+    void advanceDay_shouldStoreMinedWaterWhenNothingIsProfitable() {
+        // Every transfer needs a thousand times its normal delta-v, more than the hauler can carry fuel for
+        final SimulationParameters parameters = new SimulationParameters(5_000, 1000f, true, true);
+        final SimulationContext expensive = new SimulationContext(parameters, new SplittableRandom(1));
+        final SimulationContext twin = new SimulationContext(parameters, new SplittableRandom(1));
+        expensive.getAsteroid().storedWaterKgs = 2_000;
+        final int globalStoredKgs = SimulationState.ASTEROID_STATE.storedWaterKgs;
+
+        final boolean stored = simulationRunner.advanceDay(expensive, hauler, 100, 1537);
+
+        assertThat(simulationRunner.runDay(twin, hauler, 100, 1537).options())
+                .filteredOn(option -> option.optionType() != ShipmentCalculator.OptionType.CYCLER)
+                .allMatch(option -> option.profit() <= 0);
+        assertThat(stored).isTrue();
+        assertThat(expensive.getAsteroid().storedWaterKgs).isEqualTo(7_000);
+        assertThat(SimulationState.ASTEROID_STATE.storedWaterKgs).isEqualTo(globalStoredKgs);
+    }
+
+    @Test
+    void runOrbit_shouldReportEveryDayInOrder() {
+        final InMemorySink sink = new InMemorySink();
+
+        simulationRunner.runOrbit(context, hauler, 200, sink);
+
+        assertThat(sink.getResults()).hasSize(200);
+        for (int i = 0; i < 200; i++) {
+            final DayResult result = sink.getResults().get(i);
+            assertThat(result.dayInOrbit()).isEqualTo(i + 1);
+            assertThat(result.options())
+                    .hasSize(context.getDestinations().size() * ShipmentCalculator.OptionType.values().length);
+            assertThat(result.distanceFromSun()).isCloseTo(Math.sqrt(result.asteroidX() * result.asteroidX() +
+                    result.asteroidY() * result.asteroidY() + result.asteroidZ() * result.asteroidZ()), within(1e-12));
+        }
+    }
+
+    @Test
+    void runOrbit_shouldShipMostProfitableNonCyclerOptionOrStore() {
+        final InMemorySink sink = new InMemorySink();
+        int storedKgs = context.getAsteroid().storedWaterKgs;
+
+        simulationRunner.runOrbit(context, hauler, 200, sink);
+
+        for (DayResult result : sink.getResults()) {
+            final double bestProfit = result.options().stream()
+                    .filter(option -> option.optionType() != ShipmentCalculator.OptionType.CYCLER)
+                    .mapToDouble(DayResult.Option::profit)
+                    .max().orElseThrow();
+            if (result.stored()) {
+                assertThat(bestProfit).isLessThanOrEqualTo(0);
+                storedKgs += SimulationState.KGS_WATER_MINED_PER_DAY;
+            } else {
+                assertThat(result.shipped().profit()).isEqualTo(bestProfit);
+                storedKgs = Math.max(storedKgs - result.shippableKgsWater(), 0);
+            }
+            assertThat(result.storedWaterKgs()).isEqualTo(storedKgs);
+        }
+    }
+
+    @Test
+    void runOrbit_withEfficientOnlyRule_shouldOnlyShipEfficientRoutes() {
+        final InMemorySink sink = new InMemorySink();
+
+        new SimulationRunner(shipmentCalculator, ShippingRule.EFFICIENT_ONLY).runOrbit(context, hauler, 200, sink);
+
+        assertThat(sink.getResults()).anyMatch(result -> !result.stored());
+        assertThat(sink.getResults())
+                .filteredOn(result -> !result.stored())
+                .allMatch(result -> result.shipped().optionType() == ShipmentCalculator.OptionType.EFFICIENT);
+    }
+
+    @Test
+    void advanceDay_withStrategyEstablishingCycler_shouldThrow() {
+        final ShippingStrategy establishing = new ShippingStrategy() {
+            @Override
+            public String name() {
+                return "ESTABLISHING";
+            }
+
+            @Override
+            public ShippingDecision decide(final ShippingDay day) {
+                return ShippingDecision.establishCycler(0);
+            }
+        };
+
+        assertThatThrownBy(() -> new SimulationRunner(shipmentCalculator, establishing)
+                .advanceDay(context, hauler, 1, 1537))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void runOrbit_withSeparateContexts_shouldNotShareState() {
+        final SimulationContext mining = new SimulationContext(SimulationParameters.DEFAULT, new SplittableRandom(1));
+        final SimulationContext idle = new SimulationContext(new SimulationParameters(0, 0.2f, true, true),
+                new SplittableRandom(1));
+        final int globalStoredKgs = SimulationState.ASTEROID_STATE.storedWaterKgs;
+        final InMemorySink miningResults = new InMemorySink();
+        final InMemorySink idleResults = new InMemorySink();
+
+        simulationRunner.runOrbit(mining, hauler, 50, miningResults);
+        simulationRunner.runOrbit(idle, hauler, 50, idleResults);
+
+        assertThat(miningResults.getResults()).anyMatch(result -> !result.stored());
+        assertThat(idleResults.getResults()).allMatch(result -> result.stored() && result.storedWaterKgs() == 0);
+        assertThat(idleResults.getResults().get(0).kgsWaterMined()).isZero();
+        assertThat(SimulationState.ASTEROID_STATE.storedWaterKgs).isEqualTo(globalStoredKgs);
+    }
+
+    @Test
+    void runDay_withSameSeedInTwoContexts_shouldGiveSameResult() {
+        final SimulationContext first = new SimulationContext(SimulationParameters.DEFAULT, new SplittableRandom(9));
+        final SimulationContext second = new SimulationContext(SimulationParameters.DEFAULT, new SplittableRandom(9));
+
+        for (int day = 1; day <= 20; day++) {
+            assertThat(simulationRunner.runDay(second, hauler, day, 1537))
+                    .isEqualTo(simulationRunner.runDay(first, hauler, day, 1537));
+        }
+    }
 }
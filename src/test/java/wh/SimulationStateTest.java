@@ -21,6 +21,7 @@ class SimulationStateTest {
         final SimulationState state = new SimulationState(List.of(hauler));
         
         assertThat(state.getCurrentHauler()).isEqualTo(hauler);
+        assertThat(state.getHaulers()).containsExactly(hauler);
     }
     
     @Test
@@ -0,0 +1,73 @@
+package wh;
+
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimulationTelemetryTest {
+
+    @Test
+    void telemetry_shouldBeOffByDefault() {
+        assertThat(SimulationTelemetry.ENABLED).isFalse();
+        assertThat(SimulationTelemetry.beginDay(1)).isNull();
+        assertThat(SimulationTelemetry.beginPhase(SimulationTelemetry.Phase.PRICE, 1, DestinationType.MARS))
+                .isNull();
+    }
+
+    @Test
+    void runOrbit_whenOff_shouldNotCount() {
+        final long solves = SimulationTelemetry.KEPLER_SOLVES.sum();
+        final long steps = SimulationTelemetry.PROPAGATOR_STEPS.sum();
+        final long fuel = SimulationTelemetry.FUEL_CALCULATIONS.sum();
+        final Hauler hauler = new Hauler(HaulerClass.SMALL,
+                new EnumMap<>(Map.of(WaterPropulsionSystem.THERMAL, 1)),
+                new EnumMap<>(Map.of(PowerSource.SOLAR, 5)));
+
+        new SimulationRunner(new ShipmentCalculator()).runOrbit(new SimulationContext(SimulationParameters.DEFAULT,
+                new SplittableRandom(1)), hauler, 20, new InMemorySink());
+
+        assertThat(SimulationTelemetry.KEPLER_SOLVES.sum()).isEqualTo(solves);
+        assertThat(SimulationTelemetry.PROPAGATOR_STEPS.sum()).isEqualTo(steps);
+        assertThat(SimulationTelemetry.FUEL_CALCULATIONS.sum()).isEqualTo(fuel);
+    }
+
+    @Test
+    void keplerSolved_shouldCountNonFiniteResults() {
+        final long solves = SimulationTelemetry.KEPLER_SOLVES.sum();
+        final long nonFinite = SimulationTelemetry.KEPLER_NON_FINITE.sum();
+
+        SimulationTelemetry.keplerSolved(1.5);
+        SimulationTelemetry.keplerSolved(Double.NaN);
+        SimulationTelemetry.keplerSolved(Double.NEGATIVE_INFINITY);
+
+        assertThat(SimulationTelemetry.KEPLER_SOLVES.sum() - solves).isEqualTo(3);
+        assertThat(SimulationTelemetry.KEPLER_NON_FINITE.sum() - nonFinite).isEqualTo(2);
+    }
+
+    @Test
+    void fuelCalculated_shouldCountUnreachableDeltaV() {
+        final long calculations = SimulationTelemetry.FUEL_CALCULATIONS.sum();
+        final long unreachable = SimulationTelemetry.FUEL_UNREACHABLE.sum();
+
+        SimulationTelemetry.fuelCalculated(0);
+        SimulationTelemetry.fuelCalculated(120.5);
+        SimulationTelemetry.fuelCalculated(Double.POSITIVE_INFINITY);
+
+        assertThat(SimulationTelemetry.FUEL_CALCULATIONS.sum() - calculations).isEqualTo(3);
+        assertThat(SimulationTelemetry.FUEL_UNREACHABLE.sum() - unreachable).isEqualTo(1);
+    }
+
+    @Test
+    void report_shouldPrintEveryCounter() {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        SimulationTelemetry.report(new PrintStream(bytes, true));
+
+        assertThat(bytes.toString()).contains("Kepler solves", "non-finite", "Propagator steps", "anchors",
+                "Fuel calculations", "unreachable");
+    }
+}
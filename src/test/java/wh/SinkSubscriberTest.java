@@ -0,0 +1,47 @@
+package wh;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SinkSubscriberTest {
+
+    @Test
+    void onNext_whenSinkThrows_shouldCloseSinkAndCompleteExceptionally() throws Exception {
+        final AtomicBoolean closed = new AtomicBoolean();
+        final SinkSubscriber subscriber = new SinkSubscriber(new SimulationSink() {
+            @Override
+            public void accept(final DayResult result) {
+                throw new IllegalStateException("Disk full");
+            }
+
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        });
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            final PublishingSink publisher = new PublishingSink(executor, 1, 2);
+            publisher.subscribe(subscriber);
+
+            publisher.accept(new DayResult(1, 1, 0, 0, 1, 5000, 5000, 5000, List.of(), null, 5000));
+            publisher.close();
+
+            assertThatThrownBy(() -> subscriber.completion().get(10, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasRootCauseMessage("Disk full");
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(closed).isTrue();
+    }
+}
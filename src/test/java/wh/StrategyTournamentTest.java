@@ -0,0 +1,94 @@
+package wh;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StrategyTournamentTest {
+
+    private static final int DAYS = 120;
+
+    private final Hauler hauler = new Hauler(HaulerClass.SMALL,
+            new EnumMap<>(Map.of(WaterPropulsionSystem.THERMAL, 1)),
+            new EnumMap<>(Map.of(PowerSource.SOLAR, 5)));
+
+    @Test
+    void run_withRule_shouldMatchMonteCarloSimulator() {
+        final List<StrategyStanding> standings = StrategyTournament.run(SimulationParameters.DEFAULT, hauler,
+                List.of(ShippingRule.BEST_ROUTE), StrategyTournament.MIN_RUNS, DAYS, 8);
+        final ProfitDistribution distribution = MonteCarloSimulator.run(SimulationParameters.DEFAULT, hauler,
+                EnumSet.of(ShippingRule.BEST_ROUTE), StrategyTournament.MIN_RUNS, DAYS, 8).get(ShippingRule.BEST_ROUTE);
+
+        assertThat(standings).hasSize(1);
+        assertThat(standings.get(0).runs()).isEqualTo(StrategyTournament.MIN_RUNS);
+        assertThat(standings.get(0).meanProfit()).isEqualTo(distribution.mean());
+    }
+
+    @Test
+    void run_shouldDropClearlyWorseStrategiesEarly() {
+        final List<StrategyStanding> standings = StrategyTournament.run(SimulationParameters.DEFAULT, hauler,
+                List.of(ShippingRule.values()), 48, DAYS, 8);
+
+        // The efficient route is always the better one for this hauler, so those two tie and both play every run
+        assertThat(standings).extracting(StrategyStanding::name)
+                .containsExactlyInAnyOrder("BEST_ROUTE", "EFFICIENT_ONLY", "FAST_ONLY");
+        assertThat(standings.subList(0, 2)).allMatch(standing -> !standing.eliminated() && standing.runs() == 48);
+        assertThat(standings.get(2).name()).isEqualTo("FAST_ONLY");
+        assertThat(standings.get(2).eliminated()).isTrue();
+        assertThat(standings.get(2).runs()).isEqualTo(StrategyTournament.MIN_RUNS);
+    }
+
+    @Test
+    void run_shouldGiveSameStandingsWhateverTheThreadCount() {
+        final ForkJoinPool single = new ForkJoinPool(1);
+        final ForkJoinPool several = new ForkJoinPool(4);
+        try {
+            final List<ShippingStrategy> strategies = List.of(ShippingRule.BEST_ROUTE, ShippingRule.FAST_ONLY,
+                    new CyclerStrategy(DestinationType.MARS));
+
+            assertThat(StrategyTournament.run(SimulationParameters.DEFAULT, hauler, strategies, 24, DAYS, 3, several))
+                    .isEqualTo(StrategyTournament.run(SimulationParameters.DEFAULT, hauler, strategies, 24, DAYS, 3,
+                            single));
+        } finally {
+            single.shutdown();
+            several.shutdown();
+        }
+    }
+
+    @Test
+    void run_withStrategyShippingByMissingCycler_shouldThrow() {
+        final ShippingStrategy cheat = new ShippingStrategy() {
+            @Override
+            public String name() {
+                return "CHEAT";
+            }
+
+            @Override
+            public ShippingDecision decide(final ShippingDay day) {
+                return ShippingDecision.ship(0, ShipmentCalculator.OptionType.CYCLER);
+            }
+        };
+
+        assertThatThrownBy(() -> StrategyTournament.run(SimulationParameters.DEFAULT, hauler, List.of(cheat), 1,
+                DAYS, 1)).hasRootCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void run_onRecordedTape_shouldMatchRunOnItsSource() {
+        final CounterPriceSource source = new CounterPriceSource(4);
+        final PriceTape tape = PriceTape.record(source, 24, DAYS);
+        final List<ShippingRule> rules = List.of(ShippingRule.values());
+
+        assertThat(StrategyTournament.run(SimulationParameters.DEFAULT, hauler, rules, 24, DAYS, tape,
+                ForkJoinPool.commonPool()))
+                .isEqualTo(StrategyTournament.run(SimulationParameters.DEFAULT, hauler, rules, 24, DAYS, source,
+                        ForkJoinPool.commonPool()));
+    }
+}
@@ -0,0 +1,47 @@
+package wh;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransferTableTest {
+
+    private static final int DAYS = 60;
+
+    @Test
+    void apply_shouldSetSameTransfersAsDailyUpdate() {
+        final SimulationParameters parameters = new SimulationParameters(5_000, 0.5f, true, false);
+        final TransferTable table = TransferTable.compute(parameters, DAYS);
+        final SimulationContext context = new SimulationContext(parameters, new SplittableRandom(3));
+        final List<Destination> fromTable = new ArrayList<>();
+        for (DestinationType type : DestinationType.values()) {
+            fromTable.add(new Destination(type));
+        }
+
+        for (int dayInOrbit = 1; dayInOrbit <= DAYS; dayInOrbit++) {
+            context.getAsteroid().updateDistanceFromSun(dayInOrbit, DAYS);
+            table.apply(dayInOrbit, fromTable);
+            for (int i = 0; i < fromTable.size(); i++) {
+                final Destination expected = context.getDestinations().get(i);
+                expected.updateDaily(parameters, context.getAsteroid(), dayInOrbit, DAYS);
+                for (ShipmentCalculator.OptionType optionType : ShipmentCalculator.OptionType.values()) {
+                    assertThat(ShipmentCalculator.deltaV(fromTable.get(i), optionType))
+                            .isEqualTo(ShipmentCalculator.deltaV(expected, optionType));
+                    assertThat(ShipmentCalculator.time(fromTable.get(i), optionType))
+                            .isEqualTo(ShipmentCalculator.time(expected, optionType));
+                }
+            }
+        }
+    }
+
+    @Test
+    void key_shouldIgnoreParametersTransfersDoNotDependOn() {
+        assertThat(TransferTable.Key.of(new SimulationParameters(1_000, 0.2f, true, true)))
+                .isEqualTo(TransferTable.Key.of(new SimulationParameters(9_000, 0.2f, true, true)))
+                .isNotEqualTo(TransferTable.Key.of(new SimulationParameters(1_000, 0.3f, true, true)));
+    }
+}
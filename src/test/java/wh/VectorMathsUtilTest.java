@@ -0,0 +1,98 @@
+package wh;
+
+import jaid.collection.DoublesVector;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class VectorMathsUtilTest {
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0.0, 0.1, 0.5, 0.63175, 0.9, 0.99})
+    void solveKepler_shouldMatchScalarSolver(double eccentricity) {
+        final int count = 103; // Deliberately not a multiple of any lane count
+        final double[] meanAnomalies = new double[count];
+        final double[] eccentricities = new double[count];
+        final double[] eccentricAnomalies = new double[count];
+        for (int i = 0; i < count; i++) {
+            meanAnomalies[i] = 2 * Math.PI * i / count;
+            eccentricities[i] = eccentricity;
+        }
+
+        VectorMathsUtil.solveKepler(meanAnomalies, eccentricities, eccentricAnomalies);
+
+        for (int i = 0; i < count; i++) {
+            assertThat(eccentricAnomalies[i])
+                    .isCloseTo(MathsUtil.solveKepler(meanAnomalies[i], eccentricity), within(1e-12));
+        }
+    }
+
+    @Test
+    void calculateOrbitalStates_forOneBody_shouldMatchScalarPath() {
+        final int totalDaysInOrbit = 1537;
+        final double[] meanAnomalies = new double[totalDaysInOrbit];
+        for (int day = 0; day < totalDaysInOrbit; day++) {
+            meanAnomalies[day] = Math.toRadians(356.37) + (2 * Math.PI / totalDaysInOrbit) * day;
+        }
+        final double[] x = new double[totalDaysInOrbit];
+        final double[] y = new double[totalDaysInOrbit];
+        final double[] z = new double[totalDaysInOrbit];
+
+        VectorMathsUtil.calculateOrbitalStates(2.6249, 0.63175, 2.7992, 95.441, 266.77, meanAnomalies, x, y, z);
+
+        for (int day = 0; day < totalDaysInOrbit; day++) {
+            final double[] expected = MathsUtil.calculateOrbitalState(
+                    2.6249, 0.63175, 2.7992, 95.441, 266.77, meanAnomalies[day]).contents();
+            assertThat(x[day]).isCloseTo(expected[0], within(1e-12));
+            assertThat(y[day]).isCloseTo(expected[1], within(1e-12));
+            assertThat(z[day]).isCloseTo(expected[2], within(1e-12));
+        }
+    }
+
+    @Test
+    void calculateOrbitalStates_forManyBodies_shouldMatchScalarPath() {
+        final DestinationType[] types = DestinationType.values();
+        final int count = types.length * 11;
+        final double[] semiMajorAxes = new double[count];
+        final double[] eccentricities = new double[count];
+        final double[] inclinations = new double[count];
+        final double[] argumentsPerihelion = new double[count];
+        final double[] ascendingNodes = new double[count];
+        final double[] meanAnomalies = new double[count];
+        for (int i = 0; i < count; i++) {
+            final DestinationType type = types[i % types.length];
+            semiMajorAxes[i] = type.orbitalRadius;
+            eccentricities[i] = type.eccentricity;
+            inclinations[i] = type.inclination;
+            argumentsPerihelion[i] = type.argumentOfPerihelion;
+            ascendingNodes[i] = type.ascendingNode;
+            meanAnomalies[i] = 0.37 * i;
+        }
+        final double[] x = new double[count];
+        final double[] y = new double[count];
+        final double[] z = new double[count];
+
+        VectorMathsUtil.calculateOrbitalStates(semiMajorAxes, eccentricities, inclinations, argumentsPerihelion,
+                ascendingNodes, meanAnomalies, x, y, z);
+
+        for (int i = 0; i < count; i++) {
+            final DoublesVector expected = MathsUtil.calculateOrbitalState(semiMajorAxes[i], eccentricities[i],
+                    inclinations[i], argumentsPerihelion[i], ascendingNodes[i], meanAnomalies[i]);
+            assertThat(x[i]).isCloseTo(expected.contents()[0], within(1e-12));
+            assertThat(y[i]).isCloseTo(expected.contents()[1], within(1e-12));
+            assertThat(z[i]).isCloseTo(expected.contents()[2], within(1e-12));
+        }
+    }
+
+    @Test
+    void calculateOrbitalStates_withMismatchedArrays_shouldThrowException() {
+        assertThatThrownBy(() -> VectorMathsUtil.calculateOrbitalStates(1.0, 0.1, 0.0, 0.0, 0.0,
+                new double[4], new double[4], new double[3], new double[4]))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("length");
+    }
+}